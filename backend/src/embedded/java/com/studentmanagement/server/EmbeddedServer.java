@@ -0,0 +1,257 @@
+package com.studentmanagement.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.DefaultServlet;
+import org.eclipse.jetty.servlet.ErrorPageErrorHandler;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.filter.AuthTokenFilter;
+import com.studentmanagement.filter.ContentNegotiationFilter;
+import com.studentmanagement.filter.CorsFilter;
+import com.studentmanagement.filter.IdempotencyFilter;
+import com.studentmanagement.filter.RateLimitFilter;
+import com.studentmanagement.filter.ReadRoutingFilter;
+import com.studentmanagement.lifecycle.AppLifecycleListener;
+import com.studentmanagement.servlet.ArchiveServlet;
+import com.studentmanagement.servlet.AttendanceServlet;
+import com.studentmanagement.servlet.AuthServlet;
+import com.studentmanagement.servlet.BatchServlet;
+import com.studentmanagement.servlet.DashboardServlet;
+import com.studentmanagement.servlet.DiagnosticsServlet;
+import com.studentmanagement.servlet.EventStreamServlet;
+import com.studentmanagement.servlet.ExportServlet;
+import com.studentmanagement.servlet.HealthServlet;
+import com.studentmanagement.servlet.MarksServlet;
+import com.studentmanagement.servlet.ReportServlet;
+import com.studentmanagement.servlet.StudentAuthServlet;
+import com.studentmanagement.servlet.StudentServlet;
+import com.studentmanagement.servlet.SubjectServlet;
+
+/**
+ * Embedded Jetty launcher, an alternative to deploying the WAR into Tomcat
+ * Servlets, filters and the lifecycle listener are registered in code, so startup skips
+ * web.xml parsing and annotation scanning of the whole classpath.
+ *
+ * Usage: java [-XX:SharedArchiveFile=app.jsa] -jar student-management-embedded.jar [--train | --measure]
+ *   (no option)  serve on $PORT until stopped
+ *   --train      start, exercise every endpoint once, stop; run with -XX:ArchiveClassesAtExit to build the CDS archive
+ *   --measure    start, report the JVM uptime at the first successful response, stop
+ */
+public class EmbeddedServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedServer.class);
+    private static final String CONTEXT_PATH = "/student-management";
+
+    // Same set and order as web.xml and the @WebServlet annotations picked up by the WAR deployment
+    private static final List<Class<? extends HttpServlet>> SERVLETS = Arrays.asList(
+        HealthServlet.class, AuthServlet.class, StudentAuthServlet.class, StudentServlet.class, SubjectServlet.class,
+        MarksServlet.class, AttendanceServlet.class, DashboardServlet.class, ReportServlet.class,
+        ExportServlet.class, BatchServlet.class, EventStreamServlet.class, ArchiveServlet.class, DiagnosticsServlet.class);
+
+    // Requests issued by --train, chosen to load the JSON, JDBC, pool and filter code paths
+    private static final String[] TRAINING_GETS = {
+        "/api/health/live", "/api/health/ready", "/api/subjects", "/api/dashboard/stats",
+        "/api/students", "/api/students/1", "/api/marks/student/1", "/api/attendance/student/1",
+        "/api/attendance/student/1/percentage", "/api/diagnostics/pool", "/api/missing"
+    };
+
+    private final Server server;
+    private final ServerConnector connector;
+
+    private EmbeddedServer(int port) {
+        QueuedThreadPool threadPool = new QueuedThreadPool(
+            AppConfig.SERVER_MAX_THREADS, AppConfig.SERVER_MIN_THREADS, (int) AppConfig.SERVER_IDLE_TIMEOUT_MS);
+        threadPool.setName("http");
+        server = new Server(threadPool);
+
+        HttpConfiguration httpConfig = new HttpConfiguration();
+        httpConfig.setSendServerVersion(false);
+        httpConfig.setSendXPoweredBy(false);
+        httpConfig.setOutputBufferSize(AppConfig.SERVER_OUTPUT_BUFFER_BYTES);
+        httpConfig.setRequestHeaderSize(8 * 1024);
+
+        // One acceptor and a selector per two cores are plenty behind the platform's load balancer
+        int selectors = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        connector = new ServerConnector(server, 1, selectors, new HttpConnectionFactory(httpConfig));
+        connector.setPort(port);
+        connector.setIdleTimeout(AppConfig.SERVER_IDLE_TIMEOUT_MS);
+        connector.setAcceptQueueSize(AppConfig.SERVER_ACCEPT_QUEUE);
+        connector.setReuseAddress(true);
+        server.addConnector(connector);
+
+        server.setHandler(createContext());
+        server.setStopAtShutdown(true);
+        server.setStopTimeout(AppConfig.SERVER_STOP_TIMEOUT_MS);
+    }
+
+    private static ServletContextHandler createContext() {
+        ServletContextHandler context = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+        context.setContextPath(CONTEXT_PATH);
+        context.addEventListener(new AppLifecycleListener());
+
+        // Filters in web.xml order
+        addFilter(context, CorsFilter.class, "/*");
+        addFilter(context, ContentNegotiationFilter.class, "/api/*");
+        addFilter(context, ReadRoutingFilter.class, "/api/*");
+        addFilter(context, RateLimitFilter.class, "/api/student/auth/*", "/api/auth/login");
+        addFilter(context, AuthTokenFilter.class, "/api/*");
+        addFilter(context, IdempotencyFilter.class, "/api/students", "/api/marks", "/api/student/auth/register");
+
+        for (Class<? extends HttpServlet> servlet : SERVLETS) {
+            WebServlet mapping = servlet.getAnnotation(WebServlet.class);
+            String[] patterns = mapping.value().length > 0 ? mapping.value() : mapping.urlPatterns();
+            for (String pattern : patterns) {
+                context.addServlet(servlet, pattern).setAsyncSupported(mapping.asyncSupported());
+            }
+        }
+
+        // Static pages and error pages from src/main/webapp, packaged into the jar under /webapp
+        Resource webapp = Resource.newClassPathResource("/webapp");
+        if (webapp != null) {
+            context.setBaseResource(webapp);
+            context.addServlet(DefaultServlet.class, "/").setInitParameter("dirAllowed", "false");
+        }
+        ErrorPageErrorHandler errorHandler = new ErrorPageErrorHandler();
+        errorHandler.addErrorPage(404, "/error/404.html");
+        errorHandler.addErrorPage(500, "/error/500.html");
+        errorHandler.setShowStacks(false);
+        context.setErrorHandler(errorHandler);
+        return context;
+    }
+
+    private static void addFilter(ServletContextHandler context, Class<? extends Filter> filter, String... patterns) {
+        // One instance per filter like web.xml, async-supported so the event stream servlet can start async behind it
+        FilterHolder holder = new FilterHolder(filter);
+        holder.setAsyncSupported(true);
+        for (String pattern : patterns) {
+            context.addFilter(holder, pattern, EnumSet.of(DispatcherType.REQUEST));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "";
+        boolean oneShot = "--train".equals(mode) || "--measure".equals(mode);
+
+        // One-shot runs pick a free port so they can run next to a live instance
+        EmbeddedServer embedded = new EmbeddedServer(oneShot ? 0 : AppConfig.getInt("PORT", 8080));
+        embedded.server.start();
+        String baseUrl = "http://127.0.0.1:" + embedded.connector.getLocalPort() + CONTEXT_PATH;
+        logger.info("Embedded server listening on {} after {} ms",
+            baseUrl, ManagementFactory.getRuntimeMXBean().getUptime());
+
+        try {
+            if ("--measure".equals(mode)) {
+                measure(baseUrl);
+            } else if ("--train".equals(mode)) {
+                train(baseUrl);
+            } else {
+                embedded.server.join();
+                return;
+            }
+        } finally {
+            if (oneShot) {
+                embedded.server.stop();
+            }
+        }
+    }
+
+    /**
+     * Poll the liveness probe and print the JVM uptime at the first 200, for comparing runs with and without CDS
+     */
+    private static void measure(String baseUrl) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (request("GET", baseUrl + "/api/health/live", null) == 200) {
+                boolean cds = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                    .anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"));
+                System.out.printf("Time to first response: %d ms (JVM uptime, CDS archive: %s)%n",
+                    ManagementFactory.getRuntimeMXBean().getUptime(), cds ? "on" : "off");
+                return;
+            }
+            Thread.sleep(10);
+        }
+        System.out.println("Time to first response: no successful response within 60 s");
+    }
+
+    /**
+     * Exercise the API so the classes behind every endpoint are loaded before the JVM archives them
+     * Endpoints that need the database still load their classes when it is unreachable; the errors are expected
+     */
+    private static void train(String baseUrl) throws InterruptedException {
+        for (int round = 0; round < AppConfig.getInt("TRAINING_ROUNDS", 3); round++) {
+            for (String path : TRAINING_GETS) {
+                request("GET", baseUrl + path, null);
+            }
+            request("OPTIONS", baseUrl + "/api/students", null);
+            request("POST", baseUrl + "/api/student/auth/login",
+                "{\"emailOrRoll\":\"training-" + round + "@example.invalid\",\"password\":\"x\"}");
+            request("GET", baseUrl + "/api/export/students", null);
+        }
+
+        // Let the warm-up finish so its classes are archived as well
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (request("GET", baseUrl + "/api/health/ready", null) != 200 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(250);
+        }
+        logger.info("Training run finished after {} ms", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    private static int request(String method, String url, String body) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(2000);
+            connection.setReadTimeout(15000);
+            connection.setRequestProperty("Origin", "http://localhost:3000");
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream output = connection.getOutputStream()) {
+                    output.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            int status = connection.getResponseCode();
+            InputStream input = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            if (input != null) {
+                try (InputStream drained = input) {
+                    drained.readAllBytes();
+                }
+            }
+            return status;
+        } catch (IOException e) {
+            logger.debug("Request {} {} failed: {}", method, url, e.getMessage());
+            return -1;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
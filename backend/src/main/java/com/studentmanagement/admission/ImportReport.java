@@ -0,0 +1,153 @@
+package com.studentmanagement.admission;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk admission import, one entry per data row in upload order
+ */
+public class ImportReport {
+
+    /**
+     * Outcome of a single row
+     */
+    public enum Status {
+        CREATED, VALID, DUPLICATE, INVALID, FAILED
+    }
+
+    /**
+     * Report entry for one row
+     */
+    public static class Row {
+        private final long row;
+        private Status status;
+        private Integer id;
+        private String email;
+        private String rollNumber;
+        private String error;
+
+        Row(long row) {
+            this.row = row;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getRollNumber() {
+            return rollNumber;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        void setStudent(String email, String rollNumber) {
+            this.email = email;
+            this.rollNumber = rollNumber;
+        }
+    }
+
+    private final boolean dryRun;
+    private final List<Row> rows = new ArrayList<>();
+    private int created;
+    private int valid;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private int batches;
+    private long elapsedMs;
+
+    ImportReport(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    Row addRow(long number) {
+        Row row = new Row(number);
+        rows.add(row);
+        return row;
+    }
+
+    void complete(Row row, Status status, Integer id, String error) {
+        row.status = status;
+        row.id = id;
+        row.error = error;
+        switch (status) {
+            case CREATED:
+                created++;
+                break;
+            case VALID:
+                valid++;
+                break;
+            case DUPLICATE:
+                duplicates++;
+                break;
+            case INVALID:
+                invalid++;
+                break;
+            default:
+                failed++;
+                break;
+        }
+    }
+
+    void batchCommitted() {
+        batches++;
+    }
+
+    void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public int getTotal() {
+        return rows.size();
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getValid() {
+        return valid;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+}
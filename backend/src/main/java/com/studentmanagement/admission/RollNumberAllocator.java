@@ -0,0 +1,105 @@
+package com.studentmanagement.admission;
+
+import java.util.Set;
+
+/**
+ * Hands out STU-prefixed roll numbers in blocks
+ * The high-water mark is raised from every roll number seen, so concurrent imports never draw the same block;
+ * numbers taken by other paths since are skipped against the caller's set of known roll numbers.
+ */
+public class RollNumberAllocator {
+
+    public static final String PREFIX = "STU";
+
+    private int next = 1;
+    private boolean seeded;
+
+    private static class Holder {
+        private static final RollNumberAllocator INSTANCE = new RollNumberAllocator();
+    }
+
+    private RollNumberAllocator() {
+    }
+
+    /**
+     * Get singleton instance of RollNumberAllocator
+     * @return RollNumberAllocator instance
+     */
+    public static RollNumberAllocator getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Raise the high-water mark past an existing roll number
+     * @param rollNumber Roll number in use, ignored unless it is PREFIX followed by digits
+     */
+    public synchronized void observe(String rollNumber) {
+        int number = parse(rollNumber);
+        if (number >= next) {
+            next = number + 1;
+        }
+    }
+
+    /**
+     * Check whether the high-water mark has been seeded from the database
+     * @return true once {@link #seed} has run in this process
+     */
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Raise the high-water mark past the highest roll number in the database
+     * Imports observe every existing roll number themselves; registration seeds once before its first reservation
+     * @param highest Highest sequence number in use, 0 when there is none
+     */
+    public synchronized void seed(int highest) {
+        if (highest >= next) {
+            next = highest + 1;
+        }
+        seeded = true;
+    }
+
+    /**
+     * Reserve a block of roll numbers
+     * @param count Numbers needed
+     * @param taken Roll numbers already in use, skipped; the reserved ones are added to it
+     * @return Reserved roll numbers in ascending order
+     */
+    public synchronized String[] reserve(int count, Set<String> taken) {
+        String[] reserved = new String[count];
+        int filled = 0;
+        while (filled < count) {
+            String candidate = format(next++);
+            if (taken.add(candidate)) {
+                reserved[filled++] = candidate;
+            }
+        }
+        return reserved;
+    }
+
+    /**
+     * Format a roll number the way registration does
+     * @param number Sequence number
+     * @return Roll number such as STU0042
+     */
+    public static String format(int number) {
+        return String.format("%s%04d", PREFIX, number);
+    }
+
+    private static int parse(String rollNumber) {
+        if (rollNumber == null || rollNumber.length() <= PREFIX.length() || rollNumber.length() > PREFIX.length() + 9
+                || !rollNumber.startsWith(PREFIX)) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = PREFIX.length(); i < rollNumber.length(); i++) {
+            char c = rollNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+}
@@ -0,0 +1,373 @@
+package com.studentmanagement.admission;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.dao.StudentDAO;
+import com.studentmanagement.database.UnitOfWork;
+import com.studentmanagement.model.Student;
+import com.studentmanagement.util.CsvReader;
+import com.studentmanagement.util.JsonUtil;
+
+/**
+ * Bulk admission import from a CSV file or a JSON array of students
+ * The upload is read row by row. Every row is validated like a single POST /api/students, then checked against
+ * all existing emails and roll numbers, loaded once into hash sets, and against the rows before it. Accepted rows
+ * are inserted in batches, one transaction and one JDBC batch each, with roll numbers drawn in blocks from
+ * {@link RollNumberAllocator} for rows that have none. A batch the database rejects is rolled back and retried row
+ * by row, so the report names the offending rows and the others are still created. The report keeps one entry per
+ * row, so an upload longer than the row cap is cut off with {@link TooManyRowsException} after the rows before it.
+ *
+ * CSV files need a header row; columns are matched ignoring case, spaces and underscores:
+ * name, email, phone, course (required), gender, dob (YYYY-MM-DD), city, password, rollNumber.
+ */
+public class StudentImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImporter.class);
+
+    private static final int MAX_ROLL_NUMBER_LENGTH = 20;
+    private static final String[] COLUMNS = {"name", "email", "phone", "course", "gender", "dob", "city", "password",
+        "rollnumber"};
+    private static final String[] REQUIRED_COLUMNS = {"name", "email", "phone", "course"};
+
+    /**
+     * Upload formats
+     */
+    public enum Format {
+        CSV, JSON
+    }
+
+    /**
+     * Thrown when an upload has more rows than the importer accepts; rows of earlier batches stay committed
+     */
+    public static class TooManyRowsException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public TooManyRowsException(int maxRows) {
+            super("Upload exceeds " + maxRows + " rows");
+        }
+    }
+
+    private final StudentDAO studentDAO;
+    private final RollNumberAllocator allocator = RollNumberAllocator.getInstance();
+    private final int batchSize;
+    private final int maxRows;
+    private final boolean dryRun;
+    private final ImportReport report;
+    private final Set<String> emails = new HashSet<>();
+    private final Set<String> rollNumbers = new HashSet<>();
+    private List<Student> batch = new ArrayList<>();
+    private List<ImportReport.Row> batchRows = new ArrayList<>();
+
+    /**
+     * @param studentDAO DAO used for the preload and the inserts
+     * @param batchSize Rows per insert transaction
+     * @param maxRows Rows accepted per upload
+     * @param dryRun Validate and dedupe only; nothing is inserted and no roll numbers are drawn
+     */
+    public StudentImporter(StudentDAO studentDAO, int batchSize, int maxRows, boolean dryRun) {
+        this.studentDAO = studentDAO;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRows = Math.max(1, maxRows);
+        this.dryRun = dryRun;
+        this.report = new ImportReport(dryRun);
+    }
+
+    /**
+     * Import an upload; an importer instance is used for one upload only
+     * @param reader Upload body
+     * @param format Upload format
+     * @return Per-row report
+     * @throws IOException if the upload cannot be read, is not well-formed or has too many rows; rows of earlier
+     *         batches stay committed
+     * @throws SQLException if the existing emails and roll numbers cannot be loaded
+     */
+    public ImportReport importStudents(Reader reader, Format format) throws IOException, SQLException {
+        long started = System.currentTimeMillis();
+        studentDAO.loadIdentityKeys(emails, rollNumbers);
+        for (String rollNumber : rollNumbers) {
+            allocator.observe(rollNumber);
+        }
+
+        if (format == Format.CSV) {
+            readCsv(reader);
+        } else {
+            readJson(reader);
+        }
+        flush();
+
+        report.setElapsedMs(System.currentTimeMillis() - started);
+        logger.info("Student import{}: {} rows, {} created, {} duplicates, {} invalid, {} failed in {} ms",
+            dryRun ? " (dry run)" : "", report.getTotal(), report.getCreated(), report.getDuplicates(),
+            report.getInvalid(), report.getFailed(), report.getElapsedMs());
+        return report;
+    }
+
+    private void readCsv(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        String[] header = csv.readRow();
+        if (header == null) {
+            throw new IOException("CSV upload is empty, expected a header row");
+        }
+        int[] columns = mapHeader(header);
+
+        long number = 0;
+        String[] cells;
+        while ((cells = csv.readRow()) != null) {
+            if (cells.length == 1 && cells[0].trim().isEmpty()) {
+                continue;
+            }
+            ImportReport.Row row = addRow(++number);
+            if (cells.length != header.length) {
+                report.complete(row, ImportReport.Status.INVALID, null,
+                    "Expected " + header.length + " cells, found " + cells.length + " on line " + csv.getRowLine());
+                continue;
+            }
+            Student student = new Student();
+            try {
+                for (int i = 0; i < cells.length; i++) {
+                    setField(student, columns[i], cells[i].trim());
+                }
+            } catch (DateTimeParseException e) {
+                report.complete(row, ImportReport.Status.INVALID, null, "Invalid date of birth, expected YYYY-MM-DD");
+                continue;
+            }
+            accept(row, student);
+        }
+    }
+
+    // Column index into COLUMNS for every header cell
+    private static int[] mapHeader(String[] header) {
+        int[] columns = new int[header.length];
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i].trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+            columns[i] = -1;
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (COLUMNS[c].equals(name)) {
+                    columns[i] = c;
+                }
+            }
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("Unknown CSV column: " + header[i].trim());
+            }
+            if (!seen.add(columns[i])) {
+                throw new IllegalArgumentException("Duplicate CSV column: " + header[i].trim());
+            }
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            boolean present = false;
+            for (int column : columns) {
+                present |= COLUMNS[column].equals(required);
+            }
+            if (!present) {
+                throw new IllegalArgumentException("Missing CSV column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static void setField(Student student, int column, String value) {
+        String cell = value.isEmpty() ? null : value;
+        switch (COLUMNS[column]) {
+            case "name":
+                student.setName(cell);
+                break;
+            case "email":
+                student.setEmail(cell);
+                break;
+            case "phone":
+                student.setPhone(cell);
+                break;
+            case "course":
+                student.setCourse(cell);
+                break;
+            case "gender":
+                student.setGender(cell);
+                break;
+            case "dob":
+                student.setDob(cell != null ? LocalDate.parse(cell) : null);
+                break;
+            case "city":
+                student.setCity(cell);
+                break;
+            case "password":
+                student.setPassword(cell);
+                break;
+            default:
+                student.setRollNumber(cell);
+                break;
+        }
+    }
+
+    private void readJson(Reader reader) throws IOException {
+        ObjectMapper mapper = JsonUtil.getObjectMapper();
+        try (JsonParser parser = mapper.getFactory().createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("JSON upload must be an array of students");
+            }
+            long number = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IOException("JSON upload ended before the closing bracket");
+                }
+                // Read the element as a tree first so a bad field invalidates one row, not the upload
+                JsonNode node = mapper.readTree(parser);
+                ImportReport.Row row = addRow(++number);
+                Student student;
+                try {
+                    student = mapper.treeToValue(node, Student.class);
+                } catch (JsonProcessingException e) {
+                    report.complete(row, ImportReport.Status.INVALID, null, "Invalid student: " + e.getOriginalMessage());
+                    continue;
+                }
+                if (student == null) {
+                    report.complete(row, ImportReport.Status.INVALID, null, "Student must be an object");
+                    continue;
+                }
+                student.setId(0);
+                accept(row, student);
+            }
+        }
+    }
+
+    private ImportReport.Row addRow(long number) throws TooManyRowsException {
+        if (number > maxRows) {
+            // Commit what was accepted so far, the report then describes exactly the rows before the cut
+            flush();
+            throw new TooManyRowsException(maxRows);
+        }
+        return report.addRow(number);
+    }
+
+    private void accept(ImportReport.Row row, Student student) {
+        if (student.getEmail() != null) {
+            student.setEmail(student.getEmail().trim());
+        }
+        String rollNumber = student.getRollNumber() != null ? student.getRollNumber().trim() : null;
+        student.setRollNumber(rollNumber == null || rollNumber.isEmpty() ? null : rollNumber);
+        row.setStudent(student.getEmail(), student.getRollNumber());
+
+        String error = student.getValidationError();
+        if (error == null && student.getRollNumber() != null && student.getRollNumber().length() > MAX_ROLL_NUMBER_LENGTH) {
+            error = "Roll number longer than " + MAX_ROLL_NUMBER_LENGTH + " characters";
+        }
+        if (error != null) {
+            report.complete(row, ImportReport.Status.INVALID, null, error);
+            return;
+        }
+
+        String emailKey = student.getEmail().toLowerCase(Locale.ROOT);
+        if (emails.contains(emailKey)) {
+            report.complete(row, ImportReport.Status.DUPLICATE, null, "Email already exists");
+            return;
+        }
+        if (student.getRollNumber() != null && rollNumbers.contains(student.getRollNumber())) {
+            report.complete(row, ImportReport.Status.DUPLICATE, null, "Roll number already exists");
+            return;
+        }
+        emails.add(emailKey);
+        if (student.getRollNumber() != null) {
+            rollNumbers.add(student.getRollNumber());
+            allocator.observe(student.getRollNumber());
+        }
+
+        batch.add(student);
+        batchRows.add(row);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Student> students = batch;
+        List<ImportReport.Row> rows = batchRows;
+        batch = new ArrayList<>();
+        batchRows = new ArrayList<>();
+
+        if (dryRun) {
+            for (ImportReport.Row row : rows) {
+                report.complete(row, ImportReport.Status.VALID, null, null);
+            }
+            return;
+        }
+
+        int missing = 0;
+        for (Student student : students) {
+            missing += student.getRollNumber() == null ? 1 : 0;
+        }
+        if (missing > 0) {
+            String[] block = allocator.reserve(missing, rollNumbers);
+            int next = 0;
+            for (int i = 0; i < students.size(); i++) {
+                if (students.get(i).getRollNumber() == null) {
+                    students.get(i).setRollNumber(block[next++]);
+                    rows.get(i).setStudent(students.get(i).getEmail(), students.get(i).getRollNumber());
+                }
+            }
+        }
+
+        try {
+            UnitOfWork.inTransaction(() -> {
+                studentDAO.addStudents(students);
+                return null;
+            });
+            report.batchCommitted();
+            for (int i = 0; i < students.size(); i++) {
+                report.complete(rows.get(i), ImportReport.Status.CREATED, students.get(i).getId(), null);
+            }
+        } catch (SQLException e) {
+            logger.warn("Import batch of {} rows rejected, retrying row by row: {}", students.size(), e.getMessage());
+            for (int i = 0; i < students.size(); i++) {
+                insertOne(rows.get(i), students.get(i));
+            }
+        }
+    }
+
+    private void insertOne(ImportReport.Row row, Student student) {
+        student.setId(0);
+        try {
+            UnitOfWork.inTransaction(() -> {
+                studentDAO.addStudents(List.of(student));
+                return null;
+            });
+            report.batchCommitted();
+            report.complete(row, ImportReport.Status.CREATED, student.getId(), null);
+        } catch (SQLException e) {
+            // Integrity constraint violations, such as a student added by someone else since the preload
+            if (e.getSQLState() != null && e.getSQLState().startsWith("23")) {
+                report.complete(row, ImportReport.Status.DUPLICATE, null, "Email or roll number already exists");
+            } else {
+                logger.error("Failed to import row {}", row.getRow(), e);
+                report.complete(row, ImportReport.Status.FAILED, null, "Database error");
+            }
+        }
+    }
+
+    /**
+     * Get the report so far, for callers answering an upload that turned out malformed part way through
+     * @return Report of the rows read before the error
+     */
+    public ImportReport getReport() {
+        return report;
+    }
+}
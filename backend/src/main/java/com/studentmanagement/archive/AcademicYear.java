@@ -0,0 +1,52 @@
+package com.studentmanagement.archive;
+
+import java.time.LocalDate;
+
+import com.studentmanagement.config.AppConfig;
+
+/**
+ * Academic year arithmetic
+ * A year is identified by the calendar year it starts in and runs from the first day of
+ * {@link AppConfig#ACADEMIC_YEAR_START_MONTH} to the day before the next year's start.
+ */
+public final class AcademicYear {
+
+    private AcademicYear() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param date Any date
+     * @return Calendar year in which the academic year containing the date starts
+     */
+    public static int of(LocalDate date) {
+        return date.getMonthValue() >= AppConfig.ACADEMIC_YEAR_START_MONTH ? date.getYear() : date.getYear() - 1;
+    }
+
+    /**
+     * @param year Academic year
+     * @return First day of the year
+     */
+    public static LocalDate start(int year) {
+        return LocalDate.of(year, AppConfig.ACADEMIC_YEAR_START_MONTH, 1);
+    }
+
+    /**
+     * @param year Academic year
+     * @return First day of the following year, exclusive end of this one
+     */
+    public static LocalDate end(int year) {
+        return start(year + 1);
+    }
+
+    /**
+     * @param year Academic year
+     * @return Display label, e.g. 2023-24, or just the year when academic years follow the calendar
+     */
+    public static String label(int year) {
+        if (AppConfig.ACADEMIC_YEAR_START_MONTH == 1) {
+            return String.valueOf(year);
+        }
+        return year + "-" + String.format("%02d", (year + 1) % 100);
+    }
+}
@@ -0,0 +1,292 @@
+package com.studentmanagement.archive;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.ArchiveDAO;
+
+/**
+ * Archive job moving closed academic years out of the marks and attendance tables
+ * Every run exports each closed year that still has hot rows into a new segment file, and only once the file is
+ * synced and renamed deletes those rows from the hot table in batches of {@link AppConfig#ARCHIVE_DELETE_BATCH},
+ * pausing between batches so replication and foreground writes keep up. A purge interrupted by a restart is
+ * finished by the next run, which is safe because the rows are deleted by ID from the segment itself.
+ * The newest {@link AppConfig#ARCHIVE_HOT_YEARS} academic years always stay hot.
+ *
+ * Because a run deletes rows, it never starts unless {@link AppConfig#ARCHIVE_ENABLED} is set and ARCHIVE_DIR is
+ * configured explicitly; the default directory is on local disk, which platform redeploys wipe.
+ */
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    // Leave the first run until startup warm-up and the attendance index load are done
+    private static final long INITIAL_DELAY_MINUTES = 15;
+
+    private final ArchiveDAO archiveDAO = new ArchiveDAO();
+    private final ArchiveStore store = ArchiveStore.getInstance();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong segmentsWritten = new AtomicLong();
+    private final AtomicLong rowsArchived = new AtomicLong();
+    private final AtomicLong rowsPurged = new AtomicLong();
+    private volatile long lastRunAt;
+    private volatile long lastRunMs = -1;
+    private volatile String lastError;
+    private volatile String currentStep;
+    private ScheduledExecutorService scheduler;
+
+    private static class Holder {
+        private static final ArchiveService INSTANCE = new ArchiveService();
+    }
+
+    private ArchiveService() {
+    }
+
+    /**
+     * Get singleton instance of ArchiveService
+     * @return ArchiveService instance
+     */
+    public static ArchiveService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start the job thread; runs are scheduled only when the job may run at all, see {@link #getDisabledReason()}
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "archive-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        removePartialFiles();
+        String disabled = getDisabledReason();
+        if (disabled != null) {
+            if (AppConfig.ARCHIVE_ENABLED) {
+                logger.warn("Archive job not scheduled: {}", disabled);
+            }
+        } else {
+            long interval = TimeUnit.HOURS.toMinutes(AppConfig.ARCHIVE_INTERVAL_HOURS);
+            scheduler.scheduleWithFixedDelay(this::runSafely, INITIAL_DELAY_MINUTES, interval, TimeUnit.MINUTES);
+            logger.info("Archive job scheduled every {} h, keeping {} academic years hot",
+                AppConfig.ARCHIVE_INTERVAL_HOURS, AppConfig.ARCHIVE_HOT_YEARS);
+        }
+    }
+
+    /**
+     * Stop the job thread, interrupting a run between delete batches
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Tell why the job may not run
+     * @return Reason, or null if ARCHIVE_ENABLED is set and ARCHIVE_DIR is configured
+     */
+    public static String getDisabledReason() {
+        if (!AppConfig.ARCHIVE_ENABLED) {
+            return "Archive job is disabled, set ARCHIVE_ENABLED=true";
+        }
+        if (!AppConfig.ARCHIVE_DIR_CONFIGURED) {
+            return "ARCHIVE_DIR must be set to durable storage before archived rows are deleted";
+        }
+        return null;
+    }
+
+    /**
+     * Queue a run now
+     * @return false if the job is disabled, a run is already in progress or the service is stopped
+     */
+    public synchronized boolean runNow() {
+        if (getDisabledReason() != null || scheduler == null || running.get()) {
+            return false;
+        }
+        try {
+            scheduler.execute(this::runSafely);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get job counters and the archive size for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("scheduled", getDisabledReason() == null);
+        metrics.put("disabledReason", getDisabledReason());
+        metrics.put("running", running.get());
+        metrics.put("currentStep", currentStep);
+        metrics.put("hotYears", AppConfig.ARCHIVE_HOT_YEARS);
+        metrics.put("archivingBefore", AcademicYear.start(firstHotYear()).toString());
+        metrics.put("runs", runs.get());
+        metrics.put("lastRunAt", lastRunAt > 0 ? lastRunAt : null);
+        metrics.put("lastRunMs", lastRunMs >= 0 ? lastRunMs : null);
+        metrics.put("lastError", lastError);
+        metrics.put("segmentsWritten", segmentsWritten.get());
+        metrics.put("rowsArchived", rowsArchived.get());
+        metrics.put("rowsPurged", rowsPurged.get());
+        metrics.put("store", store.getMetrics());
+        return metrics;
+    }
+
+    private void runSafely() {
+        if (getDisabledReason() != null || !running.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        lastRunAt = started;
+        try {
+            run();
+            lastError = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastError = "Interrupted";
+        } catch (Exception e) {
+            logger.error("Archive run failed", e);
+            lastError = e.getMessage();
+        } finally {
+            currentStep = null;
+            lastRunMs = System.currentTimeMillis() - started;
+            runs.incrementAndGet();
+            running.set(false);
+        }
+    }
+
+    private void run() throws SQLException, IOException, InterruptedException {
+        Files.createDirectories(store.getDirectory());
+        int firstHotYear = firstHotYear();
+
+        for (ArchiveTable table : ArchiveTable.values()) {
+            TreeSet<Integer> years = new TreeSet<>();
+            // Years with a segment whose purge was interrupted
+            for (Segment segment : store.getSegments(table)) {
+                if (!segment.isPurged()) {
+                    years.add(segment.getYearStart());
+                }
+            }
+            LocalDate oldest = archiveDAO.findOldestDate(table, AcademicYear.start(firstHotYear));
+            if (oldest != null) {
+                for (int year = AcademicYear.of(oldest); year < firstHotYear; year++) {
+                    years.add(year);
+                }
+            }
+            for (int year : years) {
+                archiveYear(table, year);
+            }
+        }
+    }
+
+    private void archiveYear(ArchiveTable table, int year) throws SQLException, IOException, InterruptedException {
+        int sequence = 1;
+        for (Segment segment : store.getSegments(table, year)) {
+            if (!segment.isPurged()) {
+                purge(segment);
+            }
+            sequence = Math.max(sequence, segment.getSequence() + 1);
+        }
+        if (year >= firstHotYear()) {
+            return;
+        }
+
+        currentStep = "Exporting " + table.getTableName() + " " + AcademicYear.label(year);
+        Timestamp snapshot = archiveDAO.currentTimestamp();
+        Segment segment;
+        try (Segment.Writer writer = Segment.create(store.getDirectory(), table, year, sequence, snapshot.getTime(),
+                AppConfig.ARCHIVE_ROW_GROUP_ROWS)) {
+            archiveDAO.exportRange(table, AcademicYear.start(year), AcademicYear.end(year), writer::add);
+            if (writer.getRows() == 0) {
+                return;
+            }
+            segment = writer.finish();
+        }
+        store.add(segment);
+        segmentsWritten.incrementAndGet();
+        rowsArchived.addAndGet(segment.getRows());
+        logger.info("Archived {} {} rows of {} into {} ({} bytes)", segment.getRows(), table.getTableName(),
+            AcademicYear.label(year), segment.getFile().getFileName(), segment.getFileBytes());
+        purge(segment);
+    }
+
+    // Delete a segment's rows from the hot table, batch by batch
+    private void purge(Segment segment) throws SQLException, IOException, InterruptedException {
+        ArchiveTable table = segment.getTable();
+        currentStep = "Purging " + segment.getFile().getFileName();
+        boolean[] wanted = new boolean[table.getColumns().size()];
+        wanted[ArchiveTable.ID] = true;
+        if (table.getGuardIndex() >= 0) {
+            wanted[table.getGuardIndex()] = true;
+        }
+        Timestamp snapshot = new Timestamp(segment.getSnapshotAt());
+        int batch = Math.max(1, AppConfig.ARCHIVE_DELETE_BATCH);
+        long deleted = 0;
+
+        for (int index = 0; index < segment.getGroupCount(); index++) {
+            Segment.RowGroup group = segment.read(index, wanted);
+            long[] ids = group.numbers[ArchiveTable.ID];
+            String[] guards = table.getGuardIndex() >= 0 ? group.texts[table.getGuardIndex()] : null;
+            for (int offset = 0; offset < ids.length; offset += batch) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                int purged = archiveDAO.deleteArchived(table, ids, guards, offset,
+                    Math.min(batch, ids.length - offset), snapshot);
+                deleted += purged;
+                rowsPurged.addAndGet(purged);
+                if (AppConfig.ARCHIVE_DELETE_PAUSE_MS > 0) {
+                    Thread.sleep(AppConfig.ARCHIVE_DELETE_PAUSE_MS);
+                }
+            }
+        }
+        segment.markPurged();
+        logger.info("Purged {} archived rows of {} from {}", deleted, segment.getFile().getFileName(),
+            table.getTableName());
+    }
+
+    private static int firstHotYear() {
+        return AcademicYear.of(LocalDate.now()) - Math.max(1, AppConfig.ARCHIVE_HOT_YEARS) + 1;
+    }
+
+    // Segments that never reached their final name, left by a crash mid-export
+    private void removePartialFiles() {
+        Path directory = store.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> partial = Files.newDirectoryStream(directory, "*" + Segment.EXTENSION + ".part")) {
+            for (Path file : partial) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to clean partial archive files in {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.studentmanagement.archive;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.AttendanceDAO;
+import com.studentmanagement.model.Attendance;
+import com.studentmanagement.model.Marks;
+
+/**
+ * Read side of the marks and attendance archive
+ * Knows every segment under {@link AppConfig#ARCHIVE_DIR} and answers per-student lookups from them.
+ * Segments are read whether or not the archive job is enabled, since archived rows exist nowhere else.
+ * When several segments hold the same row, the one written last wins; the DAOs let hot rows win over all of them.
+ */
+public class ArchiveStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveStore.class);
+
+    private static final Comparator<Segment> SEGMENT_ORDER = Comparator
+        .comparing(Segment::getTable)
+        .thenComparingInt(Segment::getYearStart)
+        .thenComparingInt(Segment::getSequence);
+
+    private final Path directory;
+    // Copy-on-write, sorted by table, year and sequence; null until the directory has been scanned
+    private volatile List<Segment> segments;
+
+    private static class Holder {
+        private static final ArchiveStore INSTANCE = new ArchiveStore();
+    }
+
+    private ArchiveStore() {
+        directory = Paths.get(AppConfig.ARCHIVE_DIR);
+    }
+
+    /**
+     * Get singleton instance of ArchiveStore
+     * @return ArchiveStore instance
+     */
+    public static ArchiveStore getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get the first date not covered by an archived year
+     * @param table Archived table
+     * @return Exclusive end of the newest archived year, or null if nothing of the table is archived
+     */
+    public LocalDate getHorizon(ArchiveTable table) {
+        LocalDate horizon = null;
+        for (Segment segment : segments()) {
+            if (segment.getTable() == table) {
+                LocalDate end = AcademicYear.end(segment.getYearStart());
+                horizon = horizon == null || end.isAfter(horizon) ? end : horizon;
+            }
+        }
+        return horizon;
+    }
+
+    /**
+     * Check whether a read starting at a date has to consult the archive
+     * @param table Archived table
+     * @param from First date of the read, or null for no lower bound
+     * @return true if archived years overlap the range
+     */
+    public boolean reaches(ArchiveTable table, LocalDate from) {
+        LocalDate horizon = getHorizon(table);
+        return horizon != null && (from == null || from.isBefore(horizon));
+    }
+
+    /**
+     * Find a student's archived marks
+     * @param studentId Student ID
+     * @param subjectId Only this subject, or null for all
+     * @param from First exam date, or null for no lower bound
+     * @param to Last exam date, or null for no upper bound
+     * @return Marks without subject or student names, one per ID
+     * @throws IOException if a segment cannot be read
+     */
+    public List<Marks> findMarks(int studentId, Integer subjectId, LocalDate from, LocalDate to) throws IOException {
+        Map<Long, Marks> byId = new LinkedHashMap<>();
+        scan(ArchiveTable.MARKS, studentId, subjectId, from, to, null, (group, row) -> {
+            Marks marks = new Marks();
+            marks.setId((int) group.numbers[0][row]);
+            marks.setStudentId((int) group.numbers[1][row]);
+            marks.setSubjectId((int) group.numbers[2][row]);
+            marks.setMarksObtained(group.numbers[3][row] / 100.0);
+            marks.setTotalMarks(group.numbers[4][row] / 100.0);
+            marks.setExamType(group.texts[5][row]);
+            marks.setExamDate(toDate(group.numbers[6][row]));
+            marks.setCreatedAt(toDateTime(group.numbers[7][row]));
+            marks.setUpdatedAt(toDateTime(group.numbers[8][row]));
+            byId.put((long) marks.getId(), marks);
+        });
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Find a student's archived attendance
+     * @param studentId Student ID
+     * @param subjectId Only this subject, or null for all
+     * @param from First attendance date, or null for no lower bound
+     * @param to Last attendance date, or null for no upper bound
+     * @return Records without subject or student names, one per subject and day
+     * @throws IOException if a segment cannot be read
+     */
+    public List<Attendance> findAttendance(int studentId, Integer subjectId, LocalDate from, LocalDate to)
+            throws IOException {
+        Map<Long, Attendance> byKey = new LinkedHashMap<>();
+        scan(ArchiveTable.ATTENDANCE, studentId, subjectId, from, to, null, (group, row) -> {
+            Attendance attendance = new Attendance();
+            attendance.setId((int) group.numbers[0][row]);
+            attendance.setStudentId((int) group.numbers[1][row]);
+            attendance.setSubjectId((int) group.numbers[2][row]);
+            attendance.setAttendanceDate(toDate(group.numbers[3][row]));
+            attendance.setStatus(group.texts[4][row]);
+            attendance.setCreatedAt(toDateTime(group.numbers[5][row]));
+            byKey.put(((long) attendance.getSubjectId() << 32) | (group.numbers[3][row] & 0xffffffffL), attendance);
+        });
+        return new ArrayList<>(byKey.values());
+    }
+
+    /**
+     * Stream every archived attendance record, oldest segment first, decoding only the four columns needed
+     * @param handler Record callback
+     * @throws IOException if a segment cannot be read
+     */
+    public void forEachAttendance(AttendanceDAO.RecordHandler handler) throws IOException {
+        boolean[] wanted = {false, true, true, true, true, false};
+        scan(ArchiveTable.ATTENDANCE, null, null, null, null, wanted, (group, row) ->
+            handler.onRecord((int) group.numbers[1][row], (int) group.numbers[2][row],
+                toDate(group.numbers[3][row]), group.texts[4][row]));
+    }
+
+    /**
+     * Get archive size per table for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("directory", directory.toAbsolutePath().toString());
+        for (ArchiveTable table : ArchiveTable.values()) {
+            long rows = 0;
+            long bytes = 0;
+            long rawBytes = 0;
+            int count = 0;
+            for (Segment segment : segments()) {
+                if (segment.getTable() == table) {
+                    count++;
+                    rows += segment.getRows();
+                    bytes += segment.getFileBytes();
+                    rawBytes += segment.getRawBytes();
+                }
+            }
+            Map<String, Object> tableMetrics = new LinkedHashMap<>();
+            tableMetrics.put("segments", count);
+            tableMetrics.put("rows", rows);
+            tableMetrics.put("bytes", bytes);
+            tableMetrics.put("bytesPerRow", rows > 0 ? Math.round(bytes * 100.0 / rows) / 100.0 : 0);
+            tableMetrics.put("compressionRatio", bytes > 0 ? Math.round(rawBytes * 100.0 / bytes) / 100.0 : 0);
+            LocalDate horizon = getHorizon(table);
+            tableMetrics.put("archivedBefore", horizon != null ? horizon.toString() : null);
+            metrics.put(table.getTableName(), tableMetrics);
+        }
+        List<Map<String, Object>> files = new ArrayList<>();
+        for (Segment segment : segments()) {
+            files.add(segment.describe());
+        }
+        metrics.put("segments", files);
+        return metrics;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return Segments of one table, by year and write order
+     */
+    List<Segment> getSegments(ArchiveTable table) {
+        List<Segment> matches = new ArrayList<>();
+        for (Segment segment : segments()) {
+            if (segment.getTable() == table) {
+                matches.add(segment);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return Segments of one table and academic year, in write order
+     */
+    List<Segment> getSegments(ArchiveTable table, int year) {
+        List<Segment> matches = new ArrayList<>();
+        for (Segment segment : segments()) {
+            if (segment.getTable() == table && segment.getYearStart() == year) {
+                matches.add(segment);
+            }
+        }
+        return matches;
+    }
+
+    synchronized void add(Segment segment) {
+        List<Segment> updated = new ArrayList<>(segments());
+        updated.add(segment);
+        updated.sort(SEGMENT_ORDER);
+        segments = Collections.unmodifiableList(updated);
+    }
+
+    private List<Segment> segments() {
+        List<Segment> current = segments;
+        return current != null ? current : load();
+    }
+
+    private synchronized List<Segment> load() {
+        if (segments != null) {
+            return segments;
+        }
+        List<Segment> loaded = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + Segment.EXTENSION)) {
+                for (Path file : files) {
+                    try {
+                        loaded.add(Segment.open(file));
+                    } catch (IOException e) {
+                        logger.error("Skipping unreadable archive segment {}", file, e);
+                    }
+                }
+            } catch (IOException e) {
+                logger.error("Failed to list archive directory {}", directory, e);
+            }
+        }
+        loaded.sort(SEGMENT_ORDER);
+        if (!loaded.isEmpty()) {
+            logger.info("Found {} archive segments in {}", loaded.size(), directory);
+        }
+        segments = Collections.unmodifiableList(loaded);
+        return segments;
+    }
+
+    private interface RowVisitor {
+        void visit(Segment.RowGroup group, int row);
+    }
+
+    private void scan(ArchiveTable table, Integer studentId, Integer subjectId, LocalDate from, LocalDate to,
+            boolean[] wanted, RowVisitor visitor) throws IOException {
+        long fromDay = from != null ? from.toEpochDay() : Long.MIN_VALUE + 1;
+        long toDay = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+        boolean[] columns = wanted;
+        if (columns == null) {
+            columns = new boolean[table.getColumns().size()];
+            Arrays.fill(columns, true);
+        }
+        int dateIndex = table.getDateIndex();
+
+        for (Segment segment : segments()) {
+            if (segment.getTable() != table
+                    || AcademicYear.end(segment.getYearStart()).toEpochDay() <= fromDay
+                    || AcademicYear.start(segment.getYearStart()).toEpochDay() > toDay) {
+                continue;
+            }
+            for (int index : segment.groupsFor(studentId, fromDay, toDay)) {
+                Segment.RowGroup group = segment.read(index, columns);
+                long[] students = group.numbers[ArchiveTable.STUDENT_ID];
+                long[] subjects = group.numbers[ArchiveTable.SUBJECT_ID];
+                long[] days = group.numbers[dateIndex];
+                for (int row = 0; row < group.rows; row++) {
+                    if ((studentId == null || students[row] == studentId)
+                            && (subjectId == null || subjects[row] == subjectId)
+                            && days[row] >= fromDay && days[row] <= toDay) {
+                        visitor.visit(group, row);
+                    }
+                }
+            }
+        }
+    }
+
+    private static LocalDate toDate(long epochDay) {
+        return epochDay == Segment.NULL ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return epochMillis == Segment.NULL ? null : new Timestamp(epochMillis).toLocalDateTime();
+    }
+}
@@ -0,0 +1,139 @@
+package com.studentmanagement.archive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tables whose closed academic years are moved to archive segments
+ * Lists the archived columns in storage order; id, student_id and subject_id always come first.
+ */
+public enum ArchiveTable {
+    MARKS("marks", "exam_date", "updated_at", null,
+        new Column("id", ColumnType.INT),
+        new Column("student_id", ColumnType.INT),
+        new Column("subject_id", ColumnType.INT),
+        new Column("marks_obtained", ColumnType.DECIMAL),
+        new Column("total_marks", ColumnType.DECIMAL),
+        new Column("exam_type", ColumnType.TEXT),
+        new Column("exam_date", ColumnType.DATE),
+        new Column("created_at", ColumnType.TIMESTAMP),
+        new Column("updated_at", ColumnType.TIMESTAMP)),
+    // No last-modified column: an upsert after the export changes the status, so the purge matches on it
+    ATTENDANCE("attendance", "attendance_date", null, "status",
+        new Column("id", ColumnType.INT),
+        new Column("student_id", ColumnType.INT),
+        new Column("subject_id", ColumnType.INT),
+        new Column("attendance_date", ColumnType.DATE),
+        new Column("status", ColumnType.TEXT),
+        new Column("created_at", ColumnType.TIMESTAMP));
+
+    public static final int ID = 0;
+    public static final int STUDENT_ID = 1;
+    public static final int SUBJECT_ID = 2;
+
+    /**
+     * How a column is read from JDBC and stored
+     * Everything but TEXT is stored as a long: DATE as an epoch day, DECIMAL in hundredths, TIMESTAMP in epoch millis
+     */
+    public enum ColumnType {
+        INT, DECIMAL, DATE, TIMESTAMP, TEXT
+    }
+
+    /**
+     * One archived column
+     */
+    public static final class Column {
+        private final String name;
+        private final ColumnType type;
+
+        Column(String name, ColumnType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ColumnType getType() {
+            return type;
+        }
+    }
+
+    private final String tableName;
+    private final String dateColumn;
+    private final String updatedColumn;
+    private final List<Column> columns;
+    private final int dateIndex;
+    private final int guardIndex;
+
+    ArchiveTable(String tableName, String dateColumn, String updatedColumn, String guardColumn, Column... columns) {
+        this.tableName = tableName;
+        this.dateColumn = dateColumn;
+        this.updatedColumn = updatedColumn;
+        this.columns = Collections.unmodifiableList(Arrays.asList(columns));
+        this.dateIndex = indexOf(columns, dateColumn);
+        this.guardIndex = indexOf(columns, guardColumn);
+    }
+
+    private static int indexOf(Column[] columns, String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return Column deciding which academic year a row belongs to
+     */
+    public String getDateColumn() {
+        return dateColumn;
+    }
+
+    /**
+     * @return Last-modified column, used to leave rows edited after the export in the hot table; null if the table has none
+     */
+    public String getUpdatedColumn() {
+        return updatedColumn;
+    }
+
+    /**
+     * @return Position in {@link #getColumns()} of a TEXT column whose archived value a row must still have to be
+     *         purged, for tables without a last-modified column; -1 if the table has none
+     */
+    public int getGuardIndex() {
+        return guardIndex;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return Position of the date column in {@link #getColumns()}
+     */
+    public int getDateIndex() {
+        return dateIndex;
+    }
+
+    /**
+     * Find a table by its lower-case name
+     * @param name Table name, e.g. marks
+     * @return Table, or null if the name is not archived
+     */
+    public static ArchiveTable fromTableName(String name) {
+        for (ArchiveTable table : values()) {
+            if (table.tableName.equals(name)) {
+                return table;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,565 @@
+package com.studentmanagement.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.studentmanagement.archive.ArchiveTable.ColumnType;
+import com.studentmanagement.dao.ArchiveDAO;
+
+/**
+ * One immutable archive file holding rows of one table for one academic year
+ * Rows are sorted by student and cut into row groups. Inside a group every column is stored on its own:
+ * numbers as zig-zag varint deltas from the previous row, text as a small dictionary plus varint codes, and the
+ * whole group is deflated. A footer records each group's student and date range, so a lookup reads only the
+ * groups that can match and decodes only the columns it asks for.
+ *
+ * Layout: header (magic, version, table, year, sequence, snapshot time, column count), row groups,
+ * footer (group directory), footer offset, magic.
+ */
+final class Segment {
+
+    static final String EXTENSION = ".seg";
+    static final String PURGED_SUFFIX = ".purged";
+    // Stored for SQL NULL in number columns
+    static final long NULL = ArchiveDAO.NULL;
+
+    private static final int MAGIC = 0x534D5341;
+    private static final int VERSION = 1;
+    private static final int TRAILER_BYTES = 12;
+
+    private final Path file;
+    private final ArchiveTable table;
+    private final int yearStart;
+    private final int sequence;
+    private final long snapshotAt;
+    private final List<GroupInfo> groups;
+    private final long rows;
+    private final long rawBytes;
+    private final long fileBytes;
+    private volatile boolean purged;
+
+    private Segment(Path file, ArchiveTable table, int yearStart, int sequence, long snapshotAt, List<GroupInfo> groups)
+            throws IOException {
+        this.file = file;
+        this.table = table;
+        this.yearStart = yearStart;
+        this.sequence = sequence;
+        this.snapshotAt = snapshotAt;
+        this.groups = groups;
+        long rowCount = 0;
+        long raw = 0;
+        for (GroupInfo group : groups) {
+            rowCount += group.rows;
+            raw += group.rawLength;
+        }
+        this.rows = rowCount;
+        this.rawBytes = raw;
+        this.fileBytes = Files.size(file);
+        this.purged = Files.exists(purgedMarker(file));
+    }
+
+    /**
+     * Open an existing segment, reading only its header and footer
+     * @param file Segment file
+     * @return Segment
+     * @throws IOException if the file is unreadable or not a complete segment
+     */
+    static Segment open(Path file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file.toFile(), "r")) {
+            if (input.readInt() != MAGIC || input.readUnsignedByte() != VERSION) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            ArchiveTable table = ArchiveTable.fromTableName(input.readUTF());
+            int yearStart = input.readInt();
+            int sequence = input.readInt();
+            long snapshotAt = input.readLong();
+            int columnCount = input.readInt();
+            if (table == null || columnCount != table.getColumns().size()) {
+                throw new IOException("Unknown table layout in " + file);
+            }
+
+            long length = input.length();
+            input.seek(length - TRAILER_BYTES);
+            long footerOffset = input.readLong();
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Incomplete archive segment: " + file);
+            }
+            input.seek(footerOffset);
+            int groupCount = input.readInt();
+            List<GroupInfo> groups = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) {
+                groups.add(new GroupInfo(input.readLong(), input.readInt(), input.readInt(), input.readInt(),
+                    input.readInt(), input.readInt(), input.readInt(), input.readInt()));
+            }
+            return new Segment(file, table, yearStart, sequence, snapshotAt, groups);
+        }
+    }
+
+    /**
+     * Start writing a new segment; it becomes visible under its final name only when {@link Writer#finish()} succeeds
+     */
+    static Writer create(Path directory, ArchiveTable table, int yearStart, int sequence, long snapshotAt,
+            int rowGroupRows) throws IOException {
+        return new Writer(directory, table, yearStart, sequence, snapshotAt, rowGroupRows);
+    }
+
+    static String fileName(ArchiveTable table, int yearStart, int sequence) {
+        return table.getTableName() + "-" + yearStart + "-" + sequence + EXTENSION;
+    }
+
+    /**
+     * Indexes of the row groups that may hold rows for a student within a day range
+     * @param studentId Student, or null for any student
+     * @param fromDay First epoch day
+     * @param toDay Last epoch day
+     * @return Group indexes in file order
+     */
+    List<Integer> groupsFor(Integer studentId, long fromDay, long toDay) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            GroupInfo group = groups.get(i);
+            if (group.maxDay < fromDay || group.minDay > toDay) {
+                continue;
+            }
+            if (studentId != null && (studentId < group.minStudent || studentId > group.maxStudent)) {
+                continue;
+            }
+            matches.add(i);
+        }
+        return matches;
+    }
+
+    int getGroupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Read and decode one row group
+     * @param index Group index
+     * @param wanted Columns to decode, indexed like {@link ArchiveTable#getColumns()}; the others are skipped
+     * @return Decoded group
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    RowGroup read(int index, boolean[] wanted) throws IOException {
+        GroupInfo group = groups.get(index);
+        byte[] compressed = new byte[group.length];
+        try (RandomAccessFile input = new RandomAccessFile(file.toFile(), "r")) {
+            input.seek(group.offset);
+            input.readFully(compressed);
+        }
+
+        byte[] raw = new byte[group.rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int inflated = inflater.inflate(raw);
+            if (inflated != raw.length) {
+                throw new IOException("Truncated row group " + index + " in " + file);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt row group " + index + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+
+        List<ArchiveTable.Column> columns = table.getColumns();
+        RowGroup rowGroup = new RowGroup(group.rows, columns.size());
+        ByteReader reader = new ByteReader(raw);
+        for (int c = 0; c < columns.size(); c++) {
+            int columnBytes = (int) reader.readVarLong();
+            if (!wanted[c]) {
+                reader.skip(columnBytes);
+                continue;
+            }
+            if (columns.get(c).getType() == ColumnType.TEXT) {
+                rowGroup.texts[c] = decodeText(reader, group.rows);
+            } else {
+                rowGroup.numbers[c] = decodeNumbers(reader, group.rows);
+            }
+        }
+        return rowGroup;
+    }
+
+    void markPurged() throws IOException {
+        Files.write(purgedMarker(file), new byte[0]);
+        purged = true;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(purgedMarker(file));
+        Files.deleteIfExists(file);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    ArchiveTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return Calendar year in which the archived academic year starts
+     */
+    int getYearStart() {
+        return yearStart;
+    }
+
+    int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return Time the export query started; rows modified after it are left in the hot table
+     */
+    long getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    long getRawBytes() {
+        return rawBytes;
+    }
+
+    long getFileBytes() {
+        return fileBytes;
+    }
+
+    /**
+     * @return true once the archived rows have been deleted from the hot table
+     */
+    boolean isPurged() {
+        return purged;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("file", file.getFileName().toString());
+        info.put("table", table.getTableName());
+        info.put("academicYear", AcademicYear.label(yearStart));
+        info.put("rows", rows);
+        info.put("rowGroups", groups.size());
+        info.put("bytes", fileBytes);
+        info.put("rawBytes", rawBytes);
+        info.put("purged", purged);
+        return info;
+    }
+
+    private static Path purgedMarker(Path file) {
+        return file.resolveSibling(file.getFileName() + PURGED_SUFFIX);
+    }
+
+    private static long[] decodeNumbers(ByteReader reader, int rows) {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long zigzag = reader.readVarLong();
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static String[] decodeText(ByteReader reader, int rows) {
+        String[] dictionary = new String[(int) reader.readVarLong()];
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = (int) reader.readVarLong();
+            dictionary[i] = reader.readString(length);
+        }
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int code = (int) reader.readVarLong();
+            values[i] = code == 0 ? null : dictionary[code - 1];
+        }
+        return values;
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Decoded columns of one row group; columns that were not requested are null
+     */
+    static final class RowGroup {
+        final int rows;
+        final long[][] numbers;
+        final String[][] texts;
+
+        RowGroup(int rows, int columns) {
+            this.rows = rows;
+            this.numbers = new long[columns][];
+            this.texts = new String[columns][];
+        }
+    }
+
+    /**
+     * Buffers one row group at a time and appends it to a temporary file
+     */
+    static final class Writer implements Closeable {
+        private final Path target;
+        private final Path partial;
+        private final ArchiveTable table;
+        private final int yearStart;
+        private final int sequence;
+        private final long snapshotAt;
+        private final int rowGroupRows;
+        private final DataOutputStream out;
+        private final long[][] numbers;
+        private final String[][] texts;
+        private final List<GroupInfo> groups = new ArrayList<>();
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private long offset;
+        private int count;
+        private boolean finished;
+
+        private Writer(Path directory, ArchiveTable table, int yearStart, int sequence, long snapshotAt,
+                int rowGroupRows) throws IOException {
+            this.target = directory.resolve(fileName(table, yearStart, sequence));
+            this.partial = directory.resolve(target.getFileName() + ".part");
+            this.table = table;
+            this.yearStart = yearStart;
+            this.sequence = sequence;
+            this.snapshotAt = snapshotAt;
+            this.rowGroupRows = rowGroupRows;
+            int columns = table.getColumns().size();
+            this.numbers = new long[columns][rowGroupRows];
+            this.texts = new String[columns][rowGroupRows];
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024));
+
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(table.getTableName());
+            out.writeInt(yearStart);
+            out.writeInt(sequence);
+            out.writeLong(snapshotAt);
+            out.writeInt(columns);
+            offset = out.size();
+        }
+
+        /**
+         * Append a row; rows must arrive sorted by student
+         * @param rowNumbers Values of the number columns, by column position
+         * @param rowTexts Values of the text columns, by column position
+         */
+        void add(long[] rowNumbers, String[] rowTexts) throws IOException {
+            List<ArchiveTable.Column> columns = table.getColumns();
+            for (int c = 0; c < columns.size(); c++) {
+                if (columns.get(c).getType() == ColumnType.TEXT) {
+                    texts[c][count] = rowTexts[c];
+                } else {
+                    numbers[c][count] = rowNumbers[c];
+                }
+            }
+            if (++count == rowGroupRows) {
+                flushGroup();
+            }
+        }
+
+        long getRows() {
+            long rows = count;
+            for (GroupInfo group : groups) {
+                rows += group.rows;
+            }
+            return rows;
+        }
+
+        /**
+         * Write the footer, sync and move the file to its final name
+         * @return The opened segment
+         */
+        Segment finish() throws IOException {
+            flushGroup();
+            long footerOffset = offset;
+            out.writeInt(groups.size());
+            for (GroupInfo group : groups) {
+                out.writeLong(group.offset);
+                out.writeInt(group.length);
+                out.writeInt(group.rawLength);
+                out.writeInt(group.rows);
+                out.writeInt(group.minStudent);
+                out.writeInt(group.maxStudent);
+                out.writeInt(group.minDay);
+                out.writeInt(group.maxDay);
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+            out.flush();
+            out.close();
+            finished = true;
+
+            try (RandomAccessFile sync = new RandomAccessFile(partial.toFile(), "rw")) {
+                sync.getFD().sync();
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            return new Segment(target, table, yearStart, sequence, snapshotAt, groups);
+        }
+
+        /**
+         * Discard an unfinished segment
+         */
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            if (!finished) {
+                out.close();
+                Files.deleteIfExists(partial);
+            }
+        }
+
+        private void flushGroup() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            List<ArchiveTable.Column> columns = table.getColumns();
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(count * columns.size() * 2);
+            ByteArrayOutputStream column = new ByteArrayOutputStream(count * 2);
+            for (int c = 0; c < columns.size(); c++) {
+                column.reset();
+                if (columns.get(c).getType() == ColumnType.TEXT) {
+                    encodeText(column, texts[c]);
+                } else {
+                    encodeNumbers(column, numbers[c]);
+                }
+                writeVarLong(raw, column.size());
+                column.writeTo(raw);
+            }
+
+            byte[] input = raw.toByteArray();
+            deflater.reset();
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                compressed.write(buffer, 0, length);
+            }
+            compressed.writeTo(out);
+
+            long[] students = numbers[ArchiveTable.STUDENT_ID];
+            long[] days = numbers[table.getDateIndex()];
+            int minStudent = Integer.MAX_VALUE;
+            int maxStudent = Integer.MIN_VALUE;
+            int minDay = Integer.MAX_VALUE;
+            int maxDay = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                minStudent = Math.min(minStudent, (int) students[i]);
+                maxStudent = Math.max(maxStudent, (int) students[i]);
+                if (days[i] != NULL) {
+                    minDay = Math.min(minDay, (int) days[i]);
+                    maxDay = Math.max(maxDay, (int) days[i]);
+                }
+            }
+            groups.add(new GroupInfo(offset, compressed.size(), input.length, count,
+                minStudent, maxStudent, minDay, maxDay));
+            offset += compressed.size();
+            count = 0;
+        }
+
+        private void encodeNumbers(OutputStream column, long[] values) throws IOException {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long delta = values[i] - previous;
+                writeVarLong(column, (delta << 1) ^ (delta >> 63));
+                previous = values[i];
+            }
+        }
+
+        private void encodeText(OutputStream column, String[] values) throws IOException {
+            Map<String, Integer> codes = new LinkedHashMap<>();
+            int[] rowCodes = new int[count];
+            for (int i = 0; i < count; i++) {
+                rowCodes[i] = values[i] == null ? 0 : codes.computeIfAbsent(values[i], key -> codes.size() + 1);
+                values[i] = null;
+            }
+            writeVarLong(column, codes.size());
+            for (String value : codes.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(column, bytes.length);
+                column.write(bytes);
+            }
+            for (int code : rowCodes) {
+                writeVarLong(column, code);
+            }
+        }
+    }
+
+    private static final class GroupInfo {
+        final long offset;
+        final int length;
+        final int rawLength;
+        final int rows;
+        final int minStudent;
+        final int maxStudent;
+        final int minDay;
+        final int maxDay;
+
+        GroupInfo(long offset, int length, int rawLength, int rows, int minStudent, int maxStudent,
+                int minDay, int maxDay) {
+            this.offset = offset;
+            this.length = length;
+            this.rawLength = rawLength;
+            this.rows = rows;
+            this.minStudent = minStudent;
+            this.maxStudent = maxStudent;
+            this.minDay = minDay;
+            this.maxDay = maxDay;
+        }
+    }
+
+    private static final class ByteReader {
+        private final byte[] bytes;
+        private int position;
+
+        ByteReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+
+        String readString(int length) {
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void skip(int length) {
+            position += length;
+        }
+    }
+}
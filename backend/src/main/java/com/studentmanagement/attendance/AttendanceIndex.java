@@ -0,0 +1,612 @@
+package com.studentmanagement.attendance;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.AttendanceDAO;
+
+/**
+ * In-memory attendance index
+ * Holds, per (student, subject), one {@link DayBitmap} plane with every marked day and one each for the days marked
+ * Present and Late; absences are the marked days in neither, so absent = total - present - late.
+ * Percentages, streaks, monthly breakdowns and "who was absent on a date" are answered from the planes with
+ * popcounts and range counts instead of grouped queries over the attendance table.
+ * The index is loaded in the background at startup, then kept current by the attendance DAO's write paths;
+ * until it is ready callers fall back to SQL. Writes made while a load is running are replayed on top of it.
+ */
+public class AttendanceIndex {
+
+    /**
+     * Index lifecycle
+     */
+    public enum State {
+        DISABLED, EMPTY, LOADING, READY, FAILED
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceIndex.class);
+
+    // Plane positions in SubjectHistory.planes
+    private static final int MARKED = 0;
+    private static final int PRESENT = 1;
+    private static final int LATE = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AttendanceDAO attendanceDAO = new AttendanceDAO();
+    private Map<Integer, StudentHistory> students = new HashMap<>();
+    // Writes seen while a load is running, replayed onto the freshly loaded map; null when not loading
+    private List<Mutation> pending;
+    private volatile State state = AppConfig.ATTENDANCE_INDEX_ENABLED ? State.EMPTY : State.DISABLED;
+    private volatile long loadedRecords;
+    private volatile long loadMillis;
+    private volatile long loadedAt;
+    private ScheduledExecutorService loader;
+
+    /**
+     * Receives per-pair count changes
+     * Calls are made while the index write lock is held, so they arrive in write order and must not block.
+     * After every (re)load the listener is reset and then sent the counts of every pair.
+     */
+    public interface Listener {
+        void reset();
+
+        /**
+         * @param studentId Student ID
+         * @param subjectId Subject ID
+         * @param present Days marked Present
+         * @param total Days with any status
+         */
+        void pairChanged(int studentId, int subjectId, int present, int total);
+
+        void studentRemoved(int studentId);
+
+        void loaded();
+    }
+
+    private static class Holder {
+        private static final AttendanceIndex INSTANCE = new AttendanceIndex();
+    }
+
+    private AttendanceIndex() {
+    }
+
+    /**
+     * Get singleton instance of AttendanceIndex
+     * @return AttendanceIndex instance
+     */
+    public static AttendanceIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start loading in the background, and rebuild periodically if ATTENDANCE_INDEX_REBUILD_MINUTES is set
+     */
+    public synchronized void start() {
+        if (loader != null || state == State.DISABLED) {
+            return;
+        }
+        loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long rebuild = AppConfig.ATTENDANCE_INDEX_REBUILD_MINUTES;
+        if (rebuild > 0) {
+            loader.scheduleWithFixedDelay(this::loadSafely, 0, rebuild, TimeUnit.MINUTES);
+        } else {
+            loader.execute(this::loadSafely);
+        }
+    }
+
+    /**
+     * Stop the background loader
+     */
+    public synchronized void stop() {
+        if (loader != null) {
+            loader.shutdownNow();
+            loader = null;
+        }
+    }
+
+    /**
+     * Check whether reads can be served from the index
+     * @return true once the first load has completed
+     */
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Register a listener; if the index is already loaded it is sent the current counts immediately
+     * @param listener Listener
+     */
+    public void addListener(Listener listener) {
+        lock.writeLock().lock();
+        try {
+            listeners.add(listener);
+            if (state == State.READY) {
+                replayTo(listener, students);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record the status of one attendance entry, replacing any earlier status for that day
+     * @param studentId Student ID
+     * @param subjectId Subject ID
+     * @param date Attendance date
+     * @param status Present, Late or Absent
+     */
+    public void record(int studentId, int subjectId, LocalDate date, String status) {
+        int plane = planeOf(status);
+        if (plane < 0 || date == null) {
+            return;
+        }
+        int day = (int) date.toEpochDay();
+        apply(studentId, subjectId, map -> historyFor(map, studentId, subjectId, true).mark(day, plane));
+    }
+
+    /**
+     * Remove one attendance entry
+     * @param studentId Student ID
+     * @param subjectId Subject ID
+     * @param date Attendance date
+     */
+    public void remove(int studentId, int subjectId, LocalDate date) {
+        if (date == null) {
+            return;
+        }
+        int day = (int) date.toEpochDay();
+        apply(studentId, subjectId, map -> {
+            SubjectHistory history = historyFor(map, studentId, subjectId, false);
+            if (history != null) {
+                history.clear(day);
+            }
+        });
+    }
+
+    /**
+     * Drop all attendance of a deleted student
+     * @param studentId Student ID
+     */
+    public void removeStudent(int studentId) {
+        apply(studentId, -1, map -> map.remove(studentId));
+    }
+
+    /**
+     * Attendance percentage per subject, counting only Present as attended like the SQL it replaces
+     * @param studentId Student ID
+     * @return Percentage keyed by subject ID, for subjects with at least one entry
+     */
+    public Map<Integer, Double> getPercentages(int studentId) {
+        Map<Integer, Double> percentages = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            StudentHistory student = students.get(studentId);
+            if (student != null) {
+                for (int i = 0; i < student.subjectIds.length; i++) {
+                    SubjectHistory history = student.subjects[i];
+                    int total = history.count(MARKED);
+                    if (total > 0) {
+                        percentages.put(student.subjectIds[i], history.count(PRESENT) * 100.0 / total);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return percentages;
+    }
+
+    /**
+     * Per-subject attendance summary of a student over a date range
+     * Late counts as attended for streaks; a streak ends at an absence.
+     * @param studentId Student ID
+     * @param from First date, inclusive
+     * @param to Last date, inclusive
+     * @return One map per subject: subjectId, present, late, absent, total, percentage, currentStreak,
+     *         longestStreak, lastAbsent and monthly (month, present, late, absent, total)
+     */
+    public List<Map<String, Object>> getSummary(int studentId, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        List<Map<String, Object>> summaries = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            StudentHistory student = students.get(studentId);
+            if (student == null) {
+                return summaries;
+            }
+            for (int i = 0; i < student.subjectIds.length; i++) {
+                SubjectHistory history = student.subjects[i];
+                int total = history.count(MARKED, fromDay, toDay);
+                if (total == 0) {
+                    continue;
+                }
+                int present = history.count(PRESENT, fromDay, toDay);
+                int late = history.count(LATE, fromDay, toDay);
+                int absent = total - present - late;
+
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("subjectId", student.subjectIds[i]);
+                summary.put("present", present);
+                summary.put("late", late);
+                summary.put("absent", absent);
+                summary.put("total", total);
+                summary.put("percentage", present * 100.0 / total);
+                addStreaks(summary, history, fromDay, toDay);
+                summary.put("monthly", monthly(history, from, to));
+                summaries.add(summary);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return summaries;
+    }
+
+    /**
+     * Students marked absent on a date
+     * @param date Attendance date
+     * @param subjectId Restrict to one subject, or null for every subject
+     * @return Sorted student IDs keyed by subject ID, subjects without absentees are left out
+     */
+    public Map<Integer, List<Integer>> getAbsentees(LocalDate date, Integer subjectId) {
+        int day = (int) date.toEpochDay();
+        Map<Integer, List<Integer>> absentees = new TreeMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Integer, StudentHistory> entry : students.entrySet()) {
+                StudentHistory student = entry.getValue();
+                for (int i = 0; i < student.subjectIds.length; i++) {
+                    if (subjectId != null && student.subjectIds[i] != subjectId) {
+                        continue;
+                    }
+                    if (student.subjects[i].isAbsent(day)) {
+                        absentees.computeIfAbsent(student.subjectIds[i], id -> new ArrayList<>()).add(entry.getKey());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        absentees.values().forEach(ids -> ids.sort(null));
+        return absentees;
+    }
+
+    /**
+     * Get load state and size counters for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("state", state);
+        metrics.put("loadedRecords", loadedRecords);
+        metrics.put("loadMs", loadMillis);
+        metrics.put("loadedAt", loadedAt);
+
+        long pairs = 0;
+        long entries = 0;
+        long bytes = 0;
+        lock.readLock().lock();
+        try {
+            metrics.put("students", students.size());
+            for (StudentHistory student : students.values()) {
+                // HashMap node, boxed key and the two parallel arrays
+                bytes += 48 + 16 + 16 + student.subjectIds.length * 4L + 16 + student.subjects.length * 4L;
+                for (SubjectHistory history : student.subjects) {
+                    pairs++;
+                    bytes += 16 + 16 + 3 * 4;
+                    entries += history.count(MARKED);
+                    for (DayBitmap plane : history.planes) {
+                        if (plane != null) {
+                            bytes += plane.estimateBytes();
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        metrics.put("studentSubjectPairs", pairs);
+        metrics.put("entries", entries);
+        metrics.put("estimatedBytes", bytes);
+        return metrics;
+    }
+
+    private void loadSafely() {
+        try {
+            load();
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (state != State.READY) {
+                state = State.FAILED;
+            }
+            logger.warn("Attendance index load failed, attendance statistics fall back to SQL", e);
+        }
+    }
+
+    /**
+     * Build a new map from the attendance table and swap it in
+     * The current map keeps serving reads during a rebuild
+     */
+    private void load() throws SQLException {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+            if (state != State.READY) {
+                state = State.LOADING;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Integer, StudentHistory> loaded = new HashMap<>();
+        long[] count = new long[1];
+        attendanceDAO.forEachRecord((studentId, subjectId, date, status) -> {
+            int plane = planeOf(status);
+            if (plane >= 0 && date != null) {
+                // Marking clears the day first, so a hot record replaces the archived one streamed before it
+                historyFor(loaded, studentId, subjectId, true).mark((int) date.toEpochDay(), plane);
+                count[0]++;
+            }
+        });
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = pending.size();
+            for (Mutation mutation : pending) {
+                mutation.apply(loaded);
+            }
+            pending = null;
+            students = loaded;
+            state = State.READY;
+            for (Listener listener : listeners) {
+                replayTo(listener, loaded);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        loadedRecords = count[0];
+        loadMillis = System.currentTimeMillis() - start;
+        loadedAt = System.currentTimeMillis();
+        logger.info("Attendance index loaded: {} records for {} students in {} ms ({} writes replayed)",
+            count[0], loaded.size(), loadMillis, replayed);
+    }
+
+    private interface Mutation {
+        void apply(Map<Integer, StudentHistory> map);
+    }
+
+    /**
+     * Apply a write to the live map and tell listeners about the affected pair
+     * @param subjectId Affected subject, or -1 when the whole student was removed
+     */
+    private void apply(int studentId, int subjectId, Mutation mutation) {
+        if (state == State.DISABLED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            mutation.apply(students);
+            if (pending != null) {
+                pending.add(mutation);
+            }
+            if (state == State.READY) {
+                if (subjectId < 0) {
+                    listeners.forEach(listener -> listener.studentRemoved(studentId));
+                } else {
+                    SubjectHistory history = historyFor(students, studentId, subjectId, false);
+                    int present = history == null ? 0 : history.count(PRESENT);
+                    int total = history == null ? 0 : history.count(MARKED);
+                    listeners.forEach(listener -> listener.pairChanged(studentId, subjectId, present, total));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private static void replayTo(Listener listener, Map<Integer, StudentHistory> map) {
+        listener.reset();
+        for (Map.Entry<Integer, StudentHistory> entry : map.entrySet()) {
+            StudentHistory student = entry.getValue();
+            for (int i = 0; i < student.subjectIds.length; i++) {
+                SubjectHistory history = student.subjects[i];
+                int total = history.count(MARKED);
+                if (total > 0) {
+                    listener.pairChanged(entry.getKey(), student.subjectIds[i], history.count(PRESENT), total);
+                }
+            }
+        }
+        listener.loaded();
+    }
+
+    // Plane a status is recorded in, MARKED alone for Absent, -1 for an unknown status
+    private static int planeOf(String status) {
+        if (status == null) {
+            return -1;
+        }
+        switch (status.trim().toLowerCase(Locale.ROOT)) {
+            case "present":
+                return PRESENT;
+            case "late":
+                return LATE;
+            case "absent":
+                return MARKED;
+            default:
+                return -1;
+        }
+    }
+
+    private static SubjectHistory historyFor(Map<Integer, StudentHistory> map, int studentId, int subjectId,
+                                             boolean create) {
+        StudentHistory student = map.get(studentId);
+        if (student == null) {
+            if (!create) {
+                return null;
+            }
+            student = new StudentHistory();
+            map.put(studentId, student);
+        }
+        return student.subject(subjectId, create);
+    }
+
+    /**
+     * Fill in the current streak (attended sessions since the last absence), the longest streak
+     * and the last absence, using range counts between consecutive absences
+     */
+    private static void addStreaks(Map<String, Object> summary, SubjectHistory history, int fromDay, int toDay) {
+        DayBitmap marked = history.planes[MARKED];
+        int[] longest = {0};
+        int[] previous = {fromDay - 1};
+
+        if (marked != null) {
+            marked.forEach(day -> {
+                if (day >= fromDay && day <= toDay && history.isAbsent(day)) {
+                    longest[0] = Math.max(longest[0], history.attended(previous[0] + 1, day - 1));
+                    previous[0] = day;
+                }
+            });
+        }
+        int current = history.attended(previous[0] + 1, toDay);
+        summary.put("currentStreak", current);
+        summary.put("longestStreak", Math.max(longest[0], current));
+        summary.put("lastAbsent", previous[0] >= fromDay ? LocalDate.ofEpochDay(previous[0]).toString() : null);
+    }
+
+    private static List<Map<String, Object>> monthly(SubjectHistory history, LocalDate from, LocalDate to) {
+        List<Map<String, Object>> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            int first = (int) Math.max(month.atDay(1).toEpochDay(), from.toEpochDay());
+            int last = (int) Math.min(month.atEndOfMonth().toEpochDay(), to.toEpochDay());
+            int total = history.count(MARKED, first, last);
+            if (total == 0) {
+                continue;
+            }
+            int present = history.count(PRESENT, first, last);
+            int late = history.count(LATE, first, last);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("month", month.toString());
+            entry.put("present", present);
+            entry.put("late", late);
+            entry.put("absent", total - present - late);
+            entry.put("total", total);
+            months.add(entry);
+        }
+        return months;
+    }
+
+    /**
+     * Subjects of one student as parallel arrays sorted by subject ID, smaller than a map per student
+     */
+    private static final class StudentHistory {
+        private int[] subjectIds = new int[0];
+        private SubjectHistory[] subjects = new SubjectHistory[0];
+
+        SubjectHistory subject(int subjectId, boolean create) {
+            int index = Arrays.binarySearch(subjectIds, subjectId);
+            if (index >= 0) {
+                return subjects[index];
+            }
+            if (!create) {
+                return null;
+            }
+            index = -index - 1;
+            int[] ids = new int[subjectIds.length + 1];
+            SubjectHistory[] histories = new SubjectHistory[subjects.length + 1];
+            System.arraycopy(subjectIds, 0, ids, 0, index);
+            System.arraycopy(subjects, 0, histories, 0, index);
+            System.arraycopy(subjectIds, index, ids, index + 1, subjectIds.length - index);
+            System.arraycopy(subjects, index, histories, index + 1, subjects.length - index);
+            ids[index] = subjectId;
+            histories[index] = new SubjectHistory();
+            subjectIds = ids;
+            subjects = histories;
+            return histories[index];
+        }
+    }
+
+    /**
+     * Marked, Present and Late planes of one (student, subject) pair, each null until first used
+     */
+    private static final class SubjectHistory {
+        private final DayBitmap[] planes = new DayBitmap[3];
+
+        // Record a day with the plane of its status, MARKED alone for an absence
+        void mark(int day, int plane) {
+            clear(day);
+            plane(MARKED, true).add(day);
+            if (plane != MARKED) {
+                plane(plane, true).add(day);
+            }
+        }
+
+        boolean isAbsent(int day) {
+            return planes[MARKED] != null && planes[MARKED].contains(day)
+                && !(planes[PRESENT] != null && planes[PRESENT].contains(day))
+                && !(planes[LATE] != null && planes[LATE].contains(day));
+        }
+
+        DayBitmap plane(int plane, boolean create) {
+            if (planes[plane] == null && create) {
+                planes[plane] = new DayBitmap();
+            }
+            return planes[plane];
+        }
+
+        void clear(int day) {
+            for (DayBitmap plane : planes) {
+                if (plane != null) {
+                    plane.remove(day);
+                }
+            }
+        }
+
+        int count(int plane) {
+            return planes[plane] == null ? 0 : planes[plane].cardinality();
+        }
+
+        int count(int plane, int fromDay, int toDay) {
+            return planes[plane] == null ? 0 : planes[plane].count(fromDay, toDay);
+        }
+
+        int attended(int fromDay, int toDay) {
+            return count(PRESENT, fromDay, toDay) + count(LATE, fromDay, toDay);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.studentmanagement.attendance;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of days, stored as epoch day numbers
+ * Roaring-style layout: days are split into 512-day chunks, and each chunk is kept either as a sorted array of
+ * offsets while it holds at most 32 days (sparse, e.g. absences) or as a 512-bit bitmap once it holds more
+ * (dense, e.g. days present). Both forms take at most 64 bytes per chunk, so a year of daily attendance for one
+ * subject costs about 64 bytes per plane. Counts over date ranges use popcounts and binary searches,
+ * never per-day iteration. Days are stored offset by {@link #MIN_DAY} so dates before 1970 work the same way.
+ * Not thread-safe, {@link AttendanceIndex} guards access.
+ */
+final class DayBitmap {
+
+    private static final int CHUNK_BITS = 9;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+    private static final int WORDS = (1 << CHUNK_BITS) / 64;
+    private static final int ARRAY_MAX = 32;
+
+    // Range of storable epoch days, about 45,000 years either side of 1970; 16-bit chunk keys cover it exactly
+    static final int MIN_DAY = -(1 << 24);
+    static final int MAX_DAY = (1 << 24) - 1;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Object[] NO_CONTAINERS = new Object[0];
+
+    // Sorted chunk numbers; containers[i] is a char[] of sorted offsets or a long[WORDS] bitmap
+    private char[] keys = NO_KEYS;
+    private Object[] containers = NO_CONTAINERS;
+    private int cardinality;
+
+    /**
+     * Add a day
+     * @param day Epoch day between MIN_DAY and MAX_DAY
+     * @return true if the day was not already present
+     * @throws IllegalArgumentException if the day is out of range
+     */
+    boolean add(int day) {
+        if (day < MIN_DAY || day > MAX_DAY) {
+            throw new IllegalArgumentException("Epoch day out of range: " + day);
+        }
+        int position = day - MIN_DAY;
+        char key = (char) (position >>> CHUNK_BITS);
+        char offset = (char) (position & CHUNK_MASK);
+        int index = Arrays.binarySearch(keys, key);
+
+        if (index < 0) {
+            index = -index - 1;
+            keys = insert(keys, index, key);
+            Object[] grown = new Object[containers.length + 1];
+            System.arraycopy(containers, 0, grown, 0, index);
+            System.arraycopy(containers, index, grown, index + 1, containers.length - index);
+            grown[index] = new char[] {offset};
+            containers = grown;
+            cardinality++;
+            return true;
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long bit = 1L << offset;
+            if ((words[offset >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[offset >>> 6] |= bit;
+        } else {
+            char[] offsets = (char[]) container;
+            int found = Arrays.binarySearch(offsets, offset);
+            if (found >= 0) {
+                return false;
+            }
+            offsets = insert(offsets, -found - 1, offset);
+            containers[index] = offsets.length > ARRAY_MAX ? toBitmap(offsets) : offsets;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Remove a day
+     * @param day Epoch day
+     * @return true if the day was present
+     */
+    boolean remove(int day) {
+        if (day < MIN_DAY || day > MAX_DAY) {
+            return false;
+        }
+        int position = day - MIN_DAY;
+        char key = (char) (position >>> CHUNK_BITS);
+        char offset = (char) (position & CHUNK_MASK);
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return false;
+        }
+
+        Object container = containers[index];
+        int remaining;
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long bit = 1L << offset;
+            if ((words[offset >>> 6] & bit) == 0) {
+                return false;
+            }
+            words[offset >>> 6] &= ~bit;
+            remaining = popcount(words, 0, CHUNK_MASK);
+            if (remaining <= ARRAY_MAX) {
+                containers[index] = toArray(words, remaining);
+            }
+        } else {
+            char[] offsets = (char[]) container;
+            int found = Arrays.binarySearch(offsets, offset);
+            if (found < 0) {
+                return false;
+            }
+            char[] shrunk = new char[offsets.length - 1];
+            System.arraycopy(offsets, 0, shrunk, 0, found);
+            System.arraycopy(offsets, found + 1, shrunk, found, shrunk.length - found);
+            containers[index] = shrunk;
+            remaining = shrunk.length;
+        }
+
+        if (remaining == 0) {
+            removeChunk(index);
+        }
+        cardinality--;
+        return true;
+    }
+
+    /**
+     * Check whether a day is present
+     * @param day Epoch day
+     * @return true if present
+     */
+    boolean contains(int day) {
+        if (day < MIN_DAY || day > MAX_DAY) {
+            return false;
+        }
+        int position = day - MIN_DAY;
+        int index = Arrays.binarySearch(keys, (char) (position >>> CHUNK_BITS));
+        if (index < 0) {
+            return false;
+        }
+        int offset = position & CHUNK_MASK;
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[offset >>> 6] & (1L << offset)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, (char) offset) >= 0;
+    }
+
+    /**
+     * @return Number of days in the set
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Count the days in an inclusive range
+     * @param fromDay First epoch day
+     * @param toDay Last epoch day
+     * @return Number of days present in [fromDay, toDay]
+     */
+    int count(int fromDay, int toDay) {
+        int from = Math.max(fromDay, MIN_DAY) - MIN_DAY;
+        int to = Math.min(toDay, MAX_DAY) - MIN_DAY;
+        if (from > to || cardinality == 0) {
+            return 0;
+        }
+        int fromKey = from >>> CHUNK_BITS;
+        int toKey = to >>> CHUNK_BITS;
+        int total = 0;
+
+        for (int i = firstKeyAtLeast(fromKey); i < keys.length && keys[i] <= toKey; i++) {
+            int low = keys[i] == fromKey ? from & CHUNK_MASK : 0;
+            int high = keys[i] == toKey ? to & CHUNK_MASK : CHUNK_MASK;
+            Object container = containers[i];
+            if (container instanceof long[]) {
+                total += popcount((long[]) container, low, high);
+            } else {
+                char[] offsets = (char[]) container;
+                total += lowerBound(offsets, high + 1) - lowerBound(offsets, low);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Visit every day in ascending order
+     * @param action Receives epoch days
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            int base = (keys[i] << CHUNK_BITS) + MIN_DAY;
+            Object container = containers[i];
+            if (container instanceof long[]) {
+                long[] words = (long[]) container;
+                for (int w = 0; w < WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(base + w * 64 + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (char offset : (char[]) container) {
+                    action.accept(base + offset);
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimate the heap footprint, for the index metrics
+     * @return Approximate bytes including object and array headers
+     */
+    long estimateBytes() {
+        long bytes = 24 + 16 + keys.length * 2L + 16 + containers.length * 4L;
+        for (Object container : containers) {
+            bytes += container instanceof long[] ? 16 + WORDS * 8 : 16 + ((char[]) container).length * 2L;
+        }
+        return bytes;
+    }
+
+    private int firstKeyAtLeast(int key) {
+        int index = Arrays.binarySearch(keys, (char) key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void removeChunk(int index) {
+        char[] shrunkKeys = new char[keys.length - 1];
+        System.arraycopy(keys, 0, shrunkKeys, 0, index);
+        System.arraycopy(keys, index + 1, shrunkKeys, index, shrunkKeys.length - index);
+        Object[] shrunk = new Object[containers.length - 1];
+        System.arraycopy(containers, 0, shrunk, 0, index);
+        System.arraycopy(containers, index + 1, shrunk, index, shrunk.length - index);
+        keys = shrunkKeys.length == 0 ? NO_KEYS : shrunkKeys;
+        containers = shrunk.length == 0 ? NO_CONTAINERS : shrunk;
+    }
+
+    // Count set bits with offsets in [low, high] of one chunk bitmap
+    private static int popcount(long[] words, int low, int high) {
+        int firstWord = low >>> 6;
+        int lastWord = high >>> 6;
+        int total = 0;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long word = words[w];
+            if (w == firstWord) {
+                word &= -1L << (low & 63);
+            }
+            if (w == lastWord) {
+                word &= -1L >>> (63 - (high & 63));
+            }
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    // Index of the first offset >= value
+    private static int lowerBound(char[] offsets, int value) {
+        int low = 0;
+        int high = offsets.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (offsets[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static char[] insert(char[] values, int index, char value) {
+        char[] grown = new char[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, index);
+        grown[index] = value;
+        System.arraycopy(values, index, grown, index + 1, values.length - index);
+        return grown;
+    }
+
+    private static long[] toBitmap(char[] offsets) {
+        long[] words = new long[WORDS];
+        for (char offset : offsets) {
+            words[offset >>> 6] |= 1L << offset;
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words, int count) {
+        char[] offsets = new char[count];
+        int position = 0;
+        for (int w = 0; w < WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                offsets[position++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,319 @@
+package com.studentmanagement.attendance;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.StudentDAO;
+import com.studentmanagement.events.ChangeType;
+import com.studentmanagement.events.EventBroadcaster;
+import com.studentmanagement.model.Student;
+
+/**
+ * Attendance shortage tracking
+ * Keeps the present/total count of every (student, subject) pair, fed incrementally by {@link AttendanceIndex},
+ * and a set of the pairs below {@link AppConfig#ATTENDANCE_SHORTAGE_CEILING} ordered by percentage.
+ * A shortage query walks that set from the lowest percentage up and stops at the threshold, so it only
+ * touches students who are actually short. Crossing the default threshold in either direction is counted
+ * and published on the change feed.
+ */
+public class ShortageEngine implements AttendanceIndex.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortageEngine.class);
+    private static final List<String> DIRECTORY_FIELDS = Arrays.asList("id", "name", "rollNumber", "course");
+
+    private static final Comparator<Pair> BY_PERCENTAGE = Comparator
+        .comparingDouble(Pair::percentage)
+        .thenComparingInt(pair -> pair.studentId)
+        .thenComparingInt(pair -> pair.subjectId);
+
+    private final Map<Long, Pair> pairs = new HashMap<>();
+    private final TreeSet<Pair> atRisk = new TreeSet<>(BY_PERCENTAGE);
+    // Name, roll number and course per student, for course filtering and the response rows
+    private final Map<Integer, Student> directory = new ConcurrentHashMap<>();
+    // Students removed before the directory finished loading, so the load does not put them back
+    private final Set<Integer> removedBeforeLoad = ConcurrentHashMap.newKeySet();
+    private final AtomicLong crossedBelow = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final StudentDAO studentDAO = new StudentDAO();
+    private volatile boolean directoryLoaded;
+    private boolean loading;
+    private boolean ready;
+
+    private static class Holder {
+        private static final ShortageEngine INSTANCE = new ShortageEngine();
+    }
+
+    private ShortageEngine() {
+    }
+
+    /**
+     * Get singleton instance of ShortageEngine
+     * @return ShortageEngine instance
+     */
+    public static ShortageEngine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start receiving counts from the attendance index
+     */
+    public void start() {
+        AttendanceIndex.getInstance().addListener(this);
+    }
+
+    /**
+     * Check whether shortages can be answered
+     * @return true once the attendance index has loaded
+     */
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Find (student, subject) pairs below a threshold, lowest percentage first
+     * @param threshold Percentage, 0 to 100
+     * @param course Only students of this course (case-insensitive), or null for all
+     * @param subjectId Only this subject, or null for all
+     * @return One row per pair: studentId, studentName, rollNumber, course, subjectId, present, total,
+     *         percentage and sessionsNeeded (consecutive Present days needed to reach the threshold)
+     * @throws SQLException if the student directory has to be loaded and the query fails
+     */
+    public List<Map<String, Object>> findShortages(double threshold, String course, Integer subjectId)
+            throws SQLException {
+        loadDirectory();
+        String courseKey = course == null || course.trim().isEmpty() ? null : course.trim().toLowerCase(Locale.ROOT);
+
+        // Above the ceiling the ordered set is incomplete, fall back to checking every pair
+        boolean ordered = threshold <= AppConfig.ATTENDANCE_SHORTAGE_CEILING;
+        List<Pair> matches = new ArrayList<>();
+        synchronized (this) {
+            Collection<Pair> candidates = ordered ? atRisk : pairs.values();
+            for (Pair pair : candidates) {
+                if (pair.percentage() >= threshold) {
+                    if (ordered) {
+                        break;
+                    }
+                    continue;
+                }
+                if (pair.total >= AppConfig.ATTENDANCE_SHORTAGE_MIN_SESSIONS
+                        && (subjectId == null || pair.subjectId == subjectId)) {
+                    matches.add(pair.copy());
+                }
+            }
+        }
+        if (!ordered) {
+            matches.sort(BY_PERCENTAGE);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Pair pair : matches) {
+            Student student = directory.get(pair.studentId);
+            String studentCourse = student != null ? student.getCourse() : null;
+            if (courseKey != null && (studentCourse == null || !courseKey.equals(studentCourse.trim().toLowerCase(Locale.ROOT)))) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("studentId", pair.studentId);
+            row.put("studentName", student != null ? student.getName() : null);
+            row.put("rollNumber", student != null ? student.getRollNumber() : null);
+            row.put("course", studentCourse);
+            row.put("subjectId", pair.subjectId);
+            row.put("present", pair.present);
+            row.put("total", pair.total);
+            row.put("percentage", pair.percentage());
+            row.put("sessionsNeeded", sessionsNeeded(pair, threshold));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Keep the directory current after a student is added or edited, also while it is still loading
+     * @param student Saved student
+     */
+    public void studentSaved(Student student) {
+        if (student.getId() > 0) {
+            removedBeforeLoad.remove(student.getId());
+            directory.put(student.getId(), directoryEntry(student));
+        }
+    }
+
+    /**
+     * Get counters for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("ready", ready);
+        metrics.put("pairs", pairs.size());
+        metrics.put("trackedBelowCeiling", atRisk.size());
+        metrics.put("ceiling", AppConfig.ATTENDANCE_SHORTAGE_CEILING);
+        metrics.put("defaultThreshold", AppConfig.ATTENDANCE_SHORTAGE_THRESHOLD);
+        metrics.put("crossedBelow", crossedBelow.get());
+        metrics.put("recovered", recovered.get());
+        metrics.put("directorySize", directory.size());
+        return metrics;
+    }
+
+    @Override
+    public synchronized void reset() {
+        pairs.clear();
+        atRisk.clear();
+        loading = true;
+        // Queries wait for the full replay rather than seeing half of it
+        ready = false;
+    }
+
+    @Override
+    public synchronized void pairChanged(int studentId, int subjectId, int present, int total) {
+        long key = key(studentId, subjectId);
+        Pair pair = pairs.get(key);
+        boolean wasShort = pair != null && isShort(pair.present, pair.total);
+
+        if (pair != null) {
+            atRisk.remove(pair);
+        }
+        if (total == 0) {
+            pairs.remove(key);
+        } else {
+            if (pair == null) {
+                pair = new Pair(studentId, subjectId);
+                pairs.put(key, pair);
+            }
+            pair.present = present;
+            pair.total = total;
+            if (pair.percentage() < AppConfig.ATTENDANCE_SHORTAGE_CEILING) {
+                atRisk.add(pair);
+            }
+        }
+
+        if (!loading) {
+            boolean isShort = total > 0 && isShort(present, total);
+            if (isShort && !wasShort) {
+                crossedBelow.incrementAndGet();
+                EventBroadcaster.getInstance().publish(ChangeType.ATTENDANCE_SHORTAGE, subjectId, studentId);
+            } else if (wasShort && !isShort) {
+                recovered.incrementAndGet();
+                EventBroadcaster.getInstance().publish(ChangeType.ATTENDANCE_RECOVERED, subjectId, studentId);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void studentRemoved(int studentId) {
+        Iterator<Pair> iterator = pairs.values().iterator();
+        while (iterator.hasNext()) {
+            Pair pair = iterator.next();
+            if (pair.studentId == studentId) {
+                atRisk.remove(pair);
+                iterator.remove();
+            }
+        }
+        // Tombstone first: a load that misses it has already put the entry, which the remove below then drops
+        if (!directoryLoaded) {
+            removedBeforeLoad.add(studentId);
+        }
+        directory.remove(studentId);
+    }
+
+    @Override
+    public synchronized void loaded() {
+        loading = false;
+        ready = true;
+        logger.info("Shortage engine tracking {} pairs, {} below {}%", pairs.size(), atRisk.size(),
+            AppConfig.ATTENDANCE_SHORTAGE_CEILING);
+    }
+
+    private static boolean isShort(int present, int total) {
+        return total >= AppConfig.ATTENDANCE_SHORTAGE_MIN_SESSIONS
+            && present * 100.0 / total < AppConfig.ATTENDANCE_SHORTAGE_THRESHOLD;
+    }
+
+    // Smallest n with (present + n) / (total + n) >= threshold, -1 if unreachable
+    private static int sessionsNeeded(Pair pair, double threshold) {
+        if (threshold >= 100) {
+            return pair.present == pair.total ? 0 : -1;
+        }
+        double needed = (threshold * pair.total - 100.0 * pair.present) / (100.0 - threshold);
+        return needed <= 0 ? 0 : (int) Math.ceil(needed - 1e-9);
+    }
+
+    /**
+     * Load names and courses once, later kept current by {@link #studentSaved} and {@link #studentRemoved}
+     * Those hooks write while the query runs: saved rows are newer and are kept, removed students are recorded
+     * as tombstones and dropped again after the rows are merged
+     */
+    private void loadDirectory() throws SQLException {
+        if (directoryLoaded) {
+            return;
+        }
+        synchronized (directory) {
+            if (directoryLoaded) {
+                return;
+            }
+            for (Student student : studentDAO.getAllStudents(DIRECTORY_FIELDS)) {
+                if (!removedBeforeLoad.contains(student.getId())) {
+                    directory.putIfAbsent(student.getId(), student);
+                }
+            }
+            for (int studentId : removedBeforeLoad) {
+                directory.remove(studentId);
+            }
+            directoryLoaded = true;
+            removedBeforeLoad.clear();
+        }
+    }
+
+    private static Student directoryEntry(Student student) {
+        Student entry = new Student();
+        entry.setId(student.getId());
+        entry.setName(student.getName());
+        entry.setRollNumber(student.getRollNumber());
+        entry.setCourse(student.getCourse());
+        return entry;
+    }
+
+    private static long key(int studentId, int subjectId) {
+        return ((long) studentId << 32) | (subjectId & 0xffffffffL);
+    }
+
+    private static final class Pair {
+        private final int studentId;
+        private final int subjectId;
+        private int present;
+        private int total;
+
+        Pair(int studentId, int subjectId) {
+            this.studentId = studentId;
+            this.subjectId = subjectId;
+        }
+
+        double percentage() {
+            return total == 0 ? 100.0 : present * 100.0 / total;
+        }
+
+        Pair copy() {
+            Pair copy = new Pair(studentId, subjectId);
+            copy.present = present;
+            copy.total = total;
+            return copy;
+        }
+    }
+}
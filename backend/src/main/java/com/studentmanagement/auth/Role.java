@@ -0,0 +1,9 @@
+package com.studentmanagement.auth;
+
+/**
+ * Roles carried in session tokens
+ */
+public enum Role {
+    ADMIN,
+    STUDENT
+}
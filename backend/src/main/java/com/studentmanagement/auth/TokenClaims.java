@@ -0,0 +1,88 @@
+package com.studentmanagement.auth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verified contents of a session token
+ * Immutable; the filter attaches it to the request for servlets to read
+ */
+public final class TokenClaims {
+
+    private final String tokenId;
+    private final String subject;
+    private final Role role;
+    private final long issuedAt;
+    private final long expiresAt;
+    private final String keyId;
+
+    TokenClaims(String tokenId, String subject, Role role, long issuedAt, long expiresAt, String keyId) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.role = role;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.keyId = keyId;
+    }
+
+    /**
+     * @return Unique token ID, used for revocation
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * @return Admin username, or the student ID for student tokens
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * @return Issue time in epoch seconds
+     */
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    /**
+     * @return Expiry time in epoch seconds
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return ID of the signing key
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    /**
+     * Check whether this is a student token for the given student
+     * @param studentId Student ID
+     * @return true if the token belongs to that student
+     */
+    public boolean isStudent(int studentId) {
+        return role == Role.STUDENT && String.valueOf(studentId).equals(subject);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("subject", subject);
+        map.put("role", role);
+        map.put("issuedAt", issuedAt);
+        map.put("expiresAt", expiresAt);
+        return map;
+    }
+}
@@ -0,0 +1,207 @@
+package com.studentmanagement.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.util.ExpiringStripedMap;
+
+/**
+ * Issues and verifies stateless HMAC-SHA256 session tokens
+ * A token is {@code <keyId>.<payload>.<signature>} in URL-safe Base64, so verifying one needs no database
+ * or session store, only the signing key. Keys come from AUTH_TOKEN_KEYS as {@code kid:base64secret}
+ * pairs: the first key signs new tokens and every listed key is accepted, so a key is rotated by
+ * prepending its replacement and removing the old one once its tokens have expired.
+ * Logged-out tokens are kept in a bounded in-memory revocation set until they would have expired anyway.
+ */
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final long CLOCK_SKEW_SECONDS = 30;
+
+    private final Map<String, SigningKey> keys;
+    private final SigningKey activeKey;
+    private final SecureRandom random = new SecureRandom();
+    private final ExpiringStripedMap<String, Boolean> revoked;
+
+    private static class Holder {
+        private static final TokenService INSTANCE = new TokenService();
+    }
+
+    private TokenService() {
+        Map<String, SigningKey> configured = parseKeys(AppConfig.AUTH_TOKEN_KEYS);
+        if (configured.isEmpty()) {
+            byte[] secret = new byte[32];
+            random.nextBytes(secret);
+            configured.put("ephemeral", new SigningKey("ephemeral", secret));
+            logger.warn("AUTH_TOKEN_KEYS not set, using a random key: tokens will not survive a restart "
+                + "and are not accepted by other instances");
+        }
+        this.keys = Collections.unmodifiableMap(configured);
+        this.activeKey = configured.values().iterator().next();
+        this.revoked = new ExpiringStripedMap<>(AppConfig.AUTH_REVOCATION_MAX, 16,
+            AppConfig.AUTH_TOKEN_TTL_MINUTES * 60_000 + CLOCK_SKEW_SECONDS * 1000);
+        logger.info("Token service ready, signing with key '{}', {} key(s) accepted", activeKey.id, keys.size());
+    }
+
+    /**
+     * Get singleton instance of TokenService
+     * @return TokenService instance
+     */
+    public static TokenService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Issue a token signed with the active key
+     * @param subject Admin username or student ID
+     * @param role Role granted by the token
+     * @return Compact signed token
+     */
+    public String issue(String subject, Role role) {
+        long now = System.currentTimeMillis() / 1000;
+        byte[] id = new byte[12];
+        random.nextBytes(id);
+
+        // Subject goes last since it is the only field that may contain the separator
+        String payload = ENCODER.encodeToString(id) + "|" + role.name() + "|" + now + "|"
+            + (now + AppConfig.AUTH_TOKEN_TTL_MINUTES * 60) + "|" + subject;
+        String signed = activeKey.id + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return signed + "." + ENCODER.encodeToString(activeKey.sign(signed));
+    }
+
+    /**
+     * Verify a token's signature, expiry and revocation status
+     * @param token Compact token, without the "Bearer " prefix
+     * @return Claims, or null if the token is malformed, forged, expired or revoked
+     */
+    public TokenClaims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot <= firstDot) {
+            return null;
+        }
+
+        SigningKey key = keys.get(token.substring(0, firstDot));
+        if (key == null) {
+            return null;
+        }
+
+        String[] fields;
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(lastDot + 1));
+            // Compare the whole MAC in constant time before trusting any payload content
+            if (!MessageDigest.isEqual(key.sign(token.substring(0, lastDot)), signature)) {
+                return null;
+            }
+            String payload = new String(DECODER.decode(token.substring(firstDot + 1, lastDot)), StandardCharsets.UTF_8);
+            fields = payload.split("\\|", 5);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (fields.length != 5) {
+            return null;
+        }
+
+        TokenClaims claims;
+        try {
+            claims = new TokenClaims(fields[0], fields[4], Role.valueOf(fields[1]),
+                Long.parseLong(fields[2]), Long.parseLong(fields[3]), key.id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        if (claims.getExpiresAt() + CLOCK_SKEW_SECONDS < now || claims.getIssuedAt() - CLOCK_SKEW_SECONDS > now) {
+            return null;
+        }
+        if (revoked.get(claims.getTokenId()) != null) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Revoke a token on this instance until it expires
+     * @param claims Claims of a verified token
+     */
+    public void revoke(TokenClaims claims) {
+        revoked.compute(claims.getTokenId(), () -> Boolean.TRUE, value -> value);
+    }
+
+    /**
+     * Parse "kid:base64secret,kid:base64secret", keeping the configured order
+     */
+    private static Map<String, SigningKey> parseKeys(String value) {
+        Map<String, SigningKey> parsed = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.indexOf(':');
+            if (colon <= 0 || trimmed.indexOf('.') >= 0) {
+                logger.error("Ignoring malformed AUTH_TOKEN_KEYS entry, expected kid:base64secret");
+                continue;
+            }
+            try {
+                byte[] secret = Base64.getDecoder().decode(trimmed.substring(colon + 1));
+                if (secret.length < 32) {
+                    logger.error("Ignoring token key '{}': secret must be at least 32 bytes", trimmed.substring(0, colon));
+                    continue;
+                }
+                String id = trimmed.substring(0, colon);
+                parsed.put(id, new SigningKey(id, secret));
+            } catch (IllegalArgumentException e) {
+                logger.error("Ignoring token key '{}': secret is not valid Base64", trimmed.substring(0, colon));
+            }
+        }
+        return parsed;
+    }
+
+    private static final class SigningKey {
+        private final String id;
+        private final SecretKeySpec secret;
+        // Mac instances are not thread-safe, each request thread keeps its own initialized copy
+        private final ThreadLocal<Mac> mac;
+
+        SigningKey(String id, byte[] secret) {
+            this.id = id;
+            this.secret = new SecretKeySpec(secret, ALGORITHM);
+            this.mac = ThreadLocal.withInitial(this::newMac);
+        }
+
+        private Mac newMac() {
+            try {
+                Mac created = Mac.getInstance(ALGORITHM);
+                created.init(secret);
+                return created;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        }
+
+        byte[] sign(String data) {
+            return mac.get().doFinal(data.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
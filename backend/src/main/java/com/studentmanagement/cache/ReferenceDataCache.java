@@ -0,0 +1,168 @@
+package com.studentmanagement.cache;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.SubjectDAO;
+import com.studentmanagement.model.Subject;
+
+/**
+ * In-memory cache of reference data that changes rarely (the subject catalogue)
+ * The whole catalogue is loaded at once into an immutable snapshot that readers use without locking;
+ * it is reloaded after {@link AppConfig#REFERENCE_CACHE_TTL_SECONDS} or when invalidated
+ */
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+    private static final SingleFlight RELOAD_FLIGHT = SingleFlight.of("reference.subjects");
+
+    private final SubjectDAO subjectDAO = new SubjectDAO();
+    private volatile Snapshot snapshot;
+
+    private static class Holder {
+        private static final ReferenceDataCache INSTANCE = new ReferenceDataCache();
+    }
+
+    private ReferenceDataCache() {
+    }
+
+    /**
+     * Get singleton instance of ReferenceDataCache
+     * @return ReferenceDataCache instance
+     */
+    public static ReferenceDataCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get all subjects, ordered by course and name
+     * @return Unmodifiable list of subjects
+     * @throws SQLException if the catalogue has to be loaded and the query fails
+     */
+    public List<Subject> getAllSubjects() throws SQLException {
+        return current().subjects;
+    }
+
+    /**
+     * Get the subjects of a course, ordered by name
+     * @param course Course name
+     * @return Unmodifiable list of subjects, empty for an unknown course
+     * @throws SQLException if the catalogue has to be loaded and the query fails
+     */
+    public List<Subject> getSubjectsByCourse(String course) throws SQLException {
+        return course == null ? Collections.emptyList()
+            : current().byCourse.getOrDefault(courseKey(course), Collections.emptyList());
+    }
+
+    /**
+     * Get a subject by ID
+     * @param id Subject ID
+     * @return Subject or null if not found
+     * @throws SQLException if the catalogue has to be loaded and the query fails
+     */
+    public Subject getSubjectById(int id) throws SQLException {
+        return current().byId.get(id);
+    }
+
+    /**
+     * Get several subjects by ID
+     * @param ids Subject IDs, may contain duplicates
+     * @return One entry per requested ID in request order, null for unknown IDs
+     * @throws SQLException if the catalogue has to be loaded and the query fails
+     */
+    public List<Subject> getSubjectsByIds(List<Integer> ids) throws SQLException {
+        Map<Integer, Subject> byId = current().byId;
+        List<Subject> subjects = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            subjects.add(byId.get(id));
+        }
+        return subjects;
+    }
+
+    /**
+     * Load the catalogue from the database, replacing the current snapshot
+     * @throws SQLException if the query fails, in which case the previous snapshot is kept
+     */
+    public synchronized void reload() throws SQLException {
+        List<Subject> subjects = subjectDAO.getAllSubjects();
+
+        Map<String, List<Subject>> byCourse = new LinkedHashMap<>();
+        Map<Integer, Subject> byId = new LinkedHashMap<>();
+        for (Subject subject : subjects) {
+            if (subject.getCourse() != null) {
+                byCourse.computeIfAbsent(courseKey(subject.getCourse()), course -> new ArrayList<>()).add(subject);
+            }
+            byId.put(subject.getId(), subject);
+        }
+        // SELECT_ALL orders by course then name, so each course list is already sorted by name
+        byCourse.replaceAll((course, list) -> Collections.unmodifiableList(list));
+
+        snapshot = new Snapshot(Collections.unmodifiableList(subjects),
+            Collections.unmodifiableMap(byCourse), Collections.unmodifiableMap(byId));
+        logger.info("Reference data loaded: {} subjects in {} courses", subjects.size(), byCourse.size());
+    }
+
+    /**
+     * Drop the current snapshot so the next read reloads it
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Check whether a snapshot is loaded and fresh
+     * @return true if reads are served from memory
+     */
+    public boolean isLoaded() {
+        Snapshot current = snapshot;
+        return current != null && !current.isExpired();
+    }
+
+    // Course lookups match the database's case-insensitive collation
+    private static String courseKey(String course) {
+        return course.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Snapshot current() throws SQLException {
+        Snapshot current = snapshot;
+        if (current == null || current.isExpired()) {
+            // Requests arriving while the catalogue reloads wait for that reload, up to the flight timeout
+            current = RELOAD_FLIGHT.execute("subjects", () -> {
+                Snapshot latest = snapshot;
+                if (latest == null || latest.isExpired()) {
+                    reload();
+                    latest = snapshot;
+                }
+                return latest;
+            });
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final List<Subject> subjects;
+        private final Map<String, List<Subject>> byCourse;
+        private final Map<Integer, Subject> byId;
+        private final long expiresAt;
+
+        Snapshot(List<Subject> subjects, Map<String, List<Subject>> byCourse, Map<Integer, Subject> byId) {
+            this.subjects = subjects;
+            this.byCourse = byCourse;
+            this.byId = byId;
+            this.expiresAt = System.currentTimeMillis() + AppConfig.REFERENCE_CACHE_TTL_SECONDS * 1000;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
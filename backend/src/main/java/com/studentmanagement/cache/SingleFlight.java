@@ -0,0 +1,178 @@
+package com.studentmanagement.cache;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.database.ReadRouting;
+
+/**
+ * Request coalescing for identical concurrent reads
+ * The first caller for a key runs the load on its own thread; callers arriving while it is in flight
+ * wait for that result instead of issuing the same query again. Nothing is kept once the load
+ * finishes, so this only flattens bursts and never serves data older than the in-flight query.
+ * Shared results are handed to every waiter and must be treated as read-only.
+ */
+public class SingleFlight {
+
+    private static final List<SingleFlight> INSTANCES = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final long defaultTimeoutMs;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+
+    /**
+     * Load function run by the first caller for a key
+     * @param <V> Result type
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    private SingleFlight(String name, long defaultTimeoutMs) {
+        this.name = name;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    /**
+     * Create a named group and register it for {@link #getAllMetrics()}
+     * @param name Group name, e.g. the resource it protects
+     * @param defaultTimeoutMs How long a waiting caller waits for the in-flight load
+     * @return Registered group
+     */
+    public static SingleFlight of(String name, long defaultTimeoutMs) {
+        SingleFlight flight = new SingleFlight(name, defaultTimeoutMs);
+        INSTANCES.add(flight);
+        return flight;
+    }
+
+    /**
+     * Create a named group using {@link AppConfig#SINGLE_FLIGHT_TIMEOUT_MS}
+     * @param name Group name
+     * @return Registered group
+     */
+    public static SingleFlight of(String name) {
+        return of(name, AppConfig.SINGLE_FLIGHT_TIMEOUT_MS);
+    }
+
+    /**
+     * Load a value, sharing the load with concurrent callers for the same key
+     * @see #execute(String, long, Loader)
+     */
+    public <V> V execute(String key, Loader<V> loader) throws SQLException {
+        return execute(key, defaultTimeoutMs, loader);
+    }
+
+    /**
+     * Load a value, sharing the load with concurrent callers for the same key
+     * Requests pinned to the primary after a write bypass coalescing, so they never receive
+     * a result whose query started before their write committed
+     * @param key Resource key, identical for requests that would return identical data
+     * @param timeoutMs How long this caller waits if another caller's load is in flight
+     * @param loader Load to run if no load for the key is in flight
+     * @param <V> Result type
+     * @return Loaded value
+     * @throws SQLTimeoutException if the in-flight load does not finish within the timeout
+     * @throws SQLException if the load fails, rethrown to every caller that shared it
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String key, long timeoutMs, Loader<V> loader) throws SQLException {
+        calls.incrementAndGet();
+        if (!AppConfig.SINGLE_FLIGHT_ENABLED || ReadRouting.isPrimaryRequired()) {
+            bypassed.incrementAndGet();
+            return loader.load();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.incrementAndGet();
+            return (V) await(existing, key, timeoutMs);
+        }
+
+        executions.incrementAndGet();
+        try {
+            V value = loader.load();
+            flight.complete(value);
+            return value;
+        } catch (SQLException | RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight, String key, long timeoutMs) throws SQLException {
+        try {
+            return flight.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            throw new SQLTimeoutException("Timed out after " + timeoutMs + " ms waiting for " + name + " " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for " + name + " " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException("Shared load failed for " + name + " " + key, cause);
+        }
+    }
+
+    /**
+     * Get this group's counters
+     * @return Map of name, calls, executions, collapsed, timeouts, bypassed, inFlight and collapseRatio
+     */
+    public Map<String, Object> getMetrics() {
+        long totalCalls = calls.get();
+        long shared = collapsed.get();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("name", name);
+        metrics.put("calls", totalCalls);
+        metrics.put("executions", executions.get());
+        metrics.put("collapsed", shared);
+        metrics.put("timeouts", timeouts.get());
+        metrics.put("bypassed", bypassed.get());
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("collapseRatio", totalCalls == 0 ? 0.0 : (double) shared / totalCalls);
+        return metrics;
+    }
+
+    /**
+     * Get the counters of every group created in this JVM
+     * @return List of metric maps, in creation order
+     */
+    public static List<Map<String, Object>> getAllMetrics() {
+        List<Map<String, Object>> metrics = new ArrayList<>();
+        for (SingleFlight instance : INSTANCES) {
+            metrics.add(instance.getMetrics());
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,192 @@
+package com.studentmanagement.config;
+
+/**
+ * Application configuration for runtime tunables
+ * Each value is read from a JVM system property first, then an environment variable of the same name,
+ * and falls back to the default given here
+ */
+public class AppConfig {
+
+    // Report generation
+    public static final String REPORT_DIR = getString("REPORT_DIR",
+        System.getProperty("java.io.tmpdir") + "/student-management-reports");
+    public static final int REPORT_WORKER_THREADS = getInt("REPORT_WORKER_THREADS", 2);
+    public static final int REPORT_QUEUE_CAPACITY = getInt("REPORT_QUEUE_CAPACITY", 50);
+    public static final long REPORT_TTL_MINUTES = getLong("REPORT_TTL_MINUTES", 60);
+
+    // Startup warm-up, run in the background while readiness reports not ready
+    public static final boolean WARMUP_ENABLED = getBoolean("WARMUP_ENABLED", true);
+    public static final int WARMUP_CONNECTIONS = getInt("WARMUP_CONNECTIONS", DatabaseConfig.MIN_POOL_SIZE);
+    public static final int WARMUP_JSON_ITERATIONS = getInt("WARMUP_JSON_ITERATIONS", 500);
+
+    // Background health prober feeding /api/health/live and /api/health/ready
+    public static final long HEALTH_CHECK_INTERVAL_MS = getLong("HEALTH_CHECK_INTERVAL_MS", 5000);
+    public static final int HEALTH_PROBE_TIMEOUT_SECONDS = getInt("HEALTH_PROBE_TIMEOUT_SECONDS", 2);
+    public static final long HEALTH_MAX_LATENCY_MS = getLong("HEALTH_MAX_LATENCY_MS", 1000);
+
+    // JDBC instrumentation: per-statement timing, slow-query log and statement/result set leak tracking
+    public static final boolean JDBC_INSTRUMENTATION_ENABLED = getBoolean("JDBC_INSTRUMENTATION_ENABLED", true);
+    public static final long SLOW_QUERY_MS = getLong("SLOW_QUERY_MS", 500);
+    // Captures a stack trace per connection, statement and result set; enable only while hunting a leak
+    public static final boolean JDBC_LEAK_TRACKING = getBoolean("JDBC_LEAK_TRACKING", false);
+    public static final int JDBC_MAX_FINGERPRINTS = getInt("JDBC_MAX_FINGERPRINTS", 500);
+    public static final long CONNECTION_LEAK_THRESHOLD_MS = getLong("CONNECTION_LEAK_THRESHOLD_MS", 60000);
+
+    // Token-bucket rate limiting on student auth and admin login, per client IP and per account identifier
+    public static final boolean RATE_LIMIT_ENABLED = getBoolean("RATE_LIMIT_ENABLED", true);
+    public static final int AUTH_IP_BURST = getInt("AUTH_IP_BURST", 20);
+    public static final int AUTH_IP_PER_MINUTE = getInt("AUTH_IP_PER_MINUTE", 10);
+    public static final int AUTH_ID_BURST = getInt("AUTH_ID_BURST", 5);
+    public static final int AUTH_ID_PER_MINUTE = getInt("AUTH_ID_PER_MINUTE", 2);
+    public static final int RATE_LIMIT_MAX_KEYS = getInt("RATE_LIMIT_MAX_KEYS", 100000);
+    public static final int RATE_LIMIT_STRIPES = getInt("RATE_LIMIT_STRIPES", 64);
+    // Number of reverse proxies in front of the app whose X-Forwarded-For entries are trusted; 0 uses the socket
+    // address, set it per deployment since without a proxy the header is entirely client-supplied
+    public static final int TRUSTED_PROXY_HOPS = getInt("TRUSTED_PROXY_HOPS", 0);
+
+    // Signed session tokens: "kid:base64secret" pairs, first one signs; unset means a random per-process key
+    public static final String AUTH_TOKEN_KEYS = getString("AUTH_TOKEN_KEYS", "");
+    public static final long AUTH_TOKEN_TTL_MINUTES = getLong("AUTH_TOKEN_TTL_MINUTES", 480);
+    public static final int AUTH_REVOCATION_MAX = getInt("AUTH_REVOCATION_MAX", 100000);
+    // Off by default so deployments can roll out token-aware clients before requests are rejected
+    public static final boolean AUTH_ENFORCED = getBoolean("AUTH_ENFORCED", false);
+    public static final String ADMIN_USERNAME = getString("ADMIN_USERNAME", "admin");
+    // Development default; startup fails if it is still in place while AUTH_ENFORCED is on
+    public static final String DEFAULT_ADMIN_PASSWORD = "admin123";
+    public static final String ADMIN_PASSWORD = getString("ADMIN_PASSWORD", DEFAULT_ADMIN_PASSWORD);
+
+    // Multi-get: ?ids= lists and POST /api/batch
+    public static final int MULTI_GET_CHUNK_SIZE = getInt("MULTI_GET_CHUNK_SIZE", 128);
+    public static final int MULTI_GET_MAX_IDS = getInt("MULTI_GET_MAX_IDS", 500);
+    public static final int BATCH_MAX_REQUESTS = getInt("BATCH_MAX_REQUESTS", 20);
+
+    // Server-Sent Events change feed at /api/events
+    public static final boolean EVENTS_ENABLED = getBoolean("EVENTS_ENABLED", true);
+    public static final int EVENTS_MAX_SUBSCRIBERS = getInt("EVENTS_MAX_SUBSCRIBERS", 10000);
+    // Frames queued for one stream before it counts as a slow consumer and is closed
+    public static final int EVENTS_SUBSCRIBER_BUFFER = getInt("EVENTS_SUBSCRIBER_BUFFER", 64);
+    public static final int EVENTS_REPLAY_SIZE = getInt("EVENTS_REPLAY_SIZE", 1024);
+    public static final long EVENTS_HEARTBEAT_SECONDS = getLong("EVENTS_HEARTBEAT_SECONDS", 20);
+    public static final long EVENTS_RETRY_MS = getLong("EVENTS_RETRY_MS", 3000);
+
+    // In-memory attendance index (per student and subject day bitmaps); 0 minutes means load once at startup
+    public static final boolean ATTENDANCE_INDEX_ENABLED = getBoolean("ATTENDANCE_INDEX_ENABLED", true);
+    // Periodic rebuild picks up writes made by other instances when several share the database
+    public static final long ATTENDANCE_INDEX_REBUILD_MINUTES = getLong("ATTENDANCE_INDEX_REBUILD_MINUTES", 0);
+
+    // Attendance shortage tracking; pairs below the ceiling are kept ordered so queries up to it skip everyone else
+    public static final double ATTENDANCE_SHORTAGE_THRESHOLD = getDouble("ATTENDANCE_SHORTAGE_THRESHOLD", 75);
+    public static final double ATTENDANCE_SHORTAGE_CEILING = getDouble("ATTENDANCE_SHORTAGE_CEILING", 90);
+    // Pairs with fewer marked sessions are too young to count as short
+    public static final int ATTENDANCE_SHORTAGE_MIN_SESSIONS = getInt("ATTENDANCE_SHORTAGE_MIN_SESSIONS", 1);
+
+    // Archive of closed academic years; segments are always read, but the job only runs, scheduled or on demand,
+    // with ARCHIVE_ENABLED set and ARCHIVE_DIR pointing at durable storage, since it deletes what it exported
+    public static final int ACADEMIC_YEAR_START_MONTH = getInt("ACADEMIC_YEAR_START_MONTH", 7);
+    public static final boolean ARCHIVE_DIR_CONFIGURED = !getString("ARCHIVE_DIR", "").isEmpty();
+    public static final String ARCHIVE_DIR = getString("ARCHIVE_DIR",
+        System.getProperty("user.home") + "/student-management-archive");
+    public static final boolean ARCHIVE_ENABLED = getBoolean("ARCHIVE_ENABLED", false);
+    public static final long ARCHIVE_INTERVAL_HOURS = getLong("ARCHIVE_INTERVAL_HOURS", 24);
+    // Academic years kept in the hot tables, counting the current one
+    public static final int ARCHIVE_HOT_YEARS = getInt("ARCHIVE_HOT_YEARS", 2);
+    public static final int ARCHIVE_ROW_GROUP_ROWS = getInt("ARCHIVE_ROW_GROUP_ROWS", 8192);
+    public static final int ARCHIVE_DELETE_BATCH = getInt("ARCHIVE_DELETE_BATCH", 1000);
+    public static final long ARCHIVE_DELETE_PAUSE_MS = getLong("ARCHIVE_DELETE_PAUSE_MS", 100);
+
+    // Bulk admission import at POST /api/students/import, rows per insert transaction
+    public static final int STUDENT_IMPORT_BATCH_SIZE = getInt("STUDENT_IMPORT_BATCH_SIZE", 500);
+    // Rows accepted per import upload, the per-row report is held in memory until the response is written
+    public static final int STUDENT_IMPORT_MAX_ROWS = getInt("STUDENT_IMPORT_MAX_ROWS", 10000);
+
+    // Student deletion; soft delete hides the student at once and a background worker purges its history in batches
+    public static final boolean STUDENT_SOFT_DELETE = getBoolean("STUDENT_SOFT_DELETE", true);
+    public static final int STUDENT_PURGE_BATCH = getInt("STUDENT_PURGE_BATCH", 500);
+    public static final long STUDENT_PURGE_PAUSE_MS = getLong("STUDENT_PURGE_PAUSE_MS", 50);
+
+    // Idempotency-Key replay for POST /api/students, /api/marks and /api/student/auth/register
+    public static final boolean IDEMPOTENCY_ENABLED = getBoolean("IDEMPOTENCY_ENABLED", true);
+    public static final long IDEMPOTENCY_TTL_SECONDS = getLong("IDEMPOTENCY_TTL_SECONDS", 86400);
+    public static final int IDEMPOTENCY_MAX_KEYS = getInt("IDEMPOTENCY_MAX_KEYS", 50000);
+    // A retry arriving while the original still runs waits this long for its response
+    public static final long IDEMPOTENCY_WAIT_MS = getLong("IDEMPOTENCY_WAIT_MS", 30000);
+    public static final int IDEMPOTENCY_MAX_BODY_BYTES = getInt("IDEMPOTENCY_MAX_BODY_BYTES", 64 * 1024);
+    public static final int IDEMPOTENCY_MAX_RESPONSE_BYTES = getInt("IDEMPOTENCY_MAX_RESPONSE_BYTES", 64 * 1024);
+
+    // JSON request bodies on the write endpoints; larger bodies are answered with 413 before they are read
+    public static final int MAX_REQUEST_BODY_BYTES = getInt("MAX_REQUEST_BODY_BYTES", 1024 * 1024);
+
+    // Single-flight coalescing of identical concurrent reads
+    public static final boolean SINGLE_FLIGHT_ENABLED = getBoolean("SINGLE_FLIGHT_ENABLED", true);
+    public static final long SINGLE_FLIGHT_TIMEOUT_MS = getLong("SINGLE_FLIGHT_TIMEOUT_MS", 5000);
+
+    // Embedded Jetty launcher (embedded Maven profile); ignored when the WAR runs in a servlet container
+    public static final int SERVER_MAX_THREADS = getInt("SERVER_MAX_THREADS", 64);
+    public static final int SERVER_MIN_THREADS = getInt("SERVER_MIN_THREADS", 8);
+    public static final long SERVER_IDLE_TIMEOUT_MS = getLong("SERVER_IDLE_TIMEOUT_MS", 30000);
+    public static final int SERVER_ACCEPT_QUEUE = getInt("SERVER_ACCEPT_QUEUE", 128);
+    public static final int SERVER_OUTPUT_BUFFER_BYTES = getInt("SERVER_OUTPUT_BUFFER_BYTES", 32 * 1024);
+    public static final long SERVER_STOP_TIMEOUT_MS = getLong("SERVER_STOP_TIMEOUT_MS", 10000);
+
+    // Reference data (subjects) cached in memory
+    public static final long REFERENCE_CACHE_TTL_SECONDS = getLong("REFERENCE_CACHE_TTL_SECONDS", 300);
+
+    // Private constructor to prevent instantiation
+    private AppConfig() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Read a string setting
+     * @param name Property / environment variable name
+     * @param defaultValue Value used when the setting is absent or blank
+     * @return Setting value
+     */
+    public static String getString(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv(name);
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Read an integer setting, falling back to the default if the value is not a number
+     */
+    public static int getInt(String name, int defaultValue) {
+        try {
+            return Integer.parseInt(getString(name, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Read a long setting, falling back to the default if the value is not a number
+     */
+    public static long getLong(String name, long defaultValue) {
+        try {
+            return Long.parseLong(getString(name, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Read a decimal setting, falling back to the default if the value is not a number
+     */
+    public static double getDouble(String name, double defaultValue) {
+        try {
+            return Double.parseDouble(getString(name, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Read a boolean setting ("true" ignoring case is true, anything else is false)
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(name, String.valueOf(defaultValue)));
+    }
+}
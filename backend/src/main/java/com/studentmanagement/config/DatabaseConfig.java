@@ -5,21 +5,35 @@ package com.studentmanagement.config;
  * This class contains all database-related configuration constants
  */
 public class DatabaseConfig {
-    // Database connection properties
-    public static final String DB_URL = "jdbc:mysql://localhost:3306/student_management";
-    public static final String DB_USERNAME = "root";
-    public static final String DB_PASSWORD = "Shriyansh@123"; // Change this to your MySQL password
-    
+    // Database connection properties (overridable with DB_URL, DB_USER, DB_PASS)
+    public static final String DB_URL = AppConfig.getString("DB_URL", "jdbc:mysql://localhost:3306/student_management");
+    public static final String DB_USERNAME = AppConfig.getString("DB_USER", "root");
+    public static final String DB_PASSWORD = AppConfig.getString("DB_PASS", "Shriyansh@123"); // Change this to your MySQL password
+
     // Connection pool properties
     public static final int MAX_POOL_SIZE = 20;
     public static final int MIN_POOL_SIZE = 5;
     public static final long CONNECTION_TIMEOUT = 30000; // 30 seconds
     public static final long IDLE_TIMEOUT = 600000; // 10 minutes
     public static final long MAX_LIFETIME = 1800000; // 30 minutes
-    
-    // Database driver
-    public static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
-    
+    public static final long DRAIN_TIMEOUT = AppConfig.getLong("DB_DRAIN_TIMEOUT_MS", 10000); // 10 seconds on undeploy
+
+    // Database driver (overridable with DB_DRIVER, e.g. org.h2.Driver for local testing)
+    public static final String DB_DRIVER = AppConfig.getString("DB_DRIVER", "com.mysql.cj.jdbc.Driver");
+
+    // Optional read replica, disabled unless DB_REPLICA_URL is set
+    public static final String REPLICA_URL = AppConfig.getString("DB_REPLICA_URL", null);
+    public static final String REPLICA_USERNAME = AppConfig.getString("DB_REPLICA_USER", DB_USERNAME);
+    public static final String REPLICA_PASSWORD = AppConfig.getString("DB_REPLICA_PASS", DB_PASSWORD);
+    public static final int REPLICA_MAX_POOL_SIZE = AppConfig.getInt("DB_REPLICA_MAX_POOL_SIZE", MAX_POOL_SIZE);
+    public static final long REPLICA_MAX_LAG_SECONDS = AppConfig.getLong("DB_REPLICA_MAX_LAG_SECONDS", 5);
+    public static final long REPLICA_CHECK_INTERVAL_MS = AppConfig.getLong("DB_REPLICA_CHECK_INTERVAL_MS", 5000);
+
+    // Reads from a client are pinned to the primary for this long after the client writes
+    public static final long READ_YOUR_WRITES_WINDOW_MS = AppConfig.getLong("DB_READ_YOUR_WRITES_MS", 5000);
+    // Clients tracked at once; beyond this the least recent writers lose their pin early
+    public static final int READ_YOUR_WRITES_MAX_CLIENTS = AppConfig.getInt("DB_READ_YOUR_WRITES_MAX_CLIENTS", 100000);
+
     // Private constructor to prevent instantiation
     private DatabaseConfig() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
@@ -0,0 +1,209 @@
+package com.studentmanagement.dao;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.archive.ArchiveTable;
+import com.studentmanagement.database.DatabaseManager;
+
+/**
+ * Data Access Object for the archive job
+ * Streams a closed academic year out of a hot table and deletes archived rows again in small batches,
+ * always on the primary. SQL is built from {@link ArchiveTable}'s fixed column lists, never from request input.
+ */
+public class ArchiveDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveDAO.class);
+
+    // Stored for SQL NULL in number columns, matches the archive segment format
+    public static final long NULL = Long.MIN_VALUE;
+
+    // SQL queries
+    private static final String SELECT_NOW = "SELECT CURRENT_TIMESTAMP";
+
+    /**
+     * Callback receiving each exported row
+     * Both arrays are indexed by column position and reused between calls
+     */
+    public interface RowSink {
+        void onRow(long[] numbers, String[] texts) throws IOException;
+    }
+
+    private final DatabaseManager databaseManager;
+
+    public ArchiveDAO() {
+        this.databaseManager = DatabaseManager.getInstance();
+    }
+
+    /**
+     * Get the database clock, used as the export snapshot so it compares with server-set update times
+     * @return Current database timestamp
+     * @throws SQLException if database operation fails
+     */
+    public Timestamp currentTimestamp() throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_NOW);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getTimestamp(1);
+        }
+    }
+
+    /**
+     * Find the oldest row date before a cut-off
+     * @param table Archived table
+     * @param before Exclusive upper bound
+     * @return Oldest date, or null if no row is older than the cut-off
+     * @throws SQLException if database operation fails
+     */
+    public LocalDate findOldestDate(ArchiveTable table, LocalDate before) throws SQLException {
+        String sql = "SELECT MIN(" + table.getDateColumn() + ") FROM " + table.getTableName()
+            + " WHERE " + table.getDateColumn() + " < ?";
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setDate(1, Date.valueOf(before));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Date oldest = resultSet.next() ? resultSet.getDate(1) : null;
+                return oldest != null ? oldest.toLocalDate() : null;
+            }
+        }
+    }
+
+    /**
+     * Stream the rows of a date range sorted by student, subject and date
+     * @param table Archived table
+     * @param from First date
+     * @param until Exclusive end date
+     * @param sink Row callback
+     * @return Number of rows streamed
+     * @throws SQLException if database operation fails
+     * @throws IOException if the sink fails
+     */
+    public long exportRange(ArchiveTable table, LocalDate from, LocalDate until, RowSink sink)
+            throws SQLException, IOException {
+        List<ArchiveTable.Column> columns = table.getColumns();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append(columns.get(i).getName());
+        }
+        sql.append(" FROM ").append(table.getTableName())
+            .append(" WHERE ").append(table.getDateColumn()).append(" >= ? AND ")
+            .append(table.getDateColumn()).append(" < ?")
+            .append(" ORDER BY student_id, subject_id, ").append(table.getDateColumn()).append(", id");
+
+        long[] numbers = new long[columns.size()];
+        String[] texts = new String[columns.size()];
+        long rows = 0;
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(ExportDAO.streamingFetchSize(connection));
+            statement.setDate(1, Date.valueOf(from));
+            statement.setDate(2, Date.valueOf(until));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        read(resultSet, i + 1, columns.get(i).getType(), numbers, texts, i);
+                    }
+                    sink.onRow(numbers, texts);
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Delete one batch of archived rows
+     * Rows modified after the snapshot are kept, their newer version is archived by the next run. The comparison is
+     * strict because both times have one-second precision: a row modified in the snapshot's second may be newer than
+     * its archived copy, so it stays hot until the next run. Tables without a last-modified column are matched on
+     * their guard column instead, so a row changed since the export stays.
+     * @param table Archived table
+     * @param ids Row IDs
+     * @param guards Archived guard column values, parallel to ids; null if the table has no guard column
+     * @param offset First ID to use
+     * @param length Number of IDs to use
+     * @param snapshot Time the rows were exported
+     * @return Number of rows deleted
+     * @throws SQLException if database operation fails
+     */
+    public int deleteArchived(ArchiveTable table, long[] ids, String[] guards, int offset, int length,
+                              Timestamp snapshot) throws SQLException {
+        StringBuilder sql = new StringBuilder("DELETE FROM ").append(table.getTableName());
+        if (guards != null) {
+            String guardColumn = table.getColumns().get(table.getGuardIndex()).getName();
+            sql.append(" WHERE (id, ").append(guardColumn).append(") IN (");
+            for (int i = 0; i < length; i++) {
+                sql.append(i > 0 ? ", (?, ?)" : "(?, ?)");
+            }
+        } else {
+            sql.append(" WHERE id IN (");
+            for (int i = 0; i < length; i++) {
+                sql.append(i > 0 ? ", ?" : "?");
+            }
+        }
+        sql.append(")");
+        if (table.getUpdatedColumn() != null) {
+            sql.append(" AND (").append(table.getUpdatedColumn()).append(" IS NULL OR ")
+                .append(table.getUpdatedColumn()).append(" < ?)");
+        }
+
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (int i = 0; i < length; i++) {
+                statement.setLong(index++, ids[offset + i]);
+                if (guards != null) {
+                    statement.setString(index++, guards[offset + i]);
+                }
+            }
+            if (table.getUpdatedColumn() != null) {
+                statement.setTimestamp(index, snapshot);
+            }
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Failed to delete archived {} rows", table.getTableName(), e);
+            throw e;
+        }
+    }
+
+    private static void read(ResultSet resultSet, int index, ArchiveTable.ColumnType type,
+                             long[] numbers, String[] texts, int column) throws SQLException {
+        switch (type) {
+            case INT:
+                long value = resultSet.getLong(index);
+                numbers[column] = resultSet.wasNull() ? NULL : value;
+                break;
+            case DECIMAL:
+                BigDecimal decimal = resultSet.getBigDecimal(index);
+                numbers[column] = decimal == null ? NULL
+                    : decimal.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                break;
+            case DATE:
+                Date date = resultSet.getDate(index);
+                numbers[column] = date == null ? NULL : date.toLocalDate().toEpochDay();
+                break;
+            case TIMESTAMP:
+                Timestamp timestamp = resultSet.getTimestamp(index);
+                numbers[column] = timestamp == null ? NULL : timestamp.getTime();
+                break;
+            default:
+                texts[column] = resultSet.getString(index);
+                break;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.studentmanagement.dao;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
@@ -7,114 +8,191 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import com.studentmanagement.archive.ArchiveStore;
+import com.studentmanagement.archive.ArchiveTable;
+import com.studentmanagement.attendance.AttendanceIndex;
+import com.studentmanagement.cache.ReferenceDataCache;
 import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.database.UnitOfWork;
+import com.studentmanagement.events.ChangeType;
+import com.studentmanagement.events.EventBroadcaster;
 import com.studentmanagement.model.Attendance;
+import com.studentmanagement.model.Subject;
 
 public class AttendanceDAO {
 
-    // Mark attendance
+    // SQL queries
+    private static final String UPSERT = "INSERT INTO attendance (student_id, subject_id, attendance_date, status) SELECT id, ?, ?, ? FROM students WHERE id = ? AND deleted_at IS NULL ON DUPLICATE KEY UPDATE attendance.status = ?, attendance.id = LAST_INSERT_ID(attendance.id)";
+    private static final String SELECT_BY_STUDENT = "SELECT a.*, s.name as subject_name, s.code as subject_code FROM attendance a JOIN students st ON a.student_id = st.id JOIN subjects s ON a.subject_id = s.id WHERE a.student_id = ? AND st.deleted_at IS NULL ORDER BY a.attendance_date DESC";
+    private static final String SELECT_BY_STUDENT_IN_RANGE = "SELECT a.*, s.name as subject_name, s.code as subject_code FROM attendance a JOIN students st ON a.student_id = st.id JOIN subjects s ON a.subject_id = s.id WHERE a.student_id = ? AND st.deleted_at IS NULL AND a.attendance_date BETWEEN ? AND ? ORDER BY a.attendance_date DESC";
+    private static final String SELECT_BY_STUDENT_AND_SUBJECT = "SELECT a.*, s.name as subject_name, s.code as subject_code FROM attendance a JOIN students st ON a.student_id = st.id JOIN subjects s ON a.subject_id = s.id WHERE a.student_id = ? AND st.deleted_at IS NULL AND a.subject_id = ? ORDER BY a.attendance_date DESC";
+    private static final String PERCENTAGE_BY_STUDENT = "SELECT s.name as subject_name, COUNT(CASE WHEN a.status = 'Present' THEN 1 END) as present, COUNT(*) as total FROM attendance a JOIN students st ON a.student_id = st.id JOIN subjects s ON a.subject_id = s.id WHERE a.student_id = ? AND st.deleted_at IS NULL GROUP BY a.subject_id, s.name";
+    private static final String SELECT_ALL = "SELECT a.*, st.name as student_name, s.name as subject_name, s.code as subject_code FROM attendance a JOIN students st ON a.student_id = st.id JOIN subjects s ON a.subject_id = s.id WHERE st.deleted_at IS NULL ORDER BY a.attendance_date DESC";
+    private static final String SELECT_BY_DATE_AND_SUBJECT = "SELECT a.*, st.name as student_name, s.name as subject_name, s.code as subject_code FROM attendance a JOIN students st ON a.student_id = st.id JOIN subjects s ON a.subject_id = s.id WHERE a.attendance_date = ? AND a.subject_id = ? AND st.deleted_at IS NULL";
+    private static final String DELETE = "DELETE FROM attendance WHERE id = ?";
+    private static final String SELECT_KEY_BY_ID = "SELECT student_id, subject_id, attendance_date FROM attendance WHERE id = ?";
+    private static final String SELECT_ALL_STATUSES = "SELECT a.student_id, a.subject_id, a.attendance_date, a.status FROM attendance a JOIN students st ON a.student_id = st.id WHERE st.deleted_at IS NULL";
+
+    // Bounds of MySQL's DATE type, used for open ends of a date range
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Callback receiving each record streamed by {@link #forEachRecord}
+     */
+    public interface RecordHandler {
+        void onRecord(int studentId, int subjectId, LocalDate date, String status);
+    }
+
+    // Fields selectable with ?fields= on the attendance list
+    private static final Projection<Attendance> PROJECTION = new Projection<>(Dataset.ATTENDANCE, "a.attendance_date DESC", Attendance::new)
+        .bind("id", (a, rs, i) -> a.setId(rs.getInt(i)))
+        .bind("studentId", (a, rs, i) -> a.setStudentId(rs.getInt(i)))
+        .bind("studentName", (a, rs, i) -> a.setStudentName(rs.getString(i)))
+        .bind("subjectId", (a, rs, i) -> a.setSubjectId(rs.getInt(i)))
+        .bind("subjectCode", (a, rs, i) -> a.setSubjectCode(rs.getString(i)))
+        .bind("subjectName", (a, rs, i) -> a.setSubjectName(rs.getString(i)))
+        .bind("attendanceDate", (a, rs, i) -> a.setAttendanceDate(Projection.toLocalDate(rs, i)))
+        .bind("status", (a, rs, i) -> a.setStatus(rs.getString(i)))
+        .bind("createdAt", (a, rs, i) -> a.setCreatedAt(Projection.toLocalDateTime(rs, i)));
+
+    // SQL statements used by this DAO, prepared on every pooled connection during startup warm-up
+    public static List<String> getStatements() {
+        return List.of(UPSERT, SELECT_BY_STUDENT, SELECT_BY_STUDENT_IN_RANGE, SELECT_BY_STUDENT_AND_SUBJECT, PERCENTAGE_BY_STUDENT, SELECT_ALL, SELECT_BY_DATE_AND_SUBJECT, DELETE, SELECT_KEY_BY_ID);
+    }
+
+    // Mark attendance, returns the new or updated record ID, -1 when the student does not exist or is deleted
     public int markAttendance(Attendance attendance) throws SQLException {
-        String query = "INSERT INTO attendance (student_id, subject_id, attendance_date, status) " +
-                      "VALUES (?, ?, ?, ?) " +
-                      "ON DUPLICATE KEY UPDATE status = ?";
-        
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setInt(1, attendance.getStudentId());
-            pstmt.setInt(2, attendance.getSubjectId());
-            pstmt.setDate(3, Date.valueOf(attendance.getAttendanceDate()));
-            pstmt.setString(4, attendance.getStatus());
+            pstmt.setInt(1, attendance.getSubjectId());
+            pstmt.setDate(2, Date.valueOf(attendance.getAttendanceDate()));
+            pstmt.setString(3, attendance.getStatus());
+            pstmt.setInt(4, attendance.getStudentId());
             pstmt.setString(5, attendance.getStatus());
             
             int rowsAffected = pstmt.executeUpdate();
             
             if (rowsAffected > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    return rs.getInt(1);
+                int id = -1;
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        id = rs.getInt(1);
+                    }
                 }
+                int markedId = id;
+                UnitOfWork.afterCommit(() -> {
+                    AttendanceIndex.getInstance().record(attendance.getStudentId(), attendance.getSubjectId(),
+                        attendance.getAttendanceDate(), attendance.getStatus());
+                    EventBroadcaster.getInstance().publish(ChangeType.ATTENDANCE_MARKED, markedId, attendance.getStudentId());
+                });
+                return id;
             }
         }
         
         return -1;
     }
 
-    // Get attendance for a student
+    // Get attendance for a student, including archived years
     public List<Attendance> getAttendanceByStudentId(int studentId) throws SQLException {
+        return getAttendanceByStudentId(studentId, null, null);
+    }
+
+    // Get a student's attendance within a date range, either bound may be null; archived years in range are merged in
+    public List<Attendance> getAttendanceByStudentId(int studentId, LocalDate from, LocalDate to) throws SQLException {
         List<Attendance> attendanceList = new ArrayList<>();
-        String query = "SELECT a.*, s.name as subject_name, s.code as subject_code " +
-                      "FROM attendance a " +
-                      "JOIN subjects s ON a.subject_id = s.id " +
-                      "WHERE a.student_id = ? " +
-                      "ORDER BY a.attendance_date DESC";
+        boolean ranged = from != null || to != null;
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ranged ? SELECT_BY_STUDENT_IN_RANGE : SELECT_BY_STUDENT)) {
             
             pstmt.setInt(1, studentId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                attendanceList.add(mapResultSetToAttendance(rs));
+            if (ranged) {
+                pstmt.setDate(2, Date.valueOf(from != null ? from : MIN_DATE));
+                pstmt.setDate(3, Date.valueOf(to != null ? to : MAX_DATE));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    attendanceList.add(mapResultSetToAttendance(rs));
+                }
             }
         }
         
-        return attendanceList;
+        return withArchived(attendanceList, studentId, null, from, to);
     }
 
     // Get attendance by student and subject
     public List<Attendance> getAttendanceByStudentAndSubject(int studentId, int subjectId) throws SQLException {
         List<Attendance> attendanceList = new ArrayList<>();
-        String query = "SELECT a.*, s.name as subject_name, s.code as subject_code " +
-                      "FROM attendance a " +
-                      "JOIN subjects s ON a.subject_id = s.id " +
-                      "WHERE a.student_id = ? AND a.subject_id = ? " +
-                      "ORDER BY a.attendance_date DESC";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_STUDENT_AND_SUBJECT)) {
             
             pstmt.setInt(1, studentId);
             pstmt.setInt(2, subjectId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                attendanceList.add(mapResultSetToAttendance(rs));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    attendanceList.add(mapResultSetToAttendance(rs));
+                }
             }
         }
         
-        return attendanceList;
+        return withArchived(attendanceList, studentId, subjectId, null, null);
     }
 
     // Get attendance percentage for student
     public Map<String, Double> getAttendancePercentage(int studentId) throws SQLException {
         Map<String, Double> percentageMap = new HashMap<>();
-        String query = "SELECT s.name as subject_name, " +
-                      "COUNT(CASE WHEN a.status = 'Present' THEN 1 END) as present, " +
-                      "COUNT(*) as total " +
-                      "FROM attendance a " +
-                      "JOIN subjects s ON a.subject_id = s.id " +
-                      "WHERE a.student_id = ? " +
-                      "GROUP BY a.subject_id, s.name";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        AttendanceIndex index = AttendanceIndex.getInstance();
+        if (index.isReady()) {
+            ReferenceDataCache subjects = ReferenceDataCache.getInstance();
+            for (Map.Entry<Integer, Double> entry : index.getPercentages(studentId).entrySet()) {
+                Subject subject = subjects.getSubjectById(entry.getKey());
+                percentageMap.put(subject != null ? subject.getName() : "Subject " + entry.getKey(), entry.getValue());
+            }
+            return percentageMap;
+        }
+        
+        if (ArchiveStore.getInstance().reaches(ArchiveTable.ATTENDANCE, null)) {
+            // Count over hot and archived records together
+            Map<String, int[]> counts = new HashMap<>();
+            for (Attendance attendance : getAttendanceByStudentId(studentId)) {
+                int[] count = counts.computeIfAbsent(attendance.getSubjectName() != null
+                    ? attendance.getSubjectName() : "Subject " + attendance.getSubjectId(), key -> new int[2]);
+                if ("Present".equals(attendance.getStatus())) {
+                    count[0]++;
+                }
+                count[1]++;
+            }
+            for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+                percentageMap.put(entry.getKey(), entry.getValue()[0] * 100.0 / entry.getValue()[1]);
+            }
+            return percentageMap;
+        }
+        
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(PERCENTAGE_BY_STUDENT)) {
             
             pstmt.setInt(1, studentId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                String subjectName = rs.getString("subject_name");
-                int present = rs.getInt("present");
-                int total = rs.getInt("total");
-                double percentage = total > 0 ? (present * 100.0 / total) : 0.0;
-                percentageMap.put(subjectName, percentage);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String subjectName = rs.getString("subject_name");
+                    int present = rs.getInt("present");
+                    int total = rs.getInt("total");
+                    double percentage = total > 0 ? (present * 100.0 / total) : 0.0;
+                    percentageMap.put(subjectName, percentage);
+                }
             }
         }
         
@@ -124,15 +202,10 @@ public class AttendanceDAO {
     // Get all attendance records (for admin)
     public List<Attendance> getAllAttendance() throws SQLException {
         List<Attendance> attendanceList = new ArrayList<>();
-        String query = "SELECT a.*, st.name as student_name, s.name as subject_name, s.code as subject_code " +
-                      "FROM attendance a " +
-                      "JOIN students st ON a.student_id = st.id " +
-                      "JOIN subjects s ON a.subject_id = s.id " +
-                      "ORDER BY a.attendance_date DESC";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 Attendance attendance = mapResultSetToAttendance(rs);
@@ -144,26 +217,33 @@ public class AttendanceDAO {
         return attendanceList;
     }
 
+    // Validate a fields= parameter against the selectable attendance fields
+    public static List<String> resolveFields(String fieldsParam) {
+        return PROJECTION.resolve(fieldsParam);
+    }
+
+    // Get all attendance records, selecting only the given fields
+    public List<Attendance> getAllAttendance(List<String> fields) throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection()) {
+            return PROJECTION.list(conn, fields);
+        }
+    }
+
     // Get attendance for a specific date and subject (for admin marking)
     public List<Attendance> getAttendanceByDateAndSubject(Date date, int subjectId) throws SQLException {
         List<Attendance> attendanceList = new ArrayList<>();
-        String query = "SELECT a.*, st.name as student_name, s.name as subject_name, s.code as subject_code " +
-                      "FROM attendance a " +
-                      "JOIN students st ON a.student_id = st.id " +
-                      "JOIN subjects s ON a.subject_id = s.id " +
-                      "WHERE a.attendance_date = ? AND a.subject_id = ?";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_DATE_AND_SUBJECT)) {
             
             pstmt.setDate(1, date);
             pstmt.setInt(2, subjectId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                Attendance attendance = mapResultSetToAttendance(rs);
-                attendance.setStudentName(rs.getString("student_name"));
-                attendanceList.add(attendance);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Attendance attendance = mapResultSetToAttendance(rs);
+                    attendance.setStudentName(rs.getString("student_name"));
+                    attendanceList.add(attendance);
+                }
             }
         }
         
@@ -172,14 +252,124 @@ public class AttendanceDAO {
 
     // Delete attendance record
     public boolean deleteAttendance(int id) throws SQLException {
-        String query = "DELETE FROM attendance WHERE id = ?";
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            
+            // The index is keyed by (student, subject, date), look that up before the row is gone
+            Integer studentId = null;
+            int subjectId = 0;
+            LocalDate date = null;
+            AttendanceIndex index = AttendanceIndex.getInstance();
+            if (index.getState() != AttendanceIndex.State.DISABLED) {
+                try (PreparedStatement select = conn.prepareStatement(SELECT_KEY_BY_ID)) {
+                    select.setInt(1, id);
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (rs.next()) {
+                            studentId = rs.getInt("student_id");
+                            subjectId = rs.getInt("subject_id");
+                            Date attendanceDate = rs.getDate("attendance_date");
+                            date = attendanceDate != null ? attendanceDate.toLocalDate() : null;
+                        }
+                    }
+                }
+            }
+            
+            boolean deleted;
+            try (PreparedStatement pstmt = conn.prepareStatement(DELETE)) {
+                pstmt.setInt(1, id);
+                deleted = pstmt.executeUpdate() > 0;
+            }
+            if (deleted) {
+                Integer deletedStudentId = studentId;
+                int deletedSubjectId = subjectId;
+                LocalDate deletedDate = date;
+                UnitOfWork.afterCommit(() -> {
+                    if (deletedStudentId != null) {
+                        index.remove(deletedStudentId, deletedSubjectId, deletedDate);
+                    }
+                    EventBroadcaster.getInstance().publish(ChangeType.ATTENDANCE_DELETED, id, deletedStudentId);
+                });
+            }
+            return deleted;
+        }
+    }
+
+    /**
+     * Stream every attendance record, used to build the attendance index
+     * Archived years come first, then the hot table on the primary, so a hot record replaces an archived one
+     * for the same day. Deleted students are left out, whether soft deleted or already purged. Rows are read through a forward-only cursor so memory
+     * use does not depend on table size
+     * @param handler Record callback
+     * @throws SQLException if database operation fails
+     */
+    public void forEachRecord(RecordHandler handler) throws SQLException {
+        // The hot query skips deleted students by joining students. Archived years outlive purged student rows,
+        // so they are checked against the students that still exist
+        Set<Integer> active = new StudentDAO().getActiveStudentIds();
+        try {
+            ArchiveStore.getInstance().forEachAttendance((studentId, subjectId, date, status) -> {
+                if (active.contains(studentId)) {
+                    handler.onRecord(studentId, subjectId, date, status);
+                }
+            });
+        } catch (IOException e) {
+            throw new SQLException("Failed to read archived attendance", e);
+        }
         
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL_STATUSES,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
             
-            pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+            pstmt.setFetchSize(ExportDAO.streamingFetchSize(conn));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Date attendanceDate = rs.getDate(3);
+                    handler.onRecord(rs.getInt(1), rs.getInt(2),
+                        attendanceDate != null ? attendanceDate.toLocalDate() : null, rs.getString(4));
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge archived attendance into a hot result when the date range reaches archived years
+     * A hot record wins over an archived one for the same subject and day; the result keeps the newest-first order
+     */
+    private List<Attendance> withArchived(List<Attendance> hot, int studentId, Integer subjectId, LocalDate from,
+            LocalDate to) throws SQLException {
+        ArchiveStore archive = ArchiveStore.getInstance();
+        if (!archive.reaches(ArchiveTable.ATTENDANCE, from)) {
+            return hot;
+        }
+        List<Attendance> archived;
+        try {
+            archived = archive.findAttendance(studentId, subjectId, from, to);
+        } catch (IOException e) {
+            throw new SQLException("Failed to read archived attendance", e);
+        }
+        // Archived years are not filtered by deleted_at, so a deleted student's history stops here too
+        if (archived.isEmpty() || new StudentDAO().getStudentById(studentId) == null) {
+            return hot;
+        }
+        
+        Set<String> hotKeys = new HashSet<>();
+        for (Attendance attendance : hot) {
+            hotKeys.add(attendance.getSubjectId() + ":" + attendance.getAttendanceDate());
+        }
+        ReferenceDataCache subjects = ReferenceDataCache.getInstance();
+        List<Attendance> merged = new ArrayList<>(hot);
+        for (Attendance attendance : archived) {
+            if (hotKeys.contains(attendance.getSubjectId() + ":" + attendance.getAttendanceDate())) {
+                continue;
+            }
+            Subject subject = subjects.getSubjectById(attendance.getSubjectId());
+            if (subject != null) {
+                attendance.setSubjectName(subject.getName());
+                attendance.setSubjectCode(subject.getCode());
+            }
+            merged.add(attendance);
         }
+        merged.sort(Comparator.comparing(Attendance::getAttendanceDate, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
     }
 
     private Attendance mapResultSetToAttendance(ResultSet rs) throws SQLException {
@@ -0,0 +1,243 @@
+package com.studentmanagement.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whitelisted column and filter definitions for the tabular datasets
+ * Field names match the JSON property names of the model classes and map to fixed SQL expressions,
+ * so user supplied names never reach the generated SQL
+ */
+public enum Dataset {
+
+    STUDENTS("students st", "st.id") {
+        @Override
+        void define() {
+            column("id", "st.id");
+            column("name", "st.name");
+            column("email", "st.email");
+            column("phone", "st.phone");
+            column("course", "st.course");
+            column("gender", "st.gender");
+            column("dob", "st.dob");
+            column("city", "st.city");
+            column("rollNumber", "st.roll_number");
+            column("createdAt", "st.created_at");
+            column("updatedAt", "st.updated_at");
+
+            condition("st.deleted_at IS NULL");
+
+            filter("course", "st.course = ?", FilterType.STRING);
+            filter("city", "st.city = ?", FilterType.STRING);
+            filter("gender", "st.gender = ?", FilterType.STRING);
+            filter("from", "st.created_at >= ?", FilterType.DATE);
+            filter("to", "DATE(st.created_at) <= ?", FilterType.DATE);
+        }
+    },
+
+    MARKS("marks m", "m.id",
+            "JOIN students st ON m.student_id = st.id",
+            "JOIN subjects s ON m.subject_id = s.id") {
+        @Override
+        void define() {
+            column("id", "m.id");
+            column("studentId", "m.student_id");
+            column("studentName", "st.name");
+            column("rollNumber", "st.roll_number");
+            column("course", "st.course");
+            column("subjectId", "m.subject_id");
+            column("subjectCode", "s.code");
+            column("subjectName", "s.name");
+            column("marksObtained", "m.marks_obtained");
+            column("totalMarks", "m.total_marks");
+            column("examType", "m.exam_type");
+            column("examDate", "m.exam_date");
+            column("createdAt", "m.created_at");
+            column("updatedAt", "m.updated_at");
+
+            condition("st.deleted_at IS NULL");
+
+            filter("studentId", "m.student_id = ?", FilterType.INT);
+            filter("subjectId", "m.subject_id = ?", FilterType.INT);
+            filter("course", "st.course = ?", FilterType.STRING);
+            filter("examType", "m.exam_type = ?", FilterType.STRING);
+            filter("from", "m.exam_date >= ?", FilterType.DATE);
+            filter("to", "m.exam_date <= ?", FilterType.DATE);
+        }
+    },
+
+    ATTENDANCE("attendance a", "a.id",
+            "JOIN students st ON a.student_id = st.id",
+            "JOIN subjects s ON a.subject_id = s.id") {
+        @Override
+        void define() {
+            column("id", "a.id");
+            column("studentId", "a.student_id");
+            column("studentName", "st.name");
+            column("rollNumber", "st.roll_number");
+            column("course", "st.course");
+            column("subjectId", "a.subject_id");
+            column("subjectCode", "s.code");
+            column("subjectName", "s.name");
+            column("attendanceDate", "a.attendance_date");
+            column("status", "a.status");
+            column("createdAt", "a.created_at");
+
+            condition("st.deleted_at IS NULL");
+
+            filter("studentId", "a.student_id = ?", FilterType.INT);
+            filter("subjectId", "a.subject_id = ?", FilterType.INT);
+            filter("course", "st.course = ?", FilterType.STRING);
+            filter("status", "a.status = ?", FilterType.STRING);
+            filter("from", "a.attendance_date >= ?", FilterType.DATE);
+            filter("to", "a.attendance_date <= ?", FilterType.DATE);
+        }
+    };
+
+    /**
+     * Type of a filter parameter, used to bind it to the prepared statement
+     */
+    public enum FilterType {
+        INT, STRING, DATE
+    }
+
+    /**
+     * A whitelisted filter: request parameter name, SQL predicate with a single placeholder, and type
+     */
+    public static final class Filter {
+        private final String name;
+        private final String predicate;
+        private final FilterType type;
+
+        Filter(String name, String predicate, FilterType type) {
+            this.name = name;
+            this.predicate = predicate;
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPredicate() {
+            return predicate;
+        }
+
+        public FilterType getType() {
+            return type;
+        }
+    }
+
+    private final String baseTable;
+    private final String orderBy;
+    private final List<String> joins;
+    private final Map<String, String> columns = new LinkedHashMap<>();
+    private final Map<String, Filter> filters = new LinkedHashMap<>();
+    private final List<String> conditions = new ArrayList<>();
+
+    /**
+     * @param baseTable Base table with its alias, e.g. "marks m"
+     * @param orderBy Default ordering expression on the base table
+     * @param joins Join clauses of the form "JOIN table alias ON ..."
+     */
+    Dataset(String baseTable, String orderBy, String... joins) {
+        this.baseTable = baseTable;
+        this.orderBy = orderBy;
+        this.joins = Arrays.asList(joins);
+        define();
+    }
+
+    abstract void define();
+
+    void column(String field, String expression) {
+        columns.put(field, expression);
+    }
+
+    void filter(String name, String predicate, FilterType type) {
+        filters.put(name, new Filter(name, predicate, type));
+    }
+
+    void condition(String predicate) {
+        conditions.add(predicate);
+    }
+
+    /**
+     * Resolve a dataset from its URL name (students, marks, attendance)
+     * @param name Dataset name
+     * @return Dataset or null if unknown
+     */
+    public static Dataset fromName(String name) {
+        for (Dataset dataset : values()) {
+            if (dataset.name().equalsIgnoreCase(name)) {
+                return dataset;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the FROM clause with every join
+     * @return FROM clause without the FROM keyword
+     */
+    public String getFromClause() {
+        return baseTable + (joins.isEmpty() ? "" : " " + String.join(" ", joins));
+    }
+
+    /**
+     * Get the FROM clause with only the joins the given fields or the fixed conditions read from
+     * Each join follows a foreign key, so dropping an unused one does not change which rows are returned
+     * @param fields Field names from {@link #getColumns()}
+     * @return FROM clause without the FROM keyword
+     */
+    public String getFromClause(Collection<String> fields) {
+        StringBuilder from = new StringBuilder(baseTable);
+        for (String join : joins) {
+            // "JOIN table alias ON ..." - the alias is the third token
+            String alias = join.split("\\s+")[2] + ".";
+            boolean used = false;
+            for (String condition : conditions) {
+                used |= condition.startsWith(alias);
+            }
+            for (String field : fields) {
+                used |= columns.get(field).startsWith(alias);
+            }
+            if (used) {
+                from.append(' ').append(join);
+            }
+        }
+        return from.toString();
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Get field name to SQL expression mapping, in default column order
+     * @return Unmodifiable column map
+     */
+    public Map<String, String> getColumns() {
+        return Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * Get the predicates every query on this dataset applies, such as hiding soft deleted students
+     * @return Unmodifiable list of SQL predicates without placeholders
+     */
+    public List<String> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
+    /**
+     * Get supported filters keyed by request parameter name
+     * @return Unmodifiable filter map
+     */
+    public Map<String, Filter> getFilters() {
+        return Collections.unmodifiableMap(filters);
+    }
+}
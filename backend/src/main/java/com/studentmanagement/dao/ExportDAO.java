@@ -0,0 +1,193 @@
+package com.studentmanagement.dao;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.database.DatabaseManager;
+
+/**
+ * Data Access Object for bulk exports
+ * Rows are read through a forward-only, read-only cursor and handed to the caller one at a time,
+ * so heap usage stays constant regardless of table size
+ */
+public class ExportDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportDAO.class);
+
+    // Rows fetched per round trip for drivers that do not support MySQL style row streaming
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Callback receiving each exported row
+     * The values array is reused between calls and must not be retained
+     */
+    public interface RowHandler {
+        void onRow(String[] values) throws IOException;
+    }
+
+    private final DatabaseManager databaseManager;
+
+    public ExportDAO() {
+        this.databaseManager = DatabaseManager.getInstance();
+    }
+
+    /**
+     * Resolve the requested column list against the dataset whitelist
+     * @param dataset Dataset being exported
+     * @param columnsParam Comma separated field names, or null/blank for all columns
+     * @return Ordered list of field names
+     * @throws IllegalArgumentException if an unknown column is requested
+     */
+    public static List<String> resolveColumns(Dataset dataset, String columnsParam) {
+        if (columnsParam == null || columnsParam.trim().isEmpty()) {
+            return new ArrayList<>(dataset.getColumns().keySet());
+        }
+
+        List<String> fields = new ArrayList<>();
+        for (String field : columnsParam.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty() || fields.contains(trimmed)) {
+                continue;
+            }
+            if (!dataset.getColumns().containsKey(trimmed)) {
+                throw new IllegalArgumentException("Unknown column: " + trimmed);
+            }
+            fields.add(trimmed);
+        }
+
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        return fields;
+    }
+
+    /**
+     * Resolve and type-check filter values from request parameters
+     * Parameters that are not filters of the dataset are ignored
+     * @param dataset Dataset being exported
+     * @param params Request parameter map
+     * @return Filters with their parsed values, in definition order
+     * @throws IllegalArgumentException if a filter value cannot be parsed
+     */
+    public static Map<Dataset.Filter, Object> resolveFilters(Dataset dataset, Map<String, String[]> params) {
+        Map<Dataset.Filter, Object> resolved = new LinkedHashMap<>();
+
+        for (Dataset.Filter filter : dataset.getFilters().values()) {
+            String[] values = params.get(filter.getName());
+            if (values == null || values.length == 0 || values[0] == null || values[0].trim().isEmpty()) {
+                continue;
+            }
+
+            String value = values[0].trim();
+            try {
+                switch (filter.getType()) {
+                    case INT:
+                        resolved.put(filter, Integer.parseInt(value));
+                        break;
+                    case DATE:
+                        resolved.put(filter, Date.valueOf(LocalDate.parse(value)));
+                        break;
+                    default:
+                        resolved.put(filter, value);
+                        break;
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid value for filter '" + filter.getName() + "': " + value);
+            }
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Stream dataset rows to the handler
+     * @param dataset Dataset to export
+     * @param fields Field names as returned by {@link #resolveColumns}
+     * @param filters Filters as returned by {@link #resolveFilters}
+     * @param handler Row callback
+     * @return Number of rows streamed
+     * @throws SQLException if database operation fails
+     * @throws IOException if the handler fails to write a row
+     */
+    public long streamRows(Dataset dataset, List<String> fields, Map<Dataset.Filter, Object> filters,
+                           RowHandler handler) throws SQLException, IOException {
+        String sql = buildQuery(dataset, fields, filters);
+
+        try (Connection connection = databaseManager.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(streamingFetchSize(connection));
+
+            int index = 1;
+            for (Map.Entry<Dataset.Filter, Object> entry : filters.entrySet()) {
+                statement.setObject(index++, entry.getValue());
+            }
+
+            long rows = 0;
+            String[] values = new String[fields.size()];
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = resultSet.getString(i + 1);
+                    }
+                    handler.onRow(values);
+                    rows++;
+                }
+            }
+
+            logger.info("Exported {} rows from {}", rows, dataset.name().toLowerCase());
+            return rows;
+        } catch (SQLException e) {
+            logger.error("Failed to export {}", dataset.name().toLowerCase(), e);
+            throw e;
+        }
+    }
+
+    private static String buildQuery(Dataset dataset, List<String> fields, Map<Dataset.Filter, Object> filters) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(dataset.getColumns().get(fields.get(i)));
+        }
+
+        sql.append(" FROM ").append(dataset.getFromClause());
+
+        boolean first = true;
+        for (String condition : dataset.getConditions()) {
+            sql.append(first ? " WHERE " : " AND ").append(condition);
+            first = false;
+        }
+        for (Dataset.Filter filter : filters.keySet()) {
+            sql.append(first ? " WHERE " : " AND ").append(filter.getPredicate());
+            first = false;
+        }
+
+        sql.append(" ORDER BY ").append(dataset.getOrderBy());
+        return sql.toString();
+    }
+
+    /**
+     * MySQL Connector/J only streams rows one at a time when the fetch size is Integer.MIN_VALUE,
+     * otherwise it buffers the whole result set in memory
+     */
+    static int streamingFetchSize(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && product.toLowerCase().contains("mysql") ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE;
+    }
+}
@@ -1,5 +1,6 @@
 package com.studentmanagement.dao;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
@@ -7,34 +8,83 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import com.studentmanagement.archive.ArchiveStore;
+import com.studentmanagement.archive.ArchiveTable;
+import com.studentmanagement.cache.ReferenceDataCache;
 import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.database.UnitOfWork;
+import com.studentmanagement.events.ChangeType;
+import com.studentmanagement.events.EventBroadcaster;
 import com.studentmanagement.model.Marks;
+import com.studentmanagement.model.Subject;
 
 public class MarksDAO {
 
-    // Add new marks entry
+    // SQL queries
+    private static final String INSERT = "INSERT INTO marks (student_id, subject_id, marks_obtained, total_marks, exam_type, exam_date) SELECT id, ?, ?, ?, ?, ? FROM students WHERE id = ? AND deleted_at IS NULL";
+    private static final String UPDATE = "UPDATE marks SET marks_obtained = ?, total_marks = ?, exam_type = ?, exam_date = ?, version = version + 1 WHERE id = ? AND student_id IN (SELECT id FROM students WHERE deleted_at IS NULL)";
+    private static final String UPDATE_IF_VERSION = "UPDATE marks SET marks_obtained = ?, total_marks = ?, exam_type = ?, exam_date = ?, version = version + 1 WHERE id = ? AND version = ? AND student_id IN (SELECT id FROM students WHERE deleted_at IS NULL)";
+    private static final String DELETE = "DELETE FROM marks WHERE id = ?";
+    private static final String SELECT_BY_STUDENT = "SELECT m.*, s.name as subject_name, s.code as subject_code FROM marks m JOIN students st ON m.student_id = st.id JOIN subjects s ON m.subject_id = s.id WHERE m.student_id = ? AND st.deleted_at IS NULL ORDER BY m.exam_date DESC";
+    private static final String SELECT_BY_STUDENT_IN_RANGE = "SELECT m.*, s.name as subject_name, s.code as subject_code FROM marks m JOIN students st ON m.student_id = st.id JOIN subjects s ON m.subject_id = s.id WHERE m.student_id = ? AND st.deleted_at IS NULL AND m.exam_date BETWEEN ? AND ? ORDER BY m.exam_date DESC";
+    private static final String SELECT_BY_STUDENT_AND_SUBJECT = "SELECT m.*, s.name as subject_name, s.code as subject_code FROM marks m JOIN students st ON m.student_id = st.id JOIN subjects s ON m.subject_id = s.id WHERE m.student_id = ? AND st.deleted_at IS NULL AND m.subject_id = ? ORDER BY m.exam_date DESC";
+    private static final String SELECT_ALL = "SELECT m.*, st.name as student_name, s.name as subject_name, s.code as subject_code FROM marks m JOIN students st ON m.student_id = st.id JOIN subjects s ON m.subject_id = s.id WHERE st.deleted_at IS NULL ORDER BY m.exam_date DESC";
+    private static final String SELECT_BY_ID = "SELECT m.*, s.name as subject_name, s.code as subject_code FROM marks m JOIN students st ON m.student_id = st.id JOIN subjects s ON m.subject_id = s.id WHERE m.id = ? AND st.deleted_at IS NULL";
+    private static final String SELECT_BY_IDS_PREFIX = "SELECT m.*, s.name as subject_name, s.code as subject_code FROM marks m JOIN students st ON m.student_id = st.id JOIN subjects s ON m.subject_id = s.id WHERE m.id IN (";
+
+    // Bounds of MySQL's DATE type, used for open ends of a date range
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    // Fields selectable with ?fields= on the marks list
+    private static final Projection<Marks> PROJECTION = new Projection<>(Dataset.MARKS, "m.exam_date DESC", Marks::new)
+        .bind("id", (m, rs, i) -> m.setId(rs.getInt(i)))
+        .bind("studentId", (m, rs, i) -> m.setStudentId(rs.getInt(i)))
+        .bind("studentName", (m, rs, i) -> m.setStudentName(rs.getString(i)))
+        .bind("subjectId", (m, rs, i) -> m.setSubjectId(rs.getInt(i)))
+        .bind("subjectCode", (m, rs, i) -> m.setSubjectCode(rs.getString(i)))
+        .bind("subjectName", (m, rs, i) -> m.setSubjectName(rs.getString(i)))
+        .bind("marksObtained", (m, rs, i) -> m.setMarksObtained(rs.getDouble(i)))
+        .bind("totalMarks", (m, rs, i) -> m.setTotalMarks(rs.getDouble(i)))
+        .bind("examType", (m, rs, i) -> m.setExamType(rs.getString(i)))
+        .bind("examDate", (m, rs, i) -> m.setExamDate(Projection.toLocalDate(rs, i)))
+        .bind("createdAt", (m, rs, i) -> m.setCreatedAt(Projection.toLocalDateTime(rs, i)))
+        .bind("updatedAt", (m, rs, i) -> m.setUpdatedAt(Projection.toLocalDateTime(rs, i)));
+
+    // SQL statements used by this DAO, prepared on every pooled connection during startup warm-up
+    public static List<String> getStatements() {
+        return List.of(INSERT, UPDATE, UPDATE_IF_VERSION, DELETE, SELECT_BY_STUDENT, SELECT_BY_STUDENT_IN_RANGE, SELECT_BY_STUDENT_AND_SUBJECT, SELECT_ALL, SELECT_BY_ID);
+    }
+
+    // Add new marks entry, -1 when the student does not exist or is deleted
     public int addMarks(Marks marks) throws SQLException {
-        String query = "INSERT INTO marks (student_id, subject_id, marks_obtained, total_marks, exam_type, exam_date) VALUES (?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setInt(1, marks.getStudentId());
-            pstmt.setInt(2, marks.getSubjectId());
-            pstmt.setDouble(3, marks.getMarksObtained());
-            pstmt.setDouble(4, marks.getTotalMarks());
-            pstmt.setString(5, marks.getExamType());
-            pstmt.setDate(6, marks.getExamDate() != null ? Date.valueOf(marks.getExamDate()) : null);
+            pstmt.setInt(1, marks.getSubjectId());
+            pstmt.setDouble(2, marks.getMarksObtained());
+            pstmt.setDouble(3, marks.getTotalMarks());
+            pstmt.setString(4, marks.getExamType());
+            pstmt.setDate(5, marks.getExamDate() != null ? Date.valueOf(marks.getExamDate()) : null);
+            pstmt.setInt(6, marks.getStudentId());
             
             int rowsAffected = pstmt.executeUpdate();
             
             if (rowsAffected > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    return rs.getInt(1);
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        int id = rs.getInt(1);
+                        UnitOfWork.afterCommit(() ->
+                            EventBroadcaster.getInstance().publish(ChangeType.MARKS_POSTED, id, marks.getStudentId()));
+                        return id;
+                    }
                 }
             }
         }
@@ -42,94 +92,99 @@ public class MarksDAO {
         return -1;
     }
 
-    // Update marks
+    // Update marks; with a version on the entry only that version is overwritten, false means missing, changed or
+    // belonging to a deleted student
     public boolean updateMarks(int id, Marks marks) throws SQLException {
-        String query = "UPDATE marks SET marks_obtained = ?, total_marks = ?, exam_type = ?, exam_date = ? WHERE id = ?";
-        
+        Integer version = marks.getVersion();
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+             PreparedStatement pstmt = conn.prepareStatement(version != null ? UPDATE_IF_VERSION : UPDATE)) {
             
             pstmt.setDouble(1, marks.getMarksObtained());
             pstmt.setDouble(2, marks.getTotalMarks());
             pstmt.setString(3, marks.getExamType());
             pstmt.setDate(4, marks.getExamDate() != null ? Date.valueOf(marks.getExamDate()) : null);
             pstmt.setInt(5, id);
+            if (version != null) {
+                pstmt.setInt(6, version);
+            }
             
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated) {
+                UnitOfWork.afterCommit(() -> EventBroadcaster.getInstance().publish(ChangeType.MARKS_UPDATED, id,
+                    marks.getStudentId() > 0 ? marks.getStudentId() : null));
+            }
+            return updated;
         }
     }
 
     // Delete marks
     public boolean deleteMarks(int id) throws SQLException {
-        String query = "DELETE FROM marks WHERE id = ?";
-        
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+             PreparedStatement pstmt = conn.prepareStatement(DELETE)) {
             
             pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                UnitOfWork.afterCommit(() -> EventBroadcaster.getInstance().publish(ChangeType.MARKS_DELETED, id, null));
+            }
+            return deleted;
         }
     }
 
-    // Get all marks for a student
+    // Get all marks for a student, including archived years
     public List<Marks> getMarksByStudentId(int studentId) throws SQLException {
+        return getMarksByStudentId(studentId, null, null);
+    }
+
+    // Get a student's marks with exam dates in a range, either bound may be null; archived years in range are merged in
+    public List<Marks> getMarksByStudentId(int studentId, LocalDate from, LocalDate to) throws SQLException {
         List<Marks> marksList = new ArrayList<>();
-        String query = "SELECT m.*, s.name as subject_name, s.code as subject_code " +
-                      "FROM marks m " +
-                      "JOIN subjects s ON m.subject_id = s.id " +
-                      "WHERE m.student_id = ? " +
-                      "ORDER BY m.exam_date DESC";
+        boolean ranged = from != null || to != null;
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ranged ? SELECT_BY_STUDENT_IN_RANGE : SELECT_BY_STUDENT)) {
             
             pstmt.setInt(1, studentId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                marksList.add(mapResultSetToMarks(rs));
+            if (ranged) {
+                pstmt.setDate(2, Date.valueOf(from != null ? from : MIN_DATE));
+                pstmt.setDate(3, Date.valueOf(to != null ? to : MAX_DATE));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    marksList.add(mapResultSetToMarks(rs));
+                }
             }
         }
         
-        return marksList;
+        return withArchived(marksList, studentId, null, from, to);
     }
 
     // Get marks for a specific subject and student
     public List<Marks> getMarksByStudentAndSubject(int studentId, int subjectId) throws SQLException {
         List<Marks> marksList = new ArrayList<>();
-        String query = "SELECT m.*, s.name as subject_name, s.code as subject_code " +
-                      "FROM marks m " +
-                      "JOIN subjects s ON m.subject_id = s.id " +
-                      "WHERE m.student_id = ? AND m.subject_id = ? " +
-                      "ORDER BY m.exam_date DESC";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_STUDENT_AND_SUBJECT)) {
             
             pstmt.setInt(1, studentId);
             pstmt.setInt(2, subjectId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                marksList.add(mapResultSetToMarks(rs));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    marksList.add(mapResultSetToMarks(rs));
+                }
             }
         }
         
-        return marksList;
+        return withArchived(marksList, studentId, subjectId, null, null);
     }
 
     // Get all marks (for admin)
     public List<Marks> getAllMarks() throws SQLException {
         List<Marks> marksList = new ArrayList<>();
-        String query = "SELECT m.*, st.name as student_name, s.name as subject_name, s.code as subject_code " +
-                      "FROM marks m " +
-                      "JOIN students st ON m.student_id = st.id " +
-                      "JOIN subjects s ON m.subject_id = s.id " +
-                      "ORDER BY m.exam_date DESC";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 Marks marks = mapResultSetToMarks(rs);
@@ -141,27 +196,89 @@ public class MarksDAO {
         return marksList;
     }
 
+    // Validate a fields= parameter against the selectable marks fields
+    public static List<String> resolveFields(String fieldsParam) {
+        return PROJECTION.resolve(fieldsParam);
+    }
+
+    // Get all marks, selecting only the given fields
+    public List<Marks> getAllMarks(List<String> fields) throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection()) {
+            return PROJECTION.list(conn, fields);
+        }
+    }
+
     // Get marks by ID
     public Marks getMarksById(int id) throws SQLException {
-        String query = "SELECT m.*, s.name as subject_name, s.code as subject_code " +
-                      "FROM marks m " +
-                      "JOIN subjects s ON m.subject_id = s.id " +
-                      "WHERE m.id = ?";
-        
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ID)) {
             
             pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                return mapResultSetToMarks(rs);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToMarks(rs);
+                }
             }
         }
         
         return null;
     }
 
+    // Get marks entries by IDs, in request order with null for unknown IDs
+    public List<Marks> getMarksByIds(List<Integer> ids) throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection()) {
+            return getMarksByIds(conn, ids);
+        }
+    }
+
+    // Get marks entries by IDs on a connection owned by the caller
+    public List<Marks> getMarksByIds(Connection conn, List<Integer> ids) throws SQLException {
+        return MultiGet.fetch(conn, SELECT_BY_IDS_PREFIX, ") AND st.deleted_at IS NULL", ids,
+            this::mapResultSetToMarks, Marks::getId);
+    }
+
+    /**
+     * Merge archived marks into a hot result when the date range reaches archived years
+     * A hot row wins over an archived copy with the same ID; the result keeps the newest-exam-first order
+     */
+    private List<Marks> withArchived(List<Marks> hot, int studentId, Integer subjectId, LocalDate from, LocalDate to)
+            throws SQLException {
+        ArchiveStore archive = ArchiveStore.getInstance();
+        if (!archive.reaches(ArchiveTable.MARKS, from)) {
+            return hot;
+        }
+        List<Marks> archived;
+        try {
+            archived = archive.findMarks(studentId, subjectId, from, to);
+        } catch (IOException e) {
+            throw new SQLException("Failed to read archived marks", e);
+        }
+        // Archived years are not filtered by deleted_at, so a deleted student's history stops here too
+        if (archived.isEmpty() || new StudentDAO().getStudentById(studentId) == null) {
+            return hot;
+        }
+        
+        Set<Integer> hotIds = new HashSet<>();
+        for (Marks marks : hot) {
+            hotIds.add(marks.getId());
+        }
+        ReferenceDataCache subjects = ReferenceDataCache.getInstance();
+        List<Marks> merged = new ArrayList<>(hot);
+        for (Marks marks : archived) {
+            if (hotIds.contains(marks.getId())) {
+                continue;
+            }
+            Subject subject = subjects.getSubjectById(marks.getSubjectId());
+            if (subject != null) {
+                marks.setSubjectName(subject.getName());
+                marks.setSubjectCode(subject.getCode());
+            }
+            merged.add(marks);
+        }
+        merged.sort(Comparator.comparing(Marks::getExamDate, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+
     private Marks mapResultSetToMarks(ResultSet rs) throws SQLException {
         Marks marks = new Marks();
         marks.setId(rs.getInt("id"));
@@ -170,6 +287,7 @@ public class MarksDAO {
         marks.setMarksObtained(rs.getDouble("marks_obtained"));
         marks.setTotalMarks(rs.getDouble("total_marks"));
         marks.setExamType(rs.getString("exam_type"));
+        marks.setVersion(rs.getInt("version"));
         
         Date examDate = rs.getDate("exam_date");
         if (examDate != null) {
@@ -0,0 +1,86 @@
+package com.studentmanagement.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import com.studentmanagement.config.AppConfig;
+
+/**
+ * Helper for fetching rows by a list of IDs with {@code IN (...)} queries
+ * IDs are de-duplicated and split into chunks of at most MULTI_GET_CHUNK_SIZE. Each chunk's placeholder
+ * count is rounded up to a power of two by repeating the last ID, so only a handful of distinct
+ * statements reach the driver's prepared statement cache.
+ */
+final class MultiGet {
+
+    /**
+     * Maps the current result set row
+     * @param <T> Row type
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    // Private constructor to prevent instantiation
+    private MultiGet() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Fetch rows by ID on the given connection
+     * @param conn Connection to use, left open
+     * @param sqlPrefix Query text up to and including "IN (", e.g. "SELECT ... WHERE id IN ("
+     * @param sqlSuffix Query text after the placeholders, starting with ")"
+     * @param ids Requested IDs, may contain duplicates
+     * @param mapper Row mapper
+     * @param idOf Extracts the ID of a mapped row
+     * @param <T> Row type
+     * @return One entry per requested ID in request order, null where no row exists
+     * @throws SQLException if a query fails
+     */
+    static <T> List<T> fetch(Connection conn, String sqlPrefix, String sqlSuffix, List<Integer> ids,
+            RowMapper<T> mapper, ToIntFunction<T> idOf) throws SQLException {
+
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Integer, T> found = new HashMap<>(distinct.size() * 2);
+        int chunkSize = Math.max(1, AppConfig.MULTI_GET_CHUNK_SIZE);
+
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<Integer> chunk = distinct.subList(from, Math.min(distinct.size(), from + chunkSize));
+            int placeholders = Math.min(chunkSize, chunk.size() == 1 ? 1 : Integer.highestOneBit(chunk.size() - 1) << 1);
+
+            StringBuilder sql = new StringBuilder(sqlPrefix);
+            for (int i = 0; i < placeholders; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(sqlSuffix);
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < placeholders; i++) {
+                    pstmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        T row = mapper.map(rs);
+                        found.put(idOf.applyAsInt(row), row);
+                    }
+                }
+            }
+        }
+
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            ordered.add(found.get(id));
+        }
+        return ordered;
+    }
+}
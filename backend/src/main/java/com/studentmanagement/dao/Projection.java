@@ -0,0 +1,149 @@
+package com.studentmanagement.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sparse fieldset support for list queries
+ * Only the requested fields are selected, and only the joins they need are included. Each field is
+ * bound onto a fresh model instance, so unselected properties stay at their defaults and must be
+ * left out when the model is written (see ApiResponse.sendSuccess with fields).
+ *
+ * @param <T> Model type
+ */
+final class Projection<T> {
+
+    /**
+     * Copies one selected column onto the model
+     * @param <T> Model type
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(T target, ResultSet rs, int column) throws SQLException;
+    }
+
+    private final Dataset dataset;
+    private final String orderBy;
+    private final Supplier<T> factory;
+    private final Map<String, Binder<T>> binders = new LinkedHashMap<>();
+
+    /**
+     * @param dataset Dataset providing the whitelisted field expressions
+     * @param orderBy ORDER BY expression, matching the full list query
+     * @param factory Creates an empty model instance
+     */
+    Projection(Dataset dataset, String orderBy, Supplier<T> factory) {
+        this.dataset = dataset;
+        this.orderBy = orderBy;
+        this.factory = factory;
+    }
+
+    /**
+     * Make a dataset field selectable
+     * @param field Field name, must be a column of the dataset
+     * @param binder Copies the column onto the model
+     * @return this projection
+     */
+    Projection<T> bind(String field, Binder<T> binder) {
+        if (!dataset.getColumns().containsKey(field)) {
+            throw new IllegalStateException("Field " + field + " is not a column of " + dataset);
+        }
+        binders.put(field, binder);
+        return this;
+    }
+
+    /**
+     * Validate a comma-separated field list against the selectable fields
+     * @param fieldsParam Value of the fields parameter
+     * @return Requested fields in request order, without duplicates
+     * @throws IllegalArgumentException if a field is unknown or none is given
+     */
+    List<String> resolve(String fieldsParam) {
+        List<String> fields = new ArrayList<>();
+        for (String field : fieldsParam.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty() || fields.contains(trimmed)) {
+                continue;
+            }
+            if (!binders.containsKey(trimmed)) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed + ". Allowed fields: "
+                    + String.join(", ", binders.keySet()));
+            }
+            fields.add(trimmed);
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Build the SELECT for the given fields
+     * @param fields Fields as returned by {@link #resolve}
+     * @return SQL text
+     */
+    String buildQuery(List<String> fields) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(dataset.getColumns().get(fields.get(i)));
+        }
+        sql.append(" FROM ").append(dataset.getFromClause(fields));
+        List<String> conditions = dataset.getConditions();
+        for (int i = 0; i < conditions.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ").append(conditions.get(i));
+        }
+        return sql.append(" ORDER BY ").append(orderBy).toString();
+    }
+
+    /**
+     * Run the projected list query
+     * @param conn Connection to use, left open
+     * @param fields Fields as returned by {@link #resolve}
+     * @return Models with only the selected fields populated
+     * @throws SQLException if the query fails
+     */
+    List<T> list(Connection conn, List<String> fields) throws SQLException {
+        List<Binder<T>> selected = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selected.add(binders.get(field));
+        }
+
+        List<T> rows = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(buildQuery(fields));
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                T row = factory.get();
+                for (int i = 0; i < selected.size(); i++) {
+                    selected.get(i).bind(row, rs, i + 1);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    static LocalDate toLocalDate(ResultSet rs, int column) throws SQLException {
+        Date date = rs.getDate(column);
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    static LocalDateTime toLocalDateTime(ResultSet rs, int column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -8,13 +8,23 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.studentmanagement.attendance.AttendanceIndex;
+import com.studentmanagement.attendance.ShortageEngine;
+import com.studentmanagement.config.AppConfig;
 import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.database.UnitOfWork;
+import com.studentmanagement.events.ChangeType;
+import com.studentmanagement.events.EventBroadcaster;
 import com.studentmanagement.model.Student;
+import com.studentmanagement.purge.StudentPurgeService;
 
 /**
  * Data Access Object for Student entity
@@ -26,20 +36,55 @@ public class StudentDAO {
     private final DatabaseManager databaseManager;
     
     // SQL queries
-    private static final String SELECT_ALL = "SELECT id, name, email, phone, course, gender, dob, city, password, roll_number, created_at, updated_at FROM students ORDER BY created_at DESC";
-    private static final String SELECT_BY_ID = "SELECT id, name, email, phone, course, gender, dob, city, password, roll_number, created_at, updated_at FROM students WHERE id = ?";
+    private static final String SELECT_ALL = "SELECT id, name, email, phone, course, gender, dob, city, password, roll_number, version, created_at, updated_at FROM students WHERE deleted_at IS NULL ORDER BY created_at DESC";
+    private static final String SELECT_BY_ID = "SELECT id, name, email, phone, course, gender, dob, city, password, roll_number, version, created_at, updated_at FROM students WHERE id = ? AND deleted_at IS NULL";
+    private static final String SELECT_BY_IDS_PREFIX = "SELECT id, name, email, phone, course, gender, dob, city, password, roll_number, version, created_at, updated_at FROM students WHERE id IN (";
     private static final String INSERT = "INSERT INTO students (name, email, phone, course, gender, dob, city, password, roll_number, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String UPDATE = "UPDATE students SET name = ?, email = ?, phone = ?, course = ?, gender = ?, dob = ?, city = ?, password = ?, roll_number = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE = "UPDATE students SET name = ?, email = ?, phone = ?, course = ?, gender = ?, dob = ?, city = ?, password = ?, roll_number = ?, updated_at = ?, version = version + 1 WHERE id = ? AND deleted_at IS NULL";
+    private static final String UPDATE_IF_VERSION = "UPDATE students SET name = ?, email = ?, phone = ?, course = ?, gender = ?, dob = ?, city = ?, password = ?, roll_number = ?, updated_at = ?, version = version + 1 WHERE id = ? AND deleted_at IS NULL AND version = ?";
     private static final String DELETE = "DELETE FROM students WHERE id = ?";
-    private static final String COUNT_ALL = "SELECT COUNT(*) FROM students";
+    private static final String SOFT_DELETE = "UPDATE students SET deleted_at = ? WHERE id = ? AND deleted_at IS NULL";
+    private static final String COUNT_ALL = "SELECT COUNT(*) FROM students WHERE deleted_at IS NULL";
+    // Deleted students keep their email until purged, the unique key still covers them
     private static final String SELECT_BY_EMAIL = "SELECT id, name, email, phone, course, created_at, updated_at FROM students WHERE email = ?";
-    private static final String STUDENT_LOGIN = "SELECT id, name, email, phone, course, gender, dob, city, roll_number, created_at, updated_at FROM students WHERE (email = ? OR roll_number = ?) AND password = ?";
+    private static final String STUDENT_LOGIN = "SELECT id, name, email, phone, course, gender, dob, city, roll_number, version, created_at, updated_at FROM students WHERE (email = ? OR roll_number = ?) AND password = ? AND deleted_at IS NULL";
+    private static final String SELECT_BY_EMAIL_OR_ROLL = "SELECT id, name, email, phone, course, gender, dob, city, password, roll_number, version, created_at, updated_at FROM students WHERE (email = ? OR roll_number = ?) AND deleted_at IS NULL";
+    private static final String SELECT_IDENTITY_KEYS = "SELECT email, roll_number FROM students";
+    private static final String SELECT_HIGHEST_ROLL_NUMBER = "SELECT MAX(CAST(SUBSTRING(roll_number, 4) AS UNSIGNED)) FROM students WHERE roll_number REGEXP '^STU[0-9]{1,9}$'";
+    private static final String SELECT_ACTIVE_IDS = "SELECT id FROM students WHERE deleted_at IS NULL";
+    private static final String SELECT_DELETED_IDS = "SELECT id FROM students WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id";
+    private static final String COUNT_DEPENDENTS = "SELECT (SELECT COUNT(*) FROM attendance WHERE student_id = ?), (SELECT COUNT(*) FROM marks WHERE student_id = ?)";
+    private static final String SELECT_ATTENDANCE_CHUNK = "SELECT id FROM attendance WHERE student_id = ? ORDER BY id LIMIT ?";
+    private static final String SELECT_MARKS_CHUNK = "SELECT id FROM marks WHERE student_id = ? ORDER BY id LIMIT ?";
+    private static final String PURGE_STUDENT = "DELETE FROM students WHERE id = ? AND deleted_at IS NOT NULL";
     private static final String REGISTER_STUDENT = "INSERT INTO students (name, email, phone, course, gender, dob, city, password, roll_number, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     
+    // Fields selectable with ?fields= on the student list
+    private static final Projection<Student> PROJECTION = new Projection<>(Dataset.STUDENTS, "st.created_at DESC", Student::new)
+        .bind("id", (s, rs, i) -> s.setId(rs.getInt(i)))
+        .bind("name", (s, rs, i) -> s.setName(rs.getString(i)))
+        .bind("email", (s, rs, i) -> s.setEmail(rs.getString(i)))
+        .bind("phone", (s, rs, i) -> s.setPhone(rs.getString(i)))
+        .bind("course", (s, rs, i) -> s.setCourse(rs.getString(i)))
+        .bind("gender", (s, rs, i) -> s.setGender(rs.getString(i)))
+        .bind("dob", (s, rs, i) -> s.setDob(Projection.toLocalDate(rs, i)))
+        .bind("city", (s, rs, i) -> s.setCity(rs.getString(i)))
+        .bind("rollNumber", (s, rs, i) -> s.setRollNumber(rs.getString(i)))
+        .bind("createdAt", (s, rs, i) -> s.setCreatedAt(Projection.toLocalDateTime(rs, i)))
+        .bind("updatedAt", (s, rs, i) -> s.setUpdatedAt(Projection.toLocalDateTime(rs, i)));
+    
     public StudentDAO() {
         this.databaseManager = DatabaseManager.getInstance();
     }
     
+    /**
+     * SQL statements used by this DAO, prepared on every pooled connection during startup warm-up
+     * @return Statement texts
+     */
+    public static List<String> getStatements() {
+        return List.of(SELECT_ALL, SELECT_BY_ID, INSERT, UPDATE, UPDATE_IF_VERSION, DELETE, SOFT_DELETE, COUNT_ALL, SELECT_BY_EMAIL, SELECT_BY_EMAIL_OR_ROLL, STUDENT_LOGIN, REGISTER_STUDENT);
+    }
+    
     /**
      * Get all students from database
      * @return List of all students
@@ -48,7 +93,7 @@ public class StudentDAO {
     public List<Student> getAllStudents() throws SQLException {
         List<Student> students = new ArrayList<>();
         
-        try (Connection connection = databaseManager.getConnection();
+        try (Connection connection = databaseManager.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_ALL);
              ResultSet resultSet = statement.executeQuery()) {
             
@@ -65,6 +110,33 @@ public class StudentDAO {
         return students;
     }
     
+    /**
+     * Validate a fields= parameter against the selectable student fields
+     * @param fieldsParam Comma separated field names
+     * @return Requested fields in request order
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    public static List<String> resolveFields(String fieldsParam) {
+        return PROJECTION.resolve(fieldsParam);
+    }
+    
+    /**
+     * Get all students, selecting only the given fields
+     * @param fields Fields as returned by {@link #resolveFields}
+     * @return Students with only those fields populated
+     * @throws SQLException if database operation fails
+     */
+    public List<Student> getAllStudents(List<String> fields) throws SQLException {
+        try (Connection connection = databaseManager.getReadConnection()) {
+            List<Student> students = PROJECTION.list(connection, fields);
+            logger.info("Retrieved {} students with fields {}", students.size(), fields);
+            return students;
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve students with fields {}", fields, e);
+            throw e;
+        }
+    }
+    
     /**
      * Get student by ID
      * @param id Student ID
@@ -72,7 +144,7 @@ public class StudentDAO {
      * @throws SQLException if database operation fails
      */
     public Student getStudentById(int id) throws SQLException {
-        try (Connection connection = databaseManager.getConnection();
+        try (Connection connection = databaseManager.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
             
             statement.setInt(1, id);
@@ -93,6 +165,37 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Get students by IDs with chunked IN queries
+     * @param ids Student IDs, may contain duplicates
+     * @return One entry per requested ID in request order, null where no student exists
+     * @throws SQLException if database operation fails
+     */
+    public List<Student> getStudentsByIds(List<Integer> ids) throws SQLException {
+        try (Connection connection = databaseManager.getReadConnection()) {
+            return getStudentsByIds(connection, ids);
+        }
+    }
+    
+    /**
+     * Get students by IDs on a connection owned by the caller, e.g. one shared by a batch request
+     * @param connection Open connection, left open
+     * @param ids Student IDs, may contain duplicates
+     * @return One entry per requested ID in request order, null where no student exists
+     * @throws SQLException if database operation fails
+     */
+    public List<Student> getStudentsByIds(Connection connection, List<Integer> ids) throws SQLException {
+        try {
+            List<Student> students = MultiGet.fetch(connection, SELECT_BY_IDS_PREFIX, ") AND deleted_at IS NULL", ids,
+                this::mapResultSetToStudent, Student::getId);
+            logger.debug("Retrieved students for {} IDs", ids.size());
+            return students;
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve students by IDs", e);
+            throw e;
+        }
+    }
+    
     /**
      * Add new student to database
      * @param student Student object to add
@@ -132,7 +235,12 @@ public class StudentDAO {
                     student.setId(id);
                     student.setCreatedAt(now);
                     student.setUpdatedAt(now);
+                    student.setVersion(0);
                     logger.info("Added new student with ID: {}", id);
+                    UnitOfWork.afterCommit(() -> {
+                        ShortageEngine.getInstance().studentSaved(student);
+                        EventBroadcaster.getInstance().publish(ChangeType.STUDENT_CREATED, id, id);
+                    });
                     return id;
                 } else {
                     throw new SQLException("Creating student failed, no ID obtained.");
@@ -146,8 +254,11 @@ public class StudentDAO {
     
     /**
      * Update existing student
-     * @param student Student object with updated data
-     * @return true if update was successful, false otherwise
+     * When the student carries a version, the row is only updated if it still has that version, so a concurrent
+     * edit is detected instead of overwritten; the check is part of the UPDATE and takes no extra locks.
+     * @param student Student object with updated data; its version is advanced on success, or cleared when it
+     *                was not given and the new one is therefore unknown
+     * @return true if update was successful, false if the student does not exist or has another version
      * @throws SQLException if database operation fails
      */
     public boolean updateStudent(Student student) throws SQLException {
@@ -155,8 +266,9 @@ public class StudentDAO {
             throw new IllegalArgumentException("Invalid student data: " + student.getValidationError());
         }
         
+        Integer version = student.getVersion();
         try (Connection connection = databaseManager.getConnection();
-             PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+             PreparedStatement statement = connection.prepareStatement(version != null ? UPDATE_IF_VERSION : UPDATE)) {
             
             LocalDateTime now = LocalDateTime.now();
             statement.setString(1, student.getName());
@@ -174,15 +286,24 @@ public class StudentDAO {
             statement.setString(9, student.getRollNumber());
             statement.setTimestamp(10, Timestamp.valueOf(now));
             statement.setInt(11, student.getId());
+            if (version != null) {
+                statement.setInt(12, version);
+            }
             
             int affectedRows = statement.executeUpdate();
             boolean success = affectedRows > 0;
             
             if (success) {
                 student.setUpdatedAt(now);
+                student.setVersion(version != null ? version + 1 : null);
                 logger.info("Updated student with ID: {}", student.getId());
+                UnitOfWork.afterCommit(() -> {
+                    ShortageEngine.getInstance().studentSaved(student);
+                    EventBroadcaster.getInstance().publish(ChangeType.STUDENT_UPDATED, student.getId(), student.getId());
+                });
             } else {
-                logger.warn("No student found with ID: {} for update", student.getId());
+                logger.warn("No student found with ID: {}{} for update", student.getId(),
+                    version != null ? " and version " + version : "");
             }
             
             return success;
@@ -194,20 +315,37 @@ public class StudentDAO {
     
     /**
      * Delete student by ID
+     * With {@link AppConfig#STUDENT_SOFT_DELETE} the student is only marked deleted, which hides it at once, and
+     * {@link StudentPurgeService} removes its attendance, marks and finally the row itself in small batches.
+     * Otherwise the row is deleted and ON DELETE CASCADE removes the history in the same statement.
      * @param id Student ID to delete
      * @return true if deletion was successful, false otherwise
      * @throws SQLException if database operation fails
      */
     public boolean deleteStudent(int id) throws SQLException {
+        boolean soft = AppConfig.STUDENT_SOFT_DELETE;
         try (Connection connection = databaseManager.getConnection();
-             PreparedStatement statement = connection.prepareStatement(DELETE)) {
+             PreparedStatement statement = connection.prepareStatement(soft ? SOFT_DELETE : DELETE)) {
             
-            statement.setInt(1, id);
+            if (soft) {
+                statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setInt(2, id);
+            } else {
+                statement.setInt(1, id);
+            }
             int affectedRows = statement.executeUpdate();
             boolean success = affectedRows > 0;
             
             if (success) {
-                logger.info("Deleted student with ID: {}", id);
+                logger.info("{} student with ID: {}", soft ? "Soft deleted" : "Deleted", id);
+                // Attendance rows went with the student through ON DELETE CASCADE, or are hidden until purged
+                UnitOfWork.afterCommit(() -> {
+                    AttendanceIndex.getInstance().removeStudent(id);
+                    EventBroadcaster.getInstance().publish(ChangeType.STUDENT_DELETED, id, id);
+                    if (soft) {
+                        StudentPurgeService.getInstance().enqueue(id);
+                    }
+                });
             } else {
                 logger.warn("No student found with ID: {} for deletion", id);
             }
@@ -219,13 +357,151 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Get IDs of all students that are not deleted
+     * @return Student IDs
+     * @throws SQLException if database operation fails
+     */
+    public Set<Integer> getActiveStudentIds() throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ACTIVE_IDS);
+             ResultSet resultSet = statement.executeQuery()) {
+            
+            while (resultSet.next()) {
+                ids.add(resultSet.getInt(1));
+            }
+            return ids;
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve active students", e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Get IDs of soft deleted students still waiting to be purged, oldest deletion first
+     * @return Student IDs
+     * @throws SQLException if database operation fails
+     */
+    public List<Integer> getDeletedStudentIds() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_DELETED_IDS);
+             ResultSet resultSet = statement.executeQuery()) {
+            
+            while (resultSet.next()) {
+                ids.add(resultSet.getInt(1));
+            }
+            return ids;
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve deleted students", e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Count the attendance and marks rows a purge still has to remove
+     * @param id Student ID
+     * @return Attendance and marks row counts, in that order
+     * @throws SQLException if database operation fails
+     */
+    public long[] countDependents(int id) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(COUNT_DEPENDENTS)) {
+            
+            statement.setInt(1, id);
+            statement.setInt(2, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return new long[] {resultSet.getLong(1), resultSet.getLong(2)};
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to count history of student with ID: {}", id, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Delete one batch of a deleted student's attendance rows
+     * @param id Student ID
+     * @param limit Maximum rows to delete
+     * @return Number of rows deleted, 0 once none are left
+     * @throws SQLException if database operation fails
+     */
+    public int purgeAttendance(int id, int limit) throws SQLException {
+        return purgeChunk("attendance", SELECT_ATTENDANCE_CHUNK, id, limit);
+    }
+    
+    /**
+     * Delete one batch of a deleted student's marks rows
+     * @param id Student ID
+     * @param limit Maximum rows to delete
+     * @return Number of rows deleted, 0 once none are left
+     * @throws SQLException if database operation fails
+     */
+    public int purgeMarks(int id, int limit) throws SQLException {
+        return purgeChunk("marks", SELECT_MARKS_CHUNK, id, limit);
+    }
+    
+    // Rows are picked first and deleted by primary key, so each batch locks exactly the rows it removes
+    private int purgeChunk(String table, String selectSql, int id, int limit) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            List<Integer> rowIds = new ArrayList<>(limit);
+            try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+                statement.setInt(1, id);
+                statement.setInt(2, limit);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rowIds.add(resultSet.getInt(1));
+                    }
+                }
+            }
+            if (rowIds.isEmpty()) {
+                return 0;
+            }
+            
+            StringBuilder sql = new StringBuilder("DELETE FROM ").append(table).append(" WHERE id IN (");
+            for (int i = 0; i < rowIds.size(); i++) {
+                sql.append(i > 0 ? ", ?" : "?");
+            }
+            sql.append(")");
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < rowIds.size(); i++) {
+                    statement.setInt(i + 1, rowIds.get(i));
+                }
+                return statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to purge {} rows of student with ID: {}", table, id, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Delete a soft deleted student's row once its history is gone
+     * @param id Student ID
+     * @return true if the row was deleted
+     * @throws SQLException if database operation fails
+     */
+    public boolean purgeStudent(int id) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PURGE_STUDENT)) {
+            
+            statement.setInt(1, id);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logger.error("Failed to purge student with ID: {}", id, e);
+            throw e;
+        }
+    }
+    
     /**
      * Get total count of students
      * @return Total number of students
      * @throws SQLException if database operation fails
      */
     public int getTotalStudents() throws SQLException {
-        try (Connection connection = databaseManager.getConnection();
+        try (Connection connection = databaseManager.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(COUNT_ALL);
              ResultSet resultSet = statement.executeQuery()) {
             
@@ -242,6 +518,23 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Get the highest sequence number among STU-prefixed roll numbers, deleted students included
+     * @return Highest number in use, 0 when there is none
+     * @throws SQLException if database operation fails
+     */
+    public int getHighestRollNumber() throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_HIGHEST_ROLL_NUMBER);
+             ResultSet resultSet = statement.executeQuery()) {
+            
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            logger.error("Failed to get highest roll number", e);
+            throw e;
+        }
+    }
+    
         /**
      * Get total count of students
      * @return Total number of students
@@ -298,10 +591,8 @@ public class StudentDAO {
      * @throws SQLException if database operation fails
      */
     public Student findByEmailOrRollNumber(String emailOrRoll) throws SQLException {
-        String query = "SELECT id, name, email, phone, course, gender, dob, city, password, roll_number, created_at, updated_at FROM students WHERE email = ? OR roll_number = ?";
-        
         try (Connection connection = databaseManager.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+             PreparedStatement statement = connection.prepareStatement(SELECT_BY_EMAIL_OR_ROLL)) {
             
             statement.setString(1, emailOrRoll);
             statement.setString(2, emailOrRoll);
@@ -374,7 +665,13 @@ public class StudentDAO {
             if (rowsAffected > 0) {
                 try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
-                        return generatedKeys.getInt(1);
+                        int id = generatedKeys.getInt(1);
+                        student.setId(id);
+                        UnitOfWork.afterCommit(() -> {
+                            ShortageEngine.getInstance().studentSaved(student);
+                            EventBroadcaster.getInstance().publish(ChangeType.STUDENT_CREATED, id, id);
+                        });
+                        return id;
                     }
                 }
             }
@@ -386,6 +683,86 @@ public class StudentDAO {
         }
     }
     
+    /**
+     * Stream every email and roll number into sets for in-memory duplicate checks
+     * @param emails Receives lower-cased emails, matching the case-insensitive unique key
+     * @param rollNumbers Receives roll numbers
+     * @throws SQLException if database operation fails
+     */
+    public void loadIdentityKeys(Set<String> emails, Set<String> rollNumbers) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_IDENTITY_KEYS,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            statement.setFetchSize(ExportDAO.streamingFetchSize(connection));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    emails.add(resultSet.getString(1).toLowerCase(Locale.ROOT));
+                    String rollNumber = resultSet.getString(2);
+                    if (rollNumber != null) {
+                        rollNumbers.add(rollNumber);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load student emails and roll numbers", e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Insert students as one JDBC batch, setting their generated IDs
+     * Run inside a {@link UnitOfWork} so a failing row rolls the whole batch back
+     * @param students Valid students
+     * @throws SQLException if database operation fails
+     */
+    public void addStudents(List<Student> students) throws SQLException {
+        if (students.isEmpty()) {
+            return;
+        }
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            
+            LocalDateTime now = LocalDateTime.now();
+            for (Student student : students) {
+                statement.setString(1, student.getName());
+                statement.setString(2, student.getEmail());
+                statement.setString(3, student.getPhone());
+                statement.setString(4, student.getCourse());
+                statement.setString(5, student.getGender());
+                statement.setDate(6, student.getDob() != null ? java.sql.Date.valueOf(student.getDob()) : null);
+                statement.setString(7, student.getCity());
+                statement.setString(8, student.getPassword());
+                statement.setString(9, student.getRollNumber());
+                statement.setTimestamp(10, Timestamp.valueOf(now));
+                statement.setTimestamp(11, Timestamp.valueOf(now));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                for (Student student : students) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating students failed, not every ID was returned.");
+                    }
+                    student.setId(generatedKeys.getInt(1));
+                    student.setCreatedAt(now);
+                    student.setUpdatedAt(now);
+                    student.setVersion(0);
+                }
+            }
+            UnitOfWork.afterCommit(() -> {
+                for (Student student : students) {
+                    ShortageEngine.getInstance().studentSaved(student);
+                    EventBroadcaster.getInstance().publish(ChangeType.STUDENT_CREATED, student.getId(), student.getId());
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Failed to add a batch of {} students", students.size(), e);
+            throw e;
+        }
+    }
+    
     /**
      * Map ResultSet to Student object
      * @param resultSet ResultSet from database query
@@ -405,6 +782,7 @@ public class StudentDAO {
             student.setDob(dob.toLocalDate());
         }
         student.setCity(resultSet.getString("city"));
+        student.setVersion(resultSet.getInt("version"));
         
         // Handle password and roll_number safely
         try {
@@ -4,7 +4,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,13 +13,22 @@ import com.studentmanagement.model.Subject;
 
 public class SubjectDAO {
 
+    // SQL queries
+    private static final String SELECT_ALL = "SELECT id, name, code, course, created_at FROM subjects ORDER BY course, name";
+    private static final String SELECT_BY_COURSE = "SELECT id, name, code, course, created_at FROM subjects WHERE course = ? ORDER BY name";
+    private static final String SELECT_BY_ID = "SELECT id, name, code, course, created_at FROM subjects WHERE id = ?";
+
+    // SQL statements used by this DAO, prepared on every pooled connection during startup warm-up
+    public static List<String> getStatements() {
+        return List.of(SELECT_ALL, SELECT_BY_COURSE, SELECT_BY_ID);
+    }
+
     public List<Subject> getAllSubjects() throws SQLException {
         List<Subject> subjects = new ArrayList<>();
-        String query = "SELECT id, name, code, course, created_at FROM subjects ORDER BY course, name";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 subjects.add(mapResultSetToSubject(rs));
@@ -32,16 +40,15 @@ public class SubjectDAO {
 
     public List<Subject> getSubjectsByCourse(String course) throws SQLException {
         List<Subject> subjects = new ArrayList<>();
-        String query = "SELECT id, name, code, course, created_at FROM subjects WHERE course = ? ORDER BY name";
         
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_COURSE)) {
             
             pstmt.setString(1, course);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                subjects.add(mapResultSetToSubject(rs));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    subjects.add(mapResultSetToSubject(rs));
+                }
             }
         }
         
@@ -49,16 +56,14 @@ public class SubjectDAO {
     }
 
     public Subject getSubjectById(int id) throws SQLException {
-        String query = "SELECT id, name, code, course, created_at FROM subjects WHERE id = ?";
-        
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ID)) {
             
             pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                return mapResultSetToSubject(rs);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToSubject(rs);
+                }
             }
         }
         
@@ -1,39 +1,149 @@
 package com.studentmanagement.database;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.studentmanagement.config.AppConfig;
 import com.studentmanagement.config.DatabaseConfig;
+import com.studentmanagement.database.instrument.JdbcInstrumentation;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
 
 /**
  * Database connection manager using HikariCP connection pooling
- * This class provides a singleton pattern for managing database connections
+ * This class provides a lazily initialized singleton for managing database connections
+ * When a read replica is configured, {@link #getReadConnection()} routes reads to it while it is healthy
+ *
+ * Connections are wrapped by {@link JdbcInstrumentation} for query timing and leak detection.
+ *
+ * Lifecycle: NEW -> STARTING -> READY -> DRAINING -> STOPPED, with FAILED when initialization fails.
+ * {@link #start()} and {@link #shutdown(long)} are driven by the servlet context listener;
+ * the connection hot path only reads volatile fields and never takes a lock.
  */
 public class DatabaseManager {
     
+    /**
+     * Lifecycle state of the connection pools
+     */
+    public enum State {
+        NEW, STARTING, READY, FAILED, DRAINING, STOPPED
+    }
+    
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
-    private static DatabaseManager instance;
-    private HikariDataSource dataSource;
+    private static final long DRAIN_POLL_INTERVAL_MS = 50;
+    // Syntax error codes: MySQL and MariaDB parse error, H2 syntax errors
+    private static final int[] SYNTAX_ERROR_CODES = {1064, 42000, 42001};
+    
+    // Guards every transition of state and pool references, never held on the connection hot path
+    private final Object lifecycleLock = new Object();
+    private volatile State state = State.NEW;
+    private volatile HikariDataSource dataSource;
+    private volatile HikariDataSource readDataSource;
+    private ScheduledExecutorService replicaMonitor;
+    private volatile boolean replicaHealthy;
+    private volatile long replicaLagSeconds = -1;
+    // Last replica check failure, only touched by the monitor thread so a repeated failure is logged once
+    private String replicaCheckError;
     
-    // Private constructor for singleton pattern
+    // Initialization-on-demand holder, the JVM guarantees safe lazy construction without locking on access
+    private static class Holder {
+        private static final DatabaseManager INSTANCE = new DatabaseManager();
+    }
+    
+    // Private constructor for singleton pattern, pools are created by start()
     private DatabaseManager() {
-        initializeDataSource();
     }
     
     /**
      * Get singleton instance of DatabaseManager
      * @return DatabaseManager instance
      */
-    public static synchronized DatabaseManager getInstance() {
-        if (instance == null) {
-            instance = new DatabaseManager();
+    public static DatabaseManager getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Create the connection pools
+     * Calling start on a running or stopped manager has no effect
+     * @throws RuntimeException if the primary pool cannot be initialized
+     */
+    public void start() {
+        synchronized (lifecycleLock) {
+            if (state == State.READY || state == State.DRAINING || state == State.STOPPED) {
+                return;
+            }
+            initializeLocked();
+        }
+    }
+    
+    /**
+     * Rebuild the primary connection pool, e.g. after the database was restarted with new credentials
+     * @throws SQLException if the pool cannot be initialized
+     */
+    public void reinitialize() throws SQLException {
+        synchronized (lifecycleLock) {
+            if (state == State.DRAINING || state == State.STOPPED) {
+                throw new SQLException("Database manager is shutting down");
+            }
+            try {
+                initializeLocked();
+            } catch (RuntimeException e) {
+                throw new SQLException("Database initialization failed", e);
+            }
+        }
+    }
+    
+    /**
+     * Single (re)initialization path, must be called while holding lifecycleLock
+     */
+    private void initializeLocked() {
+        state = State.STARTING;
+        HikariDataSource previous = dataSource;
+        dataSource = null;
+        if (previous != null && !previous.isClosed()) {
+            previous.close();
+        }
+        
+        try {
+            initializeDataSource();
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            throw e;
+        }
+        
+        if (readDataSource == null) {
+            initializeReadDataSource();
         }
-        return instance;
+        state = State.READY;
+    }
+    
+    /**
+     * Get current lifecycle state
+     * @return State
+     */
+    public State getState() {
+        return state;
+    }
+    
+    /**
+     * Check whether the manager is ready to serve connections
+     * @return true if the primary pool is up
+     */
+    public boolean isReady() {
+        return state == State.READY;
     }
     
     /**
@@ -55,6 +165,7 @@ public class DatabaseManager {
             config.setConnectionTimeout(DatabaseConfig.CONNECTION_TIMEOUT);
             config.setIdleTimeout(DatabaseConfig.IDLE_TIMEOUT);
             config.setMaxLifetime(DatabaseConfig.MAX_LIFETIME);
+            config.setLeakDetectionThreshold(AppConfig.CONNECTION_LEAK_THRESHOLD_MS);
             
             // Connection pool name for monitoring
             config.setPoolName("StudentManagementPool");
@@ -76,17 +187,191 @@ public class DatabaseManager {
     }
     
     /**
-     * Get a database connection from the pool
+     * Initialize the optional read replica pool and its lag monitor
+     * The replica is only used once the first lag check has passed
+     */
+    private void initializeReadDataSource() {
+        if (DatabaseConfig.REPLICA_URL == null) {
+            return;
+        }
+        
+        try {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(DatabaseConfig.REPLICA_URL);
+            config.setUsername(DatabaseConfig.REPLICA_USERNAME);
+            config.setPassword(DatabaseConfig.REPLICA_PASSWORD);
+            config.setDriverClassName(DatabaseConfig.DB_DRIVER);
+            
+            config.setMaximumPoolSize(DatabaseConfig.REPLICA_MAX_POOL_SIZE);
+            config.setMinimumIdle(DatabaseConfig.MIN_POOL_SIZE);
+            config.setConnectionTimeout(DatabaseConfig.CONNECTION_TIMEOUT);
+            config.setIdleTimeout(DatabaseConfig.IDLE_TIMEOUT);
+            config.setMaxLifetime(DatabaseConfig.MAX_LIFETIME);
+            config.setLeakDetectionThreshold(AppConfig.CONNECTION_LEAK_THRESHOLD_MS);
+            config.setReadOnly(true);
+            config.setPoolName("StudentManagementReadPool");
+            
+            // Do not fail startup when the replica is down, the monitor will pick it up later
+            config.setInitializationFailTimeout(-1);
+            
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "250");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            
+            readDataSource = new HikariDataSource(config);
+            
+            replicaMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            replicaMonitor.scheduleWithFixedDelay(this::checkReplica, 0,
+                DatabaseConfig.REPLICA_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            
+            logger.info("Read replica connection pool initialized");
+            
+        } catch (Exception e) {
+            // The primary keeps serving reads if the replica cannot be set up
+            logger.error("Failed to initialize read replica pool, reads will use the primary", e);
+            readDataSource = null;
+        }
+    }
+    
+    /**
+     * Measure replication lag and mark the replica healthy or unhealthy
+     */
+    private void checkReplica() {
+        boolean healthy;
+        try (Connection connection = readDataSource.getConnection()) {
+            long lag = measureReplicationLag(connection);
+            replicaLagSeconds = lag;
+            healthy = lag >= 0 && lag <= DatabaseConfig.REPLICA_MAX_LAG_SECONDS;
+            replicaCheckError = null;
+        } catch (SQLException e) {
+            replicaLagSeconds = -1;
+            healthy = false;
+            String error = e.getSQLState() + "/" + e.getErrorCode();
+            if (!error.equals(replicaCheckError)) {
+                replicaCheckError = error;
+                logger.warn("Replica check failed, routing reads to the primary", e);
+            } else {
+                logger.debug("Replica check failed", e);
+            }
+        }
+        
+        if (healthy != replicaHealthy) {
+            if (healthy) {
+                logger.info("Read replica is healthy (lag {}s), routing reads to it", replicaLagSeconds);
+            } else {
+                logger.warn("Read replica is unhealthy (lag {}s), routing reads to the primary", replicaLagSeconds);
+            }
+        }
+        replicaHealthy = healthy;
+    }
+    
+    /**
+     * Read replication lag in seconds from MySQL replica status
+     * Servers that are not replicas (e.g. a second H2 or MySQL instance used for local testing) report 0,
+     * a stopped replication thread reports -1. Only a syntax error counts as an unsupported statement; any other
+     * failure, such as a missing REPLICATION CLIENT privilege, is thrown so reads stay on the primary
+     */
+    private static long measureReplicationLag(Connection connection) throws SQLException {
+        for (String query : new String[] {"SHOW REPLICA STATUS", "SHOW SLAVE STATUS"}) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(query)) {
+                
+                if (!resultSet.next()) {
+                    return 0;
+                }
+                
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    String column = metaData.getColumnLabel(i);
+                    if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                        long lag = resultSet.getLong(i);
+                        return resultSet.wasNull() ? -1 : lag;
+                    }
+                }
+                return 0;
+            } catch (SQLException e) {
+                // Statement not supported by this server version or database, try the next one
+                if (!isSyntaxError(e)) {
+                    throw e;
+                }
+            }
+        }
+        
+        return connection.isValid(2) ? 0 : -1;
+    }
+    
+    private static boolean isSyntaxError(SQLException e) {
+        if (e.getSQLState() == null || !e.getSQLState().startsWith("42")) {
+            return false;
+        }
+        for (int code : SYNTAX_ERROR_CODES) {
+            if (e.getErrorCode() == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Get a connection for read-only work
+     * Uses the replica when one is configured and healthy and the current request is not pinned to the primary,
+     * otherwise falls back to {@link #getConnection()}. Inside a {@link UnitOfWork} this is the unit's connection.
+     * @return Connection object
+     * @throws SQLException if connection cannot be obtained
+     */
+    public Connection getReadConnection() throws SQLException {
+        Connection joined = UnitOfWork.currentConnection();
+        if (joined != null) {
+            return joined;
+        }
+        HikariDataSource replica = readDataSource;
+        if (replica == null || !replicaHealthy || state != State.READY || ReadRouting.isPrimaryRequired()) {
+            return getConnection();
+        }
+        
+        try {
+            return JdbcInstrumentation.wrap(replica.getConnection());
+        } catch (SQLException e) {
+            replicaHealthy = false;
+            logger.warn("Failed to get replica connection, falling back to the primary", e);
+            return getConnection();
+        }
+    }
+    
+    /**
+     * Get read replica routing status
+     * @return Map with replica configuration and health
+     */
+    public Map<String, Object> getReplicaStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("configured", readDataSource != null);
+        status.put("healthy", replicaHealthy);
+        status.put("lagSeconds", replicaLagSeconds);
+        status.put("maxLagSeconds", DatabaseConfig.REPLICA_MAX_LAG_SECONDS);
+        return status;
+    }
+    
+    /**
+     * Get a database connection from the pool, or the current {@link UnitOfWork}'s connection when one is open
      * @return Connection object
      * @throws SQLException if connection cannot be obtained
      */
     public Connection getConnection() throws SQLException {
+        Connection joined = UnitOfWork.currentConnection();
+        if (joined != null) {
+            return joined;
+        }
         try {
-            if (dataSource == null || dataSource.isClosed()) {
-                logger.warn("DataSource is null or closed, reinitializing...");
-                initializeDataSource();
+            HikariDataSource ds = state == State.READY ? dataSource : null;
+            if (ds == null || ds.isClosed()) {
+                ds = recoverDataSource();
             }
-            return dataSource.getConnection();
+            return JdbcInstrumentation.wrap(ds.getConnection());
         } catch (SQLException e) {
             logger.error("Failed to get database connection", e);
             throw e;
@@ -94,27 +379,117 @@ public class DatabaseManager {
     }
     
     /**
-     * Close the data source and release all connections
+     * Get a pooled connection, waiting at most timeoutMs for one instead of the pool's connection timeout
+     * Used by the health prober so an unreachable database or a busy pool fails the probe quickly
+     * @param timeoutMs Maximum time to wait for a connection
+     * @return Connection object
+     * @throws SQLException if no connection could be obtained in time
+     */
+    public Connection getConnection(long timeoutMs) throws SQLException {
+        HikariDataSource ds = state == State.READY ? dataSource : null;
+        if (ds == null || ds.isClosed() || !(ds.getHikariPoolMXBean() instanceof HikariPool)) {
+            return getConnection();
+        }
+        return JdbcInstrumentation.wrap(((HikariPool) ds.getHikariPoolMXBean()).getConnection(timeoutMs));
+    }
+    
+    /**
+     * Slow path of getConnection: start lazily, retry after a failed start, or keep serving while draining
+     */
+    private HikariDataSource recoverDataSource() throws SQLException {
+        synchronized (lifecycleLock) {
+            HikariDataSource ds = dataSource;
+            boolean open = ds != null && !ds.isClosed();
+            
+            if (state == State.STOPPED) {
+                throw new SQLException("Database manager has been shut down");
+            }
+            if (open && (state == State.READY || state == State.DRAINING)) {
+                // Another thread recovered the pool, or in-flight work is finishing during shutdown
+                return ds;
+            }
+            if (state == State.DRAINING) {
+                throw new SQLException("Database manager is shutting down");
+            }
+            
+            logger.warn("DataSource is not available (state {}), initializing...", state);
+            try {
+                initializeLocked();
+            } catch (RuntimeException e) {
+                throw new SQLException("Database initialization failed", e);
+            }
+            return dataSource;
+        }
+    }
+    
+    /**
+     * Gracefully shut down: stop the replica monitor, wait for borrowed connections to be returned, then close the pools
+     * @param drainTimeoutMs Maximum time to wait for active connections
+     */
+    public void shutdown(long drainTimeoutMs) {
+        synchronized (lifecycleLock) {
+            if (state == State.STOPPED) {
+                return;
+            }
+            state = State.DRAINING;
+        }
+        
+        HikariDataSource ds = dataSource;
+        if (ds != null && !ds.isClosed() && ds.getHikariPoolMXBean() != null) {
+            long deadline = System.currentTimeMillis() + drainTimeoutMs;
+            int active;
+            while ((active = ds.getHikariPoolMXBean().getActiveConnections()) > 0
+                    && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(DRAIN_POLL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (active > 0) {
+                logger.warn("Closing connection pool with {} connections still active after {} ms", active, drainTimeoutMs);
+            }
+        }
+        
+        close();
+    }
+    
+    /**
+     * Close the data source and release all connections immediately
      */
     public void close() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
-            logger.info("Database connection pool closed");
+        synchronized (lifecycleLock) {
+            state = State.STOPPED;
+            if (replicaMonitor != null) {
+                replicaMonitor.shutdownNow();
+            }
+            if (readDataSource != null && !readDataSource.isClosed()) {
+                readDataSource.close();
+                logger.info("Read replica connection pool closed");
+            }
+            if (dataSource != null && !dataSource.isClosed()) {
+                dataSource.close();
+                logger.info("Database connection pool closed");
+            }
         }
     }
     
     /**
      * Check if the data source is healthy
+     * This borrows a connection and can block for up to 5 seconds, health endpoints use the cached
+     * {@link com.studentmanagement.health.HealthMonitor} snapshot instead
      * @return true if data source is healthy, false otherwise
      */
     public boolean isHealthy() {
         try {
-            if (dataSource == null || dataSource.isClosed()) {
+            HikariDataSource ds = dataSource;
+            if (ds == null || ds.isClosed()) {
                 return false;
             }
             
             // Test connection
-            try (Connection connection = dataSource.getConnection()) {
+            try (Connection connection = ds.getConnection()) {
                 return connection.isValid(5); // 5 second timeout
             }
         } catch (SQLException e) {
@@ -123,22 +498,43 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Get primary pool metrics without borrowing a connection
+     * @return PoolMetrics, or null if the pool is not running
+     */
+    public PoolMetrics getPoolMetrics() {
+        HikariDataSource ds = dataSource;
+        if (ds == null || ds.isClosed() || ds.getHikariPoolMXBean() == null) {
+            return null;
+        }
+
+        HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+        return new PoolMetrics(
+            pool.getActiveConnections(),
+            pool.getIdleConnections(),
+            pool.getTotalConnections(),
+            pool.getThreadsAwaitingConnection(),
+            ds.getMaximumPoolSize()
+        );
+    }
+
     /**
      * Get connection pool statistics
      * @return String containing pool statistics
      */
     public String getPoolStats() {
-        if (dataSource == null || dataSource.isClosed()) {
+        HikariDataSource ds = dataSource;
+        if (ds == null || ds.isClosed()) {
             return "DataSource is not available";
         }
         
         return String.format(
             "Pool: %s, Active: %d, Idle: %d, Total: %d, Waiting: %d",
-            dataSource.getPoolName(),
-            dataSource.getHikariPoolMXBean().getActiveConnections(),
-            dataSource.getHikariPoolMXBean().getIdleConnections(),
-            dataSource.getHikariPoolMXBean().getTotalConnections(),
-            dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection()
+            ds.getPoolName(),
+            ds.getHikariPoolMXBean().getActiveConnections(),
+            ds.getHikariPoolMXBean().getIdleConnections(),
+            ds.getHikariPoolMXBean().getTotalConnections(),
+            ds.getHikariPoolMXBean().getThreadsAwaitingConnection()
         );
     }
 }
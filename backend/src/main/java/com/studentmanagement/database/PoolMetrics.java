@@ -0,0 +1,71 @@
+package com.studentmanagement.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time view of a connection pool, read from the pool MXBean without borrowing a connection
+ */
+public final class PoolMetrics {
+
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int waiting;
+    private final int maximum;
+
+    public PoolMetrics(int active, int idle, int total, int waiting, int maximum) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.waiting = waiting;
+        this.maximum = maximum;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public int getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Fraction of the maximum pool size currently borrowed
+     * @return Value between 0 and 1
+     */
+    public double getSaturation() {
+        return maximum > 0 ? (double) active / maximum : 0.0;
+    }
+
+    /**
+     * Check whether callers are queueing for a connection
+     * @return true if every connection is borrowed and threads are waiting
+     */
+    public boolean isExhausted() {
+        return waiting > 0 && active >= maximum;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("active", active);
+        map.put("idle", idle);
+        map.put("total", total);
+        map.put("waiting", waiting);
+        map.put("maximum", maximum);
+        map.put("saturation", Math.round(getSaturation() * 100) / 100.0);
+        return map;
+    }
+}
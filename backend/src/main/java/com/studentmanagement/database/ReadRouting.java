@@ -0,0 +1,74 @@
+package com.studentmanagement.database;
+
+import com.studentmanagement.config.DatabaseConfig;
+import com.studentmanagement.util.ExpiringStripedMap;
+
+/**
+ * Per-request routing hints for read connections
+ * A request is pinned to the primary while it performs writes, and for
+ * {@link DatabaseConfig#READ_YOUR_WRITES_WINDOW_MS} after its client last wrote,
+ * so clients never read older data from a lagging replica than they just wrote.
+ * Write windows are only tracked when a replica is configured, in a bounded map whose entries expire with the window.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    private static final int STRIPES = 64;
+    private static final ExpiringStripedMap<String, Boolean> recentWriters = DatabaseConfig.REPLICA_URL == null ? null
+        : new ExpiringStripedMap<>(DatabaseConfig.READ_YOUR_WRITES_MAX_CLIENTS, STRIPES,
+            DatabaseConfig.READ_YOUR_WRITES_WINDOW_MS);
+
+    private ReadRouting() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Pin reads on the current thread to the primary
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Clear the routing hint of the current thread
+     */
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Check whether reads on the current thread must go to the primary
+     * @return true if the primary is required
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Record that a client has just written, pinning its reads to the primary for the stickiness window
+     * @param clientKey Client identifier
+     */
+    public static void recordWrite(String clientKey) {
+        if (recentWriters != null) {
+            recentWriters.compute(clientKey, () -> Boolean.TRUE, written -> written);
+        }
+    }
+
+    /**
+     * Check whether a client wrote recently
+     * @param clientKey Client identifier
+     * @return true if the client is within its stickiness window
+     */
+    public static boolean isSticky(String clientKey) {
+        // Reading does not extend the window, only another write does
+        return recentWriters != null && recentWriters.get(clientKey) != null;
+    }
+
+    /**
+     * Check whether client write windows are tracked at all
+     * @return true if a read replica is configured
+     */
+    public static boolean isTracking() {
+        return recentWriters != null;
+    }
+}
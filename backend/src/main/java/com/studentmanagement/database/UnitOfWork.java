@@ -0,0 +1,300 @@
+package com.studentmanagement.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transaction bound to the current thread that every DAO call joins
+ * While a unit of work is open, {@link DatabaseManager#getConnection()} and {@link DatabaseManager#getReadConnection()}
+ * hand out its one primary connection instead of borrowing from the pool, so DAO code keeps its usual
+ * try-with-resources and the whole operation costs one checkout and one commit. The shared connection ignores
+ * close() and refuses commit, rollback and auto-commit changes, which belong to the unit of work.
+ *
+ * Typical use:
+ * <pre>
+ * UnitOfWork.inTransaction(() -&gt; {
+ *     studentDAO.updateStudent(student);
+ *     return marksDAO.addMarks(marks);
+ * });
+ * </pre>
+ * Opening a unit of work inside another joins the outer one: its commit is deferred to the outer commit, and
+ * closing it without committing marks the whole transaction rollback-only. Cache, index and change feed updates
+ * made by the DAOs run through {@link #afterCommit(Runnable)}, so a rolled back transaction leaves no trace.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnitOfWork.class);
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private static final AtomicLong begun = new AtomicLong();
+    private static final AtomicLong committed = new AtomicLong();
+    private static final AtomicLong rolledBack = new AtomicLong();
+    private static final AtomicLong joined = new AtomicLong();
+    private static final AtomicLong active = new AtomicLong();
+
+    /**
+     * Work executed inside a transaction
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute() throws SQLException;
+    }
+
+    // The outermost unit owns the connection, nested units point at it
+    private final UnitOfWork owner;
+    private final Connection connection;
+    private final Connection shared;
+    private final int previousIsolation;
+    private final List<Runnable> afterCommit;
+    private boolean rollbackOnly;
+    private boolean completed;
+
+    private UnitOfWork(Connection connection, int previousIsolation) {
+        this.owner = this;
+        this.connection = connection;
+        this.shared = share(connection);
+        this.previousIsolation = previousIsolation;
+        this.afterCommit = new ArrayList<>();
+    }
+
+    private UnitOfWork(UnitOfWork owner) {
+        this.owner = owner;
+        this.connection = owner.connection;
+        this.shared = owner.shared;
+        this.previousIsolation = owner.previousIsolation;
+        this.afterCommit = owner.afterCommit;
+    }
+
+    /**
+     * Begin a unit of work with the connection's default isolation, or join the one already open on this thread
+     * @return Unit of work, to be closed in a finally block or try-with-resources
+     * @throws SQLException if no connection can be obtained
+     */
+    public static UnitOfWork begin() throws SQLException {
+        return begin(-1);
+    }
+
+    /**
+     * Begin a unit of work, or join the one already open on this thread
+     * @param isolation A {@link Connection} TRANSACTION_* level, or -1 for the pool default; ignored when joining
+     * @return Unit of work, to be closed in a finally block or try-with-resources
+     * @throws SQLException if no connection can be obtained
+     */
+    public static UnitOfWork begin(int isolation) throws SQLException {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            joined.incrementAndGet();
+            return new UnitOfWork(current);
+        }
+
+        Connection connection = DatabaseManager.getInstance().getConnection();
+        try {
+            int previous = connection.getTransactionIsolation();
+            if (isolation >= 0 && isolation != previous) {
+                connection.setTransactionIsolation(isolation);
+            }
+            connection.setAutoCommit(false);
+            UnitOfWork unit = new UnitOfWork(connection, previous);
+            CURRENT.set(unit);
+            begun.incrementAndGet();
+            active.incrementAndGet();
+            return unit;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Run work in a transaction, committing when it returns and rolling back when it throws
+     * @param work Work to run
+     * @return Result of the work
+     * @throws SQLException if the work or the commit fails
+     */
+    public static <T> T inTransaction(Work<T> work) throws SQLException {
+        return inTransaction(-1, work);
+    }
+
+    /**
+     * Run work in a transaction at an isolation level, committing when it returns and rolling back when it throws
+     * @param isolation A {@link Connection} TRANSACTION_* level, or -1 for the pool default
+     * @param work Work to run
+     * @return Result of the work
+     * @throws SQLException if the work or the commit fails
+     */
+    public static <T> T inTransaction(int isolation, Work<T> work) throws SQLException {
+        try (UnitOfWork unit = begin(isolation)) {
+            T result = work.execute();
+            unit.commit();
+            return result;
+        }
+    }
+
+    /**
+     * Check whether the current thread is inside a unit of work
+     * @return true if a transaction is open
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Run an action once the current unit of work commits, or right away when none is open
+     * Actions are dropped on rollback
+     * @param action Action to run
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork current = CURRENT.get();
+        if (current == null) {
+            action.run();
+        } else {
+            current.afterCommit.add(action);
+        }
+    }
+
+    /**
+     * Get the connection DAOs should use on this thread
+     * @return The open unit's shared connection, or null if none is open
+     */
+    static Connection currentConnection() {
+        UnitOfWork current = CURRENT.get();
+        return current != null ? current.shared : null;
+    }
+
+    /**
+     * Commit the transaction; a joined unit only records that its part succeeded
+     * @throws SQLException if the commit fails or a joined unit marked the transaction rollback-only
+     */
+    public void commit() throws SQLException {
+        checkOpen();
+        completed = true;
+        if (owner != this) {
+            return;
+        }
+        if (rollbackOnly) {
+            finish(false);
+            throw new SQLException("Transaction rolled back, a nested unit of work did not complete");
+        }
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            finish(false);
+            throw e;
+        }
+        finish(true);
+    }
+
+    /**
+     * Roll the transaction back; a joined unit marks the outer transaction rollback-only
+     * @throws SQLException if the rollback fails
+     */
+    public void rollback() throws SQLException {
+        checkOpen();
+        completed = true;
+        if (owner != this) {
+            owner.rollbackOnly = true;
+            return;
+        }
+        finish(false);
+    }
+
+    /**
+     * Roll back if neither commit nor rollback was called, then release the connection
+     */
+    @Override
+    public void close() throws SQLException {
+        if (!completed) {
+            rollback();
+        }
+    }
+
+    private void checkOpen() {
+        if (completed) {
+            throw new IllegalStateException("Unit of work already completed");
+        }
+    }
+
+    // Owner only: end the transaction, restore the connection and return it to the pool
+    private void finish(boolean commit) throws SQLException {
+        CURRENT.remove();
+        active.decrementAndGet();
+        List<Runnable> actions = new ArrayList<>(afterCommit);
+        afterCommit.clear();
+        try {
+            if (commit) {
+                committed.incrementAndGet();
+            } else {
+                rolledBack.incrementAndGet();
+                connection.rollback();
+            }
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+                if (connection.getTransactionIsolation() != previousIsolation) {
+                    connection.setTransactionIsolation(previousIsolation);
+                }
+            } finally {
+                connection.close();
+            }
+        }
+        if (commit) {
+            for (Runnable action : actions) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    logger.error("After-commit action failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get transaction counters for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public static Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("active", active.get());
+        metrics.put("begun", begun.get());
+        metrics.put("committed", committed.get());
+        metrics.put("rolledBack", rolledBack.get());
+        metrics.put("joined", joined.get());
+        return metrics;
+    }
+
+    // Connection view handed to DAOs, transaction control stays with the unit of work
+    private static Connection share(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        return null;
+                    case "commit":
+                    case "rollback":
+                    case "setAutoCommit":
+                    case "setTransactionIsolation":
+                        throw new SQLException("Transaction is managed by the current UnitOfWork");
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            });
+    }
+}
@@ -0,0 +1,104 @@
+package com.studentmanagement.database.instrument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection proxy handler, wraps every statement it creates and reports the ones left open on close
+ */
+class InstrumentedConnection implements InvocationHandler {
+
+    private final Connection delegate;
+    private final Connection proxy;
+    private final List<InstrumentedStatement> openStatements = new ArrayList<>();
+    private final long allocatedAt = System.currentTimeMillis();
+    private final String threadName = Thread.currentThread().getName();
+    private final Throwable allocation = JdbcInstrumentation.captureAllocation();
+    private boolean closed;
+
+    InstrumentedConnection(Connection delegate) {
+        this.delegate = delegate;
+        this.proxy = JdbcInstrumentation.proxy(Connection.class, this);
+    }
+
+    Connection getProxy() {
+        return proxy;
+    }
+
+    long getAllocatedAt() {
+        return allocatedAt;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    String describeAllocation() {
+        return JdbcInstrumentation.formatStack(allocation);
+    }
+
+    @Override
+    public Object invoke(Object self, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "prepareStatement":
+                return track(PreparedStatement.class, (String) args[0], JdbcInstrumentation.invoke(delegate, method, args));
+            case "prepareCall":
+                return track(CallableStatement.class, (String) args[0], JdbcInstrumentation.invoke(delegate, method, args));
+            case "createStatement":
+                return track(Statement.class, null, JdbcInstrumentation.invoke(delegate, method, args));
+            case "close":
+                close();
+                return null;
+            case "isClosed":
+                return closed || delegate.isClosed();
+            case "equals":
+                return self == args[0];
+            case "hashCode":
+                return System.identityHashCode(self);
+            case "toString":
+                return "Instrumented[" + delegate + "]";
+            default:
+                return JdbcInstrumentation.invoke(delegate, method, args);
+        }
+    }
+
+    private <T extends Statement> T track(Class<T> type, String sql, Object statement) {
+        InstrumentedStatement handler = new InstrumentedStatement(this, type.cast(statement), sql);
+        synchronized (openStatements) {
+            openStatements.add(handler);
+        }
+        return handler.createProxy(type);
+    }
+
+    void statementClosed(InstrumentedStatement statement) {
+        synchronized (openStatements) {
+            openStatements.remove(statement);
+        }
+    }
+
+    private void close() throws Exception {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        JdbcInstrumentation.connectionClosed(this);
+
+        List<InstrumentedStatement> leaked;
+        synchronized (openStatements) {
+            leaked = new ArrayList<>(openStatements);
+            openStatements.clear();
+        }
+        for (InstrumentedStatement statement : leaked) {
+            statement.reportLeak();
+        }
+
+        // Returns the connection to the pool, which also closes the leaked statements
+        delegate.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.studentmanagement.database.instrument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+
+/**
+ * Result set proxy handler, counts fetched rows and reports itself when its statement is closed first
+ */
+class InstrumentedResultSet implements InvocationHandler {
+
+    private final InstrumentedStatement statement;
+    private final ResultSet delegate;
+    private final ResultSet proxy;
+    private final QueryStats stats;
+    private final String sql;
+    private final long allocatedAt = System.currentTimeMillis();
+    private final String threadName = Thread.currentThread().getName();
+    private final Throwable allocation = JdbcInstrumentation.captureAllocation();
+    private long rows;
+    private boolean closed;
+
+    InstrumentedResultSet(InstrumentedStatement statement, ResultSet delegate, QueryStats stats, String sql) {
+        this.statement = statement;
+        this.delegate = delegate;
+        this.stats = stats;
+        this.sql = sql;
+        this.proxy = JdbcInstrumentation.proxy(ResultSet.class, this);
+    }
+
+    ResultSet getProxy() {
+        return proxy;
+    }
+
+    @Override
+    public Object invoke(Object self, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                Object hasRow = JdbcInstrumentation.invoke(delegate, method, args);
+                if (Boolean.TRUE.equals(hasRow)) {
+                    rows++;
+                }
+                return hasRow;
+            case "close":
+                if (!closed) {
+                    closed = true;
+                    recordRows();
+                    statement.resultSetClosed(this);
+                }
+                delegate.close();
+                return null;
+            case "getStatement":
+                return statement.getProxy();
+            case "equals":
+                return self == args[0];
+            case "hashCode":
+                return System.identityHashCode(self);
+            case "toString":
+                return "Instrumented[" + delegate + "]";
+            default:
+                return JdbcInstrumentation.invoke(delegate, method, args);
+        }
+    }
+
+    private void recordRows() {
+        if (stats != null) {
+            stats.recordRows(rows);
+        }
+    }
+
+    /**
+     * Called when the owning statement or connection is closed while this result set is still open
+     */
+    void reportLeak() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        recordRows();
+        JdbcInstrumentation.reportLeak("ResultSet", JdbcInstrumentation.fingerprint(sql), allocatedAt, threadName, allocation);
+    }
+}
@@ -0,0 +1,243 @@
+package com.studentmanagement.database.instrument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+
+/**
+ * Statement proxy handler, times executions and records bound-parameter shapes for the slow-query log
+ */
+class InstrumentedStatement implements InvocationHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedStatement.class);
+
+    private final InstrumentedConnection connection;
+    private final Statement delegate;
+    private final String sql;
+    private final boolean prepared;
+    private final Map<Integer, String> parameterShapes = new TreeMap<>();
+    private final List<InstrumentedResultSet> openResultSets = new ArrayList<>();
+    private final long allocatedAt = System.currentTimeMillis();
+    private final String threadName = Thread.currentThread().getName();
+    private final Throwable allocation = JdbcInstrumentation.captureAllocation();
+    private Statement proxy;
+    private String lastSql;
+    private int batchSize;
+    private boolean closed;
+
+    InstrumentedStatement(InstrumentedConnection connection, Statement delegate, String sql) {
+        this.connection = connection;
+        this.delegate = delegate;
+        this.sql = sql;
+        this.lastSql = sql;
+        this.prepared = delegate instanceof PreparedStatement;
+    }
+
+    <T extends Statement> T createProxy(Class<T> type) {
+        T created = JdbcInstrumentation.proxy(type, this);
+        proxy = created;
+        return created;
+    }
+
+    @Override
+    public Object invoke(Object self, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+
+        if (prepared && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+            parameterShapes.put((Integer) args[0], shapeOf(name, args[1]));
+            return JdbcInstrumentation.invoke(delegate, method, args);
+        }
+        if (name.startsWith("execute")) {
+            return execute(method, args);
+        }
+
+        switch (name) {
+            case "clearParameters":
+                parameterShapes.clear();
+                return JdbcInstrumentation.invoke(delegate, method, args);
+            case "addBatch":
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    lastSql = (String) args[0];
+                }
+                return JdbcInstrumentation.invoke(delegate, method, args);
+            case "clearBatch":
+                batchSize = 0;
+                return JdbcInstrumentation.invoke(delegate, method, args);
+            case "getResultSet":
+                return track((ResultSet) JdbcInstrumentation.invoke(delegate, method, args), lastSql,
+                    JdbcInstrumentation.statsFor(JdbcInstrumentation.fingerprint(lastSql)));
+            case "getGeneratedKeys":
+                // Key rows are not query results, they are left out of the row counts
+                return track((ResultSet) JdbcInstrumentation.invoke(delegate, method, args),
+                    lastSql + " /* generated keys */", null);
+            case "getConnection":
+                return connection.getProxy();
+            case "close":
+                close();
+                return null;
+            case "equals":
+                return self == args[0];
+            case "hashCode":
+                return System.identityHashCode(self);
+            case "toString":
+                return "Instrumented[" + delegate + "]";
+            default:
+                return JdbcInstrumentation.invoke(delegate, method, args);
+        }
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            lastSql = (String) args[0];
+        }
+        String fingerprint = JdbcInstrumentation.fingerprint(lastSql);
+        QueryStats stats = JdbcInstrumentation.statsFor(fingerprint);
+        int batch = batchSize;
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = JdbcInstrumentation.invoke(delegate, method, args);
+        } catch (SQLException e) {
+            stats.recordError();
+            logSlowOrFailed(fingerprint, System.nanoTime() - start, batch, e);
+            throw e;
+        } finally {
+            if (method.getName().equals("executeBatch") || method.getName().equals("executeLargeBatch")) {
+                batchSize = 0;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long micros = elapsed / 1000;
+        boolean slow = micros >= AppConfig.SLOW_QUERY_MS * 1000;
+        stats.recordExecution(micros, slow);
+        stats.recordRows(affectedRows(result));
+        if (slow) {
+            logSlowOrFailed(fingerprint, elapsed, batch, null);
+        }
+
+        if (result instanceof ResultSet) {
+            return track((ResultSet) result, lastSql, stats);
+        }
+        return result;
+    }
+
+    private void logSlowOrFailed(String fingerprint, long elapsedNanos, int batch, SQLException error) {
+        String batchInfo = batch > 0 ? " batch=" + batch : "";
+        if (error != null) {
+            logger.warn("Query failed after {} ms: {} params={}{} ({})",
+                elapsedNanos / 1_000_000, fingerprint, parameterShapes.values(), batchInfo, error.getMessage());
+        } else {
+            logger.warn("Slow query ({} ms): {} params={}{}",
+                elapsedNanos / 1_000_000, fingerprint, parameterShapes.values(), batchInfo);
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer) {
+            return Math.max(0, (Integer) result);
+        }
+        if (result instanceof Long) {
+            return Math.max(0, (Long) result);
+        }
+        long total = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                total += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                total += Math.max(0, count);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Describe a bound parameter without exposing its value, e.g. Int, String(12) or NULL
+     */
+    private static String shapeOf(String setter, Object value) {
+        if (value == null || "setNull".equals(setter)) {
+            return "NULL";
+        }
+        if (value instanceof CharSequence) {
+            return "String(" + ((CharSequence) value).length() + ")";
+        }
+        if (value instanceof byte[]) {
+            return "Bytes(" + ((byte[]) value).length + ")";
+        }
+        if ("setObject".equals(setter)) {
+            return value.getClass().getSimpleName();
+        }
+        return setter.substring(3);
+    }
+
+    private ResultSet track(ResultSet resultSet, String resultSql, QueryStats stats) {
+        if (resultSet == null) {
+            return null;
+        }
+        InstrumentedResultSet handler = new InstrumentedResultSet(this, resultSet, stats, resultSql);
+        synchronized (openResultSets) {
+            openResultSets.add(handler);
+        }
+        return handler.getProxy();
+    }
+
+    Statement getProxy() {
+        return proxy;
+    }
+
+    void resultSetClosed(InstrumentedResultSet resultSet) {
+        synchronized (openResultSets) {
+            openResultSets.remove(resultSet);
+        }
+    }
+
+    private void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        connection.statementClosed(this);
+        reportOpenResultSets();
+        delegate.close();
+    }
+
+    /**
+     * Called by the connection when it is closed while this statement is still open
+     */
+    void reportLeak() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        JdbcInstrumentation.reportLeak("Statement", JdbcInstrumentation.fingerprint(sql != null ? sql : lastSql),
+            allocatedAt, threadName, allocation);
+        reportOpenResultSets();
+    }
+
+    private void reportOpenResultSets() {
+        List<InstrumentedResultSet> leaked;
+        synchronized (openResultSets) {
+            leaked = new ArrayList<>(openResultSets);
+            openResultSets.clear();
+        }
+        for (InstrumentedResultSet resultSet : leaked) {
+            resultSet.reportLeak();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.studentmanagement.database.instrument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+
+/**
+ * Thin instrumentation layer around the JDBC connections handed out by DatabaseManager
+ * Connections, statements and result sets are wrapped in dynamic proxies that time every execution,
+ * log statements slower than {@link AppConfig#SLOW_QUERY_MS} with the shapes (not values) of their bound parameters,
+ * aggregate per-fingerprint statistics, and report statements and result sets that were never closed
+ * together with the stack that allocated them.
+ */
+public final class JdbcInstrumentation {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcInstrumentation.class);
+
+    // Catch-all bucket once JDBC_MAX_FINGERPRINTS distinct statements have been seen (e.g. SQL built with literals)
+    private static final String OTHER_FINGERPRINT = "(other)";
+    private static final int MAX_LEAK_RECORDS = 100;
+    private static final String INSTRUMENT_PACKAGE = JdbcInstrumentation.class.getPackage().getName() + ".";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private static final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private static final Set<InstrumentedConnection> openConnections = ConcurrentHashMap.newKeySet();
+    private static final Deque<LeakRecord> leaks = new ArrayDeque<>();
+    private static final AtomicLong leakCount = new AtomicLong();
+    private static volatile long statsSince = System.currentTimeMillis();
+
+    private JdbcInstrumentation() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Wrap a pooled connection, or return it unchanged when instrumentation is disabled
+     * @param connection Connection borrowed from the pool
+     * @return Instrumented connection
+     */
+    public static Connection wrap(Connection connection) {
+        if (!AppConfig.JDBC_INSTRUMENTATION_ENABLED || connection == null) {
+            return connection;
+        }
+        InstrumentedConnection handler = new InstrumentedConnection(connection);
+        openConnections.add(handler);
+        return handler.getProxy();
+    }
+
+    /**
+     * Get per-fingerprint statistics
+     * @param sort One of "total", "p99", "count", "rows" or "errors"; defaults to total time
+     * @param limit Maximum number of entries
+     * @return Statistics ordered descending by the sort key
+     */
+    public static List<QueryStats> getQueryStats(String sort, int limit) {
+        Comparator<QueryStats> order;
+        switch (sort == null ? "total" : sort) {
+            case "p99":
+                order = Comparator.comparingLong(QueryStats::getP99Micros);
+                break;
+            case "count":
+                order = Comparator.comparingLong(QueryStats::getCount);
+                break;
+            case "rows":
+                order = Comparator.comparingLong(QueryStats::getRows);
+                break;
+            case "errors":
+                order = Comparator.comparingLong(QueryStats::getErrors);
+                break;
+            default:
+                order = Comparator.comparingLong(QueryStats::getTotalMicros);
+                break;
+        }
+
+        List<QueryStats> result = new ArrayList<>(stats.values());
+        result.sort(order.reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Get the most recent leaks, newest first
+     * @return Leak records
+     */
+    public static List<LeakRecord> getLeaks() {
+        synchronized (leaks) {
+            return new ArrayList<>(leaks);
+        }
+    }
+
+    /**
+     * Get connections borrowed for longer than a threshold, oldest first
+     * @param thresholdMs Minimum hold time
+     * @return One map per connection with hold time, borrowing thread and allocation stack
+     */
+    public static List<Map<String, Object>> getLongHeldConnections(long thresholdMs) {
+        long now = System.currentTimeMillis();
+        List<InstrumentedConnection> held = new ArrayList<>();
+        for (InstrumentedConnection connection : openConnections) {
+            if (now - connection.getAllocatedAt() >= thresholdMs) {
+                held.add(connection);
+            }
+        }
+        held.sort(Comparator.comparingLong(InstrumentedConnection::getAllocatedAt));
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (InstrumentedConnection connection : held) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("heldMs", now - connection.getAllocatedAt());
+            map.put("thread", connection.getThreadName());
+            map.put("allocationStack", connection.describeAllocation());
+            result.add(map);
+        }
+        return result;
+    }
+
+    /**
+     * Get instrumentation counters
+     * @return Summary map
+     */
+    public static Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("enabled", AppConfig.JDBC_INSTRUMENTATION_ENABLED);
+        summary.put("slowQueryMs", AppConfig.SLOW_QUERY_MS);
+        summary.put("leakTracking", AppConfig.JDBC_LEAK_TRACKING);
+        summary.put("fingerprints", stats.size());
+        summary.put("openConnections", openConnections.size());
+        summary.put("leaksDetected", leakCount.get());
+        summary.put("since", statsSince);
+        return summary;
+    }
+
+    /**
+     * Discard statistics and leak records
+     */
+    public static void reset() {
+        stats.clear();
+        synchronized (leaks) {
+            leaks.clear();
+        }
+        leakCount.set(0);
+        statsSince = System.currentTimeMillis();
+    }
+
+    /**
+     * Normalize SQL so executions that differ only in literals or IN-list length share one entry
+     * @param sql SQL text
+     * @return Fingerprint
+     */
+    public static String fingerprint(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+
+        // Prepared statement texts are constants, only SQL built with literals grows this map
+        if (fingerprints.size() < AppConfig.JDBC_MAX_FINGERPRINTS * 4) {
+            fingerprints.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    static QueryStats statsFor(String fingerprint) {
+        QueryStats existing = stats.get(fingerprint);
+        if (existing != null) {
+            return existing;
+        }
+        if (stats.size() >= AppConfig.JDBC_MAX_FINGERPRINTS) {
+            return stats.computeIfAbsent(OTHER_FINGERPRINT, QueryStats::new);
+        }
+        return stats.computeIfAbsent(fingerprint, QueryStats::new);
+    }
+
+    static void connectionClosed(InstrumentedConnection connection) {
+        openConnections.remove(connection);
+    }
+
+    static void reportLeak(String resource, String sql, long allocatedAt, String threadName, Throwable allocation) {
+        String stack = formatStack(allocation);
+        LeakRecord record = new LeakRecord(resource, sql, allocatedAt, threadName, stack);
+        leakCount.incrementAndGet();
+        synchronized (leaks) {
+            leaks.addFirst(record);
+            while (leaks.size() > MAX_LEAK_RECORDS) {
+                leaks.removeLast();
+            }
+        }
+        logger.warn("{} was not closed before its owner was closed: {}\nAllocated at:\n{}", resource, sql, stack);
+    }
+
+    static String formatStack(Throwable allocation) {
+        if (allocation == null) {
+            return "(enable JDBC_LEAK_TRACKING to capture allocation stacks)";
+        }
+        // Skip the proxy and instrumentation frames so the trace starts at the DAO that allocated the resource
+        StringBuilder stack = new StringBuilder();
+        for (StackTraceElement frame : allocation.getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(INSTRUMENT_PACKAGE) || className.startsWith("jdk.proxy")
+                    || className.contains("$Proxy") || className.startsWith("jdk.internal.reflect")
+                    || className.startsWith("java.lang.reflect")) {
+                continue;
+            }
+            stack.append("\tat ").append(frame).append('\n');
+        }
+        return stack.toString();
+    }
+
+    static Throwable captureAllocation() {
+        return AppConfig.JDBC_LEAK_TRACKING ? new Throwable("allocated here") : null;
+    }
+
+    /**
+     * Invoke the delegate, unwrapping reflection exceptions so callers see the original SQLException
+     */
+    static Object invoke(Object delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -0,0 +1,49 @@
+package com.studentmanagement.database.instrument;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A JDBC resource that was still open when its owner was closed
+ */
+public final class LeakRecord {
+
+    private final String resource;
+    private final String sql;
+    private final long allocatedAt;
+    private final long detectedAt;
+    private final String threadName;
+    private final String allocationStack;
+
+    LeakRecord(String resource, String sql, long allocatedAt, String threadName, String allocationStack) {
+        this.resource = resource;
+        this.sql = sql;
+        this.allocatedAt = allocatedAt;
+        this.detectedAt = System.currentTimeMillis();
+        this.threadName = threadName;
+        this.allocationStack = allocationStack;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getAllocationStack() {
+        return allocationStack;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("resource", resource);
+        map.put("sql", sql);
+        map.put("allocatedAt", allocatedAt);
+        map.put("detectedAt", detectedAt);
+        map.put("thread", threadName);
+        map.put("allocationStack", allocationStack);
+        return map;
+    }
+}
@@ -0,0 +1,90 @@
+package com.studentmanagement.database.instrument;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.studentmanagement.util.LatencyHistogram;
+
+/**
+ * Aggregated execution statistics for one SQL fingerprint
+ * Latencies are recorded in microseconds and cover statement execution, not result set iteration
+ */
+public class QueryStats {
+
+    private final String fingerprint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong slow = new AtomicLong();
+
+    QueryStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void recordExecution(long micros, boolean isSlow) {
+        latency.record(micros);
+        if (isSlow) {
+            slow.incrementAndGet();
+        }
+    }
+
+    void recordError() {
+        errors.incrementAndGet();
+    }
+
+    void recordRows(long count) {
+        if (count > 0) {
+            rows.addAndGet(count);
+        }
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getTotalMicros() {
+        return Math.round(latency.getMean() * latency.getCount());
+    }
+
+    public long getP50Micros() {
+        return latency.getPercentile(50);
+    }
+
+    public long getP99Micros() {
+        return latency.getPercentile(99);
+    }
+
+    public Map<String, Object> toMap() {
+        long count = latency.getCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("sql", fingerprint);
+        map.put("count", count);
+        map.put("errors", errors.get());
+        map.put("slow", slow.get());
+        map.put("rows", rows.get());
+        map.put("avgRows", count > 0 ? Math.round(rows.get() * 10.0 / count) / 10.0 : 0.0);
+        map.put("meanMs", round(latency.getMean()));
+        map.put("p50Ms", round(latency.getPercentile(50)));
+        map.put("p99Ms", round(latency.getPercentile(99)));
+        map.put("maxMs", round(latency.getMax()));
+        map.put("totalMs", round(getTotalMicros()));
+        return map;
+    }
+
+    private static double round(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.studentmanagement.events;
+
+/**
+ * Kinds of change published on the /api/events feed
+ */
+public enum ChangeType {
+    STUDENT_CREATED("student.created"),
+    STUDENT_UPDATED("student.updated"),
+    STUDENT_DELETED("student.deleted"),
+    MARKS_POSTED("marks.posted"),
+    MARKS_UPDATED("marks.updated"),
+    MARKS_DELETED("marks.deleted"),
+    ATTENDANCE_MARKED("attendance.marked"),
+    ATTENDANCE_DELETED("attendance.deleted"),
+    ATTENDANCE_SHORTAGE("attendance.shortage"),
+    ATTENDANCE_RECOVERED("attendance.recovered");
+
+    private final String wireName;
+
+    ChangeType(String wireName) {
+        this.wireName = wireName;
+    }
+
+    /**
+     * Get the name sent to clients in the event's "type" field
+     * @return Wire name, e.g. student.created
+     */
+    public String getWireName() {
+        return wireName;
+    }
+}
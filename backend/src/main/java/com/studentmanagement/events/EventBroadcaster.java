@@ -0,0 +1,254 @@
+package com.studentmanagement.events;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.AsyncContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.util.ApiResponse;
+
+/**
+ * Fan-out of change events to /api/events subscribers
+ * DAO write paths call {@link #publish} which only enqueues the change; one background thread numbers it,
+ * encodes it once, keeps it in a short replay history for reconnecting clients and hands the shared bytes to
+ * every subscriber. Subscribers write with non-blocking I/O from bounded buffers, so open but idle dashboards
+ * cost no threads and a slow consumer is evicted rather than holding back everyone else.
+ */
+public class EventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventBroadcaster.class);
+
+    // Publishes waiting for the dispatch thread beyond this are dropped; clients recover through the reset event
+    private static final int MAX_PENDING_PUBLISHES = 10000;
+    private static final EventFrame HEARTBEAT = EventFrame.control(": ping\n\n");
+    private static final String RESET_JSON = "{\"type\":\"reset\"}";
+
+    private final Set<EventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<EventFrame> history = new ArrayDeque<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger peakSubscribers = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long sequence;
+    private volatile ScheduledExecutorService dispatcher;
+
+    private static class Holder {
+        private static final EventBroadcaster INSTANCE = new EventBroadcaster();
+    }
+
+    private EventBroadcaster() {
+    }
+
+    /**
+     * Get singleton instance of EventBroadcaster
+     * @return EventBroadcaster instance
+     */
+    public static EventBroadcaster getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start the dispatch thread and the heartbeat that keeps idle streams open through proxies
+     */
+    public synchronized void start() {
+        if (dispatcher != null || !AppConfig.EVENTS_ENABLED) {
+            return;
+        }
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeat = AppConfig.EVENTS_HEARTBEAT_SECONDS;
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.SECONDS);
+        logger.info("Event broadcaster started, heartbeat every {} s", heartbeat);
+    }
+
+    /**
+     * Close every open stream and stop the dispatch thread
+     */
+    public synchronized void stop() {
+        if (dispatcher == null) {
+            return;
+        }
+        dispatcher.shutdownNow();
+        dispatcher = null;
+        for (EventSubscriber subscriber : new ArrayList<>(subscribers)) {
+            subscriber.close();
+        }
+        logger.info("Event broadcaster stopped");
+    }
+
+    /**
+     * Check whether streams can be opened
+     * @return true if the broadcaster is running
+     */
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    /**
+     * Publish a change, returns immediately; a no-op while the broadcaster is not running
+     * @param type Kind of change
+     * @param id ID of the changed record
+     * @param studentId Student the change concerns, or null if not known to the caller
+     */
+    public void publish(ChangeType type, int id, Integer studentId) {
+        ScheduledExecutorService current = dispatcher;
+        if (current == null) {
+            return;
+        }
+        if (pending.incrementAndGet() > MAX_PENDING_PUBLISHES) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        long at = System.currentTimeMillis();
+        try {
+            current.execute(() -> {
+                pending.decrementAndGet();
+                dispatch(type, id, studentId, at);
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Open a stream on a started async request
+     * @param asyncContext Async context whose response headers are already set
+     * @param studentId Restrict the stream to events about this student, null for all events
+     * @param lastEventId Last event the client saw, events after it are replayed; 0 for a fresh stream
+     * @return true if the stream was opened, false if the subscriber limit is reached
+     * @throws IOException if the response stream is unavailable
+     */
+    public boolean subscribe(AsyncContext asyncContext, Integer studentId, long lastEventId) throws IOException {
+        if (subscribers.size() >= AppConfig.EVENTS_MAX_SUBSCRIBERS) {
+            rejected.incrementAndGet();
+            return false;
+        }
+
+        EventSubscriber subscriber = new EventSubscriber(this, asyncContext, studentId, AppConfig.EVENTS_SUBSCRIBER_BUFFER);
+        List<EventFrame> replay = new ArrayList<>();
+        replay.add(EventFrame.control("retry: " + AppConfig.EVENTS_RETRY_MS + "\n\n"));
+
+        // Registering under the history lock means every event is either replayed or delivered live, never both
+        synchronized (history) {
+            long replayedUpTo = sequence;
+            if (lastEventId > 0) {
+                EventFrame oldest = history.peekFirst();
+                if (lastEventId > sequence || (oldest != null && lastEventId < oldest.getSequence() - 1)
+                        || (oldest == null && lastEventId < sequence)) {
+                    // Unknown or already evicted from history, the client has to refetch
+                    replay.add(EventFrame.control("data: " + RESET_JSON + "\n\n"));
+                } else {
+                    for (EventFrame frame : history) {
+                        if (frame.getSequence() > lastEventId) {
+                            replay.add(frame);
+                        }
+                    }
+                }
+            }
+            subscriber.replay(replay, replayedUpTo);
+            subscribers.add(subscriber);
+        }
+        peakSubscribers.accumulateAndGet(subscribers.size(), Math::max);
+
+        subscriber.start();
+        return true;
+    }
+
+    /**
+     * Get broadcaster counters for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("running", isRunning());
+        metrics.put("subscribers", subscribers.size());
+        metrics.put("peakSubscribers", peakSubscribers.get());
+        metrics.put("published", published.get());
+        metrics.put("framesDelivered", delivered.get());
+        metrics.put("evictedSlowConsumers", evicted.get());
+        metrics.put("rejectedSubscribers", rejected.get());
+        metrics.put("droppedPublishes", dropped.get());
+        synchronized (history) {
+            metrics.put("lastEventId", sequence);
+            metrics.put("replayHistory", history.size());
+        }
+        return metrics;
+    }
+
+    void unsubscribe(EventSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    void recordDelivered(int frames) {
+        delivered.addAndGet(frames);
+    }
+
+    private void dispatch(ChangeType type, int id, Integer studentId, long at) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", type.getWireName());
+        payload.put("id", id);
+        if (studentId != null) {
+            payload.put("studentId", studentId);
+        }
+        payload.put("at", at);
+
+        EventFrame frame;
+        try {
+            String json = ApiResponse.getObjectMapper().writeValueAsString(payload);
+            synchronized (history) {
+                frame = EventFrame.event(++sequence, studentId, json);
+                history.addLast(frame);
+                while (history.size() > AppConfig.EVENTS_REPLAY_SIZE) {
+                    history.removeFirst();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to encode {} event for {}", type, id, e);
+            return;
+        }
+        published.incrementAndGet();
+        fanOut(frame);
+    }
+
+    private void heartbeat() {
+        fanOut(HEARTBEAT);
+    }
+
+    private void fanOut(EventFrame frame) {
+        for (EventSubscriber subscriber : subscribers) {
+            try {
+                if (!subscriber.offer(frame)) {
+                    evicted.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to deliver event, closing stream", e);
+                subscriber.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.studentmanagement.events;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A server-sent event encoded once and shared by every subscriber it is written to
+ */
+final class EventFrame {
+
+    private final long sequence;
+    private final Integer studentId;
+    private final boolean broadcast;
+    private final byte[] bytes;
+
+    private EventFrame(long sequence, Integer studentId, boolean broadcast, String text) {
+        this.sequence = sequence;
+        this.studentId = studentId;
+        this.broadcast = broadcast;
+        this.bytes = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Build a change event frame
+     * @param sequence Event ID, resent by the client as Last-Event-ID on reconnect
+     * @param studentId Student the change concerns, null if unknown
+     * @param json Event payload, a single line of JSON
+     * @return EventFrame
+     */
+    static EventFrame event(long sequence, Integer studentId, String json) {
+        return new EventFrame(sequence, studentId, false, "id: " + sequence + "\ndata: " + json + "\n\n");
+    }
+
+    /**
+     * Build a frame delivered to every subscriber regardless of its filter, e.g. a heartbeat comment
+     * @param text Complete frame text including the terminating blank line
+     * @return EventFrame
+     */
+    static EventFrame control(String text) {
+        return new EventFrame(0, null, true, text);
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Check whether a subscriber may see this frame
+     * @param subscriberStudentId Student a subscriber is restricted to, null for an unrestricted subscriber
+     * @return true if the frame is delivered to that subscriber
+     */
+    boolean isVisibleTo(Integer subscriberStudentId) {
+        return broadcast || subscriberStudentId == null || subscriberStudentId.equals(studentId);
+    }
+}
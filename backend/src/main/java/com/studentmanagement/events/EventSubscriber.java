@@ -0,0 +1,172 @@
+package com.studentmanagement.events;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One open /api/events stream
+ * Frames are queued in a small bounded buffer and written with non-blocking servlet I/O, so an idle subscriber holds
+ * no thread and a subscriber whose socket cannot keep up is evicted instead of stalling the broadcaster.
+ */
+class EventSubscriber implements WriteListener, AsyncListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSubscriber.class);
+
+    private final EventBroadcaster broadcaster;
+    private final AsyncContext asyncContext;
+    private final Integer studentId;
+    private final int capacity;
+    private final ArrayDeque<EventFrame> queue;
+    private ServletOutputStream out;
+    private long replayedUpTo;
+    private boolean closed;
+
+    /**
+     * @param broadcaster Owning broadcaster
+     * @param asyncContext Started async context of the stream request
+     * @param studentId Only events about this student are delivered, null for all events
+     * @param capacity Maximum number of queued frames before the subscriber is evicted
+     */
+    EventSubscriber(EventBroadcaster broadcaster, AsyncContext asyncContext, Integer studentId, int capacity) {
+        this.broadcaster = broadcaster;
+        this.asyncContext = asyncContext;
+        this.studentId = studentId;
+        this.capacity = capacity;
+        this.queue = new ArrayDeque<>(Math.min(capacity, 16));
+    }
+
+    /**
+     * Queue the frames replayed on connect, called before the subscriber becomes visible to the broadcaster
+     * @param frames Frames to send first
+     * @param lastSequence Sequence number of the newest replayed event, live events up to it are skipped
+     */
+    synchronized void replay(Iterable<EventFrame> frames, long lastSequence) {
+        for (EventFrame frame : frames) {
+            queue.add(frame);
+        }
+        replayedUpTo = lastSequence;
+    }
+
+    /**
+     * Start writing, the container calls {@link #onWritePossible()} once the stream is ready
+     * @throws IOException if the response stream is unavailable
+     */
+    void start() throws IOException {
+        asyncContext.addListener(this);
+        ServletOutputStream stream = asyncContext.getResponse().getOutputStream();
+        synchronized (this) {
+            out = stream;
+        }
+        stream.setWriteListener(this);
+    }
+
+    /**
+     * Queue a frame and write as much as the socket accepts without blocking
+     * @param frame Frame to deliver
+     * @return false if the subscriber was evicted because its buffer was full
+     */
+    boolean offer(EventFrame frame) {
+        synchronized (this) {
+            if (closed || !frame.isVisibleTo(studentId) || (frame.getSequence() > 0 && frame.getSequence() <= replayedUpTo)) {
+                return true;
+            }
+            if (queue.size() >= capacity) {
+                logger.debug("Evicting slow event subscriber after {} undelivered frames", queue.size());
+                closeQuietly();
+                return false;
+            }
+            queue.add(frame);
+        }
+        drain();
+        return true;
+    }
+
+    @Override
+    public void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        logger.debug("Event stream write failed: {}", error.toString());
+        close();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        // Not restarted
+    }
+
+    /**
+     * End the stream, the client's EventSource reconnects and resumes from its Last-Event-ID
+     */
+    void close() {
+        synchronized (this) {
+            closeQuietly();
+        }
+    }
+
+    private void drain() {
+        int written = 0;
+        synchronized (this) {
+            if (closed || out == null) {
+                return;
+            }
+            try {
+                // isReady() returning false schedules onWritePossible(), which resumes here
+                while (!queue.isEmpty() && out.isReady()) {
+                    out.write(queue.poll().getBytes());
+                    written++;
+                }
+                if (written > 0 && out.isReady()) {
+                    out.flush();
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Event stream closed by client: {}", e.toString());
+                closeQuietly();
+            }
+        }
+        if (written > 0) {
+            broadcaster.recordDelivered(written);
+        }
+    }
+
+    // Caller holds the monitor
+    private void closeQuietly() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        broadcaster.unsubscribe(this);
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+}
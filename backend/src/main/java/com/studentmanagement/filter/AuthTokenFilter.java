@@ -0,0 +1,145 @@
+package com.studentmanagement.filter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.studentmanagement.auth.TokenClaims;
+import com.studentmanagement.auth.TokenService;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.util.ApiResponse;
+
+/**
+ * Authentication filter verifying Bearer session tokens without touching the database
+ * A valid token's claims are attached to the request for servlets. When AUTH_ENFORCED is on,
+ * requests outside the public endpoints need a valid token: admins may call anything,
+ * students may only read their own record, marks and attendance.
+ */
+public class AuthTokenFilter implements Filter {
+
+    /**
+     * Request attribute holding the verified {@link TokenClaims}
+     */
+    public static final String CLAIMS_ATTRIBUTE = "auth.claims";
+
+    private static final String BEARER = "Bearer ";
+    private static final String ACCESS_TOKEN_PARAM = "access_token";
+    private static final String EVENTS_PATH = "/api/events";
+    private static final Pattern STUDENT_OWN_RESOURCE =
+        Pattern.compile("^/api/(?:students|marks/student|attendance/student)/(\\d{1,9})(?:/percentage|/summary)?$");
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // No initialization needed
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        TokenClaims claims = null;
+        String authorization = httpRequest.getHeader("Authorization");
+        if (authorization != null && authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            claims = TokenService.getInstance().verify(authorization.substring(BEARER.length()).trim());
+        } else if (isEventStream(httpRequest)) {
+            // EventSource cannot set headers, the event stream alone accepts the token as a query parameter
+            String token = httpRequest.getParameter(ACCESS_TOKEN_PARAM);
+            if (token != null && !token.trim().isEmpty()) {
+                claims = TokenService.getInstance().verify(token.trim());
+            }
+        }
+        if (claims != null) {
+            httpRequest.setAttribute(CLAIMS_ATTRIBUTE, claims);
+        }
+
+        if (AppConfig.AUTH_ENFORCED && !"OPTIONS".equalsIgnoreCase(httpRequest.getMethod())) {
+            String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+            if (!isPublic(httpRequest.getMethod(), path)) {
+                if (claims == null) {
+                    ApiResponse.sendError(httpResponse, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+                    return;
+                }
+                if (!isAllowed(claims, httpRequest.getMethod(), path)) {
+                    ApiResponse.sendError(httpResponse, HttpServletResponse.SC_FORBIDDEN, "Access denied");
+                    return;
+                }
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    @Override
+    public void destroy() {
+        // No cleanup needed
+    }
+
+    /**
+     * Get the verified claims of the current request
+     * @param request HTTP request
+     * @return Claims, or null if the request carried no valid token
+     */
+    public static TokenClaims getClaims(HttpServletRequest request) {
+        return (TokenClaims) request.getAttribute(CLAIMS_ATTRIBUTE);
+    }
+
+    /**
+     * Answer 401 or 403 unless the request carries an admin token, whether or not AUTH_ENFORCED is on
+     * For endpoints that must never be open, such as diagnostics and destructive jobs
+     * @param request HTTP request
+     * @param response HTTP response, written when access is refused
+     * @return true if the caller is an admin and the request may proceed
+     * @throws IOException if writing the error response fails
+     */
+    public static boolean requireAdmin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        TokenClaims claims = getClaims(request);
+        if (claims == null) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+            return false;
+        }
+        if (!claims.isAdmin()) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_FORBIDDEN, "Access denied");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        return "GET".equalsIgnoreCase(request.getMethod())
+            && EVENTS_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private static boolean isPublic(String method, String path) {
+        return path.startsWith("/api/health/") || path.equals("/api/health")
+            || path.startsWith("/api/student/auth/")
+            || path.equals("/api/auth/login")
+            || ("GET".equalsIgnoreCase(method) && path.startsWith("/api/subjects"));
+    }
+
+    private static boolean isAllowed(TokenClaims claims, String method, String path) {
+        if (claims.isAdmin() || path.startsWith("/api/auth/")) {
+            return true;
+        }
+        if (!"GET".equalsIgnoreCase(method)) {
+            return false;
+        }
+        if (path.equals(EVENTS_PATH)) {
+            // The stream itself only carries the student's own changes
+            return true;
+        }
+        Matcher matcher = STUDENT_OWN_RESOURCE.matcher(path);
+        return matcher.matches() && claims.isStudent(Integer.parseInt(matcher.group(1)));
+    }
+}
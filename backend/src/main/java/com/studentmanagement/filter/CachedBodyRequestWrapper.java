@@ -0,0 +1,105 @@
+package com.studentmanagement.filter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Request wrapper holding the body in memory so a filter can inspect it and the servlet can still read it
+ */
+public class CachedBodyRequestWrapper extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    /**
+     * Thrown when the body exceeds the size the caller is willing to buffer
+     */
+    public static class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public BodyTooLargeException(int maxBytes) {
+            super("Request body exceeds " + maxBytes + " bytes");
+        }
+    }
+
+    /**
+     * @param request Request whose body is read fully
+     * @param maxBytes Maximum body size to buffer
+     * @throws BodyTooLargeException if the body is larger than maxBytes
+     */
+    public CachedBodyRequestWrapper(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        if (request.getContentLength() > maxBytes) {
+            throw new BodyTooLargeException(maxBytes);
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(0, request.getContentLength()));
+        try (InputStream input = request.getInputStream()) {
+            byte[] chunk = new byte[4096];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                if (buffer.size() + read > maxBytes) {
+                    throw new BodyTooLargeException(maxBytes);
+                }
+                buffer.write(chunk, 0, read);
+            }
+        }
+        this.body = buffer.toByteArray();
+    }
+
+    /**
+     * @return Buffered request body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return input.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Buffered body does not support async reads");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null && Charset.isSupported(encoding)
+            ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
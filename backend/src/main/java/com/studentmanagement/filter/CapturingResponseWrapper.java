@@ -0,0 +1,124 @@
+package com.studentmanagement.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper copying the body into memory while it is written through to the client
+ * The counterpart of {@link CachedBodyRequestWrapper}: a filter can keep what the servlet sent, up to a size limit,
+ * without delaying or buffering the response itself.
+ */
+public class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int maxBytes;
+    private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    private boolean overflowed;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    /**
+     * @param response Response to write through to
+     * @param maxBytes Maximum body size to keep; larger bodies are still sent but not captured
+     */
+    public CapturingResponseWrapper(HttpServletResponse response, int maxBytes) {
+        super(response);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null && Charset.isSupported(encoding)
+                ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            writer = new PrintWriter(new OutputStreamWriter(stream(), charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Flush a writer the servlet left unflushed and return the captured body
+     * @return Body bytes as sent, or null if the body was larger than the limit
+     */
+    public byte[] getCapturedBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return overflowed ? null : copy.toByteArray();
+    }
+
+    private ServletOutputStream stream() throws IOException {
+        if (outputStream == null) {
+            ServletOutputStream target = getResponse().getOutputStream();
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    target.write(b);
+                    capture(new byte[] {(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    target.write(b, off, len);
+                    capture(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return target.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    target.setWriteListener(writeListener);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (overflowed) {
+            return;
+        }
+        if (copy.size() + len > maxBytes) {
+            overflowed = true;
+            copy.reset();
+            return;
+        }
+        copy.write(b, off, len);
+    }
+}
@@ -0,0 +1,93 @@
+package com.studentmanagement.filter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import com.studentmanagement.util.ResponseFormat;
+
+/**
+ * Content negotiation filter selecting the response format from the Accept header
+ * Requests accepting application/x-jackson-smile or application/cbor get responses written through
+ * {@link com.studentmanagement.util.ApiResponse} in that format; everything else stays JSON. Clients should check
+ * Content-Type, since the few endpoints writing JSON text directly still answer in JSON.
+ */
+public class ContentNegotiationFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // No initialization needed
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        ResponseFormat format = ResponseFormat.negotiate(((HttpServletRequest) request).getHeader("Accept"));
+        httpResponse.addHeader("Vary", "Accept");
+
+        if (!format.isBinary()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        BinaryResponseWrapper wrapper = new BinaryResponseWrapper(httpResponse);
+        ResponseFormat.select(format);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            ResponseFormat.clear();
+            wrapper.flushWriter();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // No cleanup needed
+    }
+
+    /**
+     * Lets a servlet that already holds the writer have a binary body written to the output stream
+     * The writer is layered over the output stream instead of being taken from the container
+     */
+    private static final class BinaryResponseWrapper extends HttpServletResponseWrapper {
+
+        private PrintWriter writer;
+
+        BinaryResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+}
@@ -30,7 +30,9 @@ public class CorsFilter implements Filter {
         httpResponse.setHeader("Access-Control-Allow-Origin", origin != null ? origin : "*");
         httpResponse.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
         httpResponse.setHeader("Access-Control-Allow-Headers", 
-            "Content-Type, Authorization, X-Requested-With, Accept, Origin");
+            "Content-Type, Authorization, X-Requested-With, Accept, Origin, If-Match, Idempotency-Key");
+        // Let browser clients read the version tag they send back in If-Match, and see replayed responses
+        httpResponse.setHeader("Access-Control-Expose-Headers", "ETag, Idempotency-Replayed");
         httpResponse.setHeader("Access-Control-Allow-Credentials", "true");
         httpResponse.setHeader("Access-Control-Max-Age", "3600");
         
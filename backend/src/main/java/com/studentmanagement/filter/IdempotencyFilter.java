@@ -0,0 +1,261 @@
+package com.studentmanagement.filter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.auth.TokenClaims;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.ExpiringStripedMap;
+import com.studentmanagement.util.RequestUtil;
+import com.studentmanagement.util.ResponseFormat;
+
+/**
+ * Idempotency-Key support for the create endpoints (POST /api/students, /api/marks, /api/student/auth/register)
+ * A POST carrying an Idempotency-Key header runs once. Its status, body and ETag/Location headers are kept for
+ * {@link AppConfig#IDEMPOTENCY_TTL_SECONDS} together with a hash of the request and its negotiated response format,
+ * and a retry with the same key, body and format gets that stored response replayed (marked Idempotency-Replayed:
+ * true) without reaching the servlet or the database. A retry arriving while the first request still runs waits for
+ * it instead of inserting a second row. Reusing a key for a different request is rejected with 422. Server errors are
+ * not stored, so they can be retried. Keys are scoped to the caller's token subject, or to the client IP for anonymous
+ * calls such as registration whose response carries a token, and the store is bounded by
+ * {@link AppConfig#IDEMPOTENCY_MAX_KEYS}.
+ */
+public class IdempotencyFilter implements Filter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotency-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int STRIPES = 64;
+    private static final String[] REPLAYED_HEADERS = {"ETag", "Location"};
+
+    private static final AtomicLong executed = new AtomicLong();
+    private static final AtomicLong replayed = new AtomicLong();
+    private static final AtomicLong waited = new AtomicLong();
+    private static final AtomicLong mismatched = new AtomicLong();
+    private static final AtomicLong timedOut = new AtomicLong();
+    private static final AtomicLong notStored = new AtomicLong();
+    private static volatile ExpiringStripedMap<String, Entry> store;
+
+    /**
+     * Response kept for a key
+     */
+    private static final class StoredResponse {
+        private final int status;
+        private final String contentType;
+        private final Map<String, String> headers;
+        private final byte[] body;
+
+        StoredResponse(int status, String contentType, Map<String, String> headers, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * State of a key: the request it belongs to and the response, once the first request has completed
+     * The future completes with null when the first request did not produce a storable response
+     */
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        store = new ExpiringStripedMap<>(AppConfig.IDEMPOTENCY_MAX_KEYS, STRIPES,
+            TimeUnit.SECONDS.toMillis(AppConfig.IDEMPOTENCY_TTL_SECONDS));
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String key = httpRequest.getHeader(IDEMPOTENCY_KEY);
+
+        if (!AppConfig.IDEMPOTENCY_ENABLED || key == null || !"POST".equalsIgnoreCase(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        key = key.trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            ApiResponse.sendError(httpResponse, HttpServletResponse.SC_BAD_REQUEST,
+                "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequestWrapper wrapper;
+        try {
+            wrapper = new CachedBodyRequestWrapper(httpRequest, AppConfig.IDEMPOTENCY_MAX_BODY_BYTES);
+        } catch (CachedBodyRequestWrapper.BodyTooLargeException e) {
+            ApiResponse.sendError(httpResponse, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+            return;
+        }
+        String storeKey = scope(httpRequest) + '\n' + httpRequest.getRequestURI() + '\n' + key;
+        String fingerprint = fingerprint(httpRequest, wrapper.getBody());
+
+        // A waiter whose leader failed tries to become the leader itself, once
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Entry created = new Entry(fingerprint);
+            Entry entry = store.compute(storeKey, () -> created, existing -> existing);
+
+            if (entry == created) {
+                execute(wrapper, httpResponse, chain, storeKey, entry);
+                return;
+            }
+            if (!entry.fingerprint.equals(fingerprint)) {
+                mismatched.incrementAndGet();
+                ApiResponse.sendError(httpResponse, 422,
+                    "Idempotency-Key was already used for a different request");
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                if (!entry.response.isDone()) {
+                    waited.incrementAndGet();
+                }
+                stored = entry.response.get(AppConfig.IDEMPOTENCY_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                timedOut.incrementAndGet();
+                httpResponse.setHeader("Retry-After", "1");
+                ApiResponse.sendError(httpResponse, HttpServletResponse.SC_CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", e);
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null) {
+                replay(httpResponse, stored);
+                return;
+            }
+        }
+        ApiResponse.sendError(httpResponse, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+            "The original request with this Idempotency-Key failed, please retry");
+    }
+
+    @Override
+    public void destroy() {
+        // No cleanup needed
+    }
+
+    /**
+     * Get store size and counters for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public static Map<String, Object> getMetrics() {
+        ExpiringStripedMap<String, Entry> current = store;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", AppConfig.IDEMPOTENCY_ENABLED);
+        metrics.put("keys", current != null ? current.size() : 0);
+        metrics.put("maxKeys", AppConfig.IDEMPOTENCY_MAX_KEYS);
+        metrics.put("ttlSeconds", AppConfig.IDEMPOTENCY_TTL_SECONDS);
+        metrics.put("executed", executed.get());
+        metrics.put("replayed", replayed.get());
+        metrics.put("waited", waited.get());
+        metrics.put("mismatched", mismatched.get());
+        metrics.put("timedOut", timedOut.get());
+        metrics.put("notStored", notStored.get());
+        return metrics;
+    }
+
+    // Run the request and keep its response; server errors and oversized bodies release the key instead
+    private void execute(CachedBodyRequestWrapper request, HttpServletResponse response, FilterChain chain,
+                         String storeKey, Entry entry) throws IOException, ServletException {
+        executed.incrementAndGet();
+        CapturingResponseWrapper capturing = new CapturingResponseWrapper(response,
+            AppConfig.IDEMPOTENCY_MAX_RESPONSE_BYTES);
+        StoredResponse stored = null;
+        try {
+            chain.doFilter(request, capturing);
+            byte[] body = capturing.getCapturedBody();
+            int status = capturing.getStatus();
+            if (body != null && status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                Map<String, String> headers = new LinkedHashMap<>();
+                for (String name : REPLAYED_HEADERS) {
+                    String value = capturing.getHeader(name);
+                    if (value != null) {
+                        headers.put(name, value);
+                    }
+                }
+                stored = new StoredResponse(status, capturing.getContentType(), headers, body);
+            }
+        } finally {
+            if (stored == null) {
+                notStored.incrementAndGet();
+                store.remove(storeKey);
+            }
+            entry.response.complete(stored);
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        replayed.incrementAndGet();
+        response.setStatus(stored.status);
+        if (stored.contentType != null) {
+            response.setContentType(stored.contentType);
+        }
+        for (Map.Entry<String, String> header : stored.headers.entrySet()) {
+            response.setHeader(header.getKey(), header.getValue());
+        }
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body.length);
+        response.getOutputStream().write(stored.body);
+        logger.debug("Replayed stored response with status {}", stored.status);
+    }
+
+    // Token subject, or client IP without a token, so two callers using the same key never see each other's responses
+    private static String scope(HttpServletRequest request) {
+        TokenClaims claims = AuthTokenFilter.getClaims(request);
+        return claims != null ? claims.getRole() + ":" + claims.getSubject()
+            : "anonymous:" + RequestUtil.clientIp(request);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // A stored body is only valid for the format it was written in, JSON or a binary encoding
+            digest.update((request.getRequestURI() + '?' + request.getQueryString() + '\n'
+                + ResponseFormat.current().name() + '\n').getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.studentmanagement.filter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.ExpiringStripedMap;
+import com.studentmanagement.util.RequestUtil;
+import com.studentmanagement.util.TokenBucket;
+
+/**
+ * Rate limiting filter for the student auth endpoints and the admin login
+ * Every request takes a token from its client IP's bucket, and login, register and registration
+ * checks also take one from the bucket of the account identifier they target, so credential
+ * stuffing is throttled whether it comes from one address or is spread over many.
+ * Rejected requests get 429 with Retry-After before the servlet touches the database.
+ * A successful login gives its identifier token back, so only failed attempts use up the allowance.
+ */
+public class RateLimitFilter implements Filter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final String ADMIN_AUTH_PATH = "/api/auth";
+
+    private ExpiringStripedMap<String, TokenBucket> ipBuckets;
+    private ExpiringStripedMap<String, TokenBucket> identifierBuckets;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // A bucket left alone long enough to refill completely carries no state, so it can expire
+        ipBuckets = new ExpiringStripedMap<>(AppConfig.RATE_LIMIT_MAX_KEYS, AppConfig.RATE_LIMIT_STRIPES,
+            refillMillis(AppConfig.AUTH_IP_BURST, AppConfig.AUTH_IP_PER_MINUTE));
+        identifierBuckets = new ExpiringStripedMap<>(AppConfig.RATE_LIMIT_MAX_KEYS, AppConfig.RATE_LIMIT_STRIPES,
+            refillMillis(AppConfig.AUTH_ID_BURST, AppConfig.AUTH_ID_PER_MINUTE));
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        if (!AppConfig.RATE_LIMIT_ENABLED || "OPTIONS".equalsIgnoreCase(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String clientIp = RequestUtil.clientIp(httpRequest);
+        long waitMillis = ipBuckets.compute(clientIp,
+            () -> new TokenBucket(AppConfig.AUTH_IP_BURST, AppConfig.AUTH_IP_PER_MINUTE),
+            bucket -> bucket.tryConsume(System.currentTimeMillis()));
+        if (waitMillis > 0) {
+            reject(httpResponse, waitMillis, "Too many requests, please try again later");
+            logger.debug("Rate limited {} {} from {}", httpRequest.getMethod(), httpRequest.getPathInfo(), clientIp);
+            return;
+        }
+
+        String pathInfo = httpRequest.getPathInfo();
+        HttpServletRequest forwarded = httpRequest;
+        String identifier;
+        if ("POST".equalsIgnoreCase(httpRequest.getMethod())
+                && ("/login".equals(pathInfo) || "/register".equals(pathInfo))) {
+            CachedBodyRequestWrapper wrapper;
+            try {
+                wrapper = new CachedBodyRequestWrapper(httpRequest, MAX_BODY_BYTES);
+            } catch (CachedBodyRequestWrapper.BodyTooLargeException e) {
+                ApiResponse.sendError(httpResponse, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+                return;
+            }
+            forwarded = wrapper;
+            if (ADMIN_AUTH_PATH.equals(httpRequest.getServletPath())) {
+                // Admin usernames get their own key space, apart from student emails and roll numbers
+                String username = bodyField(wrapper.getBody(), "username");
+                identifier = username != null ? "admin:" + username : null;
+            } else {
+                identifier = bodyField(wrapper.getBody(), "/login".equals(pathInfo) ? "emailOrRoll" : "email");
+            }
+        } else {
+            identifier = httpRequest.getParameter("emailOrRoll");
+        }
+
+        String identifierKey = normalize(identifier);
+        if (identifierKey != null) {
+            waitMillis = identifierBuckets.compute(identifierKey,
+                () -> new TokenBucket(AppConfig.AUTH_ID_BURST, AppConfig.AUTH_ID_PER_MINUTE),
+                bucket -> bucket.tryConsume(System.currentTimeMillis()));
+            if (waitMillis > 0) {
+                reject(httpResponse, waitMillis, "Too many attempts for this account, please try again later");
+                logger.warn("Rate limited {} {} for account {} from {}",
+                    httpRequest.getMethod(), pathInfo, identifierKey, clientIp);
+                return;
+            }
+        }
+
+        chain.doFilter(forwarded, response);
+
+        if (identifierKey != null && "/login".equals(pathInfo)
+                && httpResponse.getStatus() == HttpServletResponse.SC_OK) {
+            identifierBuckets.compute(identifierKey,
+                () -> new TokenBucket(AppConfig.AUTH_ID_BURST, AppConfig.AUTH_ID_PER_MINUTE),
+                bucket -> {
+                    bucket.refund();
+                    return null;
+                });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // No cleanup needed
+    }
+
+    private static void reject(HttpServletResponse response, long waitMillis, String message) throws IOException {
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        ApiResponse.sendError(response, 429, message);
+    }
+
+    /**
+     * Read a top-level string field from a JSON body, or null if the body is not a JSON object
+     */
+    private static String bodyField(byte[] body, String field) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode value = ApiResponse.getObjectMapper().readTree(body).get(field);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException e) {
+            // Malformed bodies are left to the servlet to reject
+            return null;
+        }
+    }
+
+    private static String normalize(String identifier) {
+        if (identifier == null || identifier.trim().isEmpty()) {
+            return null;
+        }
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long refillMillis(int burst, int perMinute) {
+        return (long) Math.ceil(Math.max(1, burst) * 60000.0 / Math.max(1, perMinute));
+    }
+}
@@ -0,0 +1,77 @@
+package com.studentmanagement.filter;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import com.studentmanagement.database.ReadRouting;
+import com.studentmanagement.util.RequestUtil;
+
+/**
+ * Read routing filter providing read-your-writes consistency when a read replica is configured
+ * Write requests run against the primary and pin the client's following reads to the primary
+ * for a short window, so a client never reads older data than it just wrote
+ */
+public class ReadRoutingFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // No initialization needed
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        // Without a replica every read is on the primary anyway, so no client is tracked
+        String clientKey = ReadRouting.isTracking() ? clientKey(httpRequest) : null;
+        boolean write = isWrite(httpRequest);
+
+        if (write || (clientKey != null && ReadRouting.isSticky(clientKey))) {
+            ReadRouting.requirePrimary();
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.clear();
+            if (write && clientKey != null) {
+                ReadRouting.recordWrite(clientKey);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // No cleanup needed
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method) || "OPTIONS".equalsIgnoreCase(method)) {
+            return false;
+        }
+        // Batch reads are POSTed only because they carry a body
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/batch");
+    }
+
+    /**
+     * Identify the client by a hash of its Authorization header, or by its address behind the platform proxy
+     * The header is hashed so a tracked client costs a few bytes whatever it sends; a collision only pins
+     * another client's reads to the primary for the window
+     */
+    private static String clientKey(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (authorization != null && !authorization.isEmpty()) {
+            return "auth:" + Integer.toHexString(authorization.hashCode());
+        }
+        return RequestUtil.clientIp(request);
+    }
+}
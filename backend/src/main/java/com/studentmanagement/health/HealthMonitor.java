@@ -0,0 +1,180 @@
+package com.studentmanagement.health;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.database.PoolMetrics;
+import com.studentmanagement.lifecycle.WarmupService;
+
+/**
+ * Background health prober
+ * Every {@link AppConfig#HEALTH_CHECK_INTERVAL_MS} one thread borrows a single connection, validates it and records
+ * the round trip together with pool saturation and warm-up state in a {@link HealthSnapshot}. Borrowing and
+ * validation are both bounded by {@link AppConfig#HEALTH_PROBE_TIMEOUT_SECONDS}, not the pool's connection timeout.
+ * When the database was unavailable at startup the probe also retries pool initialization.
+ * Platform probes read the latest snapshot, so frequent health checks no longer compete with user traffic
+ * for pooled connections and a slow database cannot make the probe itself hang.
+ */
+public class HealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthMonitor.class);
+
+    // A snapshot older than this many intervals means the prober is stuck, e.g. waiting on an unreachable database
+    private static final int STALE_INTERVALS = 3;
+
+    private final long startedAt = System.currentTimeMillis();
+    private volatile HealthSnapshot snapshot;
+    private volatile long lastLatencyMs = -1;
+    private ScheduledExecutorService scheduler;
+
+    private static class Holder {
+        private static final HealthMonitor INSTANCE = new HealthMonitor();
+    }
+
+    private HealthMonitor() {
+    }
+
+    /**
+     * Get singleton instance of HealthMonitor
+     * @return HealthMonitor instance
+     */
+    public static HealthMonitor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start the background prober, the first probe runs immediately
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probeSafely, 0, AppConfig.HEALTH_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        logger.info("Health monitor started, probing every {} ms", AppConfig.HEALTH_CHECK_INTERVAL_MS);
+    }
+
+    /**
+     * Stop the background prober
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Get the latest snapshot
+     * Before the first probe completes a snapshot is derived from lifecycle state alone, without touching the database
+     * @return HealthSnapshot
+     */
+    public HealthSnapshot getSnapshot() {
+        HealthSnapshot current = snapshot;
+        if (current == null) {
+            DatabaseManager databaseManager = DatabaseManager.getInstance();
+            WarmupService warmup = WarmupService.getInstance();
+            current = new HealthSnapshot(databaseManager.getState(), warmup.getStatus(), warmup.isComplete(),
+                databaseManager.getPoolMetrics(), lastLatencyMs, "awaiting first probe", true, System.currentTimeMillis());
+        }
+        return current;
+    }
+
+    /**
+     * Check readiness from the latest snapshot
+     * @param current Snapshot returned by {@link #getSnapshot()}
+     * @return true if the snapshot is ready and recent
+     */
+    public boolean isReady(HealthSnapshot current) {
+        return current.isReady() && !isStale(current);
+    }
+
+    /**
+     * Check whether a snapshot is older than the prober should ever let it get
+     * @param current Snapshot returned by {@link #getSnapshot()}
+     * @return true if the prober has not refreshed it for several intervals
+     */
+    public boolean isStale(HealthSnapshot current) {
+        return System.currentTimeMillis() - current.getCheckedAt() > STALE_INTERVALS * AppConfig.HEALTH_CHECK_INTERVAL_MS;
+    }
+
+    /**
+     * Get process uptime
+     * @return Milliseconds since the application was loaded
+     */
+    public long getUptimeMs() {
+        return System.currentTimeMillis() - startedAt;
+    }
+
+    private void probeSafely() {
+        try {
+            probe();
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the scheduled task
+            logger.error("Health probe failed unexpectedly", e);
+        }
+    }
+
+    /**
+     * Run one probe and publish its snapshot
+     */
+    void probe() {
+        DatabaseManager databaseManager = DatabaseManager.getInstance();
+        WarmupService warmup = WarmupService.getInstance();
+        DatabaseManager.State state = databaseManager.getState();
+        PoolMetrics pool = databaseManager.getPoolMetrics();
+
+        String error = null;
+        boolean skipped = false;
+        long latencyMs = lastLatencyMs;
+
+        if (state == DatabaseManager.State.STARTING || state == DatabaseManager.State.DRAINING
+                || state == DatabaseManager.State.STOPPED) {
+            skipped = true;
+        } else if (pool != null && pool.isExhausted()) {
+            // Requests are already queueing, do not take a connection away from them
+            skipped = true;
+        } else {
+            long start = System.nanoTime();
+            long timeoutMs = TimeUnit.SECONDS.toMillis(AppConfig.HEALTH_PROBE_TIMEOUT_SECONDS);
+            try (Connection connection = databaseManager.getConnection(timeoutMs)) {
+                if (!connection.isValid(AppConfig.HEALTH_PROBE_TIMEOUT_SECONDS)) {
+                    error = "validation timed out";
+                }
+            } catch (SQLException e) {
+                error = e.getMessage();
+            }
+            latencyMs = (System.nanoTime() - start) / 1_000_000;
+            lastLatencyMs = latencyMs;
+
+            // A probe after a failed start goes through getConnection's recovery path and may have brought the pool up
+            state = databaseManager.getState();
+            pool = databaseManager.getPoolMetrics();
+        }
+
+        HealthSnapshot next = new HealthSnapshot(state, warmup.getStatus(), warmup.isComplete(),
+            pool, latencyMs, error, skipped, System.currentTimeMillis());
+
+        HealthSnapshot previous = snapshot;
+        snapshot = next;
+        if (previous == null || previous.getStatus() != next.getStatus()) {
+            if (next.isReady()) {
+                logger.info("Health status {} (latency {} ms)", next.getStatus(), latencyMs);
+            } else {
+                logger.warn("Health status {}: {}", next.getStatus(), next.getReason());
+            }
+        }
+    }
+}
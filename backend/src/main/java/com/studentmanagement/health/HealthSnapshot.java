@@ -0,0 +1,100 @@
+package com.studentmanagement.health;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.database.PoolMetrics;
+import com.studentmanagement.lifecycle.WarmupService;
+
+/**
+ * Immutable result of one background health probe
+ * Probe endpoints only read the latest snapshot, so answering them never touches the database
+ */
+public final class HealthSnapshot {
+
+    /**
+     * Overall health, DEGRADED still serves traffic but is slow or has requests waiting for a connection
+     * Readiness only depends on the database being reachable and warm-up having finished; a saturated pool is a
+     * load problem that restarting or unrouting the instance would not fix, so it degrades the status instead
+     */
+    public enum Status {
+        UP, DEGRADED, STARTING, DOWN
+    }
+
+    private final Status status;
+    private final boolean ready;
+    private final String reason;
+    private final long checkedAt;
+    private final Map<String, Object> details;
+
+    HealthSnapshot(DatabaseManager.State databaseState, WarmupService.Status warmupStatus, boolean warmupComplete,
+                   PoolMetrics pool, long latencyMs, String probeError, boolean probeSkipped, long checkedAt) {
+
+        String notReadyReason = null;
+        if (databaseState != DatabaseManager.State.READY) {
+            notReadyReason = "database " + databaseState.name().toLowerCase();
+        } else if (!warmupComplete) {
+            notReadyReason = "warm-up in progress";
+        } else if (probeError != null) {
+            notReadyReason = "database probe: " + probeError;
+        }
+
+        this.ready = notReadyReason == null;
+        this.reason = notReadyReason;
+        this.checkedAt = checkedAt;
+
+        if (ready) {
+            boolean slow = latencyMs > AppConfig.HEALTH_MAX_LATENCY_MS;
+            boolean busy = pool != null && pool.getWaiting() > 0;
+            this.status = slow || busy ? Status.DEGRADED : Status.UP;
+        } else if (databaseState == DatabaseManager.State.NEW || databaseState == DatabaseManager.State.STARTING
+                || (databaseState == DatabaseManager.State.READY && !warmupComplete)) {
+            this.status = Status.STARTING;
+        } else {
+            this.status = Status.DOWN;
+        }
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("status", status);
+        map.put("ready", ready);
+        if (reason != null) {
+            map.put("reason", reason);
+        }
+        map.put("database", databaseState);
+        map.put("warmup", warmupStatus);
+        map.put("latencyMs", latencyMs);
+        map.put("probeSkipped", probeSkipped);
+        if (pool != null) {
+            map.put("pool", pool.toMap());
+        }
+        map.put("checkedAt", checkedAt);
+        this.details = Collections.unmodifiableMap(map);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    /**
+     * Get the snapshot as a response body, built once per probe
+     * @return Unmodifiable map
+     */
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+}
@@ -0,0 +1,92 @@
+package com.studentmanagement.lifecycle;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Enumeration;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mysql.cj.jdbc.AbandonedConnectionCleanupThread;
+import com.studentmanagement.archive.ArchiveService;
+import com.studentmanagement.attendance.AttendanceIndex;
+import com.studentmanagement.attendance.ShortageEngine;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.config.DatabaseConfig;
+import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.events.EventBroadcaster;
+import com.studentmanagement.health.HealthMonitor;
+import com.studentmanagement.purge.StudentPurgeService;
+import com.studentmanagement.report.ReportJobManager;
+
+/**
+ * Application lifecycle listener
+ * Starts the connection pools and the background warm-up when the web application is deployed and drains
+ * them on undeploy, so the first request does not pay for pool creation and redeploys do not leak connections or threads
+ */
+public class AppLifecycleListener implements ServletContextListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppLifecycleListener.class);
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        // Enforced authentication behind a published password protects nothing, so refuse to deploy
+        if (AppConfig.AUTH_ENFORCED && AppConfig.DEFAULT_ADMIN_PASSWORD.equals(AppConfig.ADMIN_PASSWORD)) {
+            throw new IllegalStateException(
+                "AUTH_ENFORCED is on but ADMIN_PASSWORD is still the default, set ADMIN_PASSWORD");
+        }
+        try {
+            DatabaseManager.getInstance().start();
+            logger.info("Application started, database state: {}", DatabaseManager.getInstance().getState());
+        } catch (RuntimeException e) {
+            // Keep the application deployed, getConnection() retries initialization on demand
+            logger.error("Database unavailable at startup, will retry on first use", e);
+        }
+        WarmupService.getInstance().start();
+        HealthMonitor.getInstance().start();
+        EventBroadcaster.getInstance().start();
+        // Registered before the index loads so the engine fills from the initial load
+        ShortageEngine.getInstance().start();
+        AttendanceIndex.getInstance().start();
+        ArchiveService.getInstance().start();
+        StudentPurgeService.getInstance().start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        StudentPurgeService.getInstance().stop();
+        ArchiveService.getInstance().stop();
+        EventBroadcaster.getInstance().stop();
+        AttendanceIndex.getInstance().stop();
+        HealthMonitor.getInstance().stop();
+        WarmupService.getInstance().stop();
+        ReportJobManager.getInstance().shutdown();
+        DatabaseManager.getInstance().shutdown(DatabaseConfig.DRAIN_TIMEOUT);
+        deregisterDrivers();
+        AbandonedConnectionCleanupThread.checkedShutdown();
+        logger.info("Application stopped");
+    }
+
+    /**
+     * Deregister JDBC drivers loaded by this web application so its class loader can be collected
+     */
+    private static void deregisterDrivers() {
+        ClassLoader webappClassLoader = Thread.currentThread().getContextClassLoader();
+        Enumeration<Driver> drivers = DriverManager.getDrivers();
+
+        while (drivers.hasMoreElements()) {
+            Driver driver = drivers.nextElement();
+            if (driver.getClass().getClassLoader() == webappClassLoader) {
+                try {
+                    DriverManager.deregisterDriver(driver);
+                } catch (SQLException e) {
+                    logger.warn("Failed to deregister JDBC driver {}", driver, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.studentmanagement.lifecycle;
+
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.cache.ReferenceDataCache;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.AttendanceDAO;
+import com.studentmanagement.dao.MarksDAO;
+import com.studentmanagement.dao.StudentDAO;
+import com.studentmanagement.dao.SubjectDAO;
+import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.model.Attendance;
+import com.studentmanagement.model.Marks;
+import com.studentmanagement.model.Student;
+import com.studentmanagement.model.Subject;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.JsonUtil;
+
+/**
+ * Startup warm-up run in the background after deploy
+ * Pays the one-off costs that would otherwise land on the first users: filling the connection pool,
+ * server-side preparation of every DAO statement on each pooled connection, Jackson serializer construction
+ * and JIT compilation of the JSON paths, and loading reference caches.
+ * The health endpoint reports not ready until {@link #isComplete()} returns true.
+ */
+public class WarmupService {
+
+    /**
+     * Warm-up progress
+     */
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED, DISABLED
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    private volatile Status status = AppConfig.WARMUP_ENABLED ? Status.PENDING : Status.DISABLED;
+    private volatile Thread worker;
+    private final Map<String, Object> report = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private static class Holder {
+        private static final WarmupService INSTANCE = new WarmupService();
+    }
+
+    private WarmupService() {
+    }
+
+    /**
+     * Get singleton instance of WarmupService
+     * @return WarmupService instance
+     */
+    public static WarmupService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start warm-up on a background thread, does nothing if disabled or already started
+     */
+    public synchronized void start() {
+        if (status != Status.PENDING) {
+            return;
+        }
+        status = Status.RUNNING;
+        worker = new Thread(this::run, "warmup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Interrupt a warm-up that is still running, called on undeploy
+     */
+    public synchronized void stop() {
+        Thread thread = worker;
+        if (thread != null && thread.isAlive()) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Check whether warm-up has finished
+     * A failed warm-up also counts as finished, the application then serves with cold caches
+     * @return true if requests no longer wait on warm-up
+     */
+    public boolean isComplete() {
+        Status current = status;
+        return current == Status.COMPLETED || current == Status.FAILED || current == Status.DISABLED;
+    }
+
+    /**
+     * Get warm-up status
+     * @return Status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Get per-step timings and counters
+     * @return Copy of the warm-up report
+     */
+    public Map<String, Object> getReport() {
+        synchronized (report) {
+            return new LinkedHashMap<>(report);
+        }
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        boolean failed = false;
+
+        try {
+            step("connections", this::warmConnections);
+            step("json", this::warmJson);
+            step("referenceData", () -> ReferenceDataCache.getInstance().reload());
+        } catch (InterruptedException e) {
+            logger.info("Warm-up interrupted");
+            failed = true;
+        } catch (Exception e) {
+            logger.warn("Warm-up did not complete, continuing with cold caches", e);
+            failed = true;
+        }
+
+        report.put("totalMs", System.currentTimeMillis() - start);
+        status = failed ? Status.FAILED : Status.COMPLETED;
+        worker = null;
+        logger.info("Warm-up {} in {} ms", status.name().toLowerCase(), System.currentTimeMillis() - start);
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private void step(String name, Step step) throws Exception {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+        long start = System.currentTimeMillis();
+        step.run();
+        report.put(name + "Ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Borrow connections up to the warm-up target at the same time, which forces the pool to open them,
+     * and prepare every DAO statement on each. With cachePrepStmts and useServerPrepStmts the server-side
+     * statement stays cached on the connection after close, so later requests skip the prepare round trip.
+     */
+    private void warmConnections() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        statements.addAll(StudentDAO.getStatements());
+        statements.addAll(MarksDAO.getStatements());
+        statements.addAll(AttendanceDAO.getStatements());
+        statements.addAll(SubjectDAO.getStatements());
+
+        DatabaseManager databaseManager = DatabaseManager.getInstance();
+        List<Connection> borrowed = new ArrayList<>();
+        int prepared = 0;
+        int failures = 0;
+
+        try {
+            for (int i = 0; i < AppConfig.WARMUP_CONNECTIONS; i++) {
+                borrowed.add(databaseManager.getConnection());
+            }
+
+            for (Connection connection : borrowed) {
+                for (String sql : statements) {
+                    try {
+                        connection.prepareStatement(sql).close();
+                        prepared++;
+                    } catch (SQLException e) {
+                        // e.g. MySQL-only syntax on a local H2 database, the statement is prepared on first use instead
+                        failures++;
+                        logger.debug("Could not prepare statement during warm-up: {}", sql, e);
+                    }
+                }
+            }
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.debug("Failed to return warm-up connection", e);
+                }
+            }
+        }
+
+        report.put("connections", borrowed.size());
+        report.put("statementsPrepared", prepared);
+        report.put("statementFailures", failures);
+    }
+
+    /**
+     * Serialize and parse a sample of every model through the shared mappers until the paths are compiled
+     */
+    private void warmJson() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        Student student = new Student("Warmup", "warmup@example.com", "0000000000", "Warmup", "Other",
+            LocalDate.now(), "Warmup");
+        student.setId(1);
+        student.setRollNumber("WARMUP");
+        student.setCreatedAt(now);
+        student.setUpdatedAt(now);
+
+        Marks marks = new Marks(1, 1, 50, 100, "Warmup", LocalDate.now());
+        marks.setId(1);
+        marks.setSubjectName("Warmup");
+        marks.setSubjectCode("WU");
+        marks.setCreatedAt(now);
+        marks.setUpdatedAt(now);
+
+        Attendance attendance = new Attendance(1, 1, LocalDate.now(), "Present");
+        attendance.setId(1);
+        attendance.setSubjectName("Warmup");
+        attendance.setSubjectCode("WU");
+        attendance.setCreatedAt(now);
+
+        Subject subject = new Subject(1, "Warmup", "WU", "Warmup");
+        subject.setCreatedAt(now);
+
+        List<Object> samples = List.of(student, marks, attendance, subject);
+        ObjectMapper responseMapper = ApiResponse.getObjectMapper();
+        ObjectMapper jsonMapper = JsonUtil.getObjectMapper();
+        Writer sink = Writer.nullWriter();
+
+        for (int i = 0; i < AppConfig.WARMUP_JSON_ITERATIONS; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            for (Object sample : samples) {
+                responseMapper.writeValue(sink, ApiResponse.success("warmup", List.of(sample)));
+                String json = jsonMapper.writeValueAsString(ApiResponse.success("warmup", sample));
+                jsonMapper.readTree(json);
+                // Derived getters such as Student.isValid() are written but not readable, request bodies never carry them
+                jsonMapper.readerFor(sample.getClass())
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(jsonMapper.writeValueAsString(sample));
+            }
+        }
+    }
+}
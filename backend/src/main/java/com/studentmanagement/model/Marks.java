@@ -13,6 +13,8 @@ public class Marks {
     private LocalDate examDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Row version for optimistic concurrency, null for archived entries
+    private Integer version;
     
     // Additional fields for display
     private String studentName;
@@ -104,6 +106,14 @@ public class Marks {
         this.updatedAt = updatedAt;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public String getStudentName() {
         return studentName;
     }
@@ -22,6 +22,7 @@ public class Student {
     private String city;
     private String password; // Password for student login
     private String rollNumber; // Unique roll number
+    private Integer version; // Row version for optimistic concurrency, null when not known
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime createdAt;
@@ -152,6 +153,14 @@ public class Student {
         this.updatedAt = updatedAt;
     }
     
+    public Integer getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+    
     /**
      * Validate student data
      * @return true if all required fields are valid, false otherwise
@@ -0,0 +1,259 @@
+package com.studentmanagement.purge;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.attendance.AttendanceIndex;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.StudentDAO;
+
+/**
+ * Background purge of soft deleted students
+ * A deleted student is only marked with deleted_at, which hides it from every query at once. This worker then
+ * removes the student's attendance and marks in batches of {@link AppConfig#STUDENT_PURGE_BATCH} rows, each in its
+ * own short transaction and followed by a pause of {@link AppConfig#STUDENT_PURGE_PAUSE_MS}, and deletes the student
+ * row last. Compared with one cascading DELETE, no transaction holds locks on a long history, so attendance marking
+ * for other students keeps going. Students are purged one at a time in deletion order; the database is rescanned
+ * at startup and periodically, so purges interrupted by a restart or a database error are picked up again.
+ */
+public class StudentPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentPurgeService.class);
+
+    private static final long RESCAN_MINUTES = 5;
+    private static final int MAX_LISTED_PENDING = 20;
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    // Guarded by this; insertion order is deletion order
+    private final Set<Integer> pending = new LinkedHashSet<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong studentsPurged = new AtomicLong();
+    private final AtomicLong attendanceRowsPurged = new AtomicLong();
+    private final AtomicLong marksRowsPurged = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile Progress current;
+    private volatile long lastPurgeMs = -1;
+    private volatile String lastError;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Progress of the student being purged
+     */
+    private static final class Progress {
+        private final int studentId;
+        private final long startedAt = System.currentTimeMillis();
+        private final long attendanceTotal;
+        private final long marksTotal;
+        private volatile String phase = "attendance";
+        private volatile long attendanceDeleted;
+        private volatile long marksDeleted;
+
+        Progress(int studentId, long[] dependents) {
+            this.studentId = studentId;
+            this.attendanceTotal = dependents[0];
+            this.marksTotal = dependents[1];
+        }
+
+        Map<String, Object> toMap() {
+            long total = attendanceTotal + marksTotal;
+            long deleted = attendanceDeleted + marksDeleted;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("studentId", studentId);
+            map.put("phase", phase);
+            map.put("startedAt", startedAt);
+            map.put("attendanceDeleted", attendanceDeleted);
+            map.put("attendanceTotal", attendanceTotal);
+            map.put("marksDeleted", marksDeleted);
+            map.put("marksTotal", marksTotal);
+            // Rows added while the purge runs can push the count past the initial total
+            map.put("percent", total == 0 ? 100.0 : Math.min(100.0, Math.round(deleted * 1000.0 / total) / 10.0));
+            return map;
+        }
+    }
+
+    private static class Holder {
+        private static final StudentPurgeService INSTANCE = new StudentPurgeService();
+    }
+
+    private StudentPurgeService() {
+    }
+
+    /**
+     * Get singleton instance of StudentPurgeService
+     * @return StudentPurgeService instance
+     */
+    public static StudentPurgeService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start the worker thread and schedule the rescan for deleted students, the first one right away
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rescan, 0, RESCAN_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stop the worker thread, interrupting a purge between batches; it resumes after the next start
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Queue a soft deleted student for purging
+     * @param studentId Student ID
+     */
+    public synchronized void enqueue(int studentId) {
+        if (!pending.add(studentId) || scheduler == null) {
+            return;
+        }
+        try {
+            scheduler.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Stopping; the student is found again by the rescan after the next start
+        }
+    }
+
+    /**
+     * Get queue, progress and purge counters for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public Map<String, Object> getMetrics() {
+        List<Integer> queued;
+        synchronized (this) {
+            queued = new ArrayList<>(pending);
+        }
+        Progress progress = current;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("softDelete", AppConfig.STUDENT_SOFT_DELETE);
+        metrics.put("batchSize", AppConfig.STUDENT_PURGE_BATCH);
+        metrics.put("pauseMs", AppConfig.STUDENT_PURGE_PAUSE_MS);
+        metrics.put("running", running.get());
+        metrics.put("pending", queued.size());
+        metrics.put("pendingIds", queued.subList(0, Math.min(queued.size(), MAX_LISTED_PENDING)));
+        metrics.put("current", progress != null ? progress.toMap() : null);
+        metrics.put("studentsPurged", studentsPurged.get());
+        metrics.put("attendanceRowsPurged", attendanceRowsPurged.get());
+        metrics.put("marksRowsPurged", marksRowsPurged.get());
+        metrics.put("batches", batches.get());
+        metrics.put("failures", failures.get());
+        metrics.put("lastPurgeMs", lastPurgeMs >= 0 ? lastPurgeMs : null);
+        metrics.put("lastError", lastError);
+        return metrics;
+    }
+
+    // Pick up students deleted before a restart, by another instance, or left over after a failure
+    private void rescan() {
+        try {
+            for (int studentId : studentDAO.getDeletedStudentIds()) {
+                synchronized (this) {
+                    pending.add(studentId);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to look up deleted students: {}", e.getMessage());
+            lastError = e.getMessage();
+            return;
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Integer studentId;
+            while ((studentId = next()) != null) {
+                purge(studentId);
+                synchronized (this) {
+                    pending.remove(studentId);
+                }
+            }
+            lastError = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SQLException e) {
+            // Left queued, the next rescan retries it
+            failures.incrementAndGet();
+            lastError = e.getMessage();
+            logger.error("Student purge failed, retrying within {} minutes", RESCAN_MINUTES, e);
+        } finally {
+            current = null;
+            running.set(false);
+        }
+    }
+
+    private synchronized Integer next() {
+        Iterator<Integer> iterator = pending.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private void purge(int studentId) throws SQLException, InterruptedException {
+        long started = System.currentTimeMillis();
+        int batchSize = Math.max(1, AppConfig.STUDENT_PURGE_BATCH);
+        Progress progress = new Progress(studentId, studentDAO.countDependents(studentId));
+        current = progress;
+
+        int deleted;
+        while ((deleted = studentDAO.purgeAttendance(studentId, batchSize)) > 0) {
+            progress.attendanceDeleted += deleted;
+            attendanceRowsPurged.addAndGet(deleted);
+            pause();
+        }
+        progress.phase = "marks";
+        while ((deleted = studentDAO.purgeMarks(studentId, batchSize)) > 0) {
+            progress.marksDeleted += deleted;
+            marksRowsPurged.addAndGet(deleted);
+            pause();
+        }
+        progress.phase = "student";
+        if (studentDAO.purgeStudent(studentId)) {
+            studentsPurged.incrementAndGet();
+        }
+        // Attendance marked while the purge ran went into the index after the delete removed the student
+        AttendanceIndex.getInstance().removeStudent(studentId);
+
+        lastPurgeMs = System.currentTimeMillis() - started;
+        logger.info("Purged student {} with {} attendance and {} marks rows in {} ms", studentId,
+            progress.attendanceDeleted, progress.marksDeleted, lastPurgeMs);
+    }
+
+    private void pause() throws InterruptedException {
+        batches.incrementAndGet();
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+        if (AppConfig.STUDENT_PURGE_PAUSE_MS > 0) {
+            Thread.sleep(AppConfig.STUDENT_PURGE_PAUSE_MS);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.studentmanagement.report;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.studentmanagement.dao.AttendanceDAO;
+import com.studentmanagement.dao.StudentDAO;
+import com.studentmanagement.model.Student;
+import com.studentmanagement.util.CsvWriter;
+
+/**
+ * Attendance defaulter list: every student and subject whose attendance is below the threshold
+ * Parameters: threshold (percentage, default 75), course (optional)
+ */
+public class AttendanceDefaulterReportGenerator implements ReportGenerator {
+
+    private static final double DEFAULT_THRESHOLD = 75.0;
+    private static final String[] HEADER = {
+        "rollNumber", "studentName", "course", "email", "subjectName", "attendancePercentage"
+    };
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final AttendanceDAO attendanceDAO = new AttendanceDAO();
+
+    @Override
+    public void generate(ReportJob job, Path output) throws Exception {
+        double threshold = parseThreshold(job.getParams().get("threshold"));
+        String course = job.getParams().get("course");
+
+        List<Student> students = studentDAO.getAllStudents();
+        if (course != null && !course.isEmpty()) {
+            students.removeIf(student -> !course.equalsIgnoreCase(student.getCourse()));
+        }
+        job.setTotal(students.size());
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             CsvWriter csv = new CsvWriter(writer)) {
+
+            csv.writeBom();
+            csv.writeRow(HEADER);
+
+            for (Student student : students) {
+                if (job.isCancelled()) {
+                    return;
+                }
+
+                Map<String, Double> percentages = attendanceDAO.getAttendancePercentage(student.getId());
+                for (Map.Entry<String, Double> entry : percentages.entrySet()) {
+                    if (entry.getValue() < threshold) {
+                        csv.writeRow(student.getRollNumber(), student.getName(), student.getCourse(),
+                            student.getEmail(), entry.getKey(), String.format("%.2f", entry.getValue()));
+                    }
+                }
+                job.incrementProcessed();
+            }
+        }
+    }
+
+    @Override
+    public void validate(Map<String, String> params) {
+        parseThreshold(params.get("threshold"));
+    }
+
+    private static double parseThreshold(String value) {
+        if (value == null || value.isEmpty()) {
+            return DEFAULT_THRESHOLD;
+        }
+        try {
+            double threshold = Double.parseDouble(value);
+            if (threshold < 0 || threshold > 100) {
+                throw new IllegalArgumentException("Threshold must be between 0 and 100");
+            }
+            return threshold;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid threshold: " + value);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.studentmanagement.report;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Generates the content of a report into a file
+ * Implementations should update the job's progress as they go and check {@link ReportJob#isCancelled()}
+ */
+public interface ReportGenerator {
+
+    void generate(ReportJob job, Path output) throws Exception;
+
+    /**
+     * Validate job parameters before the job is queued
+     * @param params Job parameters
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    default void validate(Map<String, String> params) {
+        // No parameters to validate by default
+    }
+}
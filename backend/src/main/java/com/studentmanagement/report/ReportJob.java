@@ -0,0 +1,187 @@
+package com.studentmanagement.report;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A background report job and its current state
+ * Mutable state is volatile or atomic because it is written by a worker thread and read by request threads.
+ * Status changes are compare-and-set, so a job cancelled by a request thread stays cancelled whatever the worker does.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final String id;
+    private final ReportType type;
+    private final ReportPriority priority;
+    private final Map<String, String> params;
+    private final long sequence;
+    private final long createdAt;
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String error;
+    private volatile Path resultFile;
+    private volatile long resultSize;
+    private final AtomicInteger processed = new AtomicInteger();
+    private volatile int total;
+
+    public ReportJob(String id, ReportType type, ReportPriority priority, Map<String, String> params, long sequence) {
+        this.id = id;
+        this.type = type;
+        this.priority = priority;
+        this.params = params != null ? Collections.unmodifiableMap(params) : Collections.emptyMap();
+        this.sequence = sequence;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    // Progress reporting used by generators
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public void incrementProcessed() {
+        processed.incrementAndGet();
+    }
+
+    /**
+     * Get completion percentage (0-100)
+     * @return Progress percentage
+     */
+    public int getProgress() {
+        if (status.get() == Status.COMPLETED) {
+            return 100;
+        }
+        int totalItems = total;
+        return totalItems > 0 ? Math.min(99, processed.get() * 100 / totalItems) : 0;
+    }
+
+    @JsonIgnore
+    public boolean isCancelled() {
+        return status.get() == Status.CANCELLED;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        Status current = status.get();
+        return current == Status.COMPLETED || current == Status.FAILED || current == Status.CANCELLED;
+    }
+
+    // State transitions used by ReportJobManager, each returns false when the job was no longer in the expected state
+
+    boolean markRunning() {
+        if (!status.compareAndSet(Status.QUEUED, Status.RUNNING)) {
+            return false;
+        }
+        startedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    boolean markCompleted(Path file, long size) {
+        // Result fields are written first so a reader that sees COMPLETED also sees them
+        resultFile = file;
+        resultSize = size;
+        if (!status.compareAndSet(Status.RUNNING, Status.COMPLETED)) {
+            return false;
+        }
+        finishedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    boolean markFailed(String message) {
+        if (!status.compareAndSet(Status.RUNNING, Status.FAILED)) {
+            return false;
+        }
+        error = message;
+        finishedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    boolean markCancelled() {
+        Status current;
+        do {
+            current = status.get();
+            if (current == Status.COMPLETED || current == Status.FAILED || current == Status.CANCELLED) {
+                return false;
+            }
+        } while (!status.compareAndSet(current, Status.CANCELLED));
+        finishedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    // Getters
+
+    public String getId() {
+        return id;
+    }
+
+    public ReportType getType() {
+        return type;
+    }
+
+    public ReportPriority getPriority() {
+        return priority;
+    }
+
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getStartedAt() {
+        return startedAt > 0 ? startedAt : null;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt > 0 ? finishedAt : null;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @JsonIgnore
+    public Path getResultFile() {
+        return resultFile;
+    }
+
+    public Long getResultSize() {
+        return status.get() == Status.COMPLETED ? resultSize : null;
+    }
+
+    public String getFileName() {
+        return type.getFileName() + "-" + id.substring(0, 8) + ".csv";
+    }
+}
@@ -0,0 +1,257 @@
+package com.studentmanagement.report;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.config.AppConfig;
+
+/**
+ * Background report job manager
+ * Jobs run on a bounded worker pool ordered by priority (FIFO within a priority),
+ * results are written to files under {@link AppConfig#REPORT_DIR} and removed after {@link AppConfig#REPORT_TTL_MINUTES}
+ */
+public class ReportJobManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobManager.class);
+    private static final long CLEANUP_INTERVAL_SECONDS = 60;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportType, ReportGenerator> generators = new EnumMap<>(ReportType.class);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Path reportDir;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService cleaner;
+
+    private static class Holder {
+        private static final ReportJobManager INSTANCE = new ReportJobManager();
+    }
+
+    /**
+     * Runnable wrapper ordering jobs in the priority queue
+     */
+    private final class PrioritizedJob implements Runnable, Comparable<PrioritizedJob> {
+        private final ReportJob job;
+
+        PrioritizedJob(ReportJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            queued.decrementAndGet();
+            runJob(job);
+        }
+
+        @Override
+        public int compareTo(PrioritizedJob other) {
+            int byPriority = job.getPriority().compareTo(other.job.getPriority());
+            return byPriority != 0 ? byPriority : Long.compare(job.getSequence(), other.job.getSequence());
+        }
+    }
+
+    private ReportJobManager() {
+        reportDir = Paths.get(AppConfig.REPORT_DIR);
+        generators.put(ReportType.TRANSCRIPTS, new TranscriptReportGenerator());
+        generators.put(ReportType.ATTENDANCE_DEFAULTERS, new AttendanceDefaulterReportGenerator());
+
+        int threads = Math.max(1, AppConfig.REPORT_WORKER_THREADS);
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), daemonThreads("report-worker"));
+
+        cleaner = Executors.newSingleThreadScheduledExecutor(daemonThreads("report-cleaner"));
+        cleaner.scheduleWithFixedDelay(this::cleanupExpired, CLEANUP_INTERVAL_SECONDS,
+            CLEANUP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        prepareReportDir();
+    }
+
+    /**
+     * Get singleton instance of ReportJobManager
+     * @return ReportJobManager instance
+     */
+    public static ReportJobManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Submit a report job
+     * @param type Report type
+     * @param priority Scheduling priority
+     * @param params Report parameters
+     * @return The queued job
+     * @throws IllegalArgumentException if the parameters are invalid
+     * @throws RejectedExecutionException if the queue is full or the manager is shut down
+     */
+    public ReportJob submit(ReportType type, ReportPriority priority, Map<String, String> params) {
+        generators.get(type).validate(params);
+
+        if (queued.incrementAndGet() > AppConfig.REPORT_QUEUE_CAPACITY) {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Report queue is full, try again later");
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), type, priority, params,
+            sequence.incrementAndGet());
+        jobs.put(job.getId(), job);
+
+        try {
+            workers.execute(new PrioritizedJob(job));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            jobs.remove(job.getId());
+            throw e;
+        }
+
+        logger.info("Queued {} report job {} with priority {}", type, job.getId(), priority);
+        return job;
+    }
+
+    /**
+     * Get job by ID
+     * @param id Job ID
+     * @return ReportJob or null if unknown or expired
+     */
+    public ReportJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Get all known jobs, newest first
+     * @return List of jobs
+     */
+    public List<ReportJob> getJobs() {
+        List<ReportJob> list = new ArrayList<>(jobs.values());
+        list.sort(Comparator.comparingLong(ReportJob::getSequence).reversed());
+        return list;
+    }
+
+    /**
+     * Cancel a job and remove its result
+     * A queued job is skipped when it reaches a worker, a running job stops at its next progress check
+     * @param id Job ID
+     * @return true if the job existed
+     */
+    public boolean cancel(String id) {
+        ReportJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        job.markCancelled();
+        deleteQuietly(job.getResultFile());
+        logger.info("Cancelled report job {}", id);
+        return true;
+    }
+
+    /**
+     * Stop accepting jobs and interrupt running ones
+     */
+    public void shutdown() {
+        cleaner.shutdownNow();
+        workers.shutdownNow();
+        logger.info("Report job manager stopped");
+    }
+
+    private void runJob(ReportJob job) {
+        if (!job.markRunning()) {
+            // Cancelled while queued
+            return;
+        }
+        Path partial = reportDir.resolve(job.getId() + ".part");
+        Path result = reportDir.resolve(job.getId() + ".csv");
+
+        try {
+            generators.get(job.getType()).generate(job, partial);
+
+            if (job.isCancelled()) {
+                deleteQuietly(partial);
+                return;
+            }
+
+            Files.move(partial, result, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (!job.markCompleted(result, Files.size(result))) {
+                // Cancelled during the move, before the result existed for cancel to delete
+                deleteQuietly(result);
+                return;
+            }
+            logger.info("Report job {} completed in {} ms", job.getId(), job.getFinishedAt() - job.getStartedAt());
+
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            if (job.markFailed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName())) {
+                logger.error("Report job {} failed", job.getId(), e);
+            }
+        }
+    }
+
+    private void cleanupExpired() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(AppConfig.REPORT_TTL_MINUTES);
+
+        for (ReportJob job : jobs.values()) {
+            Long finishedAt = job.getFinishedAt();
+            if (finishedAt != null && finishedAt < cutoff) {
+                jobs.remove(job.getId());
+                deleteQuietly(job.getResultFile());
+                logger.info("Expired report job {}", job.getId());
+            }
+        }
+    }
+
+    private void prepareReportDir() {
+        try {
+            Files.createDirectories(reportDir);
+
+            // Results of a previous run are unreachable because jobs are kept in memory
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(reportDir, "*.{csv,part}")) {
+                for (Path file : stale) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to prepare report directory {}", reportDir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete report file {}", file, e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.studentmanagement.report;
+
+/**
+ * Scheduling priority of a report job, higher priorities are picked up first
+ */
+public enum ReportPriority {
+    HIGH, NORMAL, LOW;
+
+    /**
+     * Resolve a priority from a request value, defaulting to NORMAL
+     * @param value Priority name
+     * @return ReportPriority
+     */
+    public static ReportPriority fromValue(String value) {
+        if (value != null) {
+            for (ReportPriority priority : values()) {
+                if (priority.name().equalsIgnoreCase(value.trim())) {
+                    return priority;
+                }
+            }
+        }
+        return NORMAL;
+    }
+}
@@ -0,0 +1,40 @@
+package com.studentmanagement.report;
+
+/**
+ * Report types that can be generated in the background
+ */
+public enum ReportType {
+
+    /** Every student's marks, grouped per student with an overall percentage */
+    TRANSCRIPTS("transcripts"),
+
+    /** Students whose attendance in a subject is below a threshold (default 75%) */
+    ATTENDANCE_DEFAULTERS("attendance-defaulters");
+
+    private final String fileName;
+
+    ReportType(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Resolve a report type from a request value, accepting "attendance-defaulters" or "ATTENDANCE_DEFAULTERS"
+     * @param value Report type name
+     * @return ReportType or null if unknown
+     */
+    public static ReportType fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (ReportType type : values()) {
+            if (type.name().equalsIgnoreCase(value.trim()) || type.fileName.equalsIgnoreCase(value.trim())) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
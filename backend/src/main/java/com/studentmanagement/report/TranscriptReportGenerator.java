@@ -0,0 +1,74 @@
+package com.studentmanagement.report;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.studentmanagement.dao.MarksDAO;
+import com.studentmanagement.dao.StudentDAO;
+import com.studentmanagement.model.Marks;
+import com.studentmanagement.model.Student;
+import com.studentmanagement.util.CsvWriter;
+
+/**
+ * Semester transcripts for every student (optionally limited to one course)
+ * Writes one row per marks entry followed by an overall row per student
+ */
+public class TranscriptReportGenerator implements ReportGenerator {
+
+    private static final String[] HEADER = {
+        "rollNumber", "studentName", "course", "subjectCode", "subjectName",
+        "examType", "examDate", "marksObtained", "totalMarks", "percentage"
+    };
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final MarksDAO marksDAO = new MarksDAO();
+
+    @Override
+    public void generate(ReportJob job, Path output) throws Exception {
+        String course = job.getParams().get("course");
+        List<Student> students = studentDAO.getAllStudents();
+        if (course != null && !course.isEmpty()) {
+            students.removeIf(student -> !course.equalsIgnoreCase(student.getCourse()));
+        }
+        job.setTotal(students.size());
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             CsvWriter csv = new CsvWriter(writer)) {
+
+            csv.writeBom();
+            csv.writeRow(HEADER);
+
+            for (Student student : students) {
+                if (job.isCancelled()) {
+                    return;
+                }
+
+                double obtained = 0;
+                double total = 0;
+                for (Marks marks : marksDAO.getMarksByStudentId(student.getId())) {
+                    obtained += marks.getMarksObtained();
+                    total += marks.getTotalMarks();
+                    csv.writeRow(student.getRollNumber(), student.getName(), student.getCourse(),
+                        marks.getSubjectCode(), marks.getSubjectName(), marks.getExamType(),
+                        marks.getExamDate() != null ? marks.getExamDate().toString() : null,
+                        format(marks.getMarksObtained()), format(marks.getTotalMarks()),
+                        format(marks.getPercentage()));
+                }
+
+                if (total > 0) {
+                    csv.writeRow(student.getRollNumber(), student.getName(), student.getCourse(),
+                        null, "OVERALL", null, null, format(obtained), format(total),
+                        format(obtained * 100 / total));
+                }
+                job.incrementProcessed();
+            }
+        }
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+}
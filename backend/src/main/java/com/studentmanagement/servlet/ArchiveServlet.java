@@ -0,0 +1,65 @@
+package com.studentmanagement.servlet;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.studentmanagement.archive.ArchiveService;
+import com.studentmanagement.filter.AuthTokenFilter;
+import com.studentmanagement.util.ApiResponse;
+
+/**
+ * Archive Servlet for the academic year archive job
+ * GET  /api/archive      - job state, counters and the archived segments
+ * POST /api/archive/run  - start a run now (admin token required, even without AUTH_ENFORCED); 409 if the job is
+ *                          disabled, ARCHIVE_DIR is not configured or a run is already in progress
+ */
+@WebServlet("/api/archive/*")
+public class ArchiveServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null || "/".equals(pathInfo)) {
+            ApiResponse.sendSuccess(response, ArchiveService.getInstance().getMetrics(),
+                "Archive status retrieved successfully");
+        } else {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!"/run".equals(request.getPathInfo())) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            return;
+        }
+
+        // A run deletes rows from the hot tables, so it is never left to anonymous callers
+        if (!AuthTokenFilter.requireAdmin(request, response)) {
+            return;
+        }
+        String disabled = ArchiveService.getDisabledReason();
+        if (disabled != null) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_CONFLICT, disabled);
+            return;
+        }
+
+        ArchiveService service = ArchiveService.getInstance();
+        if (!service.runNow()) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_CONFLICT,
+                "An archive run is already in progress or the job is stopped");
+            return;
+        }
+        ApiResponse.send(response, HttpServletResponse.SC_ACCEPTED,
+            ApiResponse.success("Archive run started", service.getMetrics()));
+    }
+}
@@ -1,6 +1,9 @@
 package com.studentmanagement.servlet;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,22 +13,31 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.attendance.AttendanceIndex;
+import com.studentmanagement.attendance.ShortageEngine;
+import com.studentmanagement.cache.ReferenceDataCache;
+import com.studentmanagement.cache.SingleFlight;
+import com.studentmanagement.config.AppConfig;
 import com.studentmanagement.dao.AttendanceDAO;
 import com.studentmanagement.model.Attendance;
+import com.studentmanagement.model.Subject;
 import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.RequestBodyReader;
 
 @WebServlet("/api/attendance/*")
 public class AttendanceServlet extends HttpServlet {
     
+    private static final SingleFlight STUDENT_ATTENDANCE_FLIGHT = SingleFlight.of("attendance.byStudent");
+    private static final SingleFlight PERCENTAGE_FLIGHT = SingleFlight.of("attendance.percentage");
+    // Longest range a summary's monthly breakdown may cover
+    private static final int MAX_SUMMARY_YEARS = 5;
+    private static final RequestBodyReader<Attendance> ATTENDANCE_BODY = RequestBodyReader.of(Attendance.class);
+    
     private AttendanceDAO attendanceDAO;
-    private ObjectMapper objectMapper;
     
     @Override
     public void init() throws ServletException {
         attendanceDAO = new AttendanceDAO();
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
     }
     
     @Override
@@ -35,23 +47,45 @@ public class AttendanceServlet extends HttpServlet {
         String pathInfo = request.getPathInfo();
         
         try {
-            if (pathInfo == null || "/".equals(pathInfo)) {
+            if ((pathInfo == null || "/".equals(pathInfo)) && request.getParameter("fields") != null) {
+                // Get all attendance with only the requested fields selected and written
+                List<String> fields = AttendanceDAO.resolveFields(request.getParameter("fields"));
+                List<Attendance> attendance = attendanceDAO.getAllAttendance(fields);
+                ApiResponse.sendSuccess(response, attendance, "Attendance retrieved successfully", fields);
+                
+            } else if (pathInfo == null || "/".equals(pathInfo)) {
                 // Get all attendance (for admin)
                 List<Attendance> attendance = attendanceDAO.getAllAttendance();
                 ApiResponse.sendSuccess(response, attendance, "Attendance retrieved successfully");
                 
+            } else if ("/absent".equals(pathInfo)) {
+                // Students absent on a date, per subject, from the attendance index
+                handleGetAbsentees(request, response);
+                
+            } else if ("/shortages".equals(pathInfo)) {
+                // Student and subject pairs below an attendance threshold, lowest first
+                handleGetShortages(request, response);
+                
             } else if (pathInfo.startsWith("/student/")) {
                 String remaining = pathInfo.substring("/student/".length());
                 
-                if (remaining.endsWith("/percentage")) {
+                if (remaining.endsWith("/summary")) {
+                    // Per-subject counts, streaks and monthly breakdown from the attendance index
+                    int studentId = Integer.parseInt(remaining.substring(0, remaining.length() - "/summary".length()));
+                    handleGetSummary(studentId, request, response);
+                } else if (remaining.endsWith("/percentage")) {
                     // Get attendance percentage
                     int studentId = Integer.parseInt(remaining.replace("/percentage", ""));
-                    Map<String, Double> percentage = attendanceDAO.getAttendancePercentage(studentId);
+                    Map<String, Double> percentage = PERCENTAGE_FLIGHT.execute(String.valueOf(studentId),
+                        () -> attendanceDAO.getAttendancePercentage(studentId));
                     ApiResponse.sendSuccess(response, percentage, "Attendance percentage retrieved successfully");
                 } else {
-                    // Get attendance for specific student
+                    // Get attendance for specific student, optionally within ?from=&to= dates
                     int studentId = Integer.parseInt(remaining);
-                    List<Attendance> attendance = attendanceDAO.getAttendanceByStudentId(studentId);
+                    LocalDate from = parseDate(request.getParameter("from"), null);
+                    LocalDate to = parseDate(request.getParameter("to"), null);
+                    List<Attendance> attendance = STUDENT_ATTENDANCE_FLIGHT.execute(studentId + ":" + from + ":" + to,
+                        () -> attendanceDAO.getAttendanceByStudentId(studentId, from, to));
                     ApiResponse.sendSuccess(response, attendance, "Attendance retrieved successfully");
                 }
                 
@@ -60,6 +94,10 @@ public class AttendanceServlet extends HttpServlet {
             }
         } catch (NumberFormatException e) {
             ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid student ID");
+        } catch (DateTimeParseException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid date, expected YYYY-MM-DD");
+        } catch (IllegalArgumentException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
@@ -67,12 +105,130 @@ public class AttendanceServlet extends HttpServlet {
         }
     }
     
+    // GET /api/attendance/student/{id}/summary?from=YYYY-MM-DD&to=YYYY-MM-DD, defaults to the last twelve months
+    private void handleGetSummary(int studentId, HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        AttendanceIndex index = AttendanceIndex.getInstance();
+        if (!index.isReady()) {
+            sendIndexUnavailable(index, response);
+            return;
+        }
+        
+        LocalDate to = parseDate(request.getParameter("to"), LocalDate.now());
+        LocalDate from = parseDate(request.getParameter("from"), to.minusYears(1).plusDays(1));
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (from.plusYears(MAX_SUMMARY_YEARS).isBefore(to)) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_SUMMARY_YEARS + " years");
+        }
+        
+        List<Map<String, Object>> subjects = index.getSummary(studentId, from, to);
+        ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+        for (Map<String, Object> summary : subjects) {
+            Subject subject = referenceData.getSubjectById((Integer) summary.get("subjectId"));
+            summary.put("subjectName", subject != null ? subject.getName() : null);
+            summary.put("subjectCode", subject != null ? subject.getCode() : null);
+        }
+        
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("studentId", studentId);
+        data.put("from", from.toString());
+        data.put("to", to.toString());
+        data.put("subjects", subjects);
+        ApiResponse.sendSuccess(response, data, "Attendance summary retrieved successfully");
+    }
+    
+    // GET /api/attendance/absent?date=YYYY-MM-DD[&subjectId=]
+    private void handleGetAbsentees(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        AttendanceIndex index = AttendanceIndex.getInstance();
+        if (!index.isReady()) {
+            sendIndexUnavailable(index, response);
+            return;
+        }
+        
+        String dateParam = request.getParameter("date");
+        if (dateParam == null || dateParam.trim().isEmpty()) {
+            throw new IllegalArgumentException("date is required");
+        }
+        LocalDate date = LocalDate.parse(dateParam.trim());
+        String subjectParam = request.getParameter("subjectId");
+        Integer subjectId;
+        try {
+            subjectId = subjectParam == null || subjectParam.trim().isEmpty() ? null : Integer.valueOf(subjectParam.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid subject ID");
+        }
+        
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("date", date.toString());
+        data.put("absentBySubject", index.getAbsentees(date, subjectId));
+        ApiResponse.sendSuccess(response, data, "Absentees retrieved successfully");
+    }
+    
+    // GET /api/attendance/shortages[?threshold=75][&course=][&subjectId=]
+    private void handleGetShortages(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        ShortageEngine engine = ShortageEngine.getInstance();
+        if (!engine.isReady()) {
+            sendIndexUnavailable(AttendanceIndex.getInstance(), response);
+            return;
+        }
+        
+        double threshold = AppConfig.ATTENDANCE_SHORTAGE_THRESHOLD;
+        String thresholdParam = request.getParameter("threshold");
+        if (thresholdParam != null && !thresholdParam.trim().isEmpty()) {
+            try {
+                threshold = Double.parseDouble(thresholdParam.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid threshold");
+            }
+            if (!(threshold >= 0 && threshold <= 100)) {
+                throw new IllegalArgumentException("threshold must be between 0 and 100");
+            }
+        }
+        String subjectParam = request.getParameter("subjectId");
+        Integer subjectId;
+        try {
+            subjectId = subjectParam == null || subjectParam.trim().isEmpty() ? null : Integer.valueOf(subjectParam.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid subject ID");
+        }
+        String course = request.getParameter("course");
+        
+        List<Map<String, Object>> shortages = engine.findShortages(threshold, course, subjectId);
+        ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+        for (Map<String, Object> shortage : shortages) {
+            Subject subject = referenceData.getSubjectById((Integer) shortage.get("subjectId"));
+            shortage.put("subjectName", subject != null ? subject.getName() : null);
+            shortage.put("subjectCode", subject != null ? subject.getCode() : null);
+        }
+        
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("threshold", threshold);
+        data.put("course", course != null && !course.trim().isEmpty() ? course.trim() : null);
+        data.put("count", shortages.size());
+        data.put("shortages", shortages);
+        ApiResponse.sendSuccess(response, data, "Attendance shortages retrieved successfully");
+    }
+    
+    private static LocalDate parseDate(String value, LocalDate defaultValue) {
+        return value == null || value.trim().isEmpty() ? defaultValue : LocalDate.parse(value.trim());
+    }
+    
+    private static void sendIndexUnavailable(AttendanceIndex index, HttpServletResponse response) throws IOException {
+        if (index.getState() != AttendanceIndex.State.DISABLED) {
+            response.setHeader("Retry-After", "5");
+        }
+        ApiResponse.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+            "Attendance index is " + index.getState().name().toLowerCase());
+    }
+    
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
         try {
-            Attendance attendance = objectMapper.readValue(request.getReader(), Attendance.class);
+            Attendance attendance = ATTENDANCE_BODY.read(request);
             
             // Validate required fields
             if (attendance.getStudentId() == 0 || attendance.getSubjectId() == 0 || 
@@ -89,9 +245,12 @@ public class AttendanceServlet extends HttpServlet {
                 List<Attendance> updatedAttendance = attendanceDAO.getAttendanceByStudentId(attendance.getStudentId());
                 ApiResponse.sendSuccess(response, updatedAttendance, "Attendance marked successfully");
             } else {
-                ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Failed to mark attendance");
+                // Nothing is written for a student that does not exist or is deleted
+                ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Student not found");
             }
             
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
@@ -0,0 +1,120 @@
+package com.studentmanagement.servlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.studentmanagement.auth.Role;
+import com.studentmanagement.auth.TokenClaims;
+import com.studentmanagement.auth.TokenService;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.filter.AuthTokenFilter;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.RequestBodyReader;
+
+/**
+ * Auth Servlet for admin login and session token management
+ * POST /api/auth/login   - admin login {"username", "password"}, returns a signed token
+ * POST /api/auth/logout  - revoke the presented token
+ * GET  /api/auth/me      - claims of the presented token
+ */
+@WebServlet("/api/auth/*")
+public class AuthServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthServlet.class);
+    private static final RequestBodyReader<Map<String, String>> CREDENTIALS_BODY =
+        RequestBodyReader.of(new TypeReference<Map<String, String>>() { });
+
+    private TokenService tokenService;
+
+    @Override
+    public void init() throws ServletException {
+        tokenService = TokenService.getInstance();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if ("/me".equals(request.getPathInfo())) {
+            TokenClaims claims = AuthTokenFilter.getClaims(request);
+            if (claims == null) {
+                ApiResponse.sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+            } else {
+                ApiResponse.sendSuccess(response, claims.toMap(), "Session retrieved successfully");
+            }
+        } else {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        if ("/login".equals(pathInfo)) {
+            handleLogin(request, response);
+        } else if ("/logout".equals(pathInfo)) {
+            TokenClaims claims = AuthTokenFilter.getClaims(request);
+            if (claims != null) {
+                tokenService.revoke(claims);
+            }
+            ApiResponse.sendSuccess(response, null, "Logged out successfully");
+        } else {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+        }
+    }
+
+    private void handleLogin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Map<String, String> credentials;
+        try {
+            credentials = CREDENTIALS_BODY.read(request);
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
+            return;
+        }
+
+        String username = credentials.get("username");
+        String password = credentials.get("password");
+        if (username == null || username.trim().isEmpty() || password == null || password.isEmpty()) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Username and password are required");
+            return;
+        }
+
+        // Evaluate both comparisons so response time does not reveal which one failed
+        boolean userMatches = constantTimeEquals(username.trim(), AppConfig.ADMIN_USERNAME);
+        boolean passwordMatches = constantTimeEquals(password, AppConfig.ADMIN_PASSWORD);
+        if (!(userMatches & passwordMatches)) {
+            logger.warn("Failed admin login for '{}'", username.trim());
+            ApiResponse.sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid credentials");
+            return;
+        }
+
+        Map<String, Object> user = new HashMap<>();
+        user.put("username", AppConfig.ADMIN_USERNAME);
+        user.put("role", "admin");
+
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("user", user);
+        responseData.put("token", tokenService.issue(AppConfig.ADMIN_USERNAME, Role.ADMIN));
+        ApiResponse.sendSuccess(response, responseData, "Login successful");
+    }
+
+    private static boolean constantTimeEquals(String provided, String expected) {
+        return MessageDigest.isEqual(provided.getBytes(StandardCharsets.UTF_8), expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package com.studentmanagement.servlet;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.studentmanagement.cache.ReferenceDataCache;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.dao.MarksDAO;
+import com.studentmanagement.dao.StudentDAO;
+import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.model.Student;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.RequestBodyReader;
+
+/**
+ * Batch Servlet resolving several multi-get reads in one request
+ * POST /api/batch {"requests": [{"id": "a", "resource": "students|marks|subjects", "ids": [1, 2]}]}
+ * Sub-requests share one pooled connection, borrowed only if a sub-request needs the database.
+ * The response lists one result per sub-request in request order, each with its own status,
+ * and each result's data holds one entry per requested ID in request order (null for unknown IDs).
+ */
+@WebServlet("/api/batch/*")
+public class BatchServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchServlet.class);
+    private static final RequestBodyReader<JsonNode> BATCH_BODY = RequestBodyReader.of(JsonNode.class);
+
+    private StudentDAO studentDAO;
+    private MarksDAO marksDAO;
+    private ReferenceDataCache referenceData;
+
+    @Override
+    public void init() throws ServletException {
+        studentDAO = new StudentDAO();
+        marksDAO = new MarksDAO();
+        referenceData = ReferenceDataCache.getInstance();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+        if (pathInfo != null && !"/".equals(pathInfo)) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            return;
+        }
+
+        JsonNode subRequests;
+        try {
+            subRequests = BATCH_BODY.read(request).path("requests");
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
+            return;
+        }
+        if (!subRequests.isArray() || subRequests.size() == 0) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "A non-empty requests array is required");
+            return;
+        }
+        if (subRequests.size() > AppConfig.BATCH_MAX_REQUESTS) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST,
+                "At most " + AppConfig.BATCH_MAX_REQUESTS + " requests are allowed per batch");
+            return;
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        Connection connection = null;
+        try {
+            for (JsonNode subRequest : subRequests) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("id", subRequest.path("id").isMissingNode() ? null : subRequest.path("id").asText());
+                String resource = subRequest.path("resource").asText("");
+                result.put("resource", resource);
+
+                List<Integer> ids;
+                try {
+                    ids = parseIds(subRequest.path("ids"));
+                } catch (IllegalArgumentException e) {
+                    results.add(failed(result, HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+                    continue;
+                }
+
+                try {
+                    switch (resource) {
+                        case "subjects":
+                            results.add(succeeded(result, referenceData.getSubjectsByIds(ids)));
+                            break;
+                        case "students":
+                            if (connection == null) {
+                                connection = DatabaseManager.getInstance().getReadConnection();
+                            }
+                            List<Student> students = studentDAO.getStudentsByIds(connection, ids);
+                            for (Student student : students) {
+                                if (student != null) {
+                                    student.setPassword(null);
+                                }
+                            }
+                            results.add(succeeded(result, students));
+                            break;
+                        case "marks":
+                            if (connection == null) {
+                                connection = DatabaseManager.getInstance().getReadConnection();
+                            }
+                            results.add(succeeded(result, marksDAO.getMarksByIds(connection, ids)));
+                            break;
+                        default:
+                            results.add(failed(result, HttpServletResponse.SC_BAD_REQUEST, "Unknown resource: " + resource));
+                    }
+                } catch (SQLException e) {
+                    logger.error("Batch sub-request for {} failed", resource, e);
+                    results.add(failed(result, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to retrieve " + resource));
+                }
+            }
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.warn("Failed to release batch connection", e);
+                }
+            }
+        }
+
+        ApiResponse.sendSuccess(response, results, "Batch completed");
+    }
+
+    private static List<Integer> parseIds(JsonNode node) {
+        if (!node.isArray() || node.size() == 0) {
+            throw new IllegalArgumentException("A non-empty ids array is required");
+        }
+        if (node.size() > AppConfig.MULTI_GET_MAX_IDS) {
+            throw new IllegalArgumentException("At most " + AppConfig.MULTI_GET_MAX_IDS + " IDs are allowed per request");
+        }
+        List<Integer> ids = new ArrayList<>(node.size());
+        for (JsonNode id : node) {
+            if (!id.canConvertToInt() || id.asInt() <= 0) {
+                throw new IllegalArgumentException("Invalid ID: " + id);
+            }
+            ids.add(id.asInt());
+        }
+        return ids;
+    }
+
+    private static Map<String, Object> succeeded(Map<String, Object> result, Object data) {
+        result.put("status", HttpServletResponse.SC_OK);
+        result.put("data", data);
+        return result;
+    }
+
+    private static Map<String, Object> failed(Map<String, Object> result, int status, String error) {
+        result.put("status", status);
+        result.put("error", error);
+        return result;
+    }
+}
@@ -15,6 +15,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.studentmanagement.cache.SingleFlight;
 import com.studentmanagement.dao.StudentDAO;
 import com.studentmanagement.util.ApiResponse;
 import com.studentmanagement.util.JsonUtil;
@@ -27,6 +28,8 @@ import com.studentmanagement.util.JsonUtil;
 public class DashboardServlet extends HttpServlet {
     
     private static final Logger logger = LoggerFactory.getLogger(DashboardServlet.class);
+    // Everyone opening the portal at once asks for the same statistics
+    private static final SingleFlight STATS_FLIGHT = SingleFlight.of("dashboard.stats");
     private final StudentDAO studentDAO;
     
     public DashboardServlet() {
@@ -62,6 +65,28 @@ public class DashboardServlet extends HttpServlet {
      */
     private void handleGetStats(HttpServletResponse response) throws SQLException {
         
+        Map<String, Object> stats = STATS_FLIGHT.execute("stats", this::loadStats);
+        
+        try {
+            // Create response using helper to ensure correct headers
+            ApiResponse.sendSuccess(response, stats, "Dashboard statistics retrieved successfully");
+            logger.info("Dashboard statistics retrieved - Total Students: {}, Total Courses: {}", 
+                stats.get("totalStudents"), stats.get("totalCourses"));
+        } catch (IOException e) {
+            logger.error("Failed to write dashboard response", e);
+            try {
+                ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to write response");
+            } catch (IOException ex) {
+                logger.error("Failed to send error response", ex);
+            }
+        }
+    }
+    
+    /**
+     * Query the dashboard statistics
+     */
+    private Map<String, Object> loadStats() throws SQLException {
+        
         // Get total students count
         int totalStudents = studentDAO.getTotalStudents();
         
@@ -100,19 +125,7 @@ public class DashboardServlet extends HttpServlet {
         
         stats.put("additionalStats", additionalStats);
         
-        try {
-            // Create response using helper to ensure correct headers
-            ApiResponse.sendSuccess(response, stats, "Dashboard statistics retrieved successfully");
-            logger.info("Dashboard statistics retrieved - Total Students: {}, Total Courses: {}", 
-                totalStudents, totalCourses);
-        } catch (IOException e) {
-            logger.error("Failed to write dashboard response", e);
-            try {
-                ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to write response");
-            } catch (IOException ex) {
-                logger.error("Failed to send error response", ex);
-            }
-        }
+        return stats;
     }
     
     /**
@@ -0,0 +1,164 @@
+package com.studentmanagement.servlet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.attendance.AttendanceIndex;
+import com.studentmanagement.attendance.ShortageEngine;
+import com.studentmanagement.cache.SingleFlight;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.database.PoolMetrics;
+import com.studentmanagement.database.UnitOfWork;
+import com.studentmanagement.database.instrument.JdbcInstrumentation;
+import com.studentmanagement.database.instrument.LeakRecord;
+import com.studentmanagement.database.instrument.QueryStats;
+import com.studentmanagement.events.EventBroadcaster;
+import com.studentmanagement.filter.AuthTokenFilter;
+import com.studentmanagement.filter.IdempotencyFilter;
+import com.studentmanagement.purge.StudentPurgeService;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.RequestBodyReader;
+
+/**
+ * Diagnostics Servlet exposing JDBC instrumentation data
+ * Every endpoint needs an admin token, even without AUTH_ENFORCED: responses carry SQL text and stack traces.
+ * GET /api/diagnostics/queries?sort=total|p99|count|rows|errors&limit=50 - per-SQL-fingerprint statistics
+ * DELETE /api/diagnostics/queries - reset statistics and leak records
+ * GET /api/diagnostics/leaks?heldMs=60000 - unclosed statements/result sets and long-held connections
+ * GET /api/diagnostics/pool - connection pool, replica status and unit of work counters
+ * GET /api/diagnostics/coalescing - single-flight counters per resource
+ * GET /api/diagnostics/events - change feed subscribers and delivery counters
+ * GET /api/diagnostics/attendance-index - attendance index state and size
+ * GET /api/diagnostics/shortages - shortage engine size and threshold crossings
+ * GET /api/diagnostics/idempotency - Idempotency-Key store size and replay counters
+ * GET /api/diagnostics/purge - deleted students waiting to be purged and progress of the current purge
+ * GET /api/diagnostics/request-bodies - JSON request bodies decoded and rejected as malformed or too large
+ */
+@WebServlet("/api/diagnostics/*")
+public class DiagnosticsServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsServlet.class);
+    private static final int DEFAULT_LIMIT = 50;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!AuthTokenFilter.requireAdmin(request, response)) {
+            return;
+        }
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if ("/queries".equals(pathInfo)) {
+                int limit = parsePositive(request.getParameter("limit"), DEFAULT_LIMIT);
+                List<Map<String, Object>> queries = new ArrayList<>();
+                for (QueryStats stats : JdbcInstrumentation.getQueryStats(request.getParameter("sort"), limit)) {
+                    queries.add(stats.toMap());
+                }
+
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("summary", JdbcInstrumentation.getSummary());
+                data.put("queries", queries);
+                ApiResponse.sendSuccess(response, data, "Query statistics retrieved successfully");
+
+            } else if ("/leaks".equals(pathInfo)) {
+                long heldMs = parsePositive(request.getParameter("heldMs"), AppConfig.CONNECTION_LEAK_THRESHOLD_MS);
+                List<Map<String, Object>> leaks = new ArrayList<>();
+                for (LeakRecord leak : JdbcInstrumentation.getLeaks()) {
+                    leaks.add(leak.toMap());
+                }
+
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("summary", JdbcInstrumentation.getSummary());
+                data.put("leaks", leaks);
+                data.put("heldConnections", JdbcInstrumentation.getLongHeldConnections(heldMs));
+                ApiResponse.sendSuccess(response, data, "Leak report retrieved successfully");
+
+            } else if ("/pool".equals(pathInfo)) {
+                DatabaseManager databaseManager = DatabaseManager.getInstance();
+                PoolMetrics pool = databaseManager.getPoolMetrics();
+
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("state", databaseManager.getState());
+                data.put("primary", pool != null ? pool.toMap() : null);
+                data.put("replica", databaseManager.getReplicaStatus());
+                data.put("transactions", UnitOfWork.getMetrics());
+                ApiResponse.sendSuccess(response, data, "Pool status retrieved successfully");
+
+            } else if ("/events".equals(pathInfo)) {
+                ApiResponse.sendSuccess(response, EventBroadcaster.getInstance().getMetrics(),
+                    "Event feed statistics retrieved successfully");
+
+            } else if ("/attendance-index".equals(pathInfo)) {
+                ApiResponse.sendSuccess(response, AttendanceIndex.getInstance().getMetrics(),
+                    "Attendance index statistics retrieved successfully");
+
+            } else if ("/shortages".equals(pathInfo)) {
+                ApiResponse.sendSuccess(response, ShortageEngine.getInstance().getMetrics(),
+                    "Shortage engine statistics retrieved successfully");
+
+            } else if ("/idempotency".equals(pathInfo)) {
+                ApiResponse.sendSuccess(response, IdempotencyFilter.getMetrics(),
+                    "Idempotency statistics retrieved successfully");
+
+            } else if ("/purge".equals(pathInfo)) {
+                ApiResponse.sendSuccess(response, StudentPurgeService.getInstance().getMetrics(),
+                    "Student purge status retrieved successfully");
+
+            } else if ("/request-bodies".equals(pathInfo)) {
+                ApiResponse.sendSuccess(response, RequestBodyReader.getMetrics(),
+                    "Request body statistics retrieved successfully");
+
+            } else if ("/coalescing".equals(pathInfo)) {
+                ApiResponse.sendSuccess(response, SingleFlight.getAllMetrics(),
+                    "Coalescing statistics retrieved successfully");
+
+            } else {
+                ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (NumberFormatException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid number: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error in GET request", e);
+            ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error");
+        }
+    }
+
+    @Override
+    protected void doDelete(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!AuthTokenFilter.requireAdmin(request, response)) {
+            return;
+        }
+        if ("/queries".equals(request.getPathInfo())) {
+            JdbcInstrumentation.reset();
+            logger.info("Query statistics reset");
+            ApiResponse.sendSuccess(response, null, "Query statistics reset successfully");
+        } else {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+        }
+    }
+
+    private static int parsePositive(String value, int defaultValue) {
+        return value == null || value.trim().isEmpty() ? defaultValue : Math.max(1, Integer.parseInt(value.trim()));
+    }
+
+    private static long parsePositive(String value, long defaultValue) {
+        return value == null || value.trim().isEmpty() ? defaultValue : Math.max(0, Long.parseLong(value.trim()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.studentmanagement.servlet;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.auth.Role;
+import com.studentmanagement.auth.TokenClaims;
+import com.studentmanagement.events.EventBroadcaster;
+import com.studentmanagement.filter.AuthTokenFilter;
+import com.studentmanagement.util.ApiResponse;
+
+/**
+ * Server-Sent Events change feed
+ * GET /api/events - text/event-stream of {"type", "id", "studentId", "at"} change events;
+ * admins and anonymous callers (when auth is not enforced) see every change, students only changes to their own records.
+ * Browsers' EventSource cannot send headers, so the token may be passed as ?access_token=
+ * and the resume point is taken from the Last-Event-ID header or ?lastEventId=.
+ */
+@WebServlet(urlPatterns = "/api/events", asyncSupported = true)
+public class EventStreamServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamServlet.class);
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        EventBroadcaster broadcaster = EventBroadcaster.getInstance();
+        if (!broadcaster.isRunning()) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Event feed is disabled");
+            return;
+        }
+
+        Integer studentId = null;
+        TokenClaims claims = AuthTokenFilter.getClaims(request);
+        if (claims != null && claims.getRole() == Role.STUDENT) {
+            try {
+                studentId = Integer.valueOf(claims.getSubject());
+            } catch (NumberFormatException e) {
+                ApiResponse.sendError(response, HttpServletResponse.SC_FORBIDDEN, "Access denied");
+                return;
+            }
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        // Stop nginx-style proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync();
+        // Streams stay open until the client leaves; dead sockets are found by the heartbeat write
+        asyncContext.setTimeout(0);
+
+        if (!broadcaster.subscribe(asyncContext, studentId, lastEventId(request))) {
+            logger.warn("Event subscriber limit reached, rejecting stream");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "30");
+            asyncContext.complete();
+        }
+    }
+
+    private static long lastEventId(HttpServletRequest request) {
+        String value = request.getHeader("Last-Event-ID");
+        if (value == null || value.trim().isEmpty()) {
+            value = request.getParameter("lastEventId");
+        }
+        if (value == null || value.trim().isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.studentmanagement.servlet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.studentmanagement.dao.Dataset;
+import com.studentmanagement.dao.ExportDAO;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.CsvWriter;
+
+/**
+ * Export Servlet streaming students, marks and attendance as CSV
+ * GET /api/export/{students|marks|attendance}?columns=a,b,c&gzip=true&{filters}
+ */
+@WebServlet("/api/export/*")
+public class ExportServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServlet.class);
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+
+    private ExportDAO exportDAO;
+
+    @Override
+    public void init() throws ServletException {
+        exportDAO = new ExportDAO();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+        Dataset dataset = pathInfo != null && pathInfo.length() > 1 ? Dataset.fromName(pathInfo.substring(1)) : null;
+
+        if (dataset == null) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND,
+                "Unknown export, expected one of: students, marks, attendance");
+            return;
+        }
+
+        List<String> fields;
+        Map<Dataset.Filter, Object> filters;
+        try {
+            fields = ExportDAO.resolveColumns(dataset, request.getParameter("columns"));
+            filters = ExportDAO.resolveFilters(dataset, request.getParameterMap());
+        } catch (IllegalArgumentException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        boolean gzip = Boolean.parseBoolean(request.getParameter("gzip"));
+        String fileName = dataset.name().toLowerCase() + "-" + LocalDate.now() + (gzip ? ".csv.gz" : ".csv");
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(gzip ? "application/gzip" : "text/csv; charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        response.setHeader("Cache-Control", "no-store");
+
+        long start = System.currentTimeMillis();
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            out = new GZIPOutputStream(out, WRITE_BUFFER_SIZE);
+        }
+
+        CsvWriter csv = new CsvWriter(new BufferedWriter(
+            new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE));
+        try {
+            csv.writeBom();
+            csv.writeRow(fields.toArray(new String[0]));
+            long rows = exportDAO.streamRows(dataset, fields, filters, csv::writeRow);
+            csv.close();
+
+            logger.info("Export of {} finished: {} rows in {} ms", dataset.name().toLowerCase(), rows,
+                System.currentTimeMillis() - start);
+        } catch (SQLException e) {
+            logger.error("Export of {} failed after {} ms", dataset.name().toLowerCase(),
+                System.currentTimeMillis() - start, e);
+            if (response.isCommitted()) {
+                // Part of the file is already on the wire, so the best we can do is abort the stream
+                throw new IOException("Export aborted", e);
+            }
+            response.reset();
+            ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                "Failed to export " + dataset.name().toLowerCase());
+        }
+    }
+}
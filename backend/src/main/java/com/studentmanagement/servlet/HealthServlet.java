@@ -0,0 +1,82 @@
+package com.studentmanagement.servlet;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.studentmanagement.database.DatabaseManager;
+import com.studentmanagement.database.PoolMetrics;
+import com.studentmanagement.health.HealthMonitor;
+import com.studentmanagement.health.HealthSnapshot;
+import com.studentmanagement.util.ApiResponse;
+
+/**
+ * Health endpoints for platform health checks, answered from the background prober's latest snapshot
+ * GET /api/health/live - the process is up and serving requests, never touches the database
+ * GET /api/health/ready - the database is reachable and warm-up has finished, 503 otherwise
+ * GET /api/health - same as ready, kept for existing health check configuration
+ * GET /api/health/pool - connection pool saturation for monitoring, 503 while requests queue on an exhausted pool;
+ *                        not meant as a platform health check, since restarting would not relieve the load
+ */
+@WebServlet("/api/health/*")
+public class HealthServlet extends HttpServlet {
+
+    private HealthMonitor healthMonitor;
+
+    @Override
+    public void init() throws ServletException {
+        healthMonitor = HealthMonitor.getInstance();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+        response.setHeader("Cache-Control", "no-store");
+
+        if ("/live".equals(pathInfo)) {
+            Map<String, Object> live = new LinkedHashMap<>();
+            live.put("status", "UP");
+            live.put("uptimeMs", healthMonitor.getUptimeMs());
+            ApiResponse.sendSuccess(response, live, "Service is alive");
+
+        } else if (pathInfo == null || "/".equals(pathInfo) || "/ready".equals(pathInfo)) {
+            HealthSnapshot snapshot = healthMonitor.getSnapshot();
+            if (healthMonitor.isReady(snapshot)) {
+                ApiResponse.sendSuccess(response, snapshot.getDetails(), "Service is ready");
+            } else {
+                Map<String, Object> details = snapshot.getDetails();
+                if (healthMonitor.isStale(snapshot)) {
+                    details = new LinkedHashMap<>(details);
+                    details.put("stale", true);
+                }
+                ApiResponse<Object> notReady = ApiResponse.success("Service is not ready", details);
+                notReady.setSuccess(false);
+                ApiResponse.send(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, notReady);
+            }
+
+        } else if ("/pool".equals(pathInfo)) {
+            PoolMetrics pool = DatabaseManager.getInstance().getPoolMetrics();
+            if (pool == null) {
+                ApiResponse.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Connection pool is not running");
+            } else if (pool.isExhausted()) {
+                ApiResponse<Object> exhausted = ApiResponse.success("Connection pool is exhausted", pool.toMap());
+                exhausted.setSuccess(false);
+                ApiResponse.send(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, exhausted);
+            } else {
+                ApiResponse.sendSuccess(response, pool.toMap(), "Connection pool has capacity");
+            }
+
+        } else {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.studentmanagement.servlet;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import javax.servlet.ServletException;
@@ -9,22 +11,26 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.cache.SingleFlight;
+import com.studentmanagement.config.AppConfig;
 import com.studentmanagement.dao.MarksDAO;
 import com.studentmanagement.model.Marks;
 import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.EntityTags;
+import com.studentmanagement.util.RequestBodyReader;
+import com.studentmanagement.util.RequestUtil;
 
 @WebServlet("/api/marks/*")
 public class MarksServlet extends HttpServlet {
     
+    private static final SingleFlight STUDENT_MARKS_FLIGHT = SingleFlight.of("marks.byStudent");
+    private static final RequestBodyReader<Marks> MARKS_BODY = RequestBodyReader.of(Marks.class);
+    
     private MarksDAO marksDAO;
-    private ObjectMapper objectMapper;
     
     @Override
     public void init() throws ServletException {
         marksDAO = new MarksDAO();
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
     }
     
     @Override
@@ -34,22 +40,51 @@ public class MarksServlet extends HttpServlet {
         String pathInfo = request.getPathInfo();
         
         try {
-            if (pathInfo == null || "/".equals(pathInfo)) {
+            if ((pathInfo == null || "/".equals(pathInfo)) && request.getParameter("ids") != null) {
+                // Get several marks entries by ID, in request order
+                List<Integer> ids = RequestUtil.parseIds(request.getParameter("ids"), AppConfig.MULTI_GET_MAX_IDS);
+                List<Marks> marks = marksDAO.getMarksByIds(ids);
+                ApiResponse.sendSuccess(response, marks, "Marks retrieved successfully");
+                
+            } else if ((pathInfo == null || "/".equals(pathInfo)) && request.getParameter("fields") != null) {
+                // Get all marks with only the requested fields selected and written
+                List<String> fields = MarksDAO.resolveFields(request.getParameter("fields"));
+                List<Marks> marks = marksDAO.getAllMarks(fields);
+                ApiResponse.sendSuccess(response, marks, "Marks retrieved successfully", fields);
+                
+            } else if (pathInfo == null || "/".equals(pathInfo)) {
                 // Get all marks (for admin)
                 List<Marks> marks = marksDAO.getAllMarks();
                 ApiResponse.sendSuccess(response, marks, "Marks retrieved successfully");
                 
             } else if (pathInfo.startsWith("/student/")) {
-                // Get marks for specific student
+                // Get marks for specific student, optionally within ?from=&to= exam dates
                 int studentId = Integer.parseInt(pathInfo.substring("/student/".length()));
-                List<Marks> marks = marksDAO.getMarksByStudentId(studentId);
+                LocalDate from = parseDate(request.getParameter("from"));
+                LocalDate to = parseDate(request.getParameter("to"));
+                List<Marks> marks = STUDENT_MARKS_FLIGHT.execute(studentId + ":" + from + ":" + to,
+                    () -> marksDAO.getMarksByStudentId(studentId, from, to));
                 ApiResponse.sendSuccess(response, marks, "Marks retrieved successfully");
                 
+            } else if (pathInfo.matches("/\\d+")) {
+                // Get one marks entry, with its version as ETag for a conditional PUT
+                Marks marks = marksDAO.getMarksById(Integer.parseInt(pathInfo.substring(1)));
+                if (marks == null) {
+                    ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Marks not found");
+                } else {
+                    EntityTags.set(response, marks.getVersion());
+                    ApiResponse.sendSuccess(response, marks, "Marks retrieved successfully");
+                }
+                
             } else {
                 ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
         } catch (NumberFormatException e) {
             ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid student ID");
+        } catch (DateTimeParseException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid date, expected YYYY-MM-DD");
+        } catch (IllegalArgumentException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
@@ -62,7 +97,7 @@ public class MarksServlet extends HttpServlet {
             throws ServletException, IOException {
         
         try {
-            Marks marks = objectMapper.readValue(request.getReader(), Marks.class);
+            Marks marks = MARKS_BODY.read(request);
             
             // Validate required fields
             if (marks.getStudentId() == 0 || marks.getSubjectId() == 0 || 
@@ -79,9 +114,12 @@ public class MarksServlet extends HttpServlet {
                 Marks addedMarks = marksDAO.getMarksById(marksId);
                 ApiResponse.sendSuccess(response, addedMarks, "Marks added successfully");
             } else {
-                ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Failed to add marks");
+                // Nothing is written for a student that does not exist or is deleted
+                ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Student not found");
             }
             
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
@@ -102,19 +140,42 @@ public class MarksServlet extends HttpServlet {
             }
             
             int marksId = Integer.parseInt(pathInfo.substring(1));
-            Marks marks = objectMapper.readValue(request.getReader(), Marks.class);
+            Marks marks = MARKS_BODY.read(request);
+            
+            // If-Match takes precedence over a version in the body; without either the current version is used
+            Integer expectedVersion = EntityTags.ifMatch(request);
+            if (expectedVersion != null) {
+                marks.setVersion(expectedVersion);
+            } else if (marks.getVersion() == null) {
+                Marks current = marksDAO.getMarksById(marksId);
+                if (current == null) {
+                    ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Marks not found");
+                    return;
+                }
+                marks.setVersion(current.getVersion());
+            }
             
             boolean updated = marksDAO.updateMarks(marksId, marks);
+            Marks current = marksDAO.getMarksById(marksId);
             
-            if (updated) {
-                Marks updatedMarks = marksDAO.getMarksById(marksId);
-                ApiResponse.sendSuccess(response, updatedMarks, "Marks updated successfully");
-            } else {
+            if (current == null) {
                 ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Marks not found");
+            } else if (updated) {
+                EntityTags.set(response, current.getVersion());
+                ApiResponse.sendSuccess(response, current, "Marks updated successfully");
+            } else {
+                // Stale version: return the current entry so the client can merge and retry with its ETag
+                EntityTags.set(response, current.getVersion());
+                ApiResponse.send(response, HttpServletResponse.SC_CONFLICT,
+                    new ApiResponse<>(false, "Marks were modified by another request", current));
             }
             
         } catch (NumberFormatException e) {
             ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid marks ID");
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
@@ -151,4 +212,8 @@ public class MarksServlet extends HttpServlet {
                 "Failed to delete marks: " + e.getMessage());
         }
     }
+    
+    private static LocalDate parseDate(String value) {
+        return value == null || value.trim().isEmpty() ? null : LocalDate.parse(value.trim());
+    }
 }
@@ -0,0 +1,145 @@
+package com.studentmanagement.servlet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.studentmanagement.report.ReportJob;
+import com.studentmanagement.report.ReportJobManager;
+import com.studentmanagement.report.ReportPriority;
+import com.studentmanagement.report.ReportType;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.RequestBodyReader;
+
+/**
+ * Report Servlet for submitting and polling background report jobs
+ * POST /api/reports                  - submit {"type", "priority", "params"}, returns the job
+ * GET  /api/reports                  - list jobs
+ * GET  /api/reports/{id}             - job status and progress
+ * GET  /api/reports/{id}/download    - download the finished report
+ * DELETE /api/reports/{id}           - cancel a job or discard its result
+ */
+@WebServlet("/api/reports/*")
+public class ReportServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportServlet.class);
+    private static final String DOWNLOAD_SUFFIX = "/download";
+    private static final RequestBodyReader<Map<String, Object>> REPORT_BODY =
+        RequestBodyReader.of(new TypeReference<Map<String, Object>>() { });
+
+    private ReportJobManager jobManager;
+
+    @Override
+    public void init() throws ServletException {
+        jobManager = ReportJobManager.getInstance();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        if (pathInfo == null || "/".equals(pathInfo)) {
+            ApiResponse.sendSuccess(response, jobManager.getJobs(), "Report jobs retrieved successfully");
+            return;
+        }
+
+        boolean download = pathInfo.endsWith(DOWNLOAD_SUFFIX);
+        String jobId = pathInfo.substring(1, download ? pathInfo.length() - DOWNLOAD_SUFFIX.length() : pathInfo.length());
+        ReportJob job = jobManager.getJob(jobId);
+
+        if (job == null) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Report job not found or expired");
+        } else if (!download) {
+            ApiResponse.sendSuccess(response, job, "Report job retrieved successfully");
+        } else if (job.getStatus() != ReportJob.Status.COMPLETED) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_CONFLICT,
+                "Report is not ready, current status: " + job.getStatus());
+        } else {
+            sendReportFile(job, response);
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        try {
+            Map<String, Object> body = REPORT_BODY.read(request);
+
+            ReportType type = ReportType.fromValue((String) body.get("type"));
+            if (type == null) {
+                ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Report type is required: transcripts or attendance-defaulters");
+                return;
+            }
+
+            ReportPriority priority = ReportPriority.fromValue((String) body.get("priority"));
+            Map<String, String> params = new HashMap<>();
+            if (body.get("params") instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) body.get("params")).entrySet()) {
+                    if (entry.getValue() != null) {
+                        params.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+                    }
+                }
+            }
+
+            ReportJob job = jobManager.submit(type, priority, params);
+            response.setHeader("Location", request.getContextPath() + "/api/reports/" + job.getId());
+            ApiResponse.send(response, HttpServletResponse.SC_ACCEPTED, ApiResponse.success("Report job queued", job));
+
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
+        } catch (IllegalArgumentException | ClassCastException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid report request: " + e.getMessage());
+        } catch (RejectedExecutionException e) {
+            response.setHeader("Retry-After", "30");
+            ApiResponse.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to queue report", e);
+            ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to queue report");
+        }
+    }
+
+    @Override
+    protected void doDelete(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        if (pathInfo == null || pathInfo.length() <= 1) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Report job ID is required");
+        } else if (jobManager.cancel(pathInfo.substring(1))) {
+            ApiResponse.sendSuccess(response, null, "Report job cancelled");
+        } else {
+            ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Report job not found or expired");
+        }
+    }
+
+    private void sendReportFile(ReportJob job, HttpServletResponse response) throws IOException {
+        try {
+            long size = Files.size(job.getResultFile());
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType("text/csv; charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + job.getFileName() + "\"");
+            response.setHeader("Content-Length", String.valueOf(size));
+            Files.copy(job.getResultFile(), response.getOutputStream());
+        } catch (NoSuchFileException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_GONE, "Report file has expired");
+        }
+    }
+}
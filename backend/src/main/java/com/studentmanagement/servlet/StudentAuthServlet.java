@@ -1,9 +1,14 @@
 package com.studentmanagement.servlet;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.studentmanagement.admission.RollNumberAllocator;
+import com.studentmanagement.auth.Role;
+import com.studentmanagement.auth.TokenService;
 import com.studentmanagement.dao.StudentDAO;
+import com.studentmanagement.database.UnitOfWork;
 import com.studentmanagement.model.Student;
 import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.RequestBodyReader;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -12,19 +17,21 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
 @WebServlet("/api/student/auth/*")
 public class StudentAuthServlet extends HttpServlet {
     
+    private static final RequestBodyReader<Map<String, String>> CREDENTIALS_BODY =
+        RequestBodyReader.of(new TypeReference<Map<String, String>>() { });
+    private static final RequestBodyReader<Student> STUDENT_BODY = RequestBodyReader.of(Student.class);
+    
     private StudentDAO studentDAO;
-    private ObjectMapper objectMapper;
     
     @Override
     public void init() throws ServletException {
         studentDAO = new StudentDAO();
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
     }
     
     @Override
@@ -101,10 +108,7 @@ public class StudentAuthServlet extends HttpServlet {
             throws IOException {
         try {
             // Parse request body
-            Map<String, String> credentials = objectMapper.readValue(
-                request.getReader(), 
-                objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, String.class)
-            );
+            Map<String, String> credentials = CREDENTIALS_BODY.read(request);
             
             String emailOrRoll = credentials.get("emailOrRoll");
             String password = credentials.get("password");
@@ -125,7 +129,7 @@ public class StudentAuthServlet extends HttpServlet {
                 
                 Map<String, Object> responseData = new HashMap<>();
                 responseData.put("student", student);
-                responseData.put("token", "student-token-" + student.getId()); // Simple token for demo
+                responseData.put("token", TokenService.getInstance().issue(String.valueOf(student.getId()), Role.STUDENT));
                 
                 ApiResponse.sendSuccess(response, responseData, "Login successful");
             } else {
@@ -133,6 +137,8 @@ public class StudentAuthServlet extends HttpServlet {
                     "Invalid credentials");
             }
             
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
@@ -144,7 +150,7 @@ public class StudentAuthServlet extends HttpServlet {
             throws IOException {
         try {
             // Parse request body
-            Student student = objectMapper.readValue(request.getReader(), Student.class);
+            Student student = STUDENT_BODY.read(request);
             
             // Validate required fields
             if (student.getName() == null || student.getName().trim().isEmpty() ||
@@ -156,24 +162,29 @@ public class StudentAuthServlet extends HttpServlet {
                 return;
             }
             
-            // Generate roll number if not provided
-            if (student.getRollNumber() == null || student.getRollNumber().trim().isEmpty()) {
-                // Get count and generate roll number
-                int count = studentDAO.getStudentCount() + 1;
-                student.setRollNumber(String.format("STU%04d", count));
-            }
-            
-            // Register student
-            int studentId = studentDAO.registerStudent(student);
+            // Insert and read back on one connection and commit once
+            Student registeredStudent = UnitOfWork.inTransaction(() -> {
+                // Generate roll number if not provided, from the allocator shared with bulk import so concurrent
+                // registrations never draw the same number
+                if (student.getRollNumber() == null || student.getRollNumber().trim().isEmpty()) {
+                    RollNumberAllocator allocator = RollNumberAllocator.getInstance();
+                    if (!allocator.isSeeded()) {
+                        allocator.seed(studentDAO.getHighestRollNumber());
+                    }
+                    student.setRollNumber(allocator.reserve(1, new HashSet<>())[0]);
+                }
+                
+                int studentId = studentDAO.registerStudent(student);
+                return studentId > 0 ? studentDAO.getStudentById(studentId) : null;
+            });
             
-            if (studentId > 0) {
-                // Fetch the complete student record
-                Student registeredStudent = studentDAO.getStudentById(studentId);
+            if (registeredStudent != null) {
                 registeredStudent.setPassword(null); // Remove password from response
                 
                 Map<String, Object> responseData = new HashMap<>();
                 responseData.put("student", registeredStudent);
-                responseData.put("token", "student-token-" + studentId);
+                responseData.put("token", TokenService.getInstance().issue(String.valueOf(registeredStudent.getId()),
+                    Role.STUDENT));
                 
                 ApiResponse.sendSuccess(response, responseData, "Registration successful");
             } else {
@@ -181,6 +192,8 @@ public class StudentAuthServlet extends HttpServlet {
                     "Registration failed - email or roll number may already exist");
             }
             
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            ApiResponse.sendError(response, e.getStatus(), e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
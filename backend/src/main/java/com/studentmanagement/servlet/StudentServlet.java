@@ -14,14 +14,22 @@ import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.studentmanagement.admission.ImportReport;
+import com.studentmanagement.admission.StudentImporter;
+import com.studentmanagement.config.AppConfig;
 import com.studentmanagement.dao.StudentDAO;
 import com.studentmanagement.model.Student;
 import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.EntityTags;
 import com.studentmanagement.util.JsonUtil;
+import com.studentmanagement.util.RequestBodyReader;
+import com.studentmanagement.util.RequestUtil;
 
 /**
  * Student Servlet handling all student-related REST API endpoints
  * Supports GET, POST, PUT, DELETE operations for student management
+ * POST /api/students/import - bulk admission import from CSV or JSON with a per-row report
+ * GET /api/students/{id} returns an ETag; PUT with a matching If-Match (or body version) answers 409 when stale
  */
 @WebServlet("/api/students/*")
 public class StudentServlet extends HttpServlet {
@@ -31,7 +39,9 @@ public class StudentServlet extends HttpServlet {
     private static final String CHARSET_UTF8 = "UTF-8";
     private static final String ERROR_STUDENT_NOT_FOUND = "Student not found";
     private static final String ERROR_INVALID_STUDENT_ID = "Invalid student ID";
+    private static final String ERROR_STUDENT_MODIFIED = "Student was modified by another request";
     private static final String ERROR_INTERNAL_SERVER = "Internal server error";
+    private static final RequestBodyReader<Student> STUDENT_BODY = RequestBodyReader.of(Student.class);
     
     private final StudentDAO studentDAO;
     
@@ -49,7 +59,13 @@ public class StudentServlet extends HttpServlet {
         
         try (PrintWriter out = response.getWriter()) {
             
-            if (pathInfo == null || pathInfo.equals("/")) {
+            if ((pathInfo == null || pathInfo.equals("/")) && request.getParameter("ids") != null) {
+                // GET /api/students?ids=1,2,3 - Get several students in one round trip
+                handleGetStudentsByIds(request.getParameter("ids"), response, out);
+            } else if ((pathInfo == null || pathInfo.equals("/")) && request.getParameter("fields") != null) {
+                // GET /api/students?fields=id,name,course - Get all students, selected fields only
+                handleGetAllStudentsFields(request.getParameter("fields"), response);
+            } else if (pathInfo == null || pathInfo.equals("/")) {
                 // GET /api/students - Get all students
                 handleGetAllStudents(response, out);
             } else {
@@ -75,24 +91,15 @@ public class StudentServlet extends HttpServlet {
         response.setContentType(CONTENT_TYPE_JSON);
         response.setCharacterEncoding(CHARSET_UTF8);
         
+        if ("/import".equals(request.getPathInfo())) {
+            handleImport(request, response);
+            return;
+        }
+        
         try {
-            // Read request body
-            StringBuilder jsonBuilder = new StringBuilder();
-            String line;
-            while ((line = request.getReader().readLine()) != null) {
-                jsonBuilder.append(line);
-            }
-            
-            String jsonData = jsonBuilder.toString();
-            logger.info("Received POST request with data: {}", jsonData);
-            
-            // Parse JSON to Student object
-            Student student = JsonUtil.fromJson(jsonData, Student.class);
-            
-            if (student == null) {
-                sendErrorResponse(response, "Invalid JSON data", HttpServletResponse.SC_BAD_REQUEST);
-                return;
-            }
+            // Parse the request body as it streams in
+            Student student = STUDENT_BODY.read(request);
+            logger.info("Received POST request for student {}", student.getEmail());
             
             // Validate student data
             if (!student.isValid()) {
@@ -118,6 +125,8 @@ public class StudentServlet extends HttpServlet {
             
             logger.info("Student added successfully with ID: {}", studentId);
             
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            sendErrorResponse(response, e.getMessage(), e.getStatus());
         } catch (IOException | SQLException | IllegalArgumentException e) {
             logger.error("Error in POST request", e);
             try {
@@ -128,6 +137,47 @@ public class StudentServlet extends HttpServlet {
         }
     }
     
+    // POST /api/students/import?dryRun=true - CSV (Content-Type: text/csv or ?format=csv) or a JSON array of students
+    private void handleImport(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String contentType = request.getContentType();
+        String format = request.getParameter("format");
+        boolean csv = format != null ? "csv".equalsIgnoreCase(format)
+            : contentType != null && contentType.toLowerCase().startsWith("text/csv");
+        if (format != null && !csv && !"json".equalsIgnoreCase(format)) {
+            sendErrorResponse(response, "Unsupported format, expected csv or json", HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(CHARSET_UTF8);
+        }
+        
+        StudentImporter importer = new StudentImporter(studentDAO, AppConfig.STUDENT_IMPORT_BATCH_SIZE,
+            AppConfig.STUDENT_IMPORT_MAX_ROWS, Boolean.parseBoolean(request.getParameter("dryRun")));
+        try {
+            ImportReport report = importer.importStudents(request.getReader(),
+                csv ? StudentImporter.Format.CSV : StudentImporter.Format.JSON);
+            String message = report.isDryRun()
+                ? String.format("Dry run: %d of %d rows would be created", report.getValid(), report.getTotal())
+                : String.format("Imported %d of %d rows", report.getCreated(), report.getTotal());
+            ApiResponse.sendSuccess(response, report, message);
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(response, e.getMessage(), HttpServletResponse.SC_BAD_REQUEST);
+        } catch (StudentImporter.TooManyRowsException e) {
+            // Rows up to the cap were processed, later ones were not read
+            logger.warn("Student import stopped at the row cap: {}", e.getMessage());
+            ApiResponse.send(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                new ApiResponse<>(false, e.getMessage(), importer.getReport()));
+        } catch (IOException e) {
+            // Malformed upload: earlier batches are committed, so return what happened to the rows before the error
+            logger.warn("Student import stopped on malformed input: {}", e.getMessage());
+            ApiResponse.send(response, HttpServletResponse.SC_BAD_REQUEST,
+                new ApiResponse<>(false, "Malformed upload: " + e.getMessage(), importer.getReport()));
+        } catch (SQLException e) {
+            logger.error("Student import failed", e);
+            sendErrorResponse(response, "Failed to import students", HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     @Override
     protected void doPut(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
@@ -146,27 +196,19 @@ public class StudentServlet extends HttpServlet {
             String idParam = pathInfo.substring(1); // Remove leading slash
             int studentId = Integer.parseInt(idParam);
             
-            // Read request body
-            StringBuilder jsonBuilder = new StringBuilder();
-            String line;
-            while ((line = request.getReader().readLine()) != null) {
-                jsonBuilder.append(line);
-            }
-            
-            String jsonData = jsonBuilder.toString();
-            logger.info("Received PUT request for ID {} with data: {}", studentId, jsonData);
-            
-            // Parse JSON to Student object
-            Student student = JsonUtil.fromJson(jsonData, Student.class);
-            
-            if (student == null) {
-                sendErrorResponse(response, "Invalid JSON data", HttpServletResponse.SC_BAD_REQUEST);
-                return;
-            }
+            // Parse the request body as it streams in
+            Student student = STUDENT_BODY.read(request);
+            logger.info("Received PUT request for ID {}", studentId);
             
             // Set the ID from URL parameter
             student.setId(studentId);
             
+            // If-Match takes precedence over a version in the body; without either the current version is used
+            Integer expectedVersion = EntityTags.ifMatch(request);
+            if (expectedVersion != null) {
+                student.setVersion(expectedVersion);
+            }
+            
             // Validate student data
             if (!student.isValid()) {
                 sendErrorResponse(response, "Invalid student data: " + student.getValidationError(), 
@@ -180,22 +222,47 @@ public class StudentServlet extends HttpServlet {
                 return;
             }
             
-            // Update student in database
+            if (student.getVersion() == null) {
+                Student current = studentDAO.getStudentById(studentId);
+                if (current == null) {
+                    sendErrorResponse(response, ERROR_STUDENT_NOT_FOUND, HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                student.setVersion(current.getVersion());
+            }
+            
+            // Update student in database, only if nobody changed it since the expected version
             boolean updated = studentDAO.updateStudent(student);
             
             if (updated) {
                 // Send success response
                 ApiResponse<Student> apiResponse = ApiResponse.success("Student updated successfully", student);
                 response.setStatus(HttpServletResponse.SC_OK);
+                EntityTags.set(response, student.getVersion());
                 response.getWriter().write(JsonUtil.toJson(apiResponse));
                 
                 logger.info("Student updated successfully with ID: {}", studentId);
             } else {
-                sendErrorResponse(response, ERROR_STUDENT_NOT_FOUND, HttpServletResponse.SC_NOT_FOUND);
+                Student current = studentDAO.getStudentById(studentId);
+                if (current == null) {
+                    sendErrorResponse(response, ERROR_STUDENT_NOT_FOUND, HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                // Lost the race: return the current state so the client can merge and retry with its ETag
+                current.setPassword(null);
+                EntityTags.set(response, current.getVersion());
+                ApiResponse.send(response, HttpServletResponse.SC_CONFLICT,
+                    new ApiResponse<>(false, ERROR_STUDENT_MODIFIED, current));
+                logger.info("Update of student {} rejected, version {} is stale, current is {}", studentId,
+                    student.getVersion(), current.getVersion());
             }
             
         } catch (NumberFormatException e) {
             sendErrorResponse(response, ERROR_INVALID_STUDENT_ID, HttpServletResponse.SC_BAD_REQUEST);
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(response, e.getMessage(), HttpServletResponse.SC_BAD_REQUEST);
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            sendErrorResponse(response, e.getMessage(), e.getStatus());
         } catch (IOException | SQLException e) {
             logger.error("Error in PUT request", e);
             sendErrorResponse(response, "Failed to update student", HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -261,6 +328,55 @@ public class StudentServlet extends HttpServlet {
         logger.info("Retrieved {} students", students.size());
     }
     
+    /**
+     * Handle GET request for all students with a sparse fieldset
+     * Only the requested columns are selected and only those properties are written
+     */
+    private void handleGetAllStudentsFields(String fieldsParam, HttpServletResponse response) 
+            throws SQLException, IOException {
+        
+        List<String> fields;
+        try {
+            fields = StudentDAO.resolveFields(fieldsParam);
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(response, e.getMessage(), HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        
+        List<Student> students = studentDAO.getAllStudents(fields);
+        ApiResponse.sendSuccess(response, students, "Students retrieved successfully", fields);
+    }
+    
+    /**
+     * Handle GET request for several students by ID
+     * The response holds one entry per requested ID in request order, null for unknown IDs
+     */
+    private void handleGetStudentsByIds(String idsParam, HttpServletResponse response, PrintWriter out) 
+            throws SQLException, IOException {
+        
+        List<Integer> ids;
+        try {
+            ids = RequestUtil.parseIds(idsParam, AppConfig.MULTI_GET_MAX_IDS);
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(response, e.getMessage(), HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        
+        List<Student> students = studentDAO.getStudentsByIds(ids);
+        
+        // Remove passwords from response for security
+        for (Student student : students) {
+            if (student != null) {
+                student.setPassword(null);
+            }
+        }
+        
+        ApiResponse<List<Student>> apiResponse = ApiResponse.success("Students retrieved successfully", students);
+        response.setStatus(HttpServletResponse.SC_OK);
+        out.write(JsonUtil.toJson(apiResponse));
+        logger.info("Retrieved students for {} IDs", ids.size());
+    }
+    
     /**
      * Handle GET request for student by ID
      */
@@ -277,6 +393,7 @@ public class StudentServlet extends HttpServlet {
                 
                 ApiResponse<Student> apiResponse = ApiResponse.success("Student retrieved successfully", student);
                 response.setStatus(HttpServletResponse.SC_OK);
+                EntityTags.set(response, student.getVersion());
                 out.write(JsonUtil.toJson(apiResponse));
                 logger.info("Retrieved student with ID: {}", studentId);
             } else {
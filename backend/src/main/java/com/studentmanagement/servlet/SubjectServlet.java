@@ -9,22 +9,20 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.studentmanagement.dao.SubjectDAO;
+import com.studentmanagement.cache.ReferenceDataCache;
+import com.studentmanagement.config.AppConfig;
 import com.studentmanagement.model.Subject;
 import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.RequestUtil;
 
 @WebServlet("/api/subjects/*")
 public class SubjectServlet extends HttpServlet {
     
-    private SubjectDAO subjectDAO;
-    private ObjectMapper objectMapper;
+    private ReferenceDataCache referenceData;
     
     @Override
     public void init() throws ServletException {
-        subjectDAO = new SubjectDAO();
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
+        referenceData = ReferenceDataCache.getInstance();
     }
     
     @Override
@@ -34,20 +32,28 @@ public class SubjectServlet extends HttpServlet {
         String pathInfo = request.getPathInfo();
         
         try {
-            if (pathInfo == null || "/".equals(pathInfo)) {
+            if ((pathInfo == null || "/".equals(pathInfo)) && request.getParameter("ids") != null) {
+                // Get several subjects by ID, in request order
+                List<Integer> ids = RequestUtil.parseIds(request.getParameter("ids"), AppConfig.MULTI_GET_MAX_IDS);
+                List<Subject> subjects = referenceData.getSubjectsByIds(ids);
+                ApiResponse.sendSuccess(response, subjects, "Subjects retrieved successfully");
+                
+            } else if (pathInfo == null || "/".equals(pathInfo)) {
                 // Get all subjects
-                List<Subject> subjects = subjectDAO.getAllSubjects();
+                List<Subject> subjects = referenceData.getAllSubjects();
                 ApiResponse.sendSuccess(response, subjects, "Subjects retrieved successfully");
                 
             } else if (pathInfo.startsWith("/course/")) {
                 // Get subjects by course
                 String course = pathInfo.substring("/course/".length());
-                List<Subject> subjects = subjectDAO.getSubjectsByCourse(course);
+                List<Subject> subjects = referenceData.getSubjectsByCourse(course);
                 ApiResponse.sendSuccess(response, subjects, "Subjects retrieved successfully");
                 
             } else {
                 ApiResponse.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
+        } catch (IllegalArgumentException e) {
+            ApiResponse.sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             ApiResponse.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
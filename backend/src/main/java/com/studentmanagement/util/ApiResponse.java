@@ -1,11 +1,23 @@
 package com.studentmanagement.util;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletResponse;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.studentmanagement.model.Attendance;
+import com.studentmanagement.model.Marks;
+import com.studentmanagement.model.Student;
 
 /**
  * Standard API response wrapper class
@@ -14,6 +26,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
     
+    // Shared, thread-safe mapper so serializers are built once instead of on every response
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    
+    // Copy of the mapper that applies a per-response property filter to the list models, for ?fields= requests;
+    // the filter is attached through a mix-in so every other mapper keeps writing the models unfiltered
+    private static final String FIELDS_FILTER = "fields";
+    private static final ObjectMapper fieldFilteringMapper = objectMapper.copy()
+        .addMixIn(Student.class, FieldFiltered.class)
+        .addMixIn(Marks.class, FieldFiltered.class)
+        .addMixIn(Attendance.class, FieldFiltered.class);
+    
+    @JsonFilter(FIELDS_FILTER)
+    private interface FieldFiltered {
+    }
+    
+    // The same mappers writing Smile and CBOR, for clients that negotiate a binary format with Accept
+    private static final Map<ResponseFormat, ObjectMapper> mappers = byFormat(objectMapper);
+    private static final Map<ResponseFormat, ObjectMapper> fieldFilteringMappers = byFormat(fieldFilteringMapper);
+    
     private boolean success;
     private String message;
     private T data;
@@ -91,14 +122,7 @@ public class ApiResponse<T> {
      */
     public static void sendSuccess(HttpServletResponse response, Object data, String message) 
             throws IOException {
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-        response.setStatus(HttpServletResponse.SC_OK);
-        
-        ApiResponse<Object> apiResponse = ApiResponse.success(message, data);
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.findAndRegisterModules();
-        mapper.writeValue(response.getWriter(), apiResponse);
+        send(response, HttpServletResponse.SC_OK, ApiResponse.success(message, data));
     }
     
     /**
@@ -110,14 +134,65 @@ public class ApiResponse<T> {
      */
     public static void sendError(HttpServletResponse response, int statusCode, String message) 
             throws IOException {
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
+        send(response, statusCode, ApiResponse.error(message));
+    }
+    
+    /**
+     * Send success response containing only the selected properties of the student, marks and attendance models
+     * @param response HTTP response object
+     * @param data Response data
+     * @param message Success message
+     * @param fields Model properties to write, as validated by the DAO's resolveFields
+     * @throws IOException if writing response fails
+     */
+    public static void sendSuccess(HttpServletResponse response, Object data, String message, Collection<String> fields) 
+            throws IOException {
+        FilterProvider filters = new SimpleFilterProvider()
+            .addFilter(FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(new HashSet<>(fields)));
+        ResponseFormat format = ResponseFormat.current();
+        response.setStatus(HttpServletResponse.SC_OK);
+        write(response, format, fieldFilteringMappers.get(format).writer(filters), success(message, data));
+    }
+    
+    /**
+     * Send a prepared response with the given status, as JSON or in the binary format the request negotiated
+     * @param response HTTP response object
+     * @param statusCode HTTP status code
+     * @param apiResponse Response body
+     * @throws IOException if writing response fails
+     */
+    public static void send(HttpServletResponse response, int statusCode, ApiResponse<?> apiResponse) 
+            throws IOException {
+        ResponseFormat format = ResponseFormat.current();
         response.setStatus(statusCode);
-        
-        ApiResponse<Object> apiResponse = ApiResponse.error(message);
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.findAndRegisterModules();
-        mapper.writeValue(response.getWriter(), apiResponse);
+        write(response, format, mappers.get(format).writer(), apiResponse);
+    }
+    
+    private static void write(HttpServletResponse response, ResponseFormat format, ObjectWriter writer, Object value)
+            throws IOException {
+        response.setContentType(format.getMediaType());
+        if (format.isBinary()) {
+            writer.writeValue(response.getOutputStream(), value);
+        } else {
+            response.setCharacterEncoding("UTF-8");
+            writer.writeValue(response.getWriter(), value);
+        }
+    }
+    
+    private static Map<ResponseFormat, ObjectMapper> byFormat(ObjectMapper jsonMapper) {
+        Map<ResponseFormat, ObjectMapper> formats = new EnumMap<>(ResponseFormat.class);
+        for (ResponseFormat format : ResponseFormat.values()) {
+            formats.put(format, format.isBinary() ? jsonMapper.copyWith(format.newFactory()) : jsonMapper);
+        }
+        return formats;
+    }
+    
+    /**
+     * Get the ObjectMapper used to write API responses
+     * @return ObjectMapper instance
+     */
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
     }
     
     // Getters and Setters
@@ -0,0 +1,116 @@
+package com.studentmanagement.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV reader, the counterpart of {@link CsvWriter}
+ * Reads one row at a time from the underlying reader, so memory use does not grow with row count.
+ * Accepts quoted cells with embedded commas, quotes and line breaks, CRLF or LF line endings and a leading
+ * UTF-8 byte order mark as written by Excel.
+ */
+public class CsvReader implements Closeable {
+
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final StringBuilder cell = new StringBuilder();
+    private boolean started;
+    private int pending = -1;
+    private long lineNumber = 1;
+    private long rowLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next row
+     * @return Cell values, empty cells as empty strings; null at end of input
+     * @throws IOException if reading fails or a quoted cell is not terminated
+     */
+    public String[] readRow() throws IOException {
+        int c = next();
+        if (!started) {
+            started = true;
+            if (c == UTF8_BOM) {
+                c = next();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        rowLine = lineNumber;
+        List<String> cells = new ArrayList<>();
+        cell.setLength(0);
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted cell starting on line " + rowLine);
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                cells.add(cell.toString());
+                return cells.toArray(new String[0]);
+            } else {
+                cell.append((char) c);
+            }
+            c = next();
+        }
+    }
+
+    /**
+     * Get the line the last row returned by {@link #readRow()} started on
+     * @return One-based line number
+     */
+    public long getRowLine() {
+        return rowLine;
+    }
+
+    private int next() throws IOException {
+        if (pending >= 0) {
+            int c = pending;
+            pending = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
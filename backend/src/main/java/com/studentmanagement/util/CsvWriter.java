@@ -0,0 +1,112 @@
+package com.studentmanagement.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 CSV writer that produces Excel-compatible output
+ * Rows are written straight to the underlying writer so memory use does not grow with row count
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final Writer writer;
+    private long rowCount;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Write the UTF-8 byte order mark so Excel detects the encoding correctly
+     * @throws IOException if writing fails
+     */
+    public void writeBom() throws IOException {
+        writer.write(UTF8_BOM);
+    }
+
+    /**
+     * Write a single row
+     * @param values Cell values, null values are written as empty cells
+     * @throws IOException if writing fails
+     */
+    public void writeRow(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCell(values[i]);
+        }
+        writer.write(LINE_SEPARATOR);
+        rowCount++;
+    }
+
+    /**
+     * Get number of rows written so far (including the header row)
+     * @return Row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        // Neutralise spreadsheet formulas so exported data cannot execute in Excel
+        boolean formula = isFormulaLike(value);
+        boolean quote = formula || needsQuoting(value);
+
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ';
+    }
+
+    private static boolean isFormulaLike(String value) {
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '@' || first == '\t' || first == '\r') {
+            return true;
+        }
+        // Negative numbers are fine, anything else starting with '-' is treated as a formula
+        return first == '-' && (value.length() == 1 || !Character.isDigit(value.charAt(1)));
+    }
+}
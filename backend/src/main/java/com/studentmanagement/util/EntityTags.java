@@ -0,0 +1,57 @@
+package com.studentmanagement.util;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Entity tags for optimistic concurrency
+ * A resource's ETag is its row version in quotes, e.g. "3". Clients send it back in If-Match on PUT, and the update
+ * only succeeds while the row still has that version; otherwise the API answers 409 Conflict with the current state.
+ */
+public class EntityTags {
+
+    public static final String ETAG = "ETag";
+    public static final String IF_MATCH = "If-Match";
+
+    // Private constructor to prevent instantiation
+    private EntityTags() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Set the ETag response header for a row version
+     * @param response HTTP response
+     * @param version Row version, nothing is set when null
+     */
+    public static void set(HttpServletResponse response, Integer version) {
+        if (version != null) {
+            response.setHeader(ETAG, "\"" + version + "\"");
+        }
+    }
+
+    /**
+     * Read the row version an update is conditional on from the If-Match header
+     * A weak tag (W/"3") is accepted as the same version, since only versions issued by this API are meaningful.
+     * @param request HTTP request
+     * @return Version, or null when the header is absent or "*" (any version)
+     * @throws IllegalArgumentException if the header is not a single entity tag of this API
+     */
+    public static Integer ifMatch(HttpServletRequest request) {
+        String header = request.getHeader(IF_MATCH);
+        if (header == null || header.trim().isEmpty() || "*".equals(header.trim())) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("Invalid If-Match header, expected a single ETag such as \"3\"");
+        }
+        try {
+            return Integer.parseInt(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header, expected a single ETag such as \"3\"");
+        }
+    }
+}
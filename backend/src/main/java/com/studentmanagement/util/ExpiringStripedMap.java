@@ -0,0 +1,152 @@
+package com.studentmanagement.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded concurrent map with time-based expiry, for per-client state such as rate-limit buckets
+ * Keys are spread over independently locked stripes so unrelated clients never contend on one lock.
+ * Each stripe keeps its entries in the order {@link #compute} last refreshed them, evicts the least recently
+ * refreshed entry when it is full, and drops entries not refreshed for the time-to-live, so memory stays bounded
+ * under key-spraying traffic. {@link #get} neither refreshes nor reorders an entry.
+ *
+ * @param <K> Key type
+ * @param <V> Value type, mutated only inside {@link #compute}
+ */
+public class ExpiringStripedMap<K, V> {
+
+    private final Stripe<K, V>[] stripes;
+    private final int mask;
+    private final long ttlMillis;
+
+    /**
+     * @param maxEntries Upper bound on the number of entries across all stripes
+     * @param stripeCount Number of stripes, rounded up to a power of two
+     * @param ttlMillis Entries not accessed for this long are removed
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ExpiringStripedMap(int maxEntries, int stripeCount, long ttlMillis) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        int perStripe = Math.max(1, maxEntries / count);
+
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(perStripe);
+        }
+        this.mask = count - 1;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Apply an action to the entry for a key, creating it if absent or expired
+     * The action runs under the stripe lock, so it may mutate the value without further synchronization
+     * @param key Key
+     * @param factory Creates a new value
+     * @param action Reads or updates the value and returns a result
+     * @param <R> Result type
+     * @return Result of the action
+     */
+    public <R> R compute(K key, Supplier<V> factory, Function<V, R> action) {
+        Stripe<K, V> stripe = stripeFor(key);
+        long now = System.currentTimeMillis();
+
+        synchronized (stripe) {
+            stripe.purgeExpired(now);
+            Entry<V> entry = stripe.entries.remove(key);
+            if (entry == null) {
+                entry = new Entry<>(factory.get());
+            }
+            entry.expiresAt = now + ttlMillis;
+            // Re-inserting moves the entry to the tail, so the stripe stays ordered by expiry
+            stripe.entries.put(key, entry);
+            return action.apply(entry.value);
+        }
+    }
+
+    /**
+     * Get the value for a key without refreshing its expiry
+     * @param key Key
+     * @return Value, or null if absent or expired
+     */
+    public V get(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.entries.get(key);
+            return entry == null || entry.expiresAt < System.currentTimeMillis() ? null : entry.value;
+        }
+    }
+
+    /**
+     * Remove the entry for a key
+     * @param key Key
+     * @return Removed value, or null if absent
+     */
+    public V remove(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.entries.remove(key);
+            return entry == null ? null : entry.value;
+        }
+    }
+
+    /**
+     * Count live entries, approximate while other threads are writing
+     * @return Number of entries
+     */
+    public int size() {
+        int size = 0;
+        long now = System.currentTimeMillis();
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.purgeExpired(now);
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int hash = key.hashCode();
+        // Spread high bits so keys that differ only there do not share a stripe
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private long expiresAt;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+        private final LinkedHashMap<K, Entry<V>> entries;
+
+        Stripe(int capacity) {
+            this.entries = new LinkedHashMap<K, Entry<V>>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        /**
+         * Entries are in insertion order and compute re-inserts every entry whose expiry it extends by the same TTL,
+         * so expired entries are always at the head and the scan stops at the first live one
+         */
+        void purgeExpired(long now) {
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt >= now) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.studentmanagement.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.studentmanagement.config.AppConfig;
+
+/**
+ * Decoder for JSON request bodies, shared by the write endpoints
+ * Each instance holds one pre-built {@link ObjectReader} for its type, derived from the API response mapper, and is
+ * meant to be kept in a static field. Bodies are parsed straight from the request InputStream without copying them
+ * into a String first. A Content-Length above MAX_REQUEST_BODY_BYTES is refused before anything is read, and a body
+ * without one is cut off as soon as it grows past the limit, so an oversized upload never reaches the heap.
+ *
+ * Typical use:
+ * <pre>
+ * private static final RequestBodyReader&lt;Marks&gt; MARKS_BODY = RequestBodyReader.of(Marks.class);
+ * ...
+ * } catch (RequestBodyReader.InvalidBodyException e) {
+ *     ApiResponse.sendError(response, e.getStatus(), e.getMessage());
+ * }
+ * </pre>
+ */
+public final class RequestBodyReader<T> {
+
+    private static final AtomicLong decoded = new AtomicLong();
+    private static final AtomicLong decodedBytes = new AtomicLong();
+    private static final AtomicLong tooLarge = new AtomicLong();
+    private static final AtomicLong malformed = new AtomicLong();
+
+    /**
+     * Thrown when a body is missing, malformed or too large; carries the HTTP status to answer with
+     */
+    public static class InvalidBodyException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        public InvalidBodyException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        /**
+         * @return 400 for a missing or malformed body, 413 for one over the size limit
+         */
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private final ObjectReader reader;
+    private final int maxBytes;
+
+    private RequestBodyReader(ObjectReader reader, int maxBytes) {
+        // Trailing content after the value means the body is not the document the client meant to send
+        this.reader = reader.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Create a decoder for a class, limited to MAX_REQUEST_BODY_BYTES
+     * @param type Body type
+     * @return Decoder, safe to share between threads
+     */
+    public static <T> RequestBodyReader<T> of(Class<T> type) {
+        return new RequestBodyReader<>(ApiResponse.getObjectMapper().readerFor(type), AppConfig.MAX_REQUEST_BODY_BYTES);
+    }
+
+    /**
+     * Create a decoder for a generic type such as a map, limited to MAX_REQUEST_BODY_BYTES
+     * @param type Body type
+     * @return Decoder, safe to share between threads
+     */
+    public static <T> RequestBodyReader<T> of(TypeReference<T> type) {
+        return new RequestBodyReader<>(ApiResponse.getObjectMapper().readerFor(type), AppConfig.MAX_REQUEST_BODY_BYTES);
+    }
+
+    /**
+     * Read and decode the request body
+     * @param request HTTP request, its body not read yet
+     * @return Decoded body, never null
+     * @throws InvalidBodyException if the body is empty, null, malformed, of the wrong shape or too large
+     * @throws IOException if reading the body fails
+     */
+    public T read(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBytes) {
+            tooLarge.incrementAndGet();
+            throw tooLarge();
+        }
+
+        Charset charset = declaredCharset(request);
+        LimitedInputStream input = new LimitedInputStream(request.getInputStream());
+        T value;
+        try {
+            // Jackson detects UTF-8, UTF-16 and UTF-32 from the bytes; other declared charsets need decoding first
+            value = charset == null ? reader.readValue(input) : reader.readValue(new InputStreamReader(input, charset));
+        } catch (InvalidBodyException e) {
+            tooLarge.incrementAndGet();
+            throw e;
+        } catch (JsonProcessingException e) {
+            if (input.exceeded) {
+                tooLarge.incrementAndGet();
+                throw tooLarge();
+            }
+            malformed.incrementAndGet();
+            throw new InvalidBodyException(HttpServletResponse.SC_BAD_REQUEST,
+                input.count == 0 ? "Request body is required" : "Malformed request body: " + e.getOriginalMessage());
+        }
+        if (value == null || value instanceof NullNode) {
+            malformed.incrementAndGet();
+            throw new InvalidBodyException(HttpServletResponse.SC_BAD_REQUEST, "Request body is required");
+        }
+        decoded.incrementAndGet();
+        decodedBytes.addAndGet(input.count);
+        return value;
+    }
+
+    private InvalidBodyException tooLarge() {
+        return new InvalidBodyException(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+            "Request body exceeds " + maxBytes + " bytes");
+    }
+
+    // Charset the body must be decoded with before parsing, or null when Jackson can take the raw bytes
+    private static Charset declaredCharset(HttpServletRequest request) throws InvalidBodyException {
+        String encoding = request.getCharacterEncoding();
+        if (encoding == null || encoding.regionMatches(true, 0, "UTF-", 0, 4)) {
+            return null;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            malformed.incrementAndGet();
+            throw new InvalidBodyException(HttpServletResponse.SC_BAD_REQUEST, "Unsupported charset: " + encoding);
+        }
+    }
+
+    /**
+     * Get decoding counters for the diagnostics endpoint
+     * @return Metrics map
+     */
+    public static Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("maxBytes", AppConfig.MAX_REQUEST_BODY_BYTES);
+        metrics.put("decoded", decoded.get());
+        metrics.put("decodedBytes", decodedBytes.get());
+        metrics.put("rejectedTooLarge", tooLarge.get());
+        metrics.put("rejectedMalformed", malformed.get());
+        return metrics;
+    }
+
+    // Counts bytes handed to the parser and fails the read that would pass the limit
+    private final class LimitedInputStream extends FilterInputStream {
+        private long count;
+        private boolean exceeded;
+
+        LimitedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            // Never ask for more than one byte past the limit, so a huge body is not buffered to find out
+            int read = super.read(b, off, (int) Math.min(len, maxBytes - count + 1));
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, maxBytes - count + 1));
+            advance(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void advance(long bytes) throws InvalidBodyException {
+            count += bytes;
+            if (count > maxBytes) {
+                exceeded = true;
+                throw tooLarge();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.studentmanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import com.studentmanagement.config.AppConfig;
+
+/**
+ * Utility methods for inspecting incoming requests
+ */
+public class RequestUtil {
+
+    // Private constructor to prevent instantiation
+    private RequestUtil() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Resolve the client address behind the platform's reverse proxies
+     * Only the X-Forwarded-For entries appended by the trusted proxies (TRUSTED_PROXY_HOPS, counted
+     * from the right) are believed; entries further left are supplied by the client and can be forged
+     * @param request HTTP request
+     * @return Client IP address
+     */
+    public static String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        int hops = AppConfig.TRUSTED_PROXY_HOPS;
+        if (hops <= 0 || forwardedFor == null || forwardedFor.trim().isEmpty()) {
+            return request.getRemoteAddr();
+        }
+
+        String[] addresses = forwardedFor.split(",");
+        String address = addresses[Math.max(0, addresses.length - hops)].trim();
+        return address.isEmpty() ? request.getRemoteAddr() : address;
+    }
+
+    /**
+     * Parse a comma-separated ID list such as "3,1,2"
+     * @param value Parameter value
+     * @param maxIds Maximum number of IDs accepted
+     * @return IDs in the given order
+     * @throws IllegalArgumentException if an entry is not a positive integer or there are too many
+     */
+    public static List<Integer> parseIds(String value, int maxIds) {
+        List<Integer> ids = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int id;
+            try {
+                id = Integer.parseInt(trimmed);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid ID: " + trimmed);
+            }
+            if (id <= 0) {
+                throw new IllegalArgumentException("Invalid ID: " + trimmed);
+            }
+            if (ids.size() == maxIds) {
+                throw new IllegalArgumentException("At most " + maxIds + " IDs are allowed per request");
+            }
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID is required");
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,127 @@
+package com.studentmanagement.util;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Wire formats for API responses, chosen per request from the Accept header
+ * JSON stays the default. Smile and CBOR are binary encodings of the same data model, written by copies of the
+ * JSON mapper, for integrations pulling large lists where text encoding and parsing dominate the cost.
+ * The format of the current request is held in a thread-local set by the content negotiation filter.
+ */
+public enum ResponseFormat {
+
+    JSON("application/json"),
+    SMILE("application/x-jackson-smile"),
+    CBOR("application/cbor");
+
+    private static final ThreadLocal<ResponseFormat> CURRENT = new ThreadLocal<>();
+
+    private final String mediaType;
+
+    ResponseFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * Create the Jackson factory that writes this format
+     * @return Factory, a plain JSON factory for JSON
+     */
+    public JsonFactory newFactory() {
+        switch (this) {
+            case SMILE:
+                return new SmileFactory();
+            case CBOR:
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    /**
+     * Pick the format for an Accept header
+     * The supported type with the highest quality wins; on equal quality a named type beats a wildcard and
+     * otherwise the one listed first wins. A header without any supported type gets JSON, so existing clients
+     * sending text/html or similar are unaffected.
+     * @param accept Accept header value, may be null
+     * @return Negotiated format
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return JSON;
+        }
+        ResponseFormat best = JSON;
+        double bestQuality = -1;
+        boolean bestNamed = false;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            String type = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            boolean named = !type.endsWith("/*");
+            ResponseFormat format = named ? forMediaType(type) : "*/*".equals(type) || "application/*".equals(type)
+                ? JSON : null;
+            if (format != null && quality > 0
+                    && (quality > bestQuality || quality == bestQuality && named && !bestNamed)) {
+                best = format;
+                bestQuality = quality;
+                bestNamed = named;
+            }
+        }
+        return best;
+    }
+
+    private static ResponseFormat forMediaType(String type) {
+        for (ResponseFormat format : values()) {
+            if (format.mediaType.equals(type)) {
+                return format;
+            }
+        }
+        // Alternative names clients use for Smile
+        return "application/smile".equals(type) ? SMILE : null;
+    }
+
+    /**
+     * Set the format of the current request's responses
+     * @param format Negotiated format
+     */
+    public static void select(ResponseFormat format) {
+        CURRENT.set(format);
+    }
+
+    /**
+     * Get the format of the current request's responses
+     * @return Selected format, JSON when none was selected
+     */
+    public static ResponseFormat current() {
+        ResponseFormat format = CURRENT.get();
+        return format != null ? format : JSON;
+    }
+
+    /**
+     * Clear the format selection of the current thread
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,52 @@
+package com.studentmanagement.util;
+
+/**
+ * Token bucket allowing a burst of requests followed by a steady refill rate
+ * Not thread-safe on its own; callers serialize access, e.g. inside {@link ExpiringStripedMap#compute}
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerMilli;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param capacity Maximum burst size, the bucket starts full
+     * @param tokensPerMinute Refill rate
+     */
+    public TokenBucket(int capacity, int tokensPerMinute) {
+        this.capacity = Math.max(1, capacity);
+        this.tokensPerMilli = Math.max(1, tokensPerMinute) / 60000.0;
+        this.tokens = this.capacity;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    /**
+     * Take one token if available
+     * @param now Current time in milliseconds
+     * @return 0 if the token was taken, otherwise milliseconds until the next token is available
+     */
+    public long tryConsume(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerMilli);
+    }
+
+    /**
+     * Give back a token taken for a request that turned out not to count, e.g. a successful login
+     */
+    public void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMilli);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.studentmanagement.archive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SegmentTest {
+
+    private static final long NULL = Segment.NULL;
+    // Bounds of a DECIMAL(5,2) column stored in hundredths
+    private static final long DECIMAL_MAX = 99999;
+    private static final long DECIMAL_MIN = -99999;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripsNumbersAndTextWithNullsAndNegativeDeltas() throws IOException {
+        long day = LocalDate.of(2020, 3, 1).toEpochDay();
+        long oldest = LocalDate.of(1000, 1, 1).toEpochDay();
+        long[][] numbers = {
+            {500, 1, 7, DECIMAL_MAX, 10000, 0, day, 1583020800000L, NULL},
+            {3, 1, 2, DECIMAL_MIN, DECIMAL_MAX, 0, -1, NULL, 1583020800000L},
+            {1000000, 2, 9, NULL, 1, 0, oldest, -86400000L, Long.MAX_VALUE},
+            {2, 3, 1, 0, NULL, 0, day - 400, Long.MIN_VALUE + 1, NULL},
+            {Integer.MAX_VALUE, 3, 1, -1, 1, 0, day, 0, 0},
+        };
+        String[] examTypes = {"Final", null, "", "Mid-term \u00e9", "Final"};
+
+        Segment segment = write(ArchiveTable.MARKS, 1000, numbers, examTypes, 5);
+        assertEquals(1, segment.getGroupCount());
+        assertEquals(5, segment.getRows());
+
+        Segment.RowGroup group = Segment.open(segment.getFile()).read(0, wanted(ArchiveTable.MARKS, true));
+        assertEquals(5, group.rows);
+        for (int c = 0; c < ArchiveTable.MARKS.getColumns().size(); c++) {
+            if (c == 5) {
+                assertArrayEquals(examTypes, group.texts[c]);
+                assertNull(group.numbers[c]);
+            } else {
+                assertArrayEquals("column " + c, column(numbers, c), group.numbers[c]);
+                assertNull(group.texts[c]);
+            }
+        }
+        assertEquals(999.99, group.numbers[3][0] / 100.0, 0);
+        assertEquals(-999.99, group.numbers[3][1] / 100.0, 0);
+    }
+
+    @Test
+    public void decodesOnlyRequestedColumns() throws IOException {
+        long day = LocalDate.of(2021, 9, 6).toEpochDay();
+        long[][] numbers = {
+            {10, 4, 1, day, 0, 1630886400000L},
+            {11, 4, 2, day, 0, 1630886400000L},
+            {12, 5, 1, day + 1, 0, NULL},
+        };
+        String[] statuses = {"Present", "Absent", "Present"};
+        Segment segment = write(ArchiveTable.ATTENDANCE, 1000, numbers, statuses, 4);
+
+        boolean[] wanted = wanted(ArchiveTable.ATTENDANCE, false);
+        wanted[ArchiveTable.ID] = true;
+        wanted[4] = true;
+        Segment.RowGroup group = segment.read(0, wanted);
+        assertArrayEquals(new long[] {10, 11, 12}, group.numbers[ArchiveTable.ID]);
+        assertArrayEquals(statuses, group.texts[4]);
+        assertNull(group.numbers[ArchiveTable.STUDENT_ID]);
+        assertNull(group.numbers[3]);
+        assertNull(group.numbers[5]);
+    }
+
+    @Test
+    public void splitsRowGroupsAndPrunesByStudentAndDay() throws IOException {
+        long start = LocalDate.of(2019, 6, 1).toEpochDay();
+        // Students 1 to 6, three rows per group; student 3 spans the first two groups
+        int[] students = {1, 2, 3, 3, 4, 5, 6, 6};
+        long[][] numbers = new long[students.length][];
+        String[] statuses = new String[students.length];
+        for (int i = 0; i < students.length; i++) {
+            numbers[i] = new long[] {100 - i, students[i], 1 + i % 2, start + i * 10, 0, NULL};
+            statuses[i] = i % 3 == 0 ? "Absent" : "Present";
+        }
+        write(ArchiveTable.ATTENDANCE, 3, numbers, statuses, 4);
+        Segment segment = Segment.open(folder.getRoot().toPath()
+            .resolve(Segment.fileName(ArchiveTable.ATTENDANCE, 2019, 4)));
+
+        assertEquals(3, segment.getGroupCount());
+        assertEquals(students.length, segment.getRows());
+        assertEquals(2019, segment.getYearStart());
+        assertEquals(4, segment.getSequence());
+
+        long end = start + 1000;
+        assertEquals(Arrays.asList(0, 1), segment.groupsFor(3, start, end));
+        assertEquals(Collections.singletonList(1), segment.groupsFor(4, start, end));
+        assertEquals(Collections.singletonList(2), segment.groupsFor(6, start, end));
+        assertEquals(Collections.emptyList(), segment.groupsFor(7, start, end));
+        assertEquals(Arrays.asList(0, 1, 2), segment.groupsFor(null, start, end));
+
+        // Group 1 covers days start + 30 to start + 50
+        assertEquals(Collections.singletonList(1), segment.groupsFor(null, start + 30, start + 30));
+        assertEquals(Arrays.asList(0, 1), segment.groupsFor(null, start + 20, start + 30));
+        assertEquals(Collections.emptyList(), segment.groupsFor(3, start + 60, end));
+        assertEquals(Collections.emptyList(), segment.groupsFor(null, start - 10, start - 1));
+
+        // Each group decodes its own rows and text dictionary
+        int row = 0;
+        for (int index = 0; index < segment.getGroupCount(); index++) {
+            Segment.RowGroup group = segment.read(index, wanted(ArchiveTable.ATTENDANCE, true));
+            for (int i = 0; i < group.rows; i++, row++) {
+                assertEquals(numbers[row][ArchiveTable.ID], group.numbers[ArchiveTable.ID][i]);
+                assertEquals(students[row], group.numbers[ArchiveTable.STUDENT_ID][i]);
+                assertEquals(start + row * 10, group.numbers[3][i]);
+                assertEquals(NULL, group.numbers[5][i]);
+                assertEquals(statuses[row], group.texts[4][i]);
+            }
+        }
+        assertEquals(students.length, row);
+    }
+
+    @Test
+    public void leavesNoFileWhenNotFinished() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (Segment.Writer writer = Segment.create(directory, ArchiveTable.ATTENDANCE, 2018, 1, 0, 10)) {
+            writer.add(new long[] {1, 1, 1, 0, 0, 0}, new String[] {null, null, null, null, "Late", null});
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    public void rejectsTruncatedSegment() throws IOException {
+        Segment segment = write(ArchiveTable.ATTENDANCE, 10, new long[][] {{1, 1, 1, 0, 0, 0}},
+            new String[] {"Late"}, 4);
+        try (RandomAccessFile file = new RandomAccessFile(segment.getFile().toFile(), "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        try {
+            Segment.open(segment.getFile());
+            fail("Expected a truncated segment to be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("segment"));
+        }
+    }
+
+    // Writes one row per entry of numbers, with the single text column of the table taken from texts
+    private Segment write(ArchiveTable table, int rowGroupRows, long[][] numbers, String[] texts, int textColumn)
+            throws IOException {
+        int columns = table.getColumns().size();
+        try (Segment.Writer writer = Segment.create(folder.getRoot().toPath(), table, 2019, 4,
+                1600000000000L, rowGroupRows)) {
+            for (int i = 0; i < numbers.length; i++) {
+                String[] rowTexts = new String[columns];
+                rowTexts[textColumn] = texts[i];
+                writer.add(numbers[i], rowTexts);
+            }
+            return writer.finish();
+        }
+    }
+
+    private static boolean[] wanted(ArchiveTable table, boolean all) {
+        boolean[] wanted = new boolean[table.getColumns().size()];
+        Arrays.fill(wanted, all);
+        return wanted;
+    }
+
+    private static long[] column(long[][] rows, int column) {
+        long[] values = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            values[i] = rows[i][column];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,172 @@
+package com.studentmanagement.attendance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DayBitmapTest {
+
+    // Days per chunk, a chunk starts at every multiple of this epoch day
+    private static final int CHUNK = 512;
+
+    @Test
+    public void promotesToBitmapPastThirtyTwoDaysAndBack() {
+        DayBitmap days = new DayBitmap();
+        days.add(0);
+        long previous = days.estimateBytes();
+
+        // An array chunk grows by one char per day
+        for (int day = 1; day < 32; day++) {
+            days.add(day * 2);
+            assertEquals(previous + 2, days.estimateBytes());
+            previous = days.estimateBytes();
+        }
+
+        // The 33rd day converts the chunk to a fixed-size bitmap, further days do not grow it
+        days.add(100);
+        long bitmapBytes = days.estimateBytes();
+        days.add(101);
+        days.add(511);
+        assertEquals(bitmapBytes, days.estimateBytes());
+        assertEquals(35, days.cardinality());
+        for (int day = 0; day < 32; day++) {
+            assertTrue(days.contains(day * 2));
+            assertFalse(days.contains(day * 2 + 1));
+        }
+        assertTrue(days.contains(101));
+        assertEquals(3, days.count(100, 511));
+
+        // Back at 32 days the chunk is a sorted array again and shrinks by one char per removed day
+        days.remove(100);
+        days.remove(101);
+        days.remove(511);
+        long arrayBytes = days.estimateBytes();
+        days.remove(62);
+        assertEquals(arrayBytes - 2, days.estimateBytes());
+        assertEquals(31, days.cardinality());
+        assertEquals(16, days.count(0, 31));
+        assertEquals(list(0, 2, 4), first(days, 3));
+    }
+
+    @Test
+    public void countsAndRemovesWithinABitmapChunk() {
+        DayBitmap days = new DayBitmap();
+        for (int day = 0; day < CHUNK; day++) {
+            days.add(day);
+        }
+        assertEquals(CHUNK, days.count(0, CHUNK - 1));
+        assertEquals(64, days.count(64, 127));
+        assertEquals(1, days.count(63, 63));
+        assertEquals(66, days.count(63, 128));
+
+        assertTrue(days.remove(200));
+        assertFalse(days.remove(200));
+        assertFalse(days.contains(200));
+        assertEquals(CHUNK - 1, days.cardinality());
+        assertEquals(0, days.count(200, 200));
+    }
+
+    @Test
+    public void countsAcrossChunkBoundaries() {
+        DayBitmap days = new DayBitmap();
+        int[] added = {CHUNK - 1, CHUNK, 2 * CHUNK - 1, 2 * CHUNK, 5 * CHUNK};
+        for (int day : added) {
+            assertTrue(days.add(day));
+        }
+        assertFalse(days.add(CHUNK));
+
+        assertEquals(2, days.count(CHUNK - 1, CHUNK));
+        assertEquals(1, days.count(CHUNK, 2 * CHUNK - 2));
+        assertEquals(4, days.count(0, 2 * CHUNK));
+        assertEquals(0, days.count(3 * CHUNK, 5 * CHUNK - 1));
+        assertEquals(5, days.count(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(list(added), all(days));
+
+        // Emptying a chunk drops it without disturbing its neighbours
+        days.remove(2 * CHUNK - 1);
+        days.remove(CHUNK);
+        assertEquals(list(CHUNK - 1, 2 * CHUNK, 5 * CHUNK), all(days));
+        assertEquals(1, days.count(CHUNK, 2 * CHUNK));
+    }
+
+    @Test
+    public void storesDaysBefore1970() {
+        DayBitmap days = new DayBitmap();
+        int newYear1900 = (int) LocalDate.of(1900, 1, 1).toEpochDay();
+        int lastDayOf1969 = (int) LocalDate.of(1969, 12, 31).toEpochDay();
+        int mysqlMinimum = (int) LocalDate.of(1000, 1, 1).toEpochDay();
+
+        days.add(0);
+        days.add(lastDayOf1969);
+        days.add(newYear1900);
+        days.add(mysqlMinimum);
+
+        assertTrue(days.contains(-1));
+        assertTrue(days.contains(newYear1900));
+        assertTrue(days.contains(mysqlMinimum));
+        assertFalse(days.contains(newYear1900 + 1));
+        assertEquals(list(mysqlMinimum, newYear1900, -1, 0), all(days));
+        assertEquals(2, days.count(-1, 0));
+        assertEquals(2, days.count(newYear1900, -1));
+        assertEquals(1, days.count(-CHUNK, -1));
+        assertEquals(3, days.count(Integer.MIN_VALUE, -1));
+
+        assertTrue(days.remove(-1));
+        assertFalse(days.contains(-1));
+        assertEquals(list(mysqlMinimum, newYear1900, 0), all(days));
+    }
+
+    @Test
+    public void keepsNegativeDaysInBitmapChunks() {
+        DayBitmap days = new DayBitmap();
+        for (int day = -CHUNK; day < CHUNK; day += 4) {
+            days.add(day);
+        }
+        assertEquals(256, days.cardinality());
+        assertEquals(128, days.count(-CHUNK, -1));
+        assertEquals(128, days.count(0, CHUNK - 1));
+        assertEquals(list(-CHUNK, -CHUNK + 4), first(days, 2));
+        assertTrue(days.contains(-4));
+        assertFalse(days.contains(-3));
+    }
+
+    @Test
+    public void acceptsTheWholeRange() {
+        DayBitmap days = new DayBitmap();
+        days.add(DayBitmap.MIN_DAY);
+        days.add(DayBitmap.MAX_DAY);
+        assertEquals(list(DayBitmap.MIN_DAY, DayBitmap.MAX_DAY), all(days));
+        assertFalse(days.contains(DayBitmap.MIN_DAY - 1));
+        assertFalse(days.remove(DayBitmap.MAX_DAY + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDaysOutOfRange() {
+        new DayBitmap().add(DayBitmap.MIN_DAY - 1);
+    }
+
+    private static List<Integer> all(DayBitmap days) {
+        List<Integer> visited = new ArrayList<>();
+        days.forEach(visited::add);
+        return visited;
+    }
+
+    private static List<Integer> first(DayBitmap days, int count) {
+        List<Integer> visited = all(days);
+        return visited.subList(0, Math.min(count, visited.size()));
+    }
+
+    private static List<Integer> list(int... days) {
+        List<Integer> values = new ArrayList<>();
+        for (int day : days) {
+            values.add(day);
+        }
+        return values;
+    }
+}
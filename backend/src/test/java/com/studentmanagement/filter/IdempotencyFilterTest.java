@@ -0,0 +1,155 @@
+package com.studentmanagement.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.studentmanagement.testing.StubRequest;
+import com.studentmanagement.testing.StubResponse;
+
+public class IdempotencyFilterTest {
+
+    private static final String URI = "/student-management/api/students";
+    private static final String BODY = "{\"name\":\"Asha\",\"email\":\"asha@example.com\"}";
+
+    private final IdempotencyFilter filter = new IdempotencyFilter();
+    private final AtomicInteger executions = new AtomicInteger();
+    private volatile int nextStatus = HttpServletResponse.SC_CREATED;
+
+    // Stands in for the servlet: answers with the next status, a Location header and a body naming the execution
+    private final FilterChain servlet = (request, response) -> {
+        int execution = executions.incrementAndGet();
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setStatus(nextStatus);
+        httpResponse.setContentType("application/json");
+        httpResponse.setHeader("Location", URI + "/" + execution);
+        httpResponse.getOutputStream().write(("{\"execution\":" + execution + "}").getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Before
+    public void createStore() throws ServletException {
+        filter.init(null);
+    }
+
+    @Test
+    public void replaysTheStoredResponseForARetry() throws Exception {
+        StubResponse first = post("key-1", BODY, servlet);
+        StubResponse retry = post("key-1", BODY, servlet);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals(URI + "/1", retry.getHeader("Location"));
+        assertEquals("application/json", retry.getContentType());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED));
+    }
+
+    @Test
+    public void rejectsAKeyReusedForADifferentRequest() throws Exception {
+        post("key-2", BODY, servlet);
+        StubResponse other = post("key-2", "{\"name\":\"Ravi\"}", servlet);
+
+        assertEquals(1, executions.get());
+        assertEquals(422, other.getStatus());
+        assertTrue(other.getBody(), other.getBody().contains("different request"));
+    }
+
+    @Test
+    public void releasesTheKeyAfterAServerError() throws Exception {
+        nextStatus = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        StubResponse failed = post("key-3", BODY, servlet);
+        nextStatus = HttpServletResponse.SC_CREATED;
+        StubResponse retry = post("key-3", BODY, servlet);
+
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, failed.getStatus());
+        assertEquals(2, executions.get());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED));
+        assertEquals("{\"execution\":2}", retry.getBody());
+    }
+
+    @Test
+    public void retryWaitsForTheInFlightOriginal() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            servlet.doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<StubResponse> original = executor.submit(() -> post("key-4", BODY, slow));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            long waitedBefore = waited();
+            Future<StubResponse> retry = executor.submit(() -> post("key-4", BODY, slow));
+
+            // Let the original finish only once the retry is blocked on it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (waited() == waitedBefore && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(waitedBefore + 1, waited());
+            release.countDown();
+
+            assertEquals(HttpServletResponse.SC_CREATED, original.get(5, TimeUnit.SECONDS).getStatus());
+            StubResponse replayed = retry.get(5, TimeUnit.SECONDS);
+            assertEquals(1, executions.get());
+            assertEquals(HttpServletResponse.SC_CREATED, replayed.getStatus());
+            assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED));
+            assertEquals("{\"execution\":1}", replayed.getBody());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void scopesAnonymousKeysByClientAddress() throws Exception {
+        post("key-5", BODY, servlet);
+        StubResponse otherClient = new StubResponse();
+        filter.doFilter(request("key-5", BODY).remoteAddr("10.0.0.9").build(), otherClient.build(), servlet);
+
+        assertEquals(2, executions.get());
+        assertNull(otherClient.getHeader(IdempotencyFilter.REPLAYED));
+    }
+
+    private StubResponse post(String key, String body, FilterChain chain) throws IOException, ServletException {
+        StubResponse response = new StubResponse();
+        filter.doFilter(request(key, body).build(), response.build(), chain);
+        return response;
+    }
+
+    private static StubRequest request(String key, String body) {
+        return new StubRequest("POST", URI)
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+            .header("Content-Type", "application/json")
+            .body(body);
+    }
+
+    private static long waited() {
+        return (Long) IdempotencyFilter.getMetrics().get("waited");
+    }
+}
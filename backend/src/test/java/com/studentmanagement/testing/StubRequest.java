@@ -0,0 +1,166 @@
+package com.studentmanagement.testing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * In-memory HttpServletRequest for filter and servlet helper tests
+ * Answers the request line, headers, attributes and body; any other method fails so a test notices what it relies on.
+ */
+public final class StubRequest implements InvocationHandler {
+
+    private final String method;
+    private final String uri;
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Object> attributes = new HashMap<>();
+    private String remoteAddr = "127.0.0.1";
+    private String characterEncoding;
+    private byte[] body = new byte[0];
+    private InputStream bodyStream;
+    private long contentLength = -1;
+
+    public StubRequest(String method, String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    public StubRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public StubRequest remoteAddr(String address) {
+        this.remoteAddr = address;
+        return this;
+    }
+
+    public StubRequest characterEncoding(String encoding) {
+        this.characterEncoding = encoding;
+        return this;
+    }
+
+    /**
+     * Body with a matching Content-Length
+     */
+    public StubRequest body(String text) {
+        return body(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public StubRequest body(byte[] bytes) {
+        this.body = bytes;
+        this.bodyStream = null;
+        this.contentLength = bytes.length;
+        return this;
+    }
+
+    /**
+     * Streamed body without a Content-Length, as with chunked transfer encoding
+     */
+    public StubRequest streamedBody(InputStream stream) {
+        this.bodyStream = stream;
+        this.contentLength = -1;
+        return this;
+    }
+
+    /**
+     * Declared Content-Length, independent of the actual body
+     */
+    public StubRequest contentLength(long length) {
+        this.contentLength = length;
+        return this;
+    }
+
+    public HttpServletRequest build() {
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method called, Object[] args) {
+        switch (called.getName()) {
+            case "getMethod":
+                return method;
+            case "getRequestURI":
+                return uri;
+            case "getQueryString":
+                return null;
+            case "getHeader":
+                return headers.get((String) args[0]);
+            case "getRemoteAddr":
+                return remoteAddr;
+            case "getCharacterEncoding":
+                return characterEncoding;
+            case "getContentType":
+                return headers.get("Content-Type");
+            case "getContentLength":
+                return contentLength > Integer.MAX_VALUE ? -1 : (int) contentLength;
+            case "getContentLengthLong":
+                return contentLength;
+            case "getInputStream":
+                return inputStream(bodyStream != null ? bodyStream : new ByteArrayInputStream(body));
+            case "getAttribute":
+                return attributes.get((String) args[0]);
+            case "setAttribute":
+                attributes.put((String) args[0], args[1]);
+                return null;
+            case "removeAttribute":
+                attributes.remove((String) args[0]);
+                return null;
+            case "toString":
+                return method + " " + uri;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                throw new UnsupportedOperationException("StubRequest does not support " + called.getName());
+        }
+    }
+
+    private static ServletInputStream inputStream(InputStream source) {
+        return new ServletInputStream() {
+            private boolean finished;
+
+            @Override
+            public int read() throws IOException {
+                int b = source.read();
+                finished = b < 0;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = source.read(b, off, len);
+                finished = read < 0;
+                return read;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
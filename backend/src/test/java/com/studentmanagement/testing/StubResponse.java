@@ -0,0 +1,137 @@
+package com.studentmanagement.testing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * In-memory HttpServletResponse for filter tests, recording status, headers and body
+ * Any method it does not model fails so a test notices what it relies on.
+ */
+public final class StubResponse implements InvocationHandler {
+
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private int status = HttpServletResponse.SC_OK;
+    private String contentType;
+    private String characterEncoding;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public HttpServletResponse build() {
+        return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {HttpServletResponse.class}, this);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method called, Object[] args) {
+        switch (called.getName()) {
+            case "setStatus":
+                status = (Integer) args[0];
+                return null;
+            case "getStatus":
+                return status;
+            case "setHeader":
+            case "addHeader":
+                headers.put((String) args[0], (String) args[1]);
+                return null;
+            case "getHeader":
+                return headers.get((String) args[0]);
+            case "containsHeader":
+                return headers.containsKey((String) args[0]);
+            case "setContentType":
+                contentType = (String) args[0];
+                return null;
+            case "getContentType":
+                return contentType;
+            case "setCharacterEncoding":
+                characterEncoding = (String) args[0];
+                return null;
+            case "getCharacterEncoding":
+                return characterEncoding != null ? characterEncoding : "ISO-8859-1";
+            case "setContentLength":
+                headers.put("Content-Length", String.valueOf(args[0]));
+                return null;
+            case "getOutputStream":
+                return outputStream();
+            case "getWriter":
+                if (writer == null) {
+                    Charset charset = Charset.forName(characterEncoding != null ? characterEncoding : "ISO-8859-1");
+                    writer = new PrintWriter(new OutputStreamWriter(outputStream(), charset));
+                }
+                return writer;
+            case "flushBuffer":
+                if (writer != null) {
+                    writer.flush();
+                }
+                return null;
+            case "isCommitted":
+                return false;
+            case "toString":
+                return "StubResponse " + status;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                throw new UnsupportedOperationException("StubResponse does not support " + called.getName());
+        }
+    }
+
+    private ServletOutputStream outputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+        return outputStream;
+    }
+}
@@ -0,0 +1,162 @@
+package com.studentmanagement.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.studentmanagement.config.AppConfig;
+import com.studentmanagement.testing.StubRequest;
+
+public class RequestBodyReaderTest {
+
+    private static final RequestBodyReader<Map<String, Object>> MAP_BODY =
+        RequestBodyReader.of(new TypeReference<Map<String, Object>>() { });
+
+    @Test
+    public void decodesAJsonBody() throws IOException {
+        Map<String, Object> body = MAP_BODY.read(request("{\"name\":\"Asha\",\"marks\":91.5}"));
+        assertEquals("Asha", body.get("name"));
+        assertEquals(91.5, body.get("marks"));
+    }
+
+    @Test
+    public void refusesADeclaredLengthOverTheLimitWithoutReading() throws IOException {
+        CountingStream unread = new CountingStream(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+        HttpServletRequest request = new StubRequest("POST", "/api/marks")
+            .streamedBody(unread)
+            .contentLength(AppConfig.MAX_REQUEST_BODY_BYTES + 1L)
+            .build();
+
+        assertStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, request);
+        assertEquals(0, unread.count);
+    }
+
+    @Test
+    public void cutsOffAStreamedBodyAtTheLimit() throws IOException {
+        // A JSON string that never ends, sent without a Content-Length
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return 'a';
+            }
+        };
+        CountingStream body = new CountingStream(new SequenceInputStream(
+            new ByteArrayInputStream("{\"name\":\"".getBytes(StandardCharsets.UTF_8)), endless));
+        HttpServletRequest request = new StubRequest("POST", "/api/marks").streamedBody(body).build();
+
+        assertStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, request);
+        assertTrue("read " + body.count + " bytes", body.count <= AppConfig.MAX_REQUEST_BODY_BYTES + 1L);
+    }
+
+    @Test
+    public void acceptsAStreamedBodyUnderTheLimit() throws IOException {
+        InputStream stream = new ByteArrayInputStream("{\"name\":\"Ravi\"}".getBytes(StandardCharsets.UTF_8));
+        HttpServletRequest request = new StubRequest("POST", "/api/marks").streamedBody(stream).build();
+        assertEquals("Ravi", MAP_BODY.read(request).get("name"));
+    }
+
+    @Test
+    public void rejectsMissingAndNullBodies() {
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Request body is required", request(""));
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Request body is required", request("null"));
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Request body is required", request("  null \n"));
+    }
+
+    @Test
+    public void rejectsMalformedBodiesAndTrailingContent() {
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Malformed request body", request("{\"name\":"));
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Malformed request body", request("{\"name\":\"a\"} x"));
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Malformed request body", request("{} {}"));
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Malformed request body", request("[1, 2]"));
+    }
+
+    @Test
+    public void decodesADeclaredNonUnicodeCharset() throws IOException {
+        HttpServletRequest request = new StubRequest("POST", "/api/students")
+            .characterEncoding("ISO-8859-1")
+            .body("{\"city\":\"Mal\u00e9\"}".getBytes(StandardCharsets.ISO_8859_1))
+            .build();
+        assertEquals("Mal\u00e9", MAP_BODY.read(request).get("city"));
+    }
+
+    @Test
+    public void detectsUtf16FromTheBytes() throws IOException {
+        HttpServletRequest request = new StubRequest("POST", "/api/students")
+            .characterEncoding("UTF-16")
+            .body("{\"city\":\"Mal\u00e9\"}".getBytes(StandardCharsets.UTF_16BE))
+            .build();
+        assertEquals("Mal\u00e9", MAP_BODY.read(request).get("city"));
+    }
+
+    @Test
+    public void rejectsAnUnknownCharset() {
+        HttpServletRequest request = new StubRequest("POST", "/api/students")
+            .characterEncoding("x-no-such-charset")
+            .body("{}")
+            .build();
+        assertMessage(HttpServletResponse.SC_BAD_REQUEST, "Unsupported charset: x-no-such-charset", request);
+    }
+
+    private static HttpServletRequest request(String body) {
+        return new StubRequest("POST", "/api/marks").body(body).build();
+    }
+
+    private static RequestBodyReader.InvalidBodyException assertStatus(int status, HttpServletRequest request) {
+        try {
+            MAP_BODY.read(request);
+        } catch (RequestBodyReader.InvalidBodyException e) {
+            assertEquals(e.getMessage(), status, e.getStatus());
+            return e;
+        } catch (IOException e) {
+            throw new AssertionError("Expected an invalid body, got " + e, e);
+        }
+        fail("Expected status " + status);
+        return null;
+    }
+
+    private static void assertMessage(int status, String message, HttpServletRequest request) {
+        String actual = assertStatus(status, request).getMessage();
+        assertTrue(actual, actual.startsWith(message));
+    }
+
+    // Counts the bytes the reader pulled from the request
+    private static final class CountingStream extends InputStream {
+        private final InputStream in;
+        private long count;
+
+        CountingStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
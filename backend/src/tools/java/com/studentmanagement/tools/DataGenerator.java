@@ -0,0 +1,398 @@
+package com.studentmanagement.tools;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import com.studentmanagement.archive.AcademicYear;
+import com.studentmanagement.config.DatabaseConfig;
+
+/**
+ * Synthetic data generator for production-scale local testing
+ * Writes students, marks and attendance straight through JDBC batches, one transaction per batch, so it never
+ * goes through the DAOs: no change events, cache invalidation or attendance index updates happen, and a running
+ * application should be restarted afterwards. The same seed always produces the same rows.
+ *
+ * Students are tagged with a roll number prefix and --students is the target count for that prefix, so a rerun
+ * only adds the missing ones. Marks are spread over the last --years academic years; attendance fills whole
+ * weekdays for every student and subject of their course, walking back in time from the oldest generated day,
+ * so reruns extend the history instead of colliding with the unique key.
+ *
+ * Options: --url --user --password (default to DB_URL, DB_USER, DB_PASS), --students=500000 --marks=5000000
+ *          --attendance=50000000 --batch=5000 --seed=42 --years=3 --prefix=GEN, and --schema=database/schema.sql
+ *          to create the tables first (CREATE DATABASE and USE are skipped, for H2 in MySQL mode).
+ *
+ * Usage: mvn -Ptools compile exec:java -Dexec.mainClass=com.studentmanagement.tools.DataGenerator \
+ *        -Dexec.args="--students=500000 --marks=5000000 --attendance=50000000"
+ * H2:    add the H2 jar to the classpath (mvn -Ptools,loadtest) and pass
+ *        --url="jdbc:h2:./target/loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE" --user=sa --password= --schema=../database/schema.sql
+ */
+public class DataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Vivaan", "Aditya", "Arjun", "Sai", "Reyansh", "Krishna", "Ishaan", "Rohan", "Kabir",
+        "Ananya", "Diya", "Aadhya", "Saanvi", "Priya", "Isha", "Kavya", "Meera", "Riya", "Neha",
+        "Rahul", "Amit", "Vikram", "Karan", "Nikhil", "Pooja", "Sneha", "Shreya", "Tanvi", "Aditi"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel", "Reddy", "Nair", "Iyer", "Joshi",
+        "Mehta", "Shah", "Rao", "Das", "Chopra", "Malhotra", "Bose", "Kapoor", "Mishra", "Agarwal"
+    };
+    private static final String[] CITIES = {
+        "Mumbai", "Delhi", "Bangalore", "Hyderabad", "Chennai", "Kolkata", "Pune", "Ahmedabad", "Jaipur",
+        "Lucknow", "Indore", "Bhopal", "Chandigarh", "Kochi", "Nagpur"
+    };
+    private static final String[] GENDERS = {"Male", "Female"};
+    private static final String[] EXAM_TYPES = {"Regular", "Mid-term", "Final"};
+    private static final int[] EXAM_TYPE_WEIGHTS = {60, 25, 15};
+    private static final String DEFAULT_PASSWORD = "password123";
+
+    // SQL queries
+    private static final String SELECT_SUBJECTS = "SELECT id, course FROM subjects ORDER BY id";
+    private static final String COUNT_STUDENTS = "SELECT COUNT(*) FROM students WHERE roll_number LIKE ?";
+    private static final String SELECT_STUDENTS = "SELECT id, course FROM students WHERE roll_number LIKE ? ORDER BY id";
+    private static final String SELECT_OLDEST_ATTENDANCE = "SELECT MIN(a.attendance_date) FROM attendance a "
+        + "JOIN students s ON s.id = a.student_id WHERE s.roll_number LIKE ?";
+    private static final String INSERT_STUDENT = "INSERT INTO students "
+        + "(name, email, phone, course, gender, dob, city, password, roll_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MARKS = "INSERT INTO marks "
+        + "(student_id, subject_id, marks_obtained, total_marks, exam_type, exam_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ATTENDANCE = "INSERT INTO attendance "
+        + "(student_id, subject_id, attendance_date, status) VALUES (?, ?, ?, ?)";
+
+    private final Connection connection;
+    private final long seed;
+    private final Random random;
+    private final int batchSize;
+    private final String prefix;
+    // Subject IDs by course, in course order
+    private final Map<String, int[]> subjectsByCourse = new LinkedHashMap<>();
+
+    // Generated students, index-aligned
+    private int[] studentIds;
+    private int[][] studentSubjects;
+    private double[] ability;
+    private double[] presence;
+
+    private DataGenerator(Connection connection, long seed, int batchSize, String prefix) {
+        this.connection = connection;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+        this.prefix = prefix;
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        ToolOptions options = new ToolOptions(args, "url", "user", "password", "students", "marks", "attendance",
+            "batch", "seed", "years", "prefix", "schema");
+        String url = options.get("url", DatabaseConfig.DB_URL);
+        if (url.startsWith("jdbc:mysql:") && !url.contains("rewriteBatchedStatements")) {
+            // Lets Connector/J send each batch as multi-row INSERTs instead of one round trip per row
+            url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        }
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.get("user", DatabaseConfig.DB_USERNAME), options.get("password", DatabaseConfig.DB_PASSWORD))) {
+            String schema = options.get("schema", null);
+            if (schema != null) {
+                runSchema(connection, schema);
+            }
+            connection.setAutoCommit(false);
+
+            DataGenerator generator = new DataGenerator(connection, options.getLong("seed", 42),
+                Math.max(1, options.getInt("batch", 5000)), options.get("prefix", "GEN"));
+            generator.loadSubjects();
+            generator.generateStudents(options.getInt("students", 500_000));
+            generator.loadStudents();
+            generator.generateMarks(options.getLong("marks", 5_000_000), Math.max(1, options.getInt("years", 3)));
+            generator.generateAttendance(options.getLong("attendance", 50_000_000));
+        }
+    }
+
+    // Run a schema script statement by statement, skipping the MySQL-only database selection
+    private static void runSchema(Connection connection, String path) throws IOException, SQLException {
+        StringBuilder script = new StringBuilder();
+        for (String line : Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)) {
+            int comment = line.indexOf("--");
+            script.append(comment >= 0 ? line.substring(0, comment) : line).append('\n');
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.toString().split(";")) {
+                String trimmed = sql.trim();
+                String upper = trimmed.toUpperCase(Locale.ROOT);
+                if (trimmed.isEmpty() || upper.startsWith("CREATE DATABASE") || upper.startsWith("USE ")) {
+                    continue;
+                }
+                statement.execute(trimmed);
+            }
+        }
+        System.out.println("Applied schema " + path);
+    }
+
+    private void loadSubjects() throws SQLException {
+        Map<String, List<Integer>> byCourse = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SUBJECTS);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                byCourse.computeIfAbsent(resultSet.getString("course"), course -> new ArrayList<>())
+                    .add(resultSet.getInt("id"));
+            }
+        }
+        if (byCourse.isEmpty()) {
+            throw new IllegalStateException("No subjects found, load database/schema.sql first or pass --schema");
+        }
+        byCourse.forEach((course, ids) -> subjectsByCourse.put(course, ids.stream().mapToInt(Integer::intValue).toArray()));
+        System.out.printf("Found %d courses with %d subjects%n", subjectsByCourse.size(),
+            byCourse.values().stream().mapToInt(List::size).sum());
+    }
+
+    private void generateStudents(int target) throws SQLException {
+        int existing;
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_STUDENTS)) {
+            statement.setString(1, prefix + "%");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                existing = resultSet.getInt(1);
+            }
+        }
+        String[] courses = subjectsByCourse.keySet().toArray(new String[0]);
+        LocalDate today = LocalDate.now();
+        Progress progress = new Progress("students", Math.max(0, target - existing));
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_STUDENT)) {
+            int pending = 0;
+            for (int index = existing + 1; index <= target; index++) {
+                // Seeded per index so a resumed run produces the same student as an uninterrupted one
+                Random student = new Random(mix(seed, index));
+                String first = FIRST_NAMES[student.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[student.nextInt(LAST_NAMES.length)];
+                String roll = String.format("%s%07d", prefix, index);
+                statement.setString(1, first + " " + last);
+                statement.setString(2, (first + "." + last + "." + roll + "@students.example.edu").toLowerCase(Locale.ROOT));
+                statement.setString(3, String.valueOf(6_000_000_000L + (long) (student.nextDouble() * 3_999_999_999L)));
+                statement.setString(4, courses[student.nextInt(courses.length)]);
+                statement.setString(5, GENDERS[student.nextInt(GENDERS.length)]);
+                statement.setDate(6, Date.valueOf(today.minusYears(17).minusDays(student.nextInt(8 * 365))));
+                statement.setString(7, CITIES[student.nextInt(CITIES.length)]);
+                statement.setString(8, DEFAULT_PASSWORD);
+                statement.setString(9, roll);
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    flush(statement, progress, pending);
+                    pending = 0;
+                }
+            }
+            flush(statement, progress, pending);
+        }
+        progress.done();
+    }
+
+    private void loadStudents() throws SQLException {
+        List<int[]> rows = new ArrayList<>();
+        List<String> courses = new ArrayList<>(subjectsByCourse.keySet());
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_STUDENTS)) {
+            statement.setString(1, prefix + "%");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new int[] {resultSet.getInt("id"), courses.indexOf(resultSet.getString("course"))});
+                }
+            }
+        }
+        int count = rows.size();
+        studentIds = new int[count];
+        studentSubjects = new int[count][];
+        ability = new double[count];
+        presence = new double[count];
+        int[][] byCourse = subjectsByCourse.values().toArray(new int[0][]);
+        for (int i = 0; i < count; i++) {
+            int[] row = rows.get(i);
+            studentIds[i] = row[0];
+            studentSubjects[i] = row[1] >= 0 ? byCourse[row[1]] : new int[0];
+            // Per-student traits keep a student's marks and attendance consistent with each other
+            Random student = new Random(mix(~seed, row[0]));
+            ability[i] = clamp(68 + student.nextGaussian() * 12, 30, 97);
+            presence[i] = clamp(0.86 + student.nextGaussian() * 0.08, 0.45, 0.995);
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No generated students with roll number prefix " + prefix);
+        }
+        System.out.printf("Loaded %,d generated students%n", count);
+    }
+
+    private void generateMarks(long count, int years) throws SQLException {
+        LocalDate today = LocalDate.now();
+        LocalDate first = AcademicYear.start(AcademicYear.of(today) - years + 1);
+        int span = (int) (today.toEpochDay() - first.toEpochDay()) + 1;
+        int totalWeight = 0;
+        for (int weight : EXAM_TYPE_WEIGHTS) {
+            totalWeight += weight;
+        }
+        Progress progress = new Progress("marks", count);
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_MARKS)) {
+            int pending = 0;
+            for (long row = 0; row < count; row++) {
+                int student = random.nextInt(studentIds.length);
+                int[] subjects = studentSubjects[student];
+                if (subjects.length == 0) {
+                    continue;
+                }
+                int pick = random.nextInt(totalWeight);
+                int type = 0;
+                while (pick >= EXAM_TYPE_WEIGHTS[type]) {
+                    pick -= EXAM_TYPE_WEIGHTS[type++];
+                }
+                double score = clamp(ability[student] + random.nextGaussian() * 10, 0, 100);
+                statement.setInt(1, studentIds[student]);
+                statement.setInt(2, subjects[random.nextInt(subjects.length)]);
+                statement.setBigDecimal(3, BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP));
+                statement.setBigDecimal(4, BigDecimal.valueOf(100).setScale(2));
+                statement.setString(5, EXAM_TYPES[type]);
+                statement.setDate(6, Date.valueOf(weekday(first.plusDays(random.nextInt(span)))));
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    flush(statement, progress, pending);
+                    pending = 0;
+                }
+            }
+            flush(statement, progress, pending);
+        }
+        progress.done();
+    }
+
+    private void generateAttendance(long count) throws SQLException {
+        LocalDate day = LocalDate.now();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_OLDEST_ATTENDANCE)) {
+            statement.setString(1, prefix + "%");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Date oldest = resultSet.next() ? resultSet.getDate(1) : null;
+                if (oldest != null) {
+                    day = oldest.toLocalDate().minusDays(1);
+                }
+            }
+        }
+        boolean anySubjects = false;
+        for (int[] subjects : studentSubjects) {
+            anySubjects |= subjects.length > 0;
+        }
+        if (!anySubjects && count > 0) {
+            throw new IllegalStateException("Generated students have no subjects in their courses");
+        }
+        Progress progress = new Progress("attendance", count);
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_ATTENDANCE)) {
+            int pending = 0;
+            long written = 0;
+            // One whole weekday at a time, newest first, so every (student, subject, day) appears once
+            while (written < count) {
+                day = weekday(day);
+                Date date = Date.valueOf(day);
+                for (int student = 0; student < studentIds.length && written < count; student++) {
+                    for (int subject : studentSubjects[student]) {
+                        if (written == count) {
+                            break;
+                        }
+                        double roll = random.nextDouble();
+                        String status = roll >= presence[student] ? "Absent"
+                            : roll >= presence[student] * 0.95 ? "Late" : "Present";
+                        statement.setInt(1, studentIds[student]);
+                        statement.setInt(2, subject);
+                        statement.setDate(3, date);
+                        statement.setString(4, status);
+                        statement.addBatch();
+                        written++;
+                        if (++pending == batchSize) {
+                            flush(statement, progress, pending);
+                            pending = 0;
+                        }
+                    }
+                }
+                day = day.minusDays(1);
+            }
+            flush(statement, progress, pending);
+        }
+        progress.done();
+    }
+
+    private void flush(PreparedStatement statement, Progress progress, int rows) throws SQLException {
+        if (rows == 0) {
+            return;
+        }
+        statement.executeBatch();
+        connection.commit();
+        progress.add(rows);
+    }
+
+    // Move weekend dates back to the preceding Friday
+    private static LocalDate weekday(LocalDate date) {
+        if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            return date.minusDays(1);
+        }
+        if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            return date.minusDays(2);
+        }
+        return date;
+    }
+
+    // Scramble seed and index so neighbouring students do not start from correlated generator states
+    private static long mix(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    // Prints rows written and the insert rate roughly every two seconds
+    private static class Progress {
+        private final String table;
+        private final long total;
+        private final long started = System.nanoTime();
+        private long rows;
+        private long lastPrinted = started;
+
+        Progress(String table, long total) {
+            this.table = table;
+            this.total = total;
+        }
+
+        void add(long count) {
+            rows += count;
+            long now = System.nanoTime();
+            if (now - lastPrinted > 2_000_000_000L) {
+                lastPrinted = now;
+                print(now);
+            }
+        }
+
+        void done() {
+            print(System.nanoTime());
+        }
+
+        private void print(long now) {
+            double seconds = Math.max(1e-9, (now - started) / 1e9);
+            System.out.printf("%-10s %,14d / %,d rows  %,10.0f rows/s  %,8.1f s%n", table, rows, total, rows / seconds, seconds);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.studentmanagement.tools;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.studentmanagement.database.DatabaseManager;
+
+/**
+ * Contention benchmark for the DatabaseManager access path
+ * Compares borrowing and returning a pooled connection through the lock-free holder accessor with the same
+ * through the former static synchronized accessor, under increasing thread counts. Connects to the database from
+ * .env (DB_URL, DB_USER, DB_PASS); threads beyond the pool size measure pool queueing as well as the accessor.
+ *
+ * Usage: mvn -Ptools compile exec:java -Dexec.args="[maxThreads] [secondsPerRun]" \
+ *        -Dexec.mainClass=com.studentmanagement.tools.DatabaseManagerContentionBenchmark
+ */
+public class DatabaseManagerContentionBenchmark {
+
+    private static DatabaseManager synchronizedInstance;
+
+    // Written once per worker so the JIT cannot drop the measured calls as dead code
+    private static volatile long blackhole;
+
+    // Private constructor to prevent instantiation
+    private DatabaseManagerContentionBenchmark() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    // The accessor as it was before the lifecycle rework, kept here as the baseline
+    private static synchronized DatabaseManager synchronizedGetInstance() {
+        if (synchronizedInstance == null) {
+            synchronizedInstance = DatabaseManager.getInstance();
+        }
+        return synchronizedInstance;
+    }
+
+    public static void main(String[] args) throws InterruptedException, SQLException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        // Start the pool up front so its first fill is not measured
+        DatabaseManager.getInstance().getConnection().close();
+        try {
+            // Warm both paths up so the JIT has compiled them before measuring
+            run(DatabaseManager::getInstance, 1, 1);
+            run(DatabaseManagerContentionBenchmark::synchronizedGetInstance, 1, 1);
+
+            System.out.printf("%-8s %20s %20s %10s%n", "threads", "holder ops/s", "synchronized ops/s", "speedup");
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                double holder = run(DatabaseManager::getInstance, threads, seconds);
+                double locked = run(DatabaseManagerContentionBenchmark::synchronizedGetInstance, threads, seconds);
+                System.out.printf("%-8d %,20.0f %,20.0f %9.1fx%n", threads, holder, locked, holder / locked);
+            }
+        } finally {
+            DatabaseManager.getInstance().shutdown(5000);
+        }
+    }
+
+    private static double run(Supplier<DatabaseManager> accessor, int threads, int seconds) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L + 100_000_000L;
+        Thread[] workers = new Thread[threads];
+
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long local = 0;
+                long sink = 0;
+                while (System.nanoTime() < deadline) {
+                    for (int j = 0; j < 100; j++) {
+                        // Same work as a DAO call site: fetch the manager, borrow a connection and return it
+                        try (Connection connection = accessor.get().getConnection()) {
+                            sink += connection.isClosed() ? 0 : 1;
+                        } catch (SQLException e) {
+                            throw new IllegalStateException("Failed to borrow a connection", e);
+                        }
+                    }
+                    local += 100;
+                }
+                blackhole = sink;
+                operations.add(local);
+            });
+            workers[i].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+        return operations.sum() / elapsedSeconds;
+    }
+}
@@ -0,0 +1,405 @@
+package com.studentmanagement.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmanagement.util.LatencyHistogram;
+
+/**
+ * Open-model HTTP load driver replaying a weighted mix of the real API endpoints
+ * Requests are started on a schedule (Poisson or evenly spaced arrivals at --rate per second) whether or not
+ * earlier ones have finished, the way independent users arrive, instead of a fixed pool of threads waiting on
+ * each other. Response time is measured from the scheduled start, so a stalled server shows up in the
+ * percentiles rather than silently lowering the request rate; service time from the actual send is reported
+ * next to it. Requests beyond --max-in-flight are counted as dropped, not queued.
+ *
+ * Endpoints and default weights: students=5 student=15 marks=20 attendance=15 percentage=15 summary=10
+ * dashboard=5 subjects=5 shortages=10 mark-attendance=0 (the only write; set a weight to include it).
+ *
+ * Options: --base-url=http://localhost:8080/student-management --rate=100 --duration=60 --warmup=10
+ *          --arrival=poisson|constant --mix=marks=3,attendance=1 --student-ids=1-500000 --subject-ids=1-10
+ *          --login=admin:admin123 or --token=... --max-in-flight=1000 --timeout=10 --seed=42 --json=report.json
+ *
+ * Usage: mvn -Ptools compile exec:java -Dexec.mainClass=com.studentmanagement.tools.LoadDriver \
+ *        -Dexec.args="--rate=200 --duration=120 --student-ids=1-500000"
+ */
+public class LoadDriver {
+
+    private static final String DEFAULT_MIX = "students=5,student=15,marks=20,attendance=15,percentage=15,"
+        + "summary=10,dashboard=5,subjects=5,shortages=10,mark-attendance=0";
+    private static final String[] STATUSES = {"Present", "Present", "Present", "Absent", "Late"};
+
+    private enum Endpoint {
+        STUDENTS("students"),
+        STUDENT("student"),
+        MARKS("marks"),
+        ATTENDANCE("attendance"),
+        PERCENTAGE("percentage"),
+        SUMMARY("summary"),
+        DASHBOARD("dashboard"),
+        SUBJECTS("subjects"),
+        SHORTAGES("shortages"),
+        MARK_ATTENDANCE("mark-attendance");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint fromKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in --mix: " + key);
+        }
+    }
+
+    // Latency in microseconds and outcomes of one endpoint, updated from HTTP client threads
+    private static class Stats {
+        final LatencyHistogram responseTime = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        void merge(Stats other) {
+            responseTime.merge(other.responseTime);
+            serviceTime.merge(other.serviceTime);
+            other.statuses.forEach((status, count) ->
+                statuses.computeIfAbsent(status, key -> new LongAdder()).add(count.sum()));
+            errors.add(other.errors.sum());
+            dropped.add(other.dropped.sum());
+        }
+    }
+
+    private final HttpClient client;
+    private final String apiUrl;
+    private final String token;
+    private final Duration timeout;
+    private final Random random;
+    private final int[] studentIds;
+    private final int[] subjectIds;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final Map<Endpoint, Stats> stats = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadDriver(HttpClient client, String apiUrl, String token, Duration timeout, long seed,
+                       int[] studentIds, int[] subjectIds, Map<Endpoint, Integer> mix) {
+        this.client = client;
+        this.apiUrl = apiUrl;
+        this.token = token;
+        this.timeout = timeout;
+        this.random = new Random(seed);
+        this.studentIds = studentIds;
+        this.subjectIds = subjectIds;
+        List<Endpoint> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+                stats.put(entry.getKey(), new Stats());
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("--mix gives no endpoint a positive weight");
+        }
+        this.endpoints = weighted.toArray(new Endpoint[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ToolOptions options = new ToolOptions(args, "base-url", "rate", "duration", "warmup", "arrival", "mix",
+            "student-ids", "subject-ids", "login", "token", "max-in-flight", "timeout", "seed", "json");
+        String apiUrl = options.get("base-url", "http://localhost:8080/student-management").replaceAll("/+$", "") + "/api";
+        double rate = options.getDouble("rate", 100);
+        int duration = options.getInt("duration", 60);
+        int warmup = options.getInt("warmup", 10);
+        boolean poisson = !"constant".equals(options.get("arrival", "poisson"));
+        Duration timeout = Duration.ofSeconds(options.getInt("timeout", 10));
+        if (rate <= 0 || duration <= 0 || warmup < 0) {
+            throw new IllegalArgumentException("--rate and --duration must be positive, --warmup not negative");
+        }
+
+        // An explicit --mix replaces the defaults rather than adding to them
+        Map<Endpoint, Integer> mix = parseMix(options.get("mix", DEFAULT_MIX));
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build();
+        String token = options.get("token", null);
+        if (token == null) {
+            token = login(client, apiUrl, options.get("login", "admin:admin123"), timeout);
+        }
+
+        LoadDriver driver = new LoadDriver(client, apiUrl, token, timeout, options.getLong("seed", 42),
+            parseRange(options.get("student-ids", "1-5")), parseRange(options.get("subject-ids", "1-10")), mix);
+        System.out.printf("Offering %.1f req/s (%s arrivals) to %s for %d s after %d s warm-up%n",
+            rate, poisson ? "Poisson" : "constant", apiUrl, duration, warmup);
+        long offered = driver.run(rate, poisson, warmup, duration, options.getInt("max-in-flight", 1000));
+        driver.report(offered, duration, options.asMap(), options.get("json", null));
+    }
+
+    // Log in as admin and return the session token
+    private static String login(HttpClient client, String apiUrl, String credentials, Duration timeout)
+            throws IOException, InterruptedException {
+        String[] parts = credentials.split(":", 2);
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("username", parts[0]);
+        body.put("password", parts.length > 1 ? parts[1] : "");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + "/auth/login"))
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode tokenNode = response.statusCode() == 200 ? mapper.readTree(response.body()).path("data").path("token") : null;
+        if (tokenNode == null || !tokenNode.isTextual()) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return tokenNode.asText();
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            if (!entry.isBlank()) {
+                String[] parts = entry.trim().split("=", 2);
+                mix.put(Endpoint.fromKey(parts[0]), parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+            }
+        }
+        return mix;
+    }
+
+    // Parse "1-500000" or "3,7,9" into a list of IDs
+    private static int[] parseRange(String value) {
+        if (value.matches("\\d+-\\d+")) {
+            String[] bounds = value.split("-");
+            int from = Integer.parseInt(bounds[0]);
+            int to = Integer.parseInt(bounds[1]);
+            int[] ids = new int[Math.max(0, to - from + 1)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = from + i;
+            }
+            return ids;
+        }
+        String[] parts = value.split(",");
+        int[] ids = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            ids[i] = Integer.parseInt(parts[i].trim());
+        }
+        return ids;
+    }
+
+    /**
+     * Issue requests on schedule until the run ends, then wait for the stragglers
+     * @return Requests offered during the measured window
+     */
+    private long run(double rate, boolean poisson, int warmup, int duration, int maxInFlight)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+        double meanGapNanos = 1e9 / rate;
+        double next = start;
+        long offered = 0;
+
+        while (next < end) {
+            long intended = (long) next;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            boolean measured = intended >= measureFrom;
+            Endpoint endpoint = pick();
+            if (measured) {
+                offered++;
+            }
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    stats.get(endpoint).dropped.increment();
+                }
+            } else {
+                send(endpoint, intended, measured);
+            }
+            // Behind schedule the loop sends immediately until it catches up, keeping the offered rate
+            next += poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+
+        long drainUntil = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+        return offered;
+    }
+
+    private Endpoint pick() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private void send(Endpoint endpoint, long intended, boolean measured) {
+        Stats endpointStats = stats.get(endpoint);
+        HttpRequest request = buildRequest(endpoint);
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long finished = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            if (error != null) {
+                endpointStats.errors.increment();
+                return;
+            }
+            endpointStats.responseTime.record(TimeUnit.NANOSECONDS.toMicros(finished - intended));
+            endpointStats.serviceTime.record(TimeUnit.NANOSECONDS.toMicros(finished - sent));
+            endpointStats.statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+        });
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint) {
+        int studentId = studentIds[random.nextInt(studentIds.length)];
+        String path;
+        String body = null;
+        switch (endpoint) {
+            case STUDENTS:
+                path = "/students";
+                break;
+            case STUDENT:
+                path = "/students/" + studentId;
+                break;
+            case MARKS:
+                path = "/marks/student/" + studentId;
+                break;
+            case ATTENDANCE:
+                path = "/attendance/student/" + studentId;
+                break;
+            case PERCENTAGE:
+                path = "/attendance/student/" + studentId + "/percentage";
+                break;
+            case SUMMARY:
+                path = "/attendance/student/" + studentId + "/summary";
+                break;
+            case DASHBOARD:
+                path = "/dashboard/stats";
+                break;
+            case SUBJECTS:
+                path = "/subjects";
+                break;
+            case SHORTAGES:
+                path = "/attendance/shortages";
+                break;
+            default:
+                path = "/attendance";
+                // A random recent day; repeats hit the unique key and come back as client errors
+                body = String.format("{\"studentId\":%d,\"subjectId\":%d,\"attendanceDate\":\"%s\",\"status\":\"%s\"}",
+                    studentId, subjectIds[random.nextInt(subjectIds.length)],
+                    LocalDate.now().minusDays(random.nextInt(365)), STATUSES[random.nextInt(STATUSES.length)]);
+                break;
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(apiUrl + path))
+            .timeout(timeout)
+            .header("Authorization", "Bearer " + token)
+            .header("Accept", "application/json");
+        if (body != null) {
+            builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        return builder.build();
+    }
+
+    private void report(long offered, int duration, Map<String, String> options, String jsonPath) throws IOException {
+        Stats total = new Stats();
+        Map<String, Object> endpointsReport = new LinkedHashMap<>();
+        System.out.printf("%n%-16s %9s %9s %9s %9s %9s %9s %9s %9s %7s %7s %7s%n", "endpoint", "requests", "req/s",
+            "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99", "non-2xx", "errors", "dropped");
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            total.merge(entry.getValue());
+            endpointsReport.put(entry.getKey().key, print(entry.getKey().key, entry.getValue(), duration));
+        }
+        Map<String, Object> totalReport = print("all", total, duration);
+        System.out.printf("Offered %.1f req/s, completed %.1f req/s%n", offered / (double) duration,
+            total.responseTime.getCount() / (double) duration);
+
+        if (jsonPath != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("options", options);
+            report.put("offered", offered);
+            report.put("offeredPerSecond", offered / (double) duration);
+            report.put("total", totalReport);
+            report.put("endpoints", endpointsReport);
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(jsonPath), report);
+            System.out.println("Report written to " + jsonPath);
+        }
+    }
+
+    private static Map<String, Object> print(String name, Stats stats, int duration) {
+        LatencyHistogram response = stats.responseTime;
+        long nonSuccess = 0;
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : stats.statuses.entrySet()) {
+            statuses.put(String.valueOf(entry.getKey()), entry.getValue().sum());
+            if (entry.getKey() < 200 || entry.getKey() >= 300) {
+                nonSuccess += entry.getValue().sum();
+            }
+        }
+        System.out.printf("%-16s %,9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %,7d %,7d %,7d%n", name,
+            response.getCount(), response.getCount() / (double) duration, millis(response.getPercentile(50)),
+            millis(response.getPercentile(90)), millis(response.getPercentile(99)), millis(response.getPercentile(99.9)),
+            millis(response.getMax()), millis(stats.serviceTime.getPercentile(99)), nonSuccess, stats.errors.sum(),
+            stats.dropped.sum());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", response.getCount());
+        summary.put("perSecond", response.getCount() / (double) duration);
+        summary.put("meanMs", response.getMean() / 1000.0);
+        summary.put("p50Ms", millis(response.getPercentile(50)));
+        summary.put("p90Ms", millis(response.getPercentile(90)));
+        summary.put("p99Ms", millis(response.getPercentile(99)));
+        summary.put("p999Ms", millis(response.getPercentile(99.9)));
+        summary.put("maxMs", millis(response.getMax()));
+        summary.put("serviceP50Ms", millis(stats.serviceTime.getPercentile(50)));
+        summary.put("serviceP99Ms", millis(stats.serviceTime.getPercentile(99)));
+        summary.put("statuses", statuses);
+        summary.put("errors", stats.errors.sum());
+        summary.put("dropped", stats.dropped.sum());
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
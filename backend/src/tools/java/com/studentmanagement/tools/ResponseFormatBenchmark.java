@@ -0,0 +1,135 @@
+package com.studentmanagement.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.studentmanagement.model.Marks;
+import com.studentmanagement.util.ApiResponse;
+import com.studentmanagement.util.ResponseFormat;
+
+/**
+ * Payload size and encode/decode time of the negotiable response formats for a large marks list
+ * Builds a synthetic List&lt;Marks&gt; shaped like GET /api/marks, wraps it in {@link ApiResponse} and writes it with
+ * the response mapper in every {@link ResponseFormat}, the way the API does. Each format is decoded again, checked
+ * to carry the same data model as the JSON, and timed as a client would parse it. No database or server is needed.
+ *
+ * Options: --rows=100000 --iterations=10 --warmup=5 --seed=42
+ *
+ * Usage: mvn -Ptools compile exec:java -Dexec.mainClass=com.studentmanagement.tools.ResponseFormatBenchmark \
+ *        -Dexec.args="--rows=100000"
+ */
+public class ResponseFormatBenchmark {
+
+    private static final String[] EXAM_TYPES = {"Regular", "Mid-term", "Final"};
+    private static final String[][] SUBJECTS = {
+        {"CS101", "Programming Fundamentals"}, {"CS102", "Data Structures"}, {"CS201", "Database Systems"},
+        {"MA101", "Calculus"}, {"MA201", "Linear Algebra"}, {"PH101", "Physics"}, {"EN101", "Technical English"}
+    };
+
+    // Private constructor to prevent instantiation
+    private ResponseFormatBenchmark() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        ToolOptions options = new ToolOptions(args, "rows", "iterations", "warmup", "seed");
+        int rows = options.getInt("rows", 100_000);
+        int iterations = Math.max(1, options.getInt("iterations", 10));
+        int warmup = options.getInt("warmup", 5);
+
+        ApiResponse<List<Marks>> response = ApiResponse.success("Marks retrieved successfully",
+            generate(rows, options.getLong("seed", 42)));
+        ObjectMapper json = ApiResponse.getObjectMapper();
+        byte[] reference = null;
+
+        System.out.printf("List<Marks> with %,d rows, median of %d runs after %d warm-up runs%n%n",
+            rows, iterations, warmup);
+        System.out.printf("%-7s %14s %8s %14s %11s %11s %11s %6s%n",
+            "format", "bytes", "vs JSON", "gzip bytes", "encode ms", "decode ms", "MB/s enc", "same");
+
+        for (ResponseFormat format : ResponseFormat.values()) {
+            ObjectMapper mapper = format.isBinary() ? json.copyWith(format.newFactory()) : json;
+            ObjectWriter writer = mapper.writer();
+            // Clients read the list back into their own model, ignoring derived properties such as percentage
+            ObjectReader reader = mapper.readerFor(new TypeReference<ApiResponse<List<Marks>>>() { })
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+            byte[] encoded = null;
+            for (int i = 0; i < warmup; i++) {
+                encoded = writer.writeValueAsBytes(response);
+                reader.readValue(encoded);
+            }
+            double[] encodeMs = new double[iterations];
+            double[] decodeMs = new double[iterations];
+            for (int i = 0; i < iterations; i++) {
+                long started = System.nanoTime();
+                encoded = writer.writeValueAsBytes(response);
+                encodeMs[i] = (System.nanoTime() - started) / 1e6;
+
+                started = System.nanoTime();
+                reader.readValue(encoded);
+                decodeMs[i] = (System.nanoTime() - started) / 1e6;
+            }
+
+            if (reference == null) {
+                reference = encoded;
+            }
+            // Same tree as the JSON body, property for property
+            boolean same = json.readTree(reference).equals(mapper.readTree(encoded));
+            double encodeMedian = median(encodeMs);
+            System.out.printf("%-7s %,14d %7.0f%% %,14d %11.1f %11.1f %11.0f %6s%n",
+                format.name().toLowerCase(), encoded.length, encoded.length * 100.0 / reference.length,
+                gzipSize(encoded), encodeMedian, median(decodeMs), encoded.length / 1e6 / (encodeMedian / 1000),
+                same ? "yes" : "NO");
+        }
+    }
+
+    private static List<Marks> generate(int rows, long seed) {
+        Random random = new Random(seed);
+        LocalDate firstExam = LocalDate.now().minusYears(2);
+        List<Marks> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int subject = random.nextInt(SUBJECTS.length);
+            Marks marks = new Marks(1 + random.nextInt(Math.max(1, rows / 8)), subject + 1,
+                Math.round(random.nextDouble() * 1000) / 10.0, 100.0, EXAM_TYPES[random.nextInt(EXAM_TYPES.length)],
+                firstExam.plusDays(random.nextInt(730)));
+            marks.setId(i + 1);
+            marks.setVersion(random.nextInt(3));
+            marks.setStudentName("Student " + marks.getStudentId());
+            marks.setSubjectCode(SUBJECTS[subject][0]);
+            marks.setSubjectName(SUBJECTS[subject][1]);
+            LocalDateTime created = marks.getExamDate().atTime(9 + random.nextInt(8), random.nextInt(60));
+            marks.setCreatedAt(created);
+            marks.setUpdatedAt(created.plusMinutes(random.nextInt(10_000)));
+            list.add(marks);
+        }
+        return list;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static int gzipSize(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        }
+        return buffer.size();
+    }
+}
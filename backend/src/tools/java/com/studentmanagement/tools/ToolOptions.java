@@ -0,0 +1,57 @@
+package com.studentmanagement.tools;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the form --name=value shared by the standalone tools
+ * A bare --name is read as "true". Unknown names are rejected so a typo does not silently run with defaults.
+ */
+class ToolOptions {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    ToolOptions(String[] args, String... names) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals > 0 ? arg.substring(2, equals) : arg.substring(2);
+            boolean known = false;
+            for (String candidate : names) {
+                known |= candidate.equals(name);
+            }
+            if (!known) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            values.put(name, equals > 0 ? arg.substring(equals + 1) : "true");
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value.replace("_", "")) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        return value != null ? Long.parseLong(value.replace("_", "")) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        String value = values.get(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    /**
+     * @return Options as given, for echoing into reports
+     */
+    Map<String, String> asMap() {
+        return values;
+    }
+}
@@ -18,7 +18,13 @@ CREATE TABLE IF NOT EXISTS students (
     password VARCHAR(255), -- Password for student login (will be added for existing students)
     roll_number VARCHAR(20) UNIQUE, -- Unique roll number for each student
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    -- Incremented by every update, compared by conditional updates (If-Match) to detect concurrent edits
+    -- Existing databases: ALTER TABLE students ADD COLUMN version INT NOT NULL DEFAULT 0;
+    version INT NOT NULL DEFAULT 0,
+    -- Set when a student is deleted; the row is removed once the background purge has cleared its history
+    -- Existing databases: ALTER TABLE students ADD COLUMN deleted_at TIMESTAMP NULL DEFAULT NULL;
+    deleted_at TIMESTAMP NULL DEFAULT NULL
 );
 
 -- Create admin table for authentication
@@ -93,6 +99,8 @@ CREATE TABLE IF NOT EXISTS marks (
     exam_date DATE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    -- Existing databases: ALTER TABLE marks ADD COLUMN version INT NOT NULL DEFAULT 0;
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE,
     FOREIGN KEY (subject_id) REFERENCES subjects(id) ON DELETE CASCADE
 );
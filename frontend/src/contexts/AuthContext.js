@@ -1,4 +1,5 @@
 import React, { createContext, useContext, useState, useEffect } from 'react';
+import { authAPI } from '../utils/api';
 
 // Create AuthContext for managing authentication state
 const AuthContext = createContext();
@@ -28,27 +29,34 @@ export const AuthProvider = ({ children }) => {
     }
   }, []);
 
-  // Login function
+  // Login function - the backend returns a signed session token sent as Bearer on later requests
   const login = async (username, password) => {
     try {
-      // Simple authentication check (in real app, this would be an API call)
-      if (username === 'admin' && password === 'admin123') {
-        const userData = { username, role: 'admin' };
-        localStorage.setItem('authToken', 'dummy-token');
+      const response = await authAPI.login({ username, password });
+      if (response.data.success) {
+        const { token, user: userData } = response.data.data;
+        localStorage.setItem('authToken', token);
         localStorage.setItem('userData', JSON.stringify(userData));
         setIsAuthenticated(true);
         setUser(userData);
         return { success: true };
-      } else {
-        return { success: false, message: 'Invalid credentials' };
       }
+      return { success: false, message: response.data.message || 'Invalid credentials' };
     } catch (error) {
-      return { success: false, message: 'Login failed' };
+      if (error.response?.status === 401) {
+        return { success: false, message: 'Invalid credentials' };
+      }
+      return { success: false, message: error.response?.data?.message || 'Login failed' };
     }
   };
 
   // Logout function
   const logout = () => {
+    // Revoke the token server-side; local state is cleared regardless of the outcome
+    const token = localStorage.getItem('authToken');
+    if (token) {
+      authAPI.logout(token).catch(() => {});
+    }
     localStorage.removeItem('authToken');
     localStorage.removeItem('userData');
     setIsAuthenticated(false);
@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { studentAPI, attendanceAPI, subjectAPI } from '../utils/api';
+import { studentAPI, attendanceAPI, subjectAPI, subscribeToChanges } from '../utils/api';
 
 const AdminAttendance = () => {
   const [students, setStudents] = useState([]);
@@ -14,6 +14,19 @@ const AdminAttendance = () => {
     fetchStudents();
     fetchSubjects();
     fetchAttendance();
+    
+    // Pick up attendance marked and students admitted by other admins
+    const unsubscribe = subscribeToChanges((events) => {
+      const reset = events.some((event) => event.type === 'reset');
+      if (reset || events.some((event) => event.type.startsWith('attendance.'))) {
+        fetchAttendance();
+      }
+      if (reset || events.some((event) => event.type.startsWith('student.'))) {
+        fetchStudents();
+      }
+    });
+    
+    return unsubscribe;
   }, []);
 
   const fetchStudents = async () => {
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
-import { dashboardAPI } from '../utils/api';
+import { dashboardAPI, subscribeToChanges } from '../utils/api';
 import AnimatedBackground from '../components/AnimatedBackground';
 
 // Dashboard page component showing statistics and overview
@@ -27,15 +27,26 @@ const Dashboard = () => {
     
     document.addEventListener('visibilitychange', handleVisibilityChange);
     
+    // Refresh quietly when students are added, edited or removed elsewhere
+    const unsubscribe = subscribeToChanges((events) => {
+      if (events.some((event) => event.type === 'reset' || event.type.startsWith('student.'))) {
+        fetchStats({ silent: true });
+      }
+    });
+    
     return () => {
       document.removeEventListener('visibilitychange', handleVisibilityChange);
+      unsubscribe();
     };
   }, []);
 
   // Fetch dashboard statistics from API
-  const fetchStats = async () => {
+  // options.silent keeps the current figures on screen instead of showing the loading state
+  const fetchStats = async (options = {}) => {
     try {
-      setIsLoading(true);
+      if (options.silent !== true) {
+        setIsLoading(true);
+      }
       setError(null);
       // Call the dedicated dashboard stats endpoint
       const response = await dashboardAPI.getStats();
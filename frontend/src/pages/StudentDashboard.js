@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { marksAPI, attendanceAPI, subjectAPI } from '../utils/api';
+import { authAPI, marksAPI, attendanceAPI, subjectAPI, subscribeToChanges } from '../utils/api';
 import { BarChart, Bar, PieChart, Pie, Cell, XAxis, YAxis, CartesianGrid, Tooltip, Legend, ResponsiveContainer } from 'recharts';
 import AnimatedBackground from '../components/AnimatedBackground';
 
@@ -26,11 +26,23 @@ const StudentDashboard = () => {
     const parsedStudent = JSON.parse(studentData);
     setStudent(parsedStudent);
     fetchData(parsedStudent.id);
+    
+    // The stream only carries this student's own changes
+    const unsubscribe = subscribeToChanges((events) => {
+      if (events.some((event) => event.type === 'reset' || event.type.startsWith('marks.')
+          || event.type.startsWith('attendance.'))) {
+        fetchData(parsedStudent.id, { silent: true });
+      }
+    });
+    
+    return unsubscribe;
   }, [navigate]);
 
-  const fetchData = async (studentId) => {
+  const fetchData = async (studentId, options = {}) => {
     try {
-      setIsLoading(true);
+      if (options.silent !== true) {
+        setIsLoading(true);
+      }
       
       // Fetch marks
       const marksResponse = await marksAPI.getByStudentId(studentId);
@@ -56,6 +68,11 @@ const StudentDashboard = () => {
   };
 
   const handleLogout = () => {
+    // Revoke the session token server-side; local state is cleared regardless of the outcome
+    const token = localStorage.getItem('studentToken');
+    if (token) {
+      authAPI.logout(token).catch(() => {});
+    }
     localStorage.removeItem('studentData');
     localStorage.removeItem('studentToken');
     navigate('/student/login');
@@ -29,9 +29,9 @@ const api = axios.create({
 // ========================================
 api.interceptors.request.use(
   (config) => {
-    // Add auth token if available
-    const token = localStorage.getItem('authToken');
-    if (token) {
+    // Add auth token if available (admin session first, then student session), unless the caller set one
+    const token = localStorage.getItem('authToken') || localStorage.getItem('studentToken');
+    if (token && !config.headers.Authorization) {
       config.headers.Authorization = `Bearer ${token}`;
     }
     
@@ -65,7 +65,10 @@ api.interceptors.response.use(
       // Server responded with error status
       const status = error.response.status;
       
-      if (status === 401) {
+      // Failed logins also answer 401, those are shown on the login form instead
+      const isLoginRequest = /\/auth\/login$/.test(error.config?.url || '');
+      
+      if (status === 401 && !isLoginRequest) {
         // Handle unauthorized access
         console.warn('🔒 Unauthorized - Redirecting to login');
         localStorage.removeItem('authToken');
@@ -117,6 +120,9 @@ export const studentAPI = {
   // Get student by ID
   getStudentById: (id) => api.get(`/students/${id}`),
   
+  // Get several students in one request, results follow the order of ids
+  getStudentsByIds: (ids) => api.get('/students', { params: { ids: ids.join(',') } }),
+  
   // Add new student
   addStudent: (studentData) => api.post('/students', studentData),
   
@@ -125,6 +131,10 @@ export const studentAPI = {
   
   // Delete student
   deleteStudent: (id) => api.delete(`/students/${id}`),
+  
+  // Bulk admission import of a CSV File/Blob, returns a per-row report; dryRun only validates
+  importStudents: (file, dryRun = false) =>
+    api.post('/students/import', file, { params: { dryRun }, headers: { 'Content-Type': 'text/csv' } }),
 };
 
 // API functions for dashboard statistics
@@ -133,6 +143,14 @@ export const dashboardAPI = {
   getStats: () => api.get('/dashboard/stats'),
 };
 
+// Admin authentication API
+export const authAPI = {
+  login: (credentials) => api.post('/auth/login', credentials),
+  // Token passed explicitly: callers clear it from localStorage before the interceptor would read it
+  logout: (token) => api.post('/auth/logout', null, { headers: { Authorization: `Bearer ${token}` } }),
+  me: () => api.get('/auth/me'),
+};
+
 // Student authentication API
 export const studentAuthAPI = {
   login: (credentials) => api.post('/student/auth/login', credentials),
@@ -144,7 +162,8 @@ export const studentAuthAPI = {
 
 // Marks API
 export const marksAPI = {
-  getByStudentId: (studentId) => api.get(`/marks/student/${studentId}`),
+  // params may carry from/to exam dates (YYYY-MM-DD); archived academic years are included
+  getByStudentId: (studentId, params) => api.get(`/marks/student/${studentId}`, { params }),
   getAllMarks: () => api.get('/marks'),
   addMarks: (data) => api.post('/marks', data),
   updateMarks: (id, data) => api.put(`/marks/${id}`, data),
@@ -153,8 +172,13 @@ export const marksAPI = {
 
 // Attendance API
 export const attendanceAPI = {
-  getByStudentId: (studentId) => api.get(`/attendance/student/${studentId}`),
+  getByStudentId: (studentId, params) => api.get(`/attendance/student/${studentId}`, { params }),
   getPercentage: (studentId) => api.get(`/attendance/student/${studentId}/percentage`),
+  // Per-subject counts, streaks and monthly breakdown; from/to are optional YYYY-MM-DD dates
+  getSummary: (studentId, params) => api.get(`/attendance/student/${studentId}/summary`, { params }),
+  getAbsentees: (date, subjectId) => api.get('/attendance/absent', { params: { date, subjectId } }),
+  getShortages: (threshold, course, subjectId) =>
+    api.get('/attendance/shortages', { params: { threshold, course, subjectId } }),
   getAllAttendance: () => api.get('/attendance'),
   markAttendance: (data) => api.post('/attendance', data),
   deleteAttendance: (id) => api.delete(`/attendance/${id}`),
@@ -166,4 +190,48 @@ export const subjectAPI = {
   getSubjectsByCourse: (course) => api.get(`/subjects/course/${course}`),
 };
 
+// Batch API - several multi-get reads in one round trip
+// requests: [{ id, resource: 'students' | 'marks' | 'subjects', ids: [...] }]
+export const batchAPI = {
+  fetch: (requests) => api.post('/batch', { requests }),
+};
+
+// Live change feed (Server-Sent Events)
+// onChange receives { type, id, studentId, at }; type 'reset' means events were missed and data should be refetched.
+// Events arriving close together are delivered as one batch so pages refetch once per burst.
+// Returns a function that closes the stream.
+export const subscribeToChanges = (onChange, debounceMs = 500) => {
+  if (typeof window === 'undefined' || !window.EventSource) {
+    return () => {};
+  }
+
+  // EventSource cannot send headers, so the session token goes in the query string
+  const token = localStorage.getItem('authToken') || localStorage.getItem('studentToken');
+  const url = `${API_BASE_URL}/events${token ? `?access_token=${encodeURIComponent(token)}` : ''}`;
+  const source = new EventSource(url);
+
+  let pending = [];
+  let timer = null;
+  source.onmessage = (message) => {
+    try {
+      pending.push(JSON.parse(message.data));
+    } catch (e) {
+      return;
+    }
+    if (!timer) {
+      timer = setTimeout(() => {
+        const batch = pending;
+        pending = [];
+        timer = null;
+        onChange(batch);
+      }, debounceMs);
+    }
+  };
+
+  return () => {
+    clearTimeout(timer);
+    source.close();
+  };
+};
+
 export default api;